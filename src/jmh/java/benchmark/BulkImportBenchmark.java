@@ -0,0 +1,85 @@
+package benchmark;
+
+import model.TaskItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import persistence.ConnectionFactory;
+import persistence.ConnectionPool;
+import persistence.PooledConnection;
+import persistence.TaskRepository;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time per row of importing tasks into an embedded H2 database
+ * through TaskRepository's bulk writes, for several batch sizes.
+ * A batch size of 1 is one statement and one commit per task.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@OperationsPerInvocation(BulkImportBenchmark.ROWS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class BulkImportBenchmark {
+    static final int ROWS = 100_000;
+
+    @Param({"1", "100", "1000", "10000"})
+    private int batchSize;
+
+    private ConnectionPool pool;
+    private TaskRepository repository;
+    private List<TaskItem> tasks;
+
+    @Setup
+    public void setUp() throws SQLException {
+        String url = "jdbc:h2:mem:bulk-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1";
+        pool = new ConnectionPool(ConnectionFactory.of(url, "sa", ""), 1, 1_000);
+        repository = new TaskRepository(pool, batchSize);
+        repository.createTable();
+        tasks = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            tasks.add(TaskFixtures.task(i));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyTable() throws SQLException {
+        try (PooledConnection connection = pool.borrow();
+             Statement statement = connection.connection().createStatement()) {
+            statement.execute("TRUNCATE TABLE tasks");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Benchmark
+    public long insertAll() throws SQLException {
+        return repository.insertAll(tasks);
+    }
+
+    @Benchmark
+    public long upsertAll() throws SQLException {
+        return repository.upsertAll(tasks.stream());
+    }
+}
@@ -0,0 +1,79 @@
+package benchmark;
+
+import model.TaskItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import service.ConcurrentTaskService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the write throughput of ConcurrentTaskService as writer threads
+ * are added. Each operation adds a task, completes and reschedules it, so
+ * every index and the text index are written, and removes it again, so the
+ * service keeps its size. Compare the scores of the thread counts to see
+ * how far writers on different tasks scale on the machine at hand.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g"})
+public class ConcurrentServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+        @Param({"100000"})
+        int taskCount;
+
+        ConcurrentTaskService taskService;
+
+        @Setup
+        public void setUp() {
+            taskService = new ConcurrentTaskService();
+            TaskFixtures.fill(taskService, taskCount);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+        int next;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean oneWriter(Shared shared, Writer writer) {
+        return write(shared, writer);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public boolean twoWriters(Shared shared, Writer writer) {
+        return write(shared, writer);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean fourWriters(Shared shared, Writer writer) {
+        return write(shared, writer);
+    }
+
+    private static boolean write(Shared shared, Writer writer) {
+        int i = writer.next++;
+        TaskItem task = TaskFixtures.task(i);
+        shared.taskService.addTask(task);
+        task.toggleCompleted();
+        task.setDueDate(TaskFixtures.dueDate(i + 1));
+        return shared.taskService.removeById(task.getId());
+    }
+}
@@ -0,0 +1,109 @@
+package benchmark;
+
+import model.TaskItem;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import persistence.CachingTaskRepository;
+import persistence.ConnectionFactory;
+import persistence.ConnectionPool;
+import persistence.TaskRepository;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares per-operation latency of the old DatabaseHelper access pattern
+ * with TaskRepository, against an H2 server reached over TCP so that
+ * opening a connection costs a real handshake.
+ * "perCall" opens a connection and builds SQL text for every operation, as
+ * DatabaseHelper does (but closes what it opens); "pooled" goes through a
+ * ConnectionPool with cached prepared statements; "cached" adds a
+ * CachingTaskRepository, so repeated existence checks stay in memory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+@State(Scope.Benchmark)
+public class DatabaseBenchmark {
+    private static final String USER = "sa";
+    private static final String PASSWORD = "";
+
+    @Param({"perCall", "pooled", "cached"})
+    private String access;
+
+    private Server server;
+    private String url;
+    private ConnectionPool pool;
+    private TaskRepository repository;
+    private TaskItem stored;
+    private TaskItem scratch;
+
+    @Setup
+    public void setUp() throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        url = "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:bench-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1";
+        pool = new ConnectionPool(ConnectionFactory.of(url, USER, PASSWORD), 4, 1_000);
+        repository = access.equals("cached")
+            ? new CachingTaskRepository(pool, 10_000, 60_000)
+            : new TaskRepository(pool);
+        repository.createTable();
+        for (int i = 0; i < 1_000; i++) {
+            repository.insert(TaskFixtures.task(i));
+        }
+        stored = new TaskItem("Stored task", "01-01-2026");
+        repository.insert(stored);
+        scratch = new TaskItem("Scratch task", "01-01-2026");
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public boolean exists() throws SQLException {
+        if (!access.equals("perCall")) {
+            return repository.exists(stored.getId());
+        }
+        try (Connection connection = DriverManager.getConnection(url, USER, PASSWORD);
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT * FROM tasks WHERE id = " + stored.getId())) {
+            return rows.next();
+        }
+    }
+
+    @Benchmark
+    public boolean insertAndDelete() throws SQLException {
+        if (!access.equals("perCall")) {
+            repository.insert(scratch);
+            return repository.delete(scratch.getId());
+        }
+        try (Connection connection = DriverManager.getConnection(url, USER, PASSWORD);
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO tasks (id, task, due_date) VALUES ("
+                + scratch.getId() + ", '" + scratch.getTask() + "', '" + scratch.getDueDate() + "')");
+        }
+        try (Connection connection = DriverManager.getConnection(url, USER, PASSWORD);
+             Statement statement = connection.createStatement()) {
+            return statement.executeUpdate("DELETE FROM tasks WHERE id = " + scratch.getId()) > 0;
+        }
+    }
+}
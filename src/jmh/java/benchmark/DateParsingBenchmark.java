@@ -0,0 +1,52 @@
+package benchmark;
+
+import model.TaskDates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the hand-written dd-MM-yyyy parser against the DateTimeFormatter path
+ * it replaced. Run with -prof gc to compare allocations per parse.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DateParsingBenchmark {
+
+    private static final int DATES = 1024;
+
+    private final String[] dates = new String[DATES];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < DATES; i++) {
+            dates[i] = TaskFixtures.dueDate(i);
+        }
+    }
+
+    @Benchmark
+    public LocalDate formatter() {
+        String text = dates[next++ & (DATES - 1)];
+        return LocalDate.parse(text.trim(), TaskDates.FORMATTER);
+    }
+
+    @Benchmark
+    public LocalDate handWritten() {
+        return TaskDates.parse(dates[next++ & (DATES - 1)]);
+    }
+}
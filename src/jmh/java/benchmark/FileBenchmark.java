@@ -0,0 +1,121 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import util.FileManager;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures copying and reading a text file of tasks of a given size.
+ * "copyStream" and "readLines" work the way FileManager did before it used
+ * NIO: a 1 KB stream loop, and a line reader appending each line to a
+ * StringBuilder. Divide sizeMb by the time to get the throughput.
+ * The files are in the page cache, so disk speed does not count.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class FileBenchmark {
+
+    @Param({"1", "64", "256"})
+    private int sizeMb;
+
+    private Path directory;
+    private Path source;
+    private Path target;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("file-benchmark");
+        source = directory.resolve("tasks.txt");
+        target = directory.resolve("copy.txt");
+        long bytes = sizeMb * 1024L * 1024L;
+        try (Writer writer = Files.newBufferedWriter(source, StandardCharsets.UTF_8)) {
+            long written = 0;
+            for (int i = 0; written < bytes; i++) {
+                String line = "Task number " + i + " | Due: " + TaskFixtures.dueDate(i) + "\n";
+                writer.write(line);
+                written += line.length();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public long copyStream() throws IOException {
+        long copied = 0;
+        try (InputStream in = new FileInputStream(source.toFile());
+             OutputStream out = new FileOutputStream(target.toFile())) {
+            byte[] buffer = new byte[1024];
+            int length;
+            while ((length = in.read(buffer)) > 0) {
+                out.write(buffer, 0, length);
+                copied += length;
+            }
+        }
+        return copied;
+    }
+
+    @Benchmark
+    public long copyTransfer() throws IOException {
+        return FileManager.copy(source, target);
+    }
+
+    @Benchmark
+    public String readLines() throws IOException {
+        StringBuilder content = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(source.toFile()), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                content.append(line).append("\n");
+            }
+        }
+        return content.toString();
+    }
+
+    @Benchmark
+    public String readText() throws IOException {
+        return FileManager.readText(source);
+    }
+
+    @Benchmark
+    public String readMapped() throws IOException {
+        return FileManager.readMapped(source);
+    }
+}
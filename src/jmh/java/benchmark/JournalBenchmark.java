@@ -0,0 +1,84 @@
+package benchmark;
+
+import model.TaskItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import persistence.TaskJournal;
+import service.InMemoryTaskService;
+import service.TaskService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the latency a TaskJournal adds to each change.
+ * "none" runs without a journal, "async" lets the background thread sync
+ * in batches, and "sync" makes every change wait for its fsync.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+@State(Scope.Benchmark)
+public class JournalBenchmark {
+
+    @Param({"none", "async", "sync"})
+    private String durability;
+
+    private Path directory;
+    private TaskService taskService;
+    private TaskJournal journal;
+    private TaskItem task;
+    private int renames;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("task-journal-bench");
+        taskService = new InMemoryTaskService();
+        if (!durability.equals("none")) {
+            TaskJournal.Settings settings = new TaskJournal.Settings(256, 10, durability.equals("sync"), 100_000);
+            journal = TaskJournal.open(directory, taskService, settings);
+        }
+        TaskFixtures.fill(taskService, 10_000);
+        task = taskService.getTask(0);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean toggle() {
+        task.toggleCompleted();
+        return task.isCompleted();
+    }
+
+    @Benchmark
+    public String rename() {
+        task.setTask((renames++ & 1) == 0 ? "Renamed task" : "Renamed task again");
+        return task.getTask();
+    }
+}
@@ -0,0 +1,101 @@
+package benchmark;
+
+import model.TaskItem;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.InMemoryTaskService;
+import service.StoreBackedTaskService;
+import service.TaskService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the heap retained by a task set in each storage layout.
+ * Each invocation builds the tasks and reports the growth of the used heap
+ * after a full collection as the retainedBytes and bytesPerTask counters;
+ * the time score only shows how long the build took. The serial collector
+ * is used so that System.gc() reliably leaves only live objects behind.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g", "-XX:+UseSerialGC"})
+@State(Scope.Benchmark)
+public class MemoryFootprintBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int taskCount;
+
+    @Param({"arrayList", "inMemory", "columnar"})
+    private String layout;
+
+    /**
+     * Heap counters reported alongside the build time.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long retainedBytes;
+        public long bytesPerTask;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            retainedBytes = 0;
+            bytesPerTask = 0;
+        }
+    }
+
+    @Benchmark
+    public Object build(Footprint footprint) {
+        long before = usedHeapAfterGc();
+        Object tasks = buildTasks();
+        long after = usedHeapAfterGc();
+        footprint.retainedBytes = after - before;
+        footprint.bytesPerTask = (after - before) / taskCount;
+        return tasks;
+    }
+
+    private Object buildTasks() {
+        switch (layout) {
+            case "arrayList":
+                List<TaskItem> list = new ArrayList<>();
+                for (int i = 0; i < taskCount; i++) {
+                    list.add(TaskFixtures.task(i));
+                }
+                return list;
+            case "inMemory":
+                return filled(new InMemoryTaskService());
+            case "columnar":
+                return filled(new StoreBackedTaskService());
+            default:
+                throw new IllegalArgumentException("Unknown layout: " + layout);
+        }
+    }
+
+    private TaskService filled(TaskService service) {
+        TaskFixtures.fill(service, taskCount);
+        return service;
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,116 @@
+package benchmark;
+
+import model.TaskItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ui.CustomListRenderer;
+
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.ListCellRenderer;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures painting one task list cell, headless, as happens for every
+ * visible row on each repaint while scrolling. "configureCell" only
+ * prepares the renderer component and "paintCell" also paints it, so the
+ * difference is the cost of Java2D drawing the label. "cached" is
+ * CustomListRenderer; "uncached" formats the task and derives the italic
+ * font on every call, as the renderer used to. Run with -prof gc to see
+ * the bytes allocated per painted cell in gc.alloc.rate.norm.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g", "-Djava.awt.headless=true"})
+@State(Scope.Benchmark)
+public class RenderBenchmark {
+    private static final int VISIBLE_ROWS = 40;
+
+    @Param({"cached", "uncached"})
+    private String renderer;
+
+    private ListCellRenderer<Object> cellRenderer;
+    private JList<TaskItem> list;
+    private TaskItem[] rows;
+    private BufferedImage image;
+    private Graphics2D graphics;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        cellRenderer = renderer.equals("cached") ? new CustomListRenderer() : new UncachedRenderer();
+        rows = new TaskItem[VISIBLE_ROWS];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = TaskFixtures.task(i);
+        }
+        list = new JList<>(rows);
+        image = new BufferedImage(400, 20, BufferedImage.TYPE_INT_ARGB);
+        graphics = image.createGraphics();
+    }
+
+    @TearDown
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public Component paintCell() {
+        int index = next;
+        next = (next + 1) % rows.length;
+        Component cell = cellRenderer.getListCellRendererComponent(list, rows[index], index, false, false);
+        cell.setBounds(0, 0, 400, 20);
+        cell.paint(graphics);
+        return cell;
+    }
+
+    @Benchmark
+    public Component configureCell() {
+        int index = next;
+        next = (next + 1) % rows.length;
+        return cellRenderer.getListCellRendererComponent(list, rows[index], index, false, false);
+    }
+
+    /**
+     * The renderer as it was before labels and the italic font were cached.
+     */
+    private static final class UncachedRenderer extends DefaultListCellRenderer {
+        private static final Color COMPLETED_COLOR = new Color(200, 255, 200);
+        private static final Color OVERDUE_COLOR = new Color(255, 200, 200);
+
+        @Override
+        public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                      boolean isSelected, boolean cellHasFocus) {
+            JLabel label = (JLabel) super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+            TaskItem task = (TaskItem) value;
+            if (task.isCompleted()) {
+                label.setBackground(COMPLETED_COLOR);
+            } else if (task.isOverdue()) {
+                label.setBackground(OVERDUE_COLOR);
+            } else {
+                label.setBackground(Color.WHITE);
+            }
+            if (task.isCompleted()) {
+                label.setFont(label.getFont().deriveFont(Font.ITALIC));
+            }
+            return label;
+        }
+    }
+}
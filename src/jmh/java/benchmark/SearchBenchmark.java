@@ -0,0 +1,93 @@
+package benchmark;
+
+import model.TaskItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.InMemoryTaskService;
+import service.TaskService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares TaskService.search with the linear String.contains scan it replaces.
+ * "prefix" matches a few tasks by one word prefix, "and" combines a term
+ * every task has with a rare one, and "rename" measures keeping the index
+ * up to date when a description changes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g"})
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int taskCount;
+
+    private TaskService taskService;
+    private TaskItem renamed;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        taskService = new InMemoryTaskService();
+        TaskFixtures.fill(taskService, taskCount);
+        renamed = taskService.getTask(taskCount / 2);
+    }
+
+    @Benchmark
+    public List<TaskItem> prefixIndexed() {
+        return taskService.search("9999");
+    }
+
+    @Benchmark
+    public List<TaskItem> prefixScan() {
+        return scan(" 9999");
+    }
+
+    @Benchmark
+    public List<TaskItem> andIndexed() {
+        return taskService.search("task 12345");
+    }
+
+    @Benchmark
+    public List<TaskItem> andScan() {
+        List<TaskItem> result = new ArrayList<>();
+        for (TaskItem task : taskService.getAllTasks()) {
+            String text = task.getTask().toLowerCase(Locale.ROOT);
+            if (text.contains("task") && text.contains(" 12345")) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public TaskItem rename() {
+        renamed.setTask("Task renamed " + next++);
+        return renamed;
+    }
+
+    private List<TaskItem> scan(String needle) {
+        List<TaskItem> result = new ArrayList<>();
+        for (TaskItem task : taskService.getAllTasks()) {
+            if (task.getTask().toLowerCase(Locale.ROOT).contains(needle)) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+}
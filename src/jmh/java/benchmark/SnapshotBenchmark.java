@@ -0,0 +1,88 @@
+package benchmark;
+
+import model.TaskItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import persistence.TaskSnapshotReader;
+import persistence.TaskSnapshotWriter;
+import service.StoreBackedTaskService;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures saving every task of a service to a binary snapshot and reading
+ * the snapshot back, with and without block compression. The load hands
+ * each task to a counter rather than a service, so only reading, checking
+ * and decoding are measured. The snapshot's size is printed at setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g"})
+@State(Scope.Benchmark)
+public class SnapshotBenchmark {
+
+    @Param({"1000000", "10000000"})
+    int taskCount;
+
+    @Param({"false", "true"})
+    boolean compressed;
+
+    private StoreBackedTaskService taskService;
+    private Path directory;
+    private Path snapshot;
+    private long loaded;
+
+    @Setup
+    public void setUp() throws IOException {
+        taskService = new StoreBackedTaskService();
+        TaskFixtures.fill(taskService, taskCount);
+        directory = Files.createTempDirectory("snapshot-benchmark");
+        snapshot = directory.resolve("tasks.snapshot");
+        TaskSnapshotWriter.save(taskService, snapshot, compressed);
+        System.out.printf("%nSnapshot of %d tasks: %d bytes%n", taskCount, Files.size(snapshot));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(directory.resolve("saved.snapshot"));
+        Files.delete(snapshot);
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public long save() throws IOException {
+        return TaskSnapshotWriter.save(taskService, directory.resolve("saved.snapshot"), compressed);
+    }
+
+    @Benchmark
+    public long load() throws IOException {
+        try (TaskSnapshotReader reader = new TaskSnapshotReader(FileChannel.open(snapshot, StandardOpenOption.READ))) {
+            long count = reader.forEach(this::count);
+            if (count != taskCount) {
+                throw new IllegalStateException("Loaded " + count + " of " + taskCount + " tasks");
+            }
+            return count;
+        }
+    }
+
+    private void count(TaskItem task) {
+        loaded++;
+    }
+}
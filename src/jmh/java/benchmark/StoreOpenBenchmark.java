@@ -0,0 +1,84 @@
+package benchmark;
+
+import model.TaskClock;
+import model.TaskItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import service.InMemoryTaskService;
+import service.MappedTaskStore;
+import service.StoreBackedTaskService;
+import service.TaskService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures how long it takes to get a usable TaskService from saved tasks:
+ * opening the memory-mapped store directly, against reading every saved
+ * task into an InMemoryTaskService.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g"})
+@State(Scope.Benchmark)
+public class StoreOpenBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int taskCount;
+
+    private Path directory;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("task-store-bench");
+        try (MappedTaskStore store = MappedTaskStore.open(directory)) {
+            TaskFixtures.fill(new StoreBackedTaskService(store, TaskClock.getDefault()), taskCount);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public int openMapped() throws IOException {
+        try (MappedTaskStore store = MappedTaskStore.open(directory)) {
+            TaskService taskService = new StoreBackedTaskService(store, TaskClock.getDefault());
+            return taskService.getTaskCount() + taskService.getTask(taskCount / 2).getTask().length();
+        }
+    }
+
+    @Benchmark
+    public int loadIntoMemory() throws IOException {
+        try (MappedTaskStore store = MappedTaskStore.open(directory)) {
+            TaskService taskService = new InMemoryTaskService();
+            for (int row = 0; row < store.rowCount(); row++) {
+                taskService.addTask(new TaskItem(store.id(row), store.text(row),
+                    LocalDate.ofEpochDay(store.epochDay(row)), store.isCompleted(row)));
+            }
+            return taskService.getTaskCount() + taskService.getTask(taskCount / 2).getTask().length();
+        }
+    }
+}
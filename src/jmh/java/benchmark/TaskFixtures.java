@@ -0,0 +1,38 @@
+package benchmark;
+
+import model.TaskItem;
+import service.TaskService;
+
+/**
+ * Builds deterministic task data sets for the benchmarks.
+ * A third of the tasks are completed and roughly half of the rest are overdue.
+ */
+final class TaskFixtures {
+
+    private TaskFixtures() {
+    }
+
+    /**
+     * Formats a due date spread over the years 2015 to 2034.
+     *
+     * @param i The task number
+     * @return A due date in format dd-MM-yyyy
+     */
+    static String dueDate(int i) {
+        return String.format("%02d-%02d-%d", i % 28 + 1, i % 12 + 1, 2015 + i % 20);
+    }
+
+    static TaskItem task(int i) {
+        TaskItem task = new TaskItem("Task number " + i, dueDate(i));
+        if (i % 3 == 0) {
+            task.markAsCompleted();
+        }
+        return task;
+    }
+
+    static void fill(TaskService service, int count) {
+        for (int i = 0; i < count; i++) {
+            service.addTask(task(i));
+        }
+    }
+}
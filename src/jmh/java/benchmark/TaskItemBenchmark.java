@@ -0,0 +1,59 @@
+package benchmark;
+
+import model.TaskItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for constructing, re-dating and formatting a single TaskItem.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TaskItemBenchmark {
+
+    private TaskItem pending;
+    private TaskItem overdue;
+    private String dueDate;
+
+    @Setup
+    public void setUp() {
+        pending = new TaskItem("Write quarterly report", "31-12-2034");
+        overdue = new TaskItem("Renew passport", "01-01-2020");
+        dueDate = "15-06-2031";
+    }
+
+    @Benchmark
+    public TaskItem construct() {
+        return new TaskItem("Write quarterly report", dueDate);
+    }
+
+    @Benchmark
+    public TaskItem setDueDate() {
+        pending.setDueDate(dueDate);
+        return pending;
+    }
+
+    @Benchmark
+    public String toStringPending() {
+        return pending.toString();
+    }
+
+    @Benchmark
+    public String toStringOverdue() {
+        return overdue.toString();
+    }
+}
@@ -0,0 +1,84 @@
+package benchmark;
+
+import model.TaskItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import service.InMemoryTaskService;
+import service.TaskService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for TaskService mutations and filter queries at increasing task counts.
+ * Mutating benchmarks leave the task count unchanged so every invocation
+ * measures the same service size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g"})
+@State(Scope.Benchmark)
+public class TaskServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    private TaskService taskService;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        taskService = new InMemoryTaskService();
+        TaskFixtures.fill(taskService, taskCount);
+        next = taskCount;
+    }
+
+    @Benchmark
+    public boolean addAndRemoveById() {
+        TaskItem task = TaskFixtures.task(next++);
+        taskService.addTask(task);
+        return taskService.removeById(task.getId());
+    }
+
+    @Benchmark
+    public TaskItem removeFirstAndReAdd() {
+        TaskItem first = taskService.getTask(0);
+        taskService.removeTask(0);
+        taskService.addTask(first);
+        return first;
+    }
+
+    @Benchmark
+    public List<TaskItem> getCompletedTasks() {
+        return taskService.getCompletedTasks();
+    }
+
+    @Benchmark
+    public List<TaskItem> getPendingTasks() {
+        return taskService.getPendingTasks();
+    }
+
+    @Benchmark
+    public List<TaskItem> getOverdueTasks() {
+        return taskService.getOverdueTasks();
+    }
+
+    @Benchmark
+    public void renderAll(Blackhole blackhole) {
+        for (TaskItem task : taskService.getAllTasks()) {
+            blackhole.consume(task.toString());
+        }
+    }
+}
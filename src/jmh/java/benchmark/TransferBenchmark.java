@@ -0,0 +1,169 @@
+package benchmark;
+
+import model.TaskItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import persistence.ImportResult;
+import persistence.TaskExporter;
+import persistence.TaskFileFormat;
+import persistence.TaskImporter;
+import service.StoreBackedTaskService;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures exporting all tasks to a file and importing them again, in each
+ * format. The import hands each task to a counter rather than a service,
+ * so only reading and parsing are measured; "importFileParallel" parses
+ * parts of the file on a pool of the given number of threads, which only
+ * helps with as many cores. The sequential import keeps a fixed
+ * amount of memory whatever the size of the file: run importFile with
+ * -jvmArgsAppend -Xmx48m to see a million tasks go through a heap too
+ * small to hold the file's text.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+@State(Scope.Thread)
+public class TransferBenchmark {
+    private static final int TEMPLATE_TASKS = 10_000;
+
+    /**
+     * Parameters and the temporary directory shared by both benchmarks.
+     */
+    @State(Scope.Benchmark)
+    public static class Shared {
+        @Param({"100000", "1000000"})
+        int taskCount;
+
+        @Param({"CSV", "JSON_LINES"})
+        TaskFileFormat format;
+
+        Path directory;
+
+        @Setup
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("transfer-benchmark");
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * A service holding the tasks to export.
+     */
+    @State(Scope.Benchmark)
+    public static class ExportState {
+        StoreBackedTaskService taskService;
+
+        @Setup
+        public void setUp(Shared files) {
+            taskService = new StoreBackedTaskService();
+            TaskFixtures.fill(taskService, files.taskCount);
+        }
+    }
+
+    /**
+     * A file to import, written as the export of a smaller service repeated,
+     * so setting it up does not hold all the tasks in memory either.
+     */
+    @State(Scope.Benchmark)
+    public static class ImportState {
+        Path file;
+
+        @Setup
+        public void setUp(Shared files) throws IOException {
+            StoreBackedTaskService template = new StoreBackedTaskService();
+            TaskFixtures.fill(template, TEMPLATE_TASKS);
+            StringWriter text = new StringWriter();
+            new TaskExporter(files.format).exportTo(template, text);
+            String exported = text.toString();
+            int firstRecord = files.format == TaskFileFormat.CSV ? exported.indexOf('\n') + 1 : 0;
+            file = files.directory.resolve("import");
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write(exported, 0, firstRecord);
+                for (int i = 0; i < files.taskCount / TEMPLATE_TASKS; i++) {
+                    writer.write(exported, firstRecord, exported.length() - firstRecord);
+                }
+            }
+        }
+    }
+
+    /**
+     * The pool a parallel import parses on.
+     */
+    @State(Scope.Benchmark)
+    public static class Pool {
+        @Param({"1", "2", "4"})
+        int threads;
+
+        ForkJoinPool pool;
+
+        @Setup
+        public void setUp() {
+            pool = new ForkJoinPool(threads);
+        }
+
+        @TearDown
+        public void tearDown() {
+            pool.shutdown();
+        }
+    }
+
+    private long imported;
+
+    @Benchmark
+    public long exportFile(Shared files, ExportState state) throws IOException {
+        return new TaskExporter(files.format).exportFile(state.taskService, files.directory.resolve("export"));
+    }
+
+    @Benchmark
+    public ImportResult importFile(Shared files, ImportState state) throws IOException {
+        ImportResult result = new TaskImporter(files.format).importFile(state.file, this::count);
+        if (result.getImportedCount() != files.taskCount) {
+            throw new IllegalStateException(result.toString());
+        }
+        return result;
+    }
+
+    @Benchmark
+    public ImportResult importFileParallel(Shared files, ImportState state, Pool pool) throws IOException {
+        ImportResult result = new TaskImporter(files.format).importFileParallel(state.file, this::count, pool.pool);
+        if (result.getImportedCount() != files.taskCount) {
+            throw new IllegalStateException(result.toString());
+        }
+        return result;
+    }
+
+    private void count(TaskItem task) {
+        imported++;
+    }
+}
@@ -0,0 +1,84 @@
+package benchmark;
+
+import model.TaskItem;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import persistence.ConnectionFactory;
+import persistence.ConnectionPool;
+import persistence.TaskRepository;
+import persistence.WriteBehindQueue;
+import service.InMemoryTaskService;
+import service.TaskService;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long a task change keeps the calling thread busy when it is
+ * saved to an H2 server over TCP: "sync" updates the row before returning,
+ * as a UI action calling the repository directly would, while "writeBehind"
+ * only queues the change for a WriteBehindQueue.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+@State(Scope.Benchmark)
+public class WriteBehindBenchmark {
+
+    @Param({"sync", "writeBehind"})
+    private String mode;
+
+    private Server server;
+    private ConnectionPool pool;
+    private TaskRepository repository;
+    private WriteBehindQueue queue;
+    private TaskItem task;
+
+    @Setup
+    public void setUp() throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        String url = "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:write-behind-" + System.nanoTime()
+            + ";DB_CLOSE_DELAY=-1";
+        pool = new ConnectionPool(ConnectionFactory.of(url, "sa", ""), 2, 10_000);
+        repository = new TaskRepository(pool);
+        repository.createTable();
+        TaskService taskService = new InMemoryTaskService();
+        TaskFixtures.fill(taskService, 1_000);
+        repository.insertAll(taskService.getAllTasks());
+        task = taskService.getTask(0);
+        if (mode.equals("writeBehind")) {
+            queue = WriteBehindQueue.start(repository, taskService);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        if (queue != null) {
+            queue.close();
+        }
+        pool.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public boolean toggle() throws SQLException {
+        task.toggleCompleted();
+        if (queue == null) {
+            repository.update(task);
+        }
+        return task.isCompleted();
+    }
+}
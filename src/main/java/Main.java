@@ -1,28 +1,197 @@
+import model.TaskClock;
+import model.TaskItem;
+import persistence.ConnectionFactory;
+import persistence.ConnectionPool;
+import persistence.TaskRepository;
+import persistence.WriteBehindQueue;
+import service.InMemoryTaskService;
+import service.MappedTaskStore;
+import service.StoreBackedTaskService;
 import service.TaskService;
+import ui.TaskSource;
 import ui.TodoListUI;
 
 import javax.swing.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.function.Consumer;
 
 /**
  * Main entry point for the To-Do List application.
  * This application demonstrates clean architecture and SOLID principles.
- * 
+ *
  * @author Lucas Maximiliano Cueva
  * @version 1.0
  */
 public class Main {
-    
+
+    /**
+     * System property naming the directory tasks are saved in.
+     */
+    static final String DATA_DIR_PROPERTY = "todo.dataDir";
+
+    /**
+     * System properties naming a database to save tasks in instead of the data directory.
+     */
+    static final String JDBC_URL_PROPERTY = "todo.jdbcUrl";
+    static final String JDBC_USER_PROPERTY = "todo.jdbcUser";
+    static final String JDBC_PASSWORD_PROPERTY = "todo.jdbcPassword";
+
     /**
      * Application entry point.
-     * Initializes the application on the Event Dispatch Thread.
-     * 
+     * Opens the saved tasks and initializes the application on the Event Dispatch Thread.
+     * Opening the saved tasks takes the same time however many there are;
+     * tasks kept in a database are loaded after the window is shown.
+     *
      * @param args Command line arguments (not used)
      */
     public static void main(String[] args) {
+        String jdbcUrl = System.getProperty(JDBC_URL_PROPERTY);
+        if (jdbcUrl != null && !jdbcUrl.isBlank()) {
+            startWithDatabase(jdbcUrl, System.getProperty(JDBC_USER_PROPERTY),
+                System.getProperty(JDBC_PASSWORD_PROPERTY), dataDirectory());
+        } else {
+            show(openTaskService(dataDirectory()));
+        }
+    }
+
+    private static void show(TaskService taskService) {
+        SwingUtilities.invokeLater(() -> {
+            TodoListUI ui = new TodoListUI(taskService);
+            ui.show();
+        });
+    }
+
+    /**
+     * Gets the directory tasks are saved in, ~/.todo-list unless overridden.
+     *
+     * @return The data directory
+     */
+    static Path dataDirectory() {
+        String configured = System.getProperty(DATA_DIR_PROPERTY);
+        if (configured != null && !configured.isBlank()) {
+            return Paths.get(configured);
+        }
+        return Paths.get(System.getProperty("user.home"), ".todo-list");
+    }
+
+    /**
+     * Opens the task store in the given directory, closing it when the JVM exits.
+     * Falls back to an in-memory service if the store cannot be opened.
+     *
+     * @param directory The data directory
+     * @return The task service to use
+     */
+    static TaskService openTaskService(Path directory) {
+        try {
+            MappedTaskStore store = MappedTaskStore.open(directory);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    store.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, "task-store-close"));
+            return new StoreBackedTaskService(store, TaskClock.getDefault());
+        } catch (IOException e) {
+            System.err.println("Cannot open saved tasks in " + directory + ", changes will not be saved: "
+                + e.getMessage());
+            return new InMemoryTaskService();
+        }
+    }
+
+    /**
+     * Shows the window and loads the tasks saved in a database into it in
+     * the background. Once every task is loaded, later changes are saved in
+     * the background, writing the last ones when the JVM exits.
+     * The database is first reached by the background load, so an
+     * unreachable one does not hold back the window. If it cannot be
+     * reached, the window is replaced by one for the data directory.
+     *
+     * @param url The JDBC URL
+     * @param user The database user
+     * @param password The user's password
+     * @param fallbackDirectory The data directory to use if the database cannot be opened
+     */
+    static void startWithDatabase(String url, String user, String password, Path fallbackDirectory) {
+        ConnectionPool pool = new ConnectionPool(ConnectionFactory.of(url, user, password), 4, 10_000);
+        TaskRepository repository = new TaskRepository(pool);
+        RepositorySource source = new RepositorySource(repository, url, fallbackDirectory);
+        TaskService taskService = new StoreBackedTaskService();
         SwingUtilities.invokeLater(() -> {
-            TaskService taskService = new TaskService();
             TodoListUI ui = new TodoListUI(taskService);
             ui.show();
+            ui.load(source,
+                () -> WriteBehindQueue.start(repository, taskService).closeOnShutdown(),
+                cause -> {
+                    TaskService fallback = source.getFallback();
+                    if (fallback == null) {
+                        ui.showLoadError(cause);
+                        return;
+                    }
+                    pool.close();
+                    ui.close();
+                    show(fallback);
+                });
         });
     }
+
+    /**
+     * Reads the tasks stored in a repository, in ID order, creating the table
+     * first. If the table cannot be created, the service for the fallback
+     * directory is opened instead, still on the loading thread, and the load
+     * fails.
+     */
+    private static final class RepositorySource implements TaskSource {
+        private final TaskRepository repository;
+        private final String url;
+        private final Path fallbackDirectory;
+        private volatile boolean opened;
+        private volatile TaskService fallback;
+
+        RepositorySource(TaskRepository repository, String url, Path fallbackDirectory) {
+            this.repository = repository;
+            this.url = url;
+            this.fallbackDirectory = fallbackDirectory;
+        }
+
+        @Override
+        public long forEach(Consumer<? super TaskItem> action) throws SQLException {
+            open();
+            return repository.forEach(action);
+        }
+
+        @Override
+        public long count() throws SQLException {
+            open();
+            return repository.count();
+        }
+
+        /**
+         * Gets the service to use instead of the database.
+         *
+         * @return The fallback service, or null if the database was reached
+         */
+        TaskService getFallback() {
+            return fallback;
+        }
+
+        private void open() throws SQLException {
+            if (opened) {
+                return;
+            }
+            try {
+                repository.createTable();
+                opened = true;
+            } catch (SQLException e) {
+                System.err.println("Cannot open tasks in database " + url + ", using " + fallbackDirectory + ": "
+                    + e.getMessage());
+                fallback = openTaskService(fallbackDirectory);
+                throw e;
+            }
+        }
+    }
 }
@@ -0,0 +1,121 @@
+package model;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Supplies today's date for overdue checks.
+ * The date and the instants at which it starts and ends are cached, so
+ * asking for today costs one clock read and two comparisons; the time zone
+ * is only consulted again once the cached day is over or on refresh().
+ * A shared default instance is used by TaskItem.isOverdue(), and tests can
+ * replace it with a fixed or otherwise controllable clock.
+ */
+public final class TaskClock {
+    private static volatile TaskClock defaultClock = new TaskClock(Clock.systemDefaultZone());
+
+    private final Clock clock;
+    private volatile Day current;
+
+    /**
+     * Creates a task clock reading the given clock.
+     *
+     * @param clock The underlying clock, including its time zone
+     * @throws IllegalArgumentException if clock is null
+     */
+    public TaskClock(Clock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.clock = clock;
+        this.current = Day.containing(clock.millis(), clock.getZone());
+    }
+
+    /**
+     * Creates a task clock that always reports the given date.
+     *
+     * @param today The date to report
+     * @return A fixed task clock
+     */
+    public static TaskClock fixed(LocalDate today) {
+        ZoneId zone = ZoneId.systemDefault();
+        return new TaskClock(Clock.fixed(today.atStartOfDay(zone).toInstant(), zone));
+    }
+
+    /**
+     * Gets the shared task clock.
+     *
+     * @return The default task clock
+     */
+    public static TaskClock getDefault() {
+        return defaultClock;
+    }
+
+    /**
+     * Replaces the shared task clock.
+     *
+     * @param clock The new default task clock
+     * @throws IllegalArgumentException if clock is null
+     */
+    public static void setDefault(TaskClock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        defaultClock = clock;
+    }
+
+    /**
+     * Restores the shared task clock to the system clock in the default time zone.
+     */
+    public static void resetDefault() {
+        defaultClock = new TaskClock(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Gets today's date, recomputing it only when the cached day has passed.
+     *
+     * @return Today's date
+     */
+    public LocalDate today() {
+        Day day = current;
+        long now = clock.millis();
+        if (now < day.startMillis || now >= day.endMillis) {
+            day = Day.containing(now, clock.getZone());
+            current = day;
+        }
+        return day.date;
+    }
+
+    /**
+     * Recomputes today's date immediately, for example after a time zone change.
+     */
+    public void refresh() {
+        current = Day.containing(clock.millis(), clock.getZone());
+    }
+
+    /**
+     * A date together with the instants at which it starts and ends.
+     */
+    private static final class Day {
+        final LocalDate date;
+        final long startMillis;
+        final long endMillis;
+
+        private Day(LocalDate date, long startMillis, long endMillis) {
+            this.date = date;
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+        }
+
+        static Day containing(long epochMillis, ZoneId zone) {
+            LocalDate date = Instant.ofEpochMilli(epochMillis).atZone(zone).toLocalDate();
+            return new Day(
+                date,
+                date.atStartOfDay(zone).toInstant().toEpochMilli(),
+                date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli()
+            );
+        }
+    }
+}
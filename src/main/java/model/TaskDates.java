@@ -0,0 +1,131 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Parsing for the dd-MM-yyyy due date format used by tasks.
+ * The common case of two-digit day and month and a four-digit year is
+ * parsed directly from the characters without intermediate objects. Any
+ * other input falls back to DateTimeFormatter, so accepted dates, day
+ * clamping and error messages are exactly those of the formatter.
+ */
+public final class TaskDates {
+    public static final String PATTERN = "dd-MM-yyyy";
+    public static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(PATTERN);
+
+    private static final int FAST_PATH_LENGTH = PATTERN.length();
+
+    private TaskDates() {
+    }
+
+    /**
+     * Parses a due date, ignoring leading and trailing whitespace as String.trim does.
+     *
+     * @param text The date text in format dd-MM-yyyy
+     * @return The parsed LocalDate
+     * @throws IllegalArgumentException if text is null/blank or the date format is invalid
+     */
+    public static LocalDate parse(CharSequence text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Due date cannot be null or empty");
+        }
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            throw new IllegalArgumentException("Due date cannot be null or empty");
+        }
+
+        if (end - start == FAST_PATH_LENGTH) {
+            LocalDate date = parseFixedWidth(text, start);
+            if (date != null) {
+                return date;
+            }
+        }
+        return parseWithFormatter(text.subSequence(start, end).toString());
+    }
+
+    /**
+     * Parses exactly ten characters at the given offset.
+     *
+     * @return The date, or null if the characters are not a plain valid date
+     */
+    private static LocalDate parseFixedWidth(CharSequence text, int offset) {
+        if (text.charAt(offset + 2) != '-' || text.charAt(offset + 5) != '-') {
+            return null;
+        }
+        int day = digits(text, offset, 2);
+        int month = digits(text, offset + 3, 2);
+        int year = digits(text, offset + 6, 4);
+        if (day < 1 || day > 31 || month < 1 || month > 12 || year < 1) {
+            return null;
+        }
+        // Like the formatter's default SMART resolver, clamp 29-31 to the month's last day.
+        int lastDay = Month.of(month).length(Year.isLeap(year));
+        return LocalDate.of(year, month, Math.min(day, lastDay));
+    }
+
+    /**
+     * Reads count ASCII digits as a number.
+     *
+     * @return The value, or -1 if any character is not an ASCII digit
+     */
+    private static int digits(CharSequence text, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Appends a due date in format dd-MM-yyyy, as FORMATTER would format it.
+     * Years from 1 to 9999 are written digit by digit without intermediate objects.
+     *
+     * @param out The builder to append to
+     * @param date The date to append
+     * @throws IllegalArgumentException if date is null
+     */
+    public static void appendTo(StringBuilder out, LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Due date cannot be null or empty");
+        }
+        int year = date.getYear();
+        if (year < 1 || year > 9999) {
+            out.append(FORMATTER.format(date));
+            return;
+        }
+        appendDigits(out, date.getDayOfMonth(), 2);
+        out.append('-');
+        appendDigits(out, date.getMonthValue(), 2);
+        out.append('-');
+        appendDigits(out, year, 4);
+    }
+
+    private static void appendDigits(StringBuilder out, int value, int count) {
+        for (int divisor = count == 2 ? 10 : 1000; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + value / divisor % 10));
+        }
+    }
+
+    private static LocalDate parseWithFormatter(String text) {
+        try {
+            return LocalDate.parse(text, FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date format. Expected: dd-MM-yyyy", e);
+        }
+    }
+}
@@ -2,19 +2,27 @@ package model;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Represents a task item in the to-do list.
  * This class encapsulates task data and business logic.
+ * Each task gets a unique, stable numeric ID when it is created.
+ * State changes are safe to make from any thread; listeners are notified
+ * on the thread that made the change, outside of any lock held by the task.
  */
 public class TaskItem {
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    private static final DateTimeFormatter DATE_FORMATTER = TaskDates.FORMATTER;
+    private static final TaskItemListener[] NO_LISTENERS = new TaskItemListener[0];
+    private static final AtomicLong NEXT_ID = new AtomicLong(1);
     
-    private String task;
-    private LocalDate dueDate;
-    private boolean isCompleted;
+    private final long id;
+    private volatile String task;
+    private volatile LocalDate dueDate;
+    private volatile boolean isCompleted;
+    private volatile TaskItemListener[] listeners = NO_LISTENERS;
 
     /**
      * Creates a new task item.
@@ -24,13 +32,101 @@ public class TaskItem {
      * @throws IllegalArgumentException if task is null/empty or date format is invalid
      */
     public TaskItem(String task, String dueDateStr) {
+        this.task = checkTask(task);
+        this.dueDate = parseDate(dueDateStr);
+        this.isCompleted = false;
+        this.id = NEXT_ID.getAndIncrement();
+    }
+
+    private TaskItem(String task, LocalDate dueDate) {
+        this.task = task;
+        this.dueDate = dueDate;
+        this.isCompleted = false;
+        this.id = NEXT_ID.getAndIncrement();
+    }
+
+    /**
+     * Creates a new task item with an already parsed due date.
+     *
+     * @param task The task description
+     * @param dueDate The due date
+     * @return The new task
+     * @throws IllegalArgumentException if task is null/empty or dueDate is null
+     */
+    public static TaskItem withDueDate(String task, LocalDate dueDate) {
+        String text = checkTask(task);
+        return new TaskItem(text, checkDueDate(dueDate));
+    }
+
+    /**
+     * Recreates a stored task with its original ID.
+     * Tasks created afterwards get IDs greater than any restored one.
+     *
+     * @param id The task ID, which must be positive
+     * @param task The task description
+     * @param dueDate The due date
+     * @param completed Whether the task is completed
+     * @throws IllegalArgumentException if id is not positive, task is null/empty or dueDate is null
+     */
+    public TaskItem(long id, String task, LocalDate dueDate, boolean completed) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("Task ID must be positive");
+        }
+
+        this.task = checkTask(task);
+        this.dueDate = checkDueDate(dueDate);
+        this.isCompleted = completed;
+        this.id = id;
+        reserveIds(id);
+    }
+
+    /**
+     * Makes sure tasks created from now on get IDs greater than the given one,
+     * for example after opening a store that already holds tasks.
+     *
+     * @param highestId The highest task ID already in use
+     */
+    public static void reserveIds(long highestId) {
+        if (NEXT_ID.get() <= highestId) {
+            NEXT_ID.accumulateAndGet(highestId + 1, Math::max);
+        }
+    }
+
+    /**
+     * Allocates a block of consecutive IDs that no task created from now on
+     * gets, so tasks can be created with them on several threads and still
+     * have IDs in a chosen order.
+     *
+     * @param count The number of IDs
+     * @return The first ID of the block
+     * @throws IllegalArgumentException if count is negative
+     */
+    public static long allocateIds(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative");
+        }
+        return NEXT_ID.getAndAdd(count);
+    }
+
+    /**
+     * Checks a task description and trims it.
+     *
+     * @param task The task description
+     * @return The trimmed description
+     * @throws IllegalArgumentException if task is null/empty
+     */
+    private static String checkTask(String task) {
         if (task == null || task.trim().isEmpty()) {
             throw new IllegalArgumentException("Task cannot be null or empty");
         }
-        
-        this.task = task.trim();
-        this.dueDate = parseDate(dueDateStr);
-        this.isCompleted = false;
+        return task.trim();
+    }
+
+    private static LocalDate checkDueDate(LocalDate dueDate) {
+        if (dueDate == null) {
+            throw new IllegalArgumentException("Due date cannot be null or empty");
+        }
+        return dueDate;
     }
 
     /**
@@ -41,36 +137,45 @@ public class TaskItem {
      * @throws IllegalArgumentException if date format is invalid
      */
     private LocalDate parseDate(String dateStr) {
-        if (dateStr == null || dateStr.trim().isEmpty()) {
-            throw new IllegalArgumentException("Due date cannot be null or empty");
-        }
-        
-        try {
-            return LocalDate.parse(dateStr.trim(), DATE_FORMATTER);
-        } catch (DateTimeParseException e) {
-            throw new IllegalArgumentException("Invalid date format. Expected: dd-MM-yyyy", e);
-        }
+        return TaskDates.parse(dateStr);
     }
 
     /**
      * Toggles the completion status of the task.
      */
     public void toggleCompleted() {
-        isCompleted = !isCompleted;
+        synchronized (this) {
+            isCompleted = !isCompleted;
+        }
+        for (TaskItemListener listener : listeners) {
+            listener.completionChanged(this);
+        }
     }
 
     /**
      * Marks the task as completed.
      */
     public void markAsCompleted() {
-        isCompleted = true;
+        setCompleted(true);
     }
 
     /**
      * Marks the task as not completed.
      */
     public void markAsNotCompleted() {
-        isCompleted = false;
+        setCompleted(false);
+    }
+
+    private void setCompleted(boolean completed) {
+        synchronized (this) {
+            if (isCompleted == completed) {
+                return;
+            }
+            isCompleted = completed;
+        }
+        for (TaskItemListener listener : listeners) {
+            listener.completionChanged(this);
+        }
     }
 
     /**
@@ -79,7 +184,26 @@ public class TaskItem {
      * @return true if the task is overdue and not completed
      */
     public boolean isOverdue() {
-        return !isCompleted && dueDate.isBefore(LocalDate.now());
+        return isOverdue(TaskClock.getDefault().today());
+    }
+
+    /**
+     * Checks if the task is overdue as of the given date.
+     *
+     * @param today The date to compare the due date against
+     * @return true if the task is not completed and due before today
+     */
+    public boolean isOverdue(LocalDate today) {
+        return !isCompleted && dueDate.isBefore(today);
+    }
+
+    /**
+     * Gets the unique ID assigned to this task when it was created.
+     *
+     * @return The task ID
+     */
+    public long getId() {
+        return id;
     }
 
     public boolean isCompleted() {
@@ -91,10 +215,7 @@ public class TaskItem {
     }
 
     public void setTask(String task) {
-        if (task == null || task.trim().isEmpty()) {
-            throw new IllegalArgumentException("Task cannot be null or empty");
-        }
-        this.task = task.trim();
+        changeText(checkTask(task));
     }
 
     public LocalDate getDueDate() {
@@ -106,7 +227,92 @@ public class TaskItem {
     }
 
     public void setDueDate(String dueDateStr) {
-        this.dueDate = parseDate(dueDateStr);
+        changeDueDate(parseDate(dueDateStr));
+    }
+
+    /**
+     * Sets the due date from an already parsed date.
+     *
+     * @param dueDate The new due date
+     * @throws IllegalArgumentException if dueDate is null
+     */
+    public void setDueDate(LocalDate dueDate) {
+        changeDueDate(checkDueDate(dueDate));
+    }
+
+    /**
+     * Updates the description and due date together.
+     * Neither value is changed if either one is invalid.
+     *
+     * @param task The new task description
+     * @param dueDateStr The new due date in format dd-MM-yyyy
+     * @throws IllegalArgumentException if task is null/empty or date format is invalid
+     */
+    public void update(String task, String dueDateStr) {
+        String newTask = checkTask(task);
+        LocalDate newDueDate = parseDate(dueDateStr);
+        changeText(newTask);
+        changeDueDate(newDueDate);
+    }
+
+    private void changeText(String newTask) {
+        String previousTask;
+        synchronized (this) {
+            previousTask = task;
+            task = newTask;
+        }
+        if (!newTask.equals(previousTask)) {
+            for (TaskItemListener listener : listeners) {
+                listener.textChanged(this, previousTask);
+            }
+        }
+    }
+
+    private void changeDueDate(LocalDate newDueDate) {
+        LocalDate previousDueDate;
+        synchronized (this) {
+            previousDueDate = dueDate;
+            dueDate = newDueDate;
+        }
+        if (!newDueDate.equals(previousDueDate)) {
+            for (TaskItemListener listener : listeners) {
+                listener.dueDateChanged(this, previousDueDate);
+            }
+        }
+    }
+
+    /**
+     * Registers a listener to be notified of changes to this task.
+     *
+     * @param listener The listener to add
+     * @throws IllegalArgumentException if listener is null
+     */
+    public void addListener(TaskItemListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        synchronized (this) {
+            TaskItemListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+            updated[listeners.length] = listener;
+            listeners = updated;
+        }
+    }
+
+    /**
+     * Unregisters a previously added listener.
+     *
+     * @param listener The listener to remove
+     */
+    public synchronized void removeListener(TaskItemListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                TaskItemListener[] updated = new TaskItemListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, updated, 0, i);
+                System.arraycopy(listeners, i + 1, updated, i, updated.length - i);
+                listeners = updated.length == 0 ? NO_LISTENERS : updated;
+                return;
+            }
+        }
     }
 
     @Override
@@ -0,0 +1,35 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * Listener notified when a task item changes.
+ * Owners such as TaskService register one to keep their indexes in sync.
+ */
+public interface TaskItemListener {
+
+    /**
+     * Called after the completion status of a task has changed.
+     *
+     * @param item The task that changed
+     */
+    void completionChanged(TaskItem item);
+
+    /**
+     * Called after the due date of a task has changed.
+     *
+     * @param item The task that changed
+     * @param previousDueDate The due date before the change
+     */
+    void dueDateChanged(TaskItem item, LocalDate previousDueDate);
+
+    /**
+     * Called after the description of a task has changed.
+     * Does nothing by default, since most indexes do not depend on the text.
+     *
+     * @param item The task that changed
+     * @param previousTask The description before the change
+     */
+    default void textChanged(TaskItem item, String previousTask) {
+    }
+}
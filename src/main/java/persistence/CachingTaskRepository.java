@@ -0,0 +1,287 @@
+package persistence;
+
+import model.TaskItem;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * A TaskRepository that keeps recently read tasks in memory.
+ * Single-task reads and existence checks are answered from a bounded
+ * least-recently-used cache keyed by task ID, including the fact that an
+ * ID is not stored. Entries expire after a time to live, and every write
+ * through this repository invalidates the entries it touched once it has
+ * been committed. Writes made by other programs are seen once the entry
+ * expires.
+ * <p>
+ * A read that started before an invalidation does not put its result in
+ * the cache, so a task that is being written is never cached with the
+ * values it had before the write.
+ */
+public class CachingTaskRepository extends TaskRepository {
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoTime;
+    private final Map<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long invalidations;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    private static final class Entry {
+        private final TaskItem task;
+        private final long expiresAtNanos;
+
+        private Entry(TaskItem task, long expiresAtNanos) {
+            this.task = task;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    /**
+     * Creates a caching repository.
+     *
+     * @param pool Supplies the connections
+     * @param maxSize The maximum number of task IDs to keep
+     * @param ttlMillis How long an entry is used before the database is read again
+     * @throws IllegalArgumentException if pool is null, maxSize is not positive or ttlMillis is not positive
+     */
+    public CachingTaskRepository(ConnectionPool pool, int maxSize, long ttlMillis) {
+        this(pool, DEFAULT_BATCH_SIZE, maxSize, ttlMillis, System::nanoTime);
+    }
+
+    /**
+     * Creates a caching repository with a clock for expiring entries.
+     *
+     * @param nanoTime Reads the current time in nanoseconds
+     */
+    CachingTaskRepository(ConnectionPool pool, int batchSize, int maxSize, long ttlMillis, LongSupplier nanoTime) {
+        super(pool, batchSize);
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("Time to live must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Loads a task, from the cache when it holds the ID.
+     * The returned task is a copy; changing it does not change the cache.
+     *
+     * @param id The task ID
+     * @return The stored task, or empty if there is none with that ID
+     * @throws SQLException if the task has to be read and the query fails
+     */
+    @Override
+    public Optional<TaskItem> findById(long id) throws SQLException {
+        long stamp;
+        synchronized (this) {
+            Entry entry = entries.get(id);
+            if (entry != null && nanoTime.getAsLong() - entry.expiresAtNanos < 0) {
+                hits++;
+                return Optional.ofNullable(entry.task).map(CachingTaskRepository::copyOf);
+            }
+            if (entry != null) {
+                entries.remove(id);
+                evictions++;
+            }
+            misses++;
+            stamp = invalidations;
+        }
+        Optional<TaskItem> loaded = super.findById(id);
+        synchronized (this) {
+            if (invalidations == stamp) {
+                entries.put(id, new Entry(loaded.map(CachingTaskRepository::copyOf).orElse(null),
+                    nanoTime.getAsLong() + ttlNanos));
+                if (entries.size() > maxSize) {
+                    Long eldest = entries.keySet().iterator().next();
+                    entries.remove(eldest);
+                    evictions++;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Checks whether a task is stored, from the cache when it holds the ID.
+     *
+     * @param id The task ID
+     * @return true if a task with that ID is stored, false otherwise
+     * @throws SQLException if the task has to be read and the query fails
+     */
+    @Override
+    public boolean exists(long id) throws SQLException {
+        return findById(id).isPresent();
+    }
+
+    @Override
+    public void insert(TaskItem item) throws SQLException {
+        try {
+            super.insert(item);
+        } finally {
+            invalidate(item);
+        }
+    }
+
+    @Override
+    public boolean update(TaskItem item) throws SQLException {
+        try {
+            return super.update(item);
+        } finally {
+            invalidate(item);
+        }
+    }
+
+    @Override
+    public boolean delete(long id) throws SQLException {
+        try {
+            return super.delete(id);
+        } finally {
+            invalidate(List.of(id));
+        }
+    }
+
+    @Override
+    public long insertAll(Collection<? extends TaskItem> items) throws SQLException {
+        try {
+            return super.insertAll(items);
+        } finally {
+            invalidateTasks(items);
+        }
+    }
+
+    @Override
+    public long insertAll(Stream<? extends TaskItem> items) throws SQLException {
+        try {
+            return super.insertAll(items);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public long upsertAll(Collection<? extends TaskItem> items) throws SQLException {
+        try {
+            return super.upsertAll(items);
+        } finally {
+            invalidateTasks(items);
+        }
+    }
+
+    @Override
+    public long upsertAll(Stream<? extends TaskItem> items) throws SQLException {
+        try {
+            return super.upsertAll(items);
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public long deleteAll(Collection<Long> ids) throws SQLException {
+        try {
+            return super.deleteAll(ids);
+        } finally {
+            invalidate(ids);
+        }
+    }
+
+    @Override
+    public long deleteAll() throws SQLException {
+        try {
+            return super.deleteAll();
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * Drops every cached entry, for example after the table was changed directly.
+     */
+    public synchronized void invalidateAll() {
+        invalidations++;
+        entries.clear();
+    }
+
+    /**
+     * Gets the number of reads answered from the cache.
+     *
+     * @return The hit count
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of reads that went to the database.
+     *
+     * @return The miss count
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Gets the number of entries dropped because the cache was full or the entry expired.
+     * Entries dropped by invalidation are not counted.
+     *
+     * @return The eviction count
+     */
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Gets the number of task IDs currently cached.
+     *
+     * @return The cache size
+     */
+    public synchronized int getCachedCount() {
+        return entries.size();
+    }
+
+    private void invalidate(TaskItem item) {
+        if (item != null) {
+            invalidate(List.of(item.getId()));
+        }
+    }
+
+    private void invalidateTasks(Collection<? extends TaskItem> items) {
+        if (items == null) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(items.size());
+        for (TaskItem item : items) {
+            if (item != null) {
+                ids.add(item.getId());
+            }
+        }
+        invalidate(ids);
+    }
+
+    private synchronized void invalidate(Collection<Long> ids) {
+        invalidations++;
+        if (ids != null) {
+            for (Long id : ids) {
+                entries.remove(id);
+            }
+        }
+    }
+
+    private static TaskItem copyOf(TaskItem task) {
+        return new TaskItem(task.getId(), task.getTask(), task.getDueDate(), task.isCompleted());
+    }
+}
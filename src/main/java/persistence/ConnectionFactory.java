@@ -0,0 +1,32 @@
+package persistence;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * Opens new physical database connections for a ConnectionPool.
+ */
+@FunctionalInterface
+public interface ConnectionFactory {
+
+    /**
+     * Opens a new connection.
+     *
+     * @return The connection
+     * @throws SQLException if the connection cannot be opened
+     */
+    Connection connect() throws SQLException;
+
+    /**
+     * Creates a factory that opens connections through DriverManager.
+     *
+     * @param url The JDBC URL
+     * @param user The database user
+     * @param password The user's password
+     * @return The connection factory
+     */
+    static ConnectionFactory of(String url, String user, String password) {
+        return () -> DriverManager.getConnection(url, user, password);
+    }
+}
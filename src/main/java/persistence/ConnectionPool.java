@@ -0,0 +1,213 @@
+package persistence;
+
+import java.io.Closeable;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded pool of database connections.
+ * At most maxSize connections are open at once; connections are opened
+ * on demand and kept once returned, together with the prepared statements
+ * created on them, so steady-state operations pay neither a connection
+ * handshake nor a statement parse. A caller that finds every connection
+ * in use waits up to the borrow timeout and then gets an exception.
+ * A connection that has sat idle for longer than the validation threshold
+ * is checked with isValid() before it is lent again, since the server or
+ * a firewall may have dropped it in the meantime; a dead one is closed
+ * and the borrow moves on to the next idle connection or a new one.
+ */
+public final class ConnectionPool implements Closeable {
+    /** How long a connection may sit idle before it is validated, unless configured. */
+    public static final long DEFAULT_VALIDATE_AFTER_IDLE_MILLIS = 30_000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final ConnectionFactory factory;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long validateAfterIdleNanos;
+    private final Semaphore permits;
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private int openCount;
+    private boolean closed;
+
+    /**
+     * Creates a pool that validates connections idle for longer than
+     * DEFAULT_VALIDATE_AFTER_IDLE_MILLIS.
+     *
+     * @param factory Opens new connections
+     * @param maxSize The maximum number of open connections
+     * @param borrowTimeoutMillis How long borrow() waits for a free connection
+     * @throws IllegalArgumentException if factory is null, maxSize is not positive or the timeout is negative
+     */
+    public ConnectionPool(ConnectionFactory factory, int maxSize, long borrowTimeoutMillis) {
+        this(factory, maxSize, borrowTimeoutMillis, DEFAULT_VALIDATE_AFTER_IDLE_MILLIS);
+    }
+
+    /**
+     * Creates a pool.
+     *
+     * @param factory Opens new connections
+     * @param maxSize The maximum number of open connections
+     * @param borrowTimeoutMillis How long borrow() waits for a free connection
+     * @param validateAfterIdleMillis How long a connection may sit idle before borrow() validates it
+     * @throws IllegalArgumentException if factory is null, maxSize is not positive or a time is negative
+     */
+    public ConnectionPool(ConnectionFactory factory, int maxSize, long borrowTimeoutMillis,
+                          long validateAfterIdleMillis) {
+        if (factory == null) {
+            throw new IllegalArgumentException("Connection factory cannot be null");
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        if (borrowTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Borrow timeout cannot be negative");
+        }
+        if (validateAfterIdleMillis < 0) {
+            throw new IllegalArgumentException("Validation threshold cannot be negative");
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.validateAfterIdleNanos = TimeUnit.MILLISECONDS.toNanos(validateAfterIdleMillis);
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Borrows a connection; closing the returned object gives it back.
+     * Idle connections that fail validation are closed and skipped.
+     *
+     * @return A connection for the caller's exclusive use
+     * @throws SQLTransientConnectionException if no connection became free in time
+     * @throws SQLException if a new connection cannot be opened or the pool is closed
+     */
+    public PooledConnection borrow() throws SQLException {
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                    "Timed out after " + borrowTimeoutMillis + " ms waiting for one of " + maxSize + " connections");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection", e);
+        }
+        try {
+            PooledConnection connection;
+            while (true) {
+                synchronized (this) {
+                    if (closed) {
+                        throw new SQLException("Connection pool is closed");
+                    }
+                    connection = idle.pollFirst();
+                    if (connection == null) {
+                        openCount++;
+                    }
+                }
+                if (connection == null || isAlive(connection)) {
+                    break;
+                }
+                synchronized (this) {
+                    openCount--;
+                }
+                connection.closePhysical();
+            }
+            if (connection == null) {
+                try {
+                    connection = new PooledConnection(this, factory.connect());
+                } catch (SQLException | RuntimeException e) {
+                    synchronized (this) {
+                        openCount--;
+                    }
+                    throw e;
+                }
+            } else {
+                connection.reuse();
+            }
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Checks an idle connection with the driver once it has been idle past
+     * the validation threshold; recently used connections are trusted.
+     */
+    private boolean isAlive(PooledConnection connection) {
+        return System.nanoTime() - connection.idleSince() < validateAfterIdleNanos
+            || connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+    }
+
+    /**
+     * Takes back a borrowed connection, keeping it unless it is broken or the pool is closed.
+     */
+    void release(PooledConnection connection) {
+        boolean keep;
+        synchronized (this) {
+            keep = !closed && connection.isUsable();
+            if (keep) {
+                connection.markIdle(System.nanoTime());
+                idle.addFirst(connection);
+            } else {
+                openCount--;
+            }
+        }
+        if (!keep) {
+            connection.closePhysical();
+        }
+        permits.release();
+    }
+
+    /**
+     * Gets the number of connections currently open, idle or borrowed.
+     *
+     * @return The number of open connections
+     */
+    public synchronized int getOpenCount() {
+        return openCount;
+    }
+
+    /**
+     * Gets the number of open connections waiting to be borrowed.
+     *
+     * @return The number of idle connections
+     */
+    public synchronized int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Closes the idle connections; borrowed ones are closed when given back.
+     */
+    @Override
+    public void close() {
+        Deque<PooledConnection> toClose;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            toClose = new ArrayDeque<>(idle);
+            openCount -= idle.size();
+            idle.clear();
+        }
+        for (PooledConnection connection : toClose) {
+            connection.closePhysical();
+        }
+    }
+
+    /**
+     * Checks whether an error means the connection itself is unusable,
+     * judging by the SQLState class 08 (connection exception).
+     */
+    static boolean isConnectionError(SQLException e) {
+        String state = e.getSQLState();
+        return state != null && state.startsWith("08");
+    }
+
+}
@@ -0,0 +1,145 @@
+package persistence;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of importing a task file: how many tasks were imported, and
+ * which rows were skipped and why. Only the first MAX_REJECTED_ROWS skipped
+ * rows are kept, so a file full of bad rows cannot fill the heap; the
+ * rejected count still includes every one of them.
+ */
+public final class ImportResult {
+    /**
+     * The number of skipped rows kept for reporting.
+     */
+    public static final int MAX_REJECTED_ROWS = 1000;
+
+    private final List<RejectedRow> rejectedRows = new ArrayList<>();
+    private long importedCount;
+    private long rejectedCount;
+
+    ImportResult() {
+    }
+
+    void imported() {
+        importedCount++;
+    }
+
+    void rejected(long lineNumber, CharSequence text, String reason) {
+        rejectedCount++;
+        if (rejectedRows.size() < MAX_REJECTED_ROWS) {
+            rejectedRows.add(new RejectedRow(lineNumber, text, reason));
+        }
+    }
+
+    /**
+     * Adds the outcome of importing a later part of the same file.
+     *
+     * @param part The outcome of the part
+     * @param lineOffset The number of lines in the file before the part
+     */
+    void add(ImportResult part, long lineOffset) {
+        importedCount += part.importedCount;
+        rejectedCount += part.rejectedCount;
+        for (RejectedRow row : part.rejectedRows) {
+            if (rejectedRows.size() == MAX_REJECTED_ROWS) {
+                break;
+            }
+            rejectedRows.add(new RejectedRow(row, lineOffset));
+        }
+    }
+
+    /**
+     * Gets the number of tasks imported.
+     *
+     * @return The imported count
+     */
+    public long getImportedCount() {
+        return importedCount;
+    }
+
+    /**
+     * Gets the number of rows skipped because they could not be imported.
+     *
+     * @return The rejected count
+     */
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Gets the first skipped rows, in file order.
+     *
+     * @return An unmodifiable list of at most MAX_REJECTED_ROWS rows
+     */
+    public List<RejectedRow> getRejectedRows() {
+        return Collections.unmodifiableList(rejectedRows);
+    }
+
+    @Override
+    public String toString() {
+        return "Imported " + importedCount + " tasks, skipped " + rejectedCount + " rows";
+    }
+
+    /**
+     * A row that could not be imported.
+     */
+    public static final class RejectedRow {
+        /**
+         * The number of characters of a rejected row that are kept.
+         */
+        public static final int MAX_TEXT_LENGTH = 200;
+
+        private final long lineNumber;
+        private final String text;
+        private final String reason;
+
+        RejectedRow(long lineNumber, CharSequence text, String reason) {
+            this.lineNumber = lineNumber;
+            this.text = text.length() > MAX_TEXT_LENGTH
+                ? text.subSequence(0, MAX_TEXT_LENGTH) + "..."
+                : text.toString();
+            this.reason = reason;
+        }
+
+        private RejectedRow(RejectedRow row, long lineOffset) {
+            this.lineNumber = row.lineNumber + lineOffset;
+            this.text = row.text;
+            this.reason = row.reason;
+        }
+
+        /**
+         * Gets the line the row starts on, counting from 1.
+         *
+         * @return The line number
+         */
+        public long getLineNumber() {
+            return lineNumber;
+        }
+
+        /**
+         * Gets the text of the row, shortened to MAX_TEXT_LENGTH characters.
+         *
+         * @return The row text
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * Gets why the row was skipped.
+         *
+         * @return The reason
+         */
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return "Line " + lineNumber + ": " + reason;
+        }
+    }
+}
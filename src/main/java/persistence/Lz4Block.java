@@ -0,0 +1,199 @@
+package persistence;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Compresses and decompresses single blocks in the LZ4 block format: a
+ * series of sequences, each a token byte holding the literal and match
+ * lengths, the literal bytes, and a two-byte little-endian offset back to
+ * where the match starts. The compressor is the greedy single-probe
+ * variant, which finds fewer matches than a full search but runs at
+ * memory speed. As the format requires, the last five bytes of a block
+ * are always literals and no match starts in its last twelve bytes.
+ */
+final class Lz4Block {
+    private static final int MIN_MATCH = 4;
+    private static final int LAST_LITERALS = 5;
+    private static final int MATCH_FIND_LIMIT = 12;
+    private static final int MAX_OFFSET = 65535;
+    private static final int HASH_BITS = 14;
+    private static final int SKIP_STRENGTH = 6;
+
+    private final int[] table = new int[1 << HASH_BITS];
+
+    /**
+     * Gets the most bytes compress() can write for an input length.
+     *
+     * @param length The input length
+     * @return The size the output array must have
+     */
+    static int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+    /**
+     * Compresses bytes into a block.
+     *
+     * @param src The bytes to compress
+     * @param length The number of bytes at the start of src to compress
+     * @param dst Receives the block; must hold maxCompressedLength(length) bytes
+     * @return The length of the block
+     */
+    int compress(byte[] src, int length, byte[] dst) {
+        int anchor = 0;
+        int op = 0;
+        if (length >= MATCH_FIND_LIMIT + 1) {
+            Arrays.fill(table, -1);
+            int searchLimit = length - MATCH_FIND_LIMIT;
+            int matchLimit = length - LAST_LITERALS;
+            int ip = 0;
+            while (ip < searchLimit) {
+                int sequence = readInt(src, ip);
+                int slot = hash(sequence);
+                int ref = table[slot];
+                table[slot] = ip;
+                if (ref < 0 || ip - ref > MAX_OFFSET || readInt(src, ref) != sequence) {
+                    ip += 1 + ((ip - anchor) >>> SKIP_STRENGTH);
+                    continue;
+                }
+                while (ip > anchor && ref > 0 && src[ip - 1] == src[ref - 1]) {
+                    ip--;
+                    ref--;
+                }
+                int matchLength = MIN_MATCH;
+                while (ip + matchLength < matchLimit && src[ip + matchLength] == src[ref + matchLength]) {
+                    matchLength++;
+                }
+                op = writeSequence(src, anchor, ip - anchor, ip - ref, matchLength, dst, op);
+                ip += matchLength;
+                anchor = ip;
+            }
+        }
+        return writeLastLiterals(src, anchor, length - anchor, dst, op);
+    }
+
+    /**
+     * Decompresses a block.
+     *
+     * @param src The array holding the block
+     * @param offset Where the block starts
+     * @param length The length of the block
+     * @param dst Receives the bytes
+     * @param rawLength The number of bytes the block decompresses to
+     * @throws IOException if the block is malformed or does not decompress to rawLength bytes
+     */
+    static void decompress(byte[] src, int offset, int length, byte[] dst, int rawLength) throws IOException {
+        int ip = offset;
+        int end = offset + length;
+        int op = 0;
+        while (ip < end) {
+            int token = src[ip++] & 0xFF;
+            int literals = token >>> 4;
+            if (literals == 15) {
+                int b;
+                do {
+                    if (ip >= end) {
+                        throw corrupt();
+                    }
+                    b = src[ip++] & 0xFF;
+                    literals += b;
+                } while (b == 255);
+            }
+            if (literals > end - ip || literals > rawLength - op) {
+                throw corrupt();
+            }
+            System.arraycopy(src, ip, dst, op, literals);
+            ip += literals;
+            op += literals;
+            if (ip == end) {
+                break;
+            }
+            if (end - ip < 2) {
+                throw corrupt();
+            }
+            int matchOffset = (src[ip] & 0xFF) | (src[ip + 1] & 0xFF) << 8;
+            ip += 2;
+            int matchLength = token & 15;
+            if (matchLength == 15) {
+                int b;
+                do {
+                    if (ip >= end) {
+                        throw corrupt();
+                    }
+                    b = src[ip++] & 0xFF;
+                    matchLength += b;
+                } while (b == 255);
+            }
+            matchLength += MIN_MATCH;
+            if (matchOffset == 0 || matchOffset > op || matchLength > rawLength - op) {
+                throw corrupt();
+            }
+            int ref = op - matchOffset;
+            if (matchOffset >= matchLength) {
+                System.arraycopy(dst, ref, dst, op, matchLength);
+            } else {
+                for (int i = 0; i < matchLength; i++) {
+                    dst[op + i] = dst[ref + i];
+                }
+            }
+            op += matchLength;
+        }
+        if (op != rawLength) {
+            throw corrupt();
+        }
+    }
+
+    private static IOException corrupt() {
+        return new IOException("Corrupt compressed block in task snapshot");
+    }
+
+    private static int hash(int sequence) {
+        return (sequence * -1640531535) >>> (32 - HASH_BITS);
+    }
+
+    private static int readInt(byte[] bytes, int index) {
+        return (bytes[index] & 0xFF)
+            | (bytes[index + 1] & 0xFF) << 8
+            | (bytes[index + 2] & 0xFF) << 16
+            | (bytes[index + 3] & 0xFF) << 24;
+    }
+
+    private static int writeSequence(byte[] src, int literalStart, int literals, int matchOffset, int matchLength,
+                                     byte[] dst, int op) {
+        int tokenIndex = op++;
+        int matchCode = matchLength - MIN_MATCH;
+        int token = (Math.min(literals, 15) << 4) | Math.min(matchCode, 15);
+        op = writeLength(literals, dst, op);
+        System.arraycopy(src, literalStart, dst, op, literals);
+        op += literals;
+        dst[op++] = (byte) matchOffset;
+        dst[op++] = (byte) (matchOffset >>> 8);
+        op = writeLength(matchCode, dst, op);
+        dst[tokenIndex] = (byte) token;
+        return op;
+    }
+
+    private static int writeLastLiterals(byte[] src, int literalStart, int literals, byte[] dst, int op) {
+        dst[op++] = (byte) (Math.min(literals, 15) << 4);
+        op = writeLength(literals, dst, op);
+        System.arraycopy(src, literalStart, dst, op, literals);
+        return op + literals;
+    }
+
+    /**
+     * Writes the part of a length beyond the 15 that fits in the token.
+     */
+    private static int writeLength(int length, byte[] dst, int op) {
+        if (length < 15) {
+            return op;
+        }
+        int rest = length - 15;
+        while (rest >= 255) {
+            dst[op++] = (byte) 255;
+            rest -= 255;
+        }
+        dst[op++] = (byte) rest;
+        return op;
+    }
+}
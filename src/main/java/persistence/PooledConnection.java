@@ -0,0 +1,141 @@
+package persistence;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A connection borrowed from a ConnectionPool, with its prepared statements.
+ * Statements are prepared once per connection and reused by SQL text, so
+ * callers must not close them; they are closed with the connection.
+ * Closing this object returns the connection to the pool. A connection is
+ * dropped instead of being returned when it has been closed, when a
+ * transaction was left open, or after invalidate().
+ */
+public final class PooledConnection implements AutoCloseable {
+    private final ConnectionPool pool;
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+    private boolean broken;
+    private boolean borrowed = true;
+    private long idleSince;
+
+    PooledConnection(ConnectionPool pool, Connection connection) {
+        this.pool = pool;
+        this.connection = connection;
+    }
+
+    /**
+     * Gets the underlying connection, for example to manage a transaction.
+     * It must not be closed directly; close this object instead.
+     *
+     * @return The JDBC connection
+     */
+    public Connection connection() {
+        return connection;
+    }
+
+    /**
+     * Gets the cached prepared statement for some SQL, preparing it on first use.
+     * Parameters from the previous use are cleared.
+     *
+     * @param sql The statement text, with ? placeholders
+     * @return The prepared statement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement statement = statements.get(sql);
+        if (statement == null || statement.isClosed()) {
+            statement = connection.prepareStatement(sql);
+            statements.put(sql, statement);
+        } else {
+            statement.clearParameters();
+        }
+        return statement;
+    }
+
+    /**
+     * Marks the connection as unusable so the pool closes it instead of reusing it.
+     */
+    public void invalidate() {
+        broken = true;
+    }
+
+    /**
+     * Invalidates the connection if an error shows the connection itself failed.
+     *
+     * @param e The error raised while using this connection
+     */
+    public void checkError(SQLException e) {
+        if (ConnectionPool.isConnectionError(e)) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Returns the connection to the pool.
+     */
+    @Override
+    public void close() {
+        if (borrowed) {
+            borrowed = false;
+            pool.release(this);
+        }
+    }
+
+    /**
+     * Marks the connection as borrowed again when the pool hands it out.
+     */
+    void reuse() {
+        borrowed = true;
+    }
+
+    /**
+     * Records when the connection was returned to the pool.
+     *
+     * @param nanoTime The System.nanoTime() of the return
+     */
+    void markIdle(long nanoTime) {
+        idleSince = nanoTime;
+    }
+
+    long idleSince() {
+        return idleSince;
+    }
+
+    /**
+     * Asks the driver whether the connection still works, which may take a
+     * round trip to the server.
+     *
+     * @param timeoutSeconds How long to wait for the check
+     * @return true if the connection is still valid
+     */
+    boolean isValid(int timeoutSeconds) {
+        try {
+            return connection.isValid(timeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    boolean isUsable() {
+        if (broken) {
+            return false;
+        }
+        try {
+            return !connection.isClosed() && connection.getAutoCommit();
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    void closePhysical() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // The connection is being discarded; there is nothing left to clean up.
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package persistence;
+
+import java.util.Locale;
+
+/**
+ * The SQL differences between the databases TaskRepository runs on.
+ * Every upsert statement takes the same parameters as the insert:
+ * id, task, due_date, completed. Every page query takes the last ID
+ * already read and the maximum number of rows.
+ */
+enum SqlDialect {
+    MYSQL("INSERT INTO tasks (id, task, due_date, completed) VALUES (?, ?, ?, ?) "
+        + "ON DUPLICATE KEY UPDATE task = VALUES(task), due_date = VALUES(due_date), completed = VALUES(completed)",
+        Paging.LIMIT),
+    POSTGRESQL("INSERT INTO tasks (id, task, due_date, completed) VALUES (?, ?, ?, ?) "
+        + "ON CONFLICT (id) DO UPDATE SET task = EXCLUDED.task, due_date = EXCLUDED.due_date, "
+        + "completed = EXCLUDED.completed", Paging.LIMIT),
+    H2("MERGE INTO tasks (id, task, due_date, completed) KEY (id) VALUES (?, ?, ?, ?)", Paging.LIMIT),
+    STANDARD("MERGE INTO tasks t USING (VALUES (?, ?, ?, ?)) AS s (id, task, due_date, completed) ON t.id = s.id "
+        + "WHEN MATCHED THEN UPDATE SET task = s.task, due_date = s.due_date, completed = s.completed "
+        + "WHEN NOT MATCHED THEN INSERT (id, task, due_date, completed) "
+        + "VALUES (s.id, s.task, s.due_date, s.completed)", Paging.FETCH_FIRST);
+
+    private static final String SELECT_AFTER =
+        "SELECT id, task, due_date, completed FROM tasks WHERE id > ? ORDER BY id";
+
+    /**
+     * How a dialect caps the number of rows a query returns.
+     */
+    private enum Paging {
+        LIMIT(SELECT_AFTER + " LIMIT ?"),
+        FETCH_FIRST(SELECT_AFTER + " FETCH FIRST ? ROWS ONLY");
+
+        private final String query;
+
+        Paging(String query) {
+            this.query = query;
+        }
+    }
+
+    private final String upsert;
+    private final Paging paging;
+
+    SqlDialect(String upsert, Paging paging) {
+        this.upsert = upsert;
+        this.paging = paging;
+    }
+
+    /**
+     * Gets the statement that inserts a task or overwrites the one stored under its ID.
+     */
+    String upsert() {
+        return upsert;
+    }
+
+    /**
+     * Gets the query that reads the next page of tasks in ID order.
+     */
+    String pageQuery() {
+        return paging.query;
+    }
+
+    /**
+     * Picks the dialect for a database, falling back to standard SQL.
+     *
+     * @param productName The name reported by DatabaseMetaData.getDatabaseProductName()
+     */
+    static SqlDialect forProductName(String productName) {
+        String name = productName == null ? "" : productName.toLowerCase(Locale.ROOT);
+        if (name.contains("mysql") || name.contains("mariadb")) {
+            return MYSQL;
+        }
+        if (name.contains("postgresql")) {
+            return POSTGRESQL;
+        }
+        if (name.equals("h2")) {
+            return H2;
+        }
+        return STANDARD;
+    }
+}
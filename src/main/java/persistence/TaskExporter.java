@@ -0,0 +1,121 @@
+package persistence;
+
+import model.TaskItem;
+import service.TaskService;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Exports the tasks of a TaskService to a CSV or JSON Lines file, in the
+ * service's order. Records are formatted into one reusable buffer that is
+ * written out whenever it fills, so memory use does not grow with the
+ * number of tasks. Progress is reported in tasks written, every
+ * PROGRESS_INTERVAL tasks and once at the end.
+ * <p>
+ * The service must not change during an export; call it on the thread
+ * that owns the service, or export a ConcurrentTaskService.
+ */
+public final class TaskExporter {
+    /**
+     * The number of tasks between progress reports.
+     */
+    public static final int PROGRESS_INTERVAL = 4096;
+
+    private static final int BUFFER_CHARS = 64 * 1024;
+
+    private final TaskFileFormat format;
+    private final TransferProgress progress;
+
+    /**
+     * Creates an exporter that does not report progress.
+     *
+     * @param format The format of the files to write
+     * @throws IllegalArgumentException if format is null
+     */
+    public TaskExporter(TaskFileFormat format) {
+        this(format, TransferProgress.NONE);
+    }
+
+    /**
+     * Creates an exporter.
+     *
+     * @param format The format of the files to write
+     * @param progress Receives progress reports
+     * @throws IllegalArgumentException if format or progress is null
+     */
+    public TaskExporter(TaskFileFormat format, TransferProgress progress) {
+        if (format == null) {
+            throw new IllegalArgumentException("Format cannot be null");
+        }
+        if (progress == null) {
+            throw new IllegalArgumentException("Progress cannot be null");
+        }
+        this.format = format;
+        this.progress = progress;
+    }
+
+    /**
+     * Writes every task of a service to a file in UTF-8, replacing the file if it exists.
+     *
+     * @param taskService The service holding the tasks
+     * @param file The file to write
+     * @return The number of tasks written
+     * @throws IOException if the file cannot be written
+     */
+    public long exportFile(TaskService taskService, Path file) throws IOException {
+        try (Writer writer = new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.UTF_8)) {
+            return exportTo(taskService, writer);
+        }
+    }
+
+    /**
+     * Writes every task of a service to a writer. The writer is flushed but not closed.
+     *
+     * @param taskService The service holding the tasks
+     * @param writer Where the tasks are written
+     * @return The number of tasks written
+     * @throws IOException if the writer fails
+     */
+    public long exportTo(TaskService taskService, Writer writer) throws IOException {
+        List<TaskItem> tasks = taskService.getAllTasks();
+        long total = tasks.size();
+        StringBuilder buffer = new StringBuilder(BUFFER_CHARS + 1024);
+        char[] chars = new char[BUFFER_CHARS + 1024];
+        format.appendHeader(buffer);
+        long written = 0;
+        for (TaskItem task : tasks) {
+            format.appendRecord(buffer, task);
+            if (buffer.length() >= BUFFER_CHARS) {
+                chars = drain(buffer, chars, writer);
+            }
+            if (++written % PROGRESS_INTERVAL == 0) {
+                progress.update(written, total);
+            }
+        }
+        drain(buffer, chars, writer);
+        writer.flush();
+        progress.update(written, total);
+        return written;
+    }
+
+    /**
+     * Writes out and empties the buffer, through a char array so no string is made.
+     *
+     * @return The char array, grown if the buffer held more than it
+     */
+    private static char[] drain(StringBuilder buffer, char[] chars, Writer writer) throws IOException {
+        if (buffer.length() > chars.length) {
+            chars = new char[buffer.length()];
+        }
+        buffer.getChars(0, buffer.length(), chars, 0);
+        writer.write(chars, 0, buffer.length());
+        buffer.setLength(0);
+        return chars;
+    }
+}
@@ -0,0 +1,389 @@
+package persistence;
+
+import model.TaskDates;
+import model.TaskItem;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Text formats for exchanging task lists with other programs, one task per
+ * record with its description, due date in format dd-MM-yyyy and completion.
+ * Task IDs are not exchanged: imported tasks get new ones.
+ * <p>
+ * CSV files start with the header row {@code task,due_date,completed} and
+ * quote fields as RFC 4180 describes, so a quoted description may span lines.
+ * JSON Lines files hold one object per line, such as
+ * {@code {"task":"Buy milk","dueDate":"15-12-2025","completed":false}};
+ * other keys with plain values are ignored when reading.
+ */
+public enum TaskFileFormat {
+    CSV {
+        @Override
+        void appendHeader(StringBuilder out) {
+            out.append(CSV_HEADER).append('\n');
+        }
+
+        @Override
+        boolean isHeader(CharSequence record) {
+            return CSV_HEADER.equalsIgnoreCase(record.toString().trim());
+        }
+
+        @Override
+        boolean quotesSpanLines() {
+            return true;
+        }
+
+        @Override
+        void appendRecord(StringBuilder out, TaskItem task) {
+            appendField(out, task.getTask());
+            out.append(',');
+            TaskDates.appendTo(out, task.getDueDate());
+            out.append(',').append(task.isCompleted()).append('\n');
+        }
+
+        private void appendField(StringBuilder out, String value) {
+            boolean quoted = false;
+            for (int i = 0; i < value.length() && !quoted; i++) {
+                char c = value.charAt(i);
+                quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quoted) {
+                out.append(value);
+                return;
+            }
+            out.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    out.append('"');
+                }
+                out.append(c);
+            }
+            out.append('"');
+        }
+
+        @Override
+        TaskRecord parse(CharSequence record) {
+            String[] fields = new String[3];
+            StringBuilder field = new StringBuilder();
+            int count = 0;
+            int i = 0;
+            int length = record.length();
+            while (true) {
+                if (count == fields.length) {
+                    throw new IllegalArgumentException("Expected 3 fields but found more");
+                }
+                field.setLength(0);
+                if (i < length && record.charAt(i) == '"') {
+                    i = readQuoted(record, i + 1, field);
+                    if (i < length && record.charAt(i) != ',') {
+                        throw new IllegalArgumentException("Unexpected text after a quoted field");
+                    }
+                } else {
+                    while (i < length && record.charAt(i) != ',') {
+                        char c = record.charAt(i++);
+                        if (c == '"') {
+                            throw new IllegalArgumentException("Quote inside an unquoted field");
+                        }
+                        field.append(c);
+                    }
+                }
+                fields[count++] = field.toString();
+                if (i >= length) {
+                    break;
+                }
+                i++;
+            }
+            if (count != fields.length) {
+                throw new IllegalArgumentException("Expected 3 fields but found " + count);
+            }
+            return new TaskRecord(fields[0], fields[1], parseCompleted(fields[2]));
+        }
+
+        /**
+         * Reads a quoted field starting after its opening quote.
+         *
+         * @return The index after the closing quote
+         */
+        private int readQuoted(CharSequence record, int start, StringBuilder field) {
+            int i = start;
+            while (i < record.length()) {
+                char c = record.charAt(i++);
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < record.length() && record.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException("Quoted field is not closed");
+        }
+
+        private boolean parseCompleted(String value) {
+            String trimmed = value.trim();
+            if (trimmed.isEmpty() || trimmed.equalsIgnoreCase("false")) {
+                return false;
+            }
+            if (trimmed.equalsIgnoreCase("true")) {
+                return true;
+            }
+            throw new IllegalArgumentException("Completed must be true or false");
+        }
+    },
+
+    JSON_LINES {
+        @Override
+        void appendHeader(StringBuilder out) {
+        }
+
+        @Override
+        boolean isHeader(CharSequence record) {
+            return false;
+        }
+
+        @Override
+        boolean quotesSpanLines() {
+            return false;
+        }
+
+        @Override
+        void appendRecord(StringBuilder out, TaskItem task) {
+            out.append("{\"task\":");
+            appendString(out, task.getTask());
+            out.append(",\"dueDate\":\"");
+            TaskDates.appendTo(out, task.getDueDate());
+            out.append("\",\"completed\":").append(task.isCompleted()).append("}\n");
+        }
+
+        private void appendString(StringBuilder out, String value) {
+            out.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"' -> out.append("\\\"");
+                    case '\\' -> out.append("\\\\");
+                    case '\n' -> out.append("\\n");
+                    case '\r' -> out.append("\\r");
+                    case '\t' -> out.append("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                        } else {
+                            out.append(c);
+                        }
+                    }
+                }
+            }
+            out.append('"');
+        }
+
+        @Override
+        TaskRecord parse(CharSequence record) {
+            return new JsonRecord(record).parse();
+        }
+    };
+
+    private static final String CSV_HEADER = "task,due_date,completed";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * Picks the format for a file from its extension: .csv, or .jsonl or .ndjson.
+     *
+     * @param file The file to read or write
+     * @return The file's format
+     * @throws IllegalArgumentException if the extension is not one of these
+     */
+    public static TaskFileFormat forFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return JSON_LINES;
+        }
+        throw new IllegalArgumentException("Unknown task file format: " + file.getFileName());
+    }
+
+    /**
+     * Appends what comes before the first record.
+     */
+    abstract void appendHeader(StringBuilder out);
+
+    /**
+     * Checks whether the first record of a file is a header to skip.
+     */
+    abstract boolean isHeader(CharSequence record);
+
+    /**
+     * Checks whether a line break inside double quotes belongs to the record.
+     */
+    abstract boolean quotesSpanLines();
+
+    /**
+     * Appends one task as a record, ending with a line break.
+     */
+    abstract void appendRecord(StringBuilder out, TaskItem task);
+
+    /**
+     * Parses and validates one record, without its line break.
+     *
+     * @throws IllegalArgumentException if the record is not a valid task
+     */
+    abstract TaskRecord parse(CharSequence record);
+
+    /**
+     * Parser for one JSON object whose values are strings, numbers, booleans or null.
+     */
+    private static final class JsonRecord {
+        private final CharSequence text;
+        private int position;
+
+        JsonRecord(CharSequence text) {
+            this.text = text;
+        }
+
+        TaskRecord parse() {
+            String task = null;
+            String dueDate = null;
+            boolean completed = false;
+            expect('{');
+            if (!consume('}')) {
+                do {
+                    String key = readString();
+                    expect(':');
+                    switch (key) {
+                        case "task" -> task = readString();
+                        case "dueDate" -> dueDate = readString();
+                        case "completed" -> completed = readBoolean();
+                        default -> skipValue();
+                    }
+                } while (consume(','));
+                expect('}');
+            }
+            skipWhitespace();
+            if (position < text.length()) {
+                throw new IllegalArgumentException("Unexpected text after the object");
+            }
+            if (task == null) {
+                throw new IllegalArgumentException("Missing \"task\"");
+            }
+            if (dueDate == null) {
+                throw new IllegalArgumentException("Missing \"dueDate\"");
+            }
+            return new TaskRecord(task, dueDate, completed);
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private boolean consume(char expected) {
+            skipWhitespace();
+            if (position < text.length() && text.charAt(position) == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char expected) {
+            if (!consume(expected)) {
+                throw new IllegalArgumentException("Expected '" + expected + "' at column " + (position + 1));
+            }
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (position < text.length()) {
+                char c = text.charAt(position++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                } else if (position < text.length()) {
+                    value.append(unescape(text.charAt(position++)));
+                }
+            }
+            throw new IllegalArgumentException("String is not closed");
+        }
+
+        private char unescape(char escaped) {
+            switch (escaped) {
+                case '"', '\\', '/':
+                    return escaped;
+                case 'b':
+                    return '\b';
+                case 'f':
+                    return '\f';
+                case 'n':
+                    return '\n';
+                case 'r':
+                    return '\r';
+                case 't':
+                    return '\t';
+                case 'u':
+                    if (position + 4 <= text.length()) {
+                        try {
+                            char c = (char) Integer.parseInt(text, position, position + 4, 16);
+                            position += 4;
+                            return c;
+                        } catch (NumberFormatException e) {
+                            // reported below
+                        }
+                    }
+                    throw new IllegalArgumentException("Invalid \\u escape at column " + position);
+                default:
+                    throw new IllegalArgumentException("Invalid escape \\" + escaped);
+            }
+        }
+
+        private boolean readBoolean() {
+            if (consumeWord("true")) {
+                return true;
+            }
+            if (consumeWord("false") || consumeWord("null")) {
+                return false;
+            }
+            throw new IllegalArgumentException("\"completed\" must be true or false");
+        }
+
+        private boolean consumeWord(String word) {
+            skipWhitespace();
+            if (position + word.length() > text.length()) {
+                return false;
+            }
+            for (int i = 0; i < word.length(); i++) {
+                if (text.charAt(position + i) != word.charAt(i)) {
+                    return false;
+                }
+            }
+            position += word.length();
+            return true;
+        }
+
+        private void skipValue() {
+            skipWhitespace();
+            if (position < text.length() && text.charAt(position) == '"') {
+                readString();
+                return;
+            }
+            if (consumeWord("true") || consumeWord("false") || consumeWord("null")) {
+                return;
+            }
+            int start = position;
+            while (position < text.length() && "+-0123456789.eE".indexOf(text.charAt(position)) >= 0) {
+                position++;
+            }
+            if (position == start) {
+                throw new IllegalArgumentException("Unsupported value at column " + (position + 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,778 @@
+package persistence;
+
+import model.TaskItem;
+import service.TaskService;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+/**
+ * Imports tasks from a CSV or JSON Lines file, one record at a time, so
+ * memory use does not grow with the size of the file: the text is read
+ * through a fixed buffer and each record is parsed and handed on before the
+ * next one is read. Records that cannot be imported, including records
+ * longer than MAX_RECORD_CHARS and records with bytes that are not valid
+ * UTF-8, are skipped and reported in the ImportResult instead of stopping
+ * the import. A byte order mark at the start of the text is ignored.
+ * <p>
+ * Large files can instead be imported in parallel: the file is split into
+ * byte ranges that start on a line, the ranges are parsed and validated on
+ * a ForkJoinPool, and their tasks are handed on in file order on the
+ * calling thread, with IDs in file order: once a range is parsed, the
+ * calling thread reserves a block of IDs for its records and the pool
+ * creates their tasks while the tasks of the range before are handed on.
+ * At most two ranges per pool thread, and one more whose tasks are being
+ * created, are held in memory at once, each at most MAX_CHUNK_BYTES plus
+ * the bytes of one record of MAX_RECORD_CHARS. For CSV, where a line may
+ * start inside a quoted field, each range is first scanned in parallel to
+ * learn, for both ways it could start, whether it ends inside a quoted
+ * field; a range found to start inside one leaves that record to the
+ * range before it, which reads on past its end to finish it. The
+ * parallel import only pays off with cores to spare for the pool besides
+ * the calling thread; on a single core it is slower than importFile.
+ * <p>
+ * Progress is reported in bytes read for files and in characters read for
+ * readers, every PROGRESS_INTERVAL records, or after each range in
+ * parallel imports, and once at the end.
+ */
+public final class TaskImporter {
+    /**
+     * The longest record that is imported; longer ones are skipped without being kept in memory.
+     */
+    public static final int MAX_RECORD_CHARS = 1 << 20;
+
+    /**
+     * The number of records between progress reports.
+     */
+    public static final int PROGRESS_INTERVAL = 4096;
+
+    /**
+     * The smallest and largest byte ranges a parallel import splits a file into.
+     */
+    static final int MIN_CHUNK_BYTES = 256 * 1024;
+    static final int MAX_CHUNK_BYTES = 1024 * 1024;
+
+    /**
+     * More bytes than a record of MAX_RECORD_CHARS characters can take in
+     * UTF-8, which needs at most three bytes per char. A range reads at most
+     * this far past its nominal end; a record cut off there is overlong.
+     */
+    private static final long MAX_RECORD_BYTES = 3L * MAX_RECORD_CHARS + 4;
+
+    private static final int BUFFER_CHARS = 64 * 1024;
+    private static final int PROBE_BYTES = 8 * 1024;
+    private static final int SCAN_BYTES = 64 * 1024;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final TaskFileFormat format;
+    private final TransferProgress progress;
+
+    /**
+     * Creates an importer that does not report progress.
+     *
+     * @param format The format of the files to import
+     * @throws IllegalArgumentException if format is null
+     */
+    public TaskImporter(TaskFileFormat format) {
+        this(format, TransferProgress.NONE);
+    }
+
+    /**
+     * Creates an importer.
+     *
+     * @param format The format of the files to import
+     * @param progress Receives progress reports
+     * @throws IllegalArgumentException if format or progress is null
+     */
+    public TaskImporter(TaskFileFormat format, TransferProgress progress) {
+        if (format == null) {
+            throw new IllegalArgumentException("Format cannot be null");
+        }
+        if (progress == null) {
+            throw new IllegalArgumentException("Progress cannot be null");
+        }
+        this.format = format;
+        this.progress = progress;
+    }
+
+    /**
+     * Imports the tasks in a file into a service, in file order.
+     *
+     * @param file The file to read
+     * @param taskService The service the tasks are added to
+     * @return The number of imported tasks and the skipped rows
+     * @throws IOException if the file cannot be read
+     */
+    public ImportResult importInto(Path file, TaskService taskService) throws IOException {
+        return importFile(file, taskService::addTask);
+    }
+
+    /**
+     * Imports the tasks in a file, passing each one on as soon as it is parsed.
+     *
+     * @param file The file to read
+     * @param action Receives each task, in file order
+     * @return The number of imported tasks and the skipped rows
+     * @throws IOException if the file cannot be read
+     */
+    public ImportResult importFile(Path file, Consumer<? super TaskItem> action) throws IOException {
+        long size = Files.size(file);
+        try (CountingInputStream in = new CountingInputStream(Files.newInputStream(file));
+             Reader reader = new InputStreamReader(in, decoder())) {
+            ImportResult result = new ImportResult();
+            RecordReader records = new RecordReader(true, false, record -> pass(record, action), result);
+            records.readAll(reader, () -> progress.update(in.count, size));
+            progress.update(in.count, size);
+            return result;
+        }
+    }
+
+    /**
+     * Imports the tasks read from a reader, passing each one on as soon as it
+     * is parsed. The reader is not closed.
+     *
+     * @param reader The text to read
+     * @param action Receives each task, in reading order
+     * @return The number of imported tasks and the skipped rows
+     * @throws IOException if the reader fails
+     */
+    public ImportResult importFrom(Reader reader, Consumer<? super TaskItem> action) throws IOException {
+        ImportResult result = new ImportResult();
+        RecordReader records = new RecordReader(true, false, record -> pass(record, action), result);
+        records.readAll(reader, () -> progress.update(records.charsRead, -1));
+        progress.update(records.charsRead, -1);
+        return result;
+    }
+
+    /**
+     * Imports the tasks in a file into a service in parallel on the common
+     * ForkJoinPool, adding them in file order on the calling thread.
+     *
+     * @param file The file to read
+     * @param taskService The service the tasks are added to
+     * @return The number of imported tasks and the skipped rows
+     * @throws IOException if the file cannot be read
+     */
+    public ImportResult importIntoParallel(Path file, TaskService taskService) throws IOException {
+        return importFileParallel(file, taskService::addTask, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Imports the tasks in a file, parsing parts of it in parallel and
+     * passing the tasks on in file order on the calling thread.
+     *
+     * @param file The file to read
+     * @param action Receives each task, in file order
+     * @param pool The pool that parses the parts of the file
+     * @return The number of imported tasks and the skipped rows
+     * @throws IOException if the file cannot be read
+     */
+    public ImportResult importFileParallel(Path file, Consumer<? super TaskItem> action, ForkJoinPool pool)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            List<Range> ranges = planRanges(channel, size, pool);
+            ImportResult result = new ImportResult();
+            ArrayDeque<ForkJoinTask<Chunk>> parsing = new ArrayDeque<>();
+            ForkJoinTask<Chunk> creating = null;
+            int window = pool.getParallelism() * 2;
+            int next = 0;
+            long lines = 0;
+            try {
+                while (next < ranges.size() || !parsing.isEmpty() || creating != null) {
+                    while (next < ranges.size() && parsing.size() < window) {
+                        Range range = ranges.get(next);
+                        parsing.add(pool.submit(() -> parseChunk(channel, range)));
+                        next++;
+                    }
+                    ForkJoinTask<Chunk> created = creating;
+                    creating = null;
+                    if (!parsing.isEmpty()) {
+                        Chunk parsed = await(parsing.remove());
+                        long firstId = TaskItem.allocateIds(parsed.records.size());
+                        creating = pool.submit(() -> parsed.createTasks(firstId));
+                    }
+                    if (created != null) {
+                        Chunk chunk = await(created);
+                        for (TaskItem task : chunk.tasks) {
+                            action.accept(task);
+                        }
+                        result.add(chunk.result, lines);
+                        lines += chunk.lines;
+                        progress.update(chunk.end, size);
+                    }
+                }
+            } finally {
+                for (ForkJoinTask<Chunk> task : parsing) {
+                    task.cancel(false);
+                }
+                if (creating != null) {
+                    creating.cancel(false);
+                }
+            }
+            if (ranges.isEmpty()) {
+                progress.update(0, 0);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Decodes UTF-8, turning invalid bytes into U+FFFD so the record holding them can be skipped.
+     */
+    private static CharsetDecoder decoder() {
+        return StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    private static void pass(TaskRecord record, Consumer<? super TaskItem> action) {
+        action.accept(record.toTask());
+    }
+
+    /**
+     * Splits a file into byte ranges of about equal size that start on a line
+     * and, for CSV, works out which of them start inside a quoted field.
+     */
+    private List<Range> planRanges(FileChannel channel, long size, ForkJoinPool pool) throws IOException {
+        long chunkBytes = Math.max(MIN_CHUNK_BYTES,
+            Math.min(MAX_CHUNK_BYTES, size / (pool.getParallelism() * 4L)));
+        long[] starts = chunkStarts(channel, size, chunkBytes);
+        int count = starts.length;
+        QuoteScan[] scans = format.quotesSpanLines() ? scanQuotes(channel, starts, size, pool) : null;
+        boolean[] insideQuotes = new boolean[count + 1];
+        long[] recordEnds = new long[count + 1];
+        recordEnds[count] = size;
+        if (scans != null) {
+            for (int i = 0; i < count; i++) {
+                insideQuotes[i + 1] = insideQuotes[i] ? scans[i].endsInsideFromInside : scans[i].endsInsideFromOutside;
+            }
+            for (int i = count - 1; i >= 0; i--) {
+                recordEnds[i] = scans[i].recordEndFromInside >= 0 ? scans[i].recordEndFromInside : recordEnds[i + 1];
+            }
+        }
+        List<Range> ranges = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean last = i + 1 == count;
+            long end = last ? size : starts[i + 1];
+            long nominalEnd = last ? size : starts[i] + chunkBytes;
+            long lastRecordEnd = insideQuotes[i + 1] ? recordEnds[i + 1] : end;
+            long readEnd = Math.min(lastRecordEnd, nominalEnd + MAX_RECORD_BYTES);
+            boolean anyRecord = !insideQuotes[i] || scans[i].recordEndFromInside >= 0;
+            ranges.add(new Range(starts[i], end, anyRecord ? readEnd : starts[i], insideQuotes[i],
+                scans != null ? scans[i].lines : -1));
+        }
+        return ranges;
+    }
+
+    /**
+     * Finds the start of each range: the start of the file, then the start
+     * of the first line at or after each chunkBytes past the previous start.
+     *
+     * @return The start of each range, in file order
+     */
+    private static long[] chunkStarts(FileChannel channel, long size, long chunkBytes) throws IOException {
+        if (size == 0) {
+            return new long[0];
+        }
+        long[] starts = new long[16];
+        int count = 1;
+        ByteBuffer probe = ByteBuffer.allocate(PROBE_BYTES);
+        long position = chunkBytes;
+        while (position < size) {
+            long lineStart = nextLineStart(channel, position, size, probe);
+            if (lineStart < 0 || lineStart >= size) {
+                break;
+            }
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+            }
+            starts[count++] = lineStart;
+            position = lineStart + chunkBytes;
+        }
+        return Arrays.copyOf(starts, count);
+    }
+
+    /**
+     * Finds the first line break at or after a position, a line feed, a
+     * carriage return, or both. Neither byte ever occurs inside a
+     * multi-byte UTF-8 character.
+     *
+     * @return The position after the line break, or -1 if there is none
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size, ByteBuffer probe)
+            throws IOException {
+        while (true) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                return -1;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = probe.get(i);
+                if (b == '\n') {
+                    return position + i + 1;
+                }
+                if (b == '\r') {
+                    long after = position + i + 1;
+                    if (after < size && byteAt(channel, after, probe, i + 1, read) == '\n') {
+                        after++;
+                    }
+                    return after;
+                }
+            }
+            position += read;
+        }
+    }
+
+    private static byte byteAt(FileChannel channel, long position, ByteBuffer probe, int index, int read)
+            throws IOException {
+        if (index < read) {
+            return probe.get(index);
+        }
+        ByteBuffer one = ByteBuffer.allocate(1);
+        channel.read(one, position);
+        return one.get(0);
+    }
+
+    /**
+     * Scans every range in parallel.
+     */
+    private static QuoteScan[] scanQuotes(FileChannel channel, long[] starts, long size, ForkJoinPool pool)
+            throws IOException {
+        List<ForkJoinTask<QuoteScan>> scans = new ArrayList<>(starts.length);
+        for (int i = 0; i < starts.length; i++) {
+            long start = starts[i];
+            long end = i + 1 < starts.length ? starts[i + 1] : size;
+            scans.add(pool.submit(() -> scanQuotes(channel, start, end)));
+        }
+        QuoteScan[] results = new QuoteScan[starts.length];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = await(scans.get(i));
+        }
+        return results;
+    }
+
+    /**
+     * Follows the quoting of one range twice, once as if it started outside
+     * quotes and once as if it started inside a quoted field, with the same
+     * rules and line counting as RecordReader.
+     */
+    private static QuoteScan scanQuotes(FileChannel channel, long start, long end) {
+        try {
+            QuoteTracker outside = new QuoteTracker();
+            QuoteTracker inside = new QuoteTracker();
+            inside.enterQuotes();
+            ByteBuffer buffer = ByteBuffer.allocate(SCAN_BYTES);
+            long recordEnd = -1;
+            long lines = 0;
+            boolean afterCarriageReturn = false;
+            long position = start;
+            while (position < end) {
+                buffer.clear().limit((int) Math.min(SCAN_BYTES, end - position));
+                int read = channel.read(buffer, position);
+                if (read <= 0) {
+                    break;
+                }
+                int i = position == 0 && startsWithByteOrderMark(buffer, read) ? 3 : 0;
+                for (; i < read; i++) {
+                    byte c = buffer.get(i);
+                    if (c == '\n' && afterCarriageReturn) {
+                        afterCarriageReturn = false;
+                        continue;
+                    }
+                    afterCarriageReturn = c == '\r';
+                    if (c == '\n' || c == '\r') {
+                        lines++;
+                    }
+                    outside.endsRecord(c);
+                    if (inside.endsRecord(c) && recordEnd < 0) {
+                        recordEnd = position + i + 1;
+                    }
+                }
+                position += read;
+            }
+            return new QuoteScan(outside.inQuotes(), inside.inQuotes(), recordEnd, lines);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean startsWithByteOrderMark(ByteBuffer buffer, int read) {
+        return read >= 3 && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB
+            && buffer.get(2) == (byte) 0xBF;
+    }
+
+    /**
+     * Reads and parses one byte range of a file.
+     */
+    private Chunk parseChunk(FileChannel channel, Range range) {
+        try {
+            byte[] bytes = new byte[(int) (range.readEnd - range.start)];
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining() && channel.read(buffer, range.start + buffer.position()) > 0) {
+                // read until the range is full or the file ends
+            }
+            ImportResult result = new ImportResult();
+            List<TaskRecord> records = new ArrayList<>();
+            RecordReader reader = new RecordReader(range.start == 0, range.insideQuotes, records::add, result);
+            long lines = reader.readAll(
+                new InputStreamReader(new ByteArrayInputStream(bytes, 0, buffer.position()), decoder()), null);
+            return new Chunk(records, Collections.emptyList(), result, range.lines >= 0 ? range.lines : lines,
+                range.end);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Waits for a task run on the pool, rethrowing what it threw.
+     */
+    private static <T> T await(ForkJoinTask<T> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import was interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * A byte range of a file to parse. Its records are read from start up
+     * to readEnd, which lies past end when its last record goes on into the
+     * next range, and is start when every byte of it belongs to a record of
+     * an earlier range.
+     */
+    private static final class Range {
+        final long start;
+        final long end;
+        final long readEnd;
+        final boolean insideQuotes;
+        final long lines;
+
+        /**
+         * @param lines The number of line breaks in the range, or -1 to count them while parsing
+         */
+        Range(long start, long end, long readEnd, boolean insideQuotes, long lines) {
+            this.start = start;
+            this.end = end;
+            this.readEnd = readEnd;
+            this.insideQuotes = insideQuotes;
+            this.lines = lines;
+        }
+    }
+
+    /**
+     * The quoting of a CSV range: whether it ends inside a quoted field when
+     * it starts outside or inside one, and, when it starts inside one, where
+     * that field's record ends, or -1 if it goes on past the range.
+     */
+    private static final class QuoteScan {
+        final boolean endsInsideFromOutside;
+        final boolean endsInsideFromInside;
+        final long recordEndFromInside;
+        final long lines;
+
+        QuoteScan(boolean endsInsideFromOutside, boolean endsInsideFromInside, long recordEndFromInside,
+                  long lines) {
+            this.endsInsideFromOutside = endsInsideFromOutside;
+            this.endsInsideFromInside = endsInsideFromInside;
+            this.recordEndFromInside = recordEndFromInside;
+            this.lines = lines;
+        }
+    }
+
+    /**
+     * The parsed records of one byte range, with line numbers counted from
+     * the range's start, or the tasks created from them.
+     */
+    private static final class Chunk {
+        final List<TaskRecord> records;
+        final List<TaskItem> tasks;
+        final ImportResult result;
+        final long lines;
+        final long end;
+
+        Chunk(List<TaskRecord> records, List<TaskItem> tasks, ImportResult result, long lines, long end) {
+            this.records = records;
+            this.tasks = tasks;
+            this.result = result;
+            this.lines = lines;
+            this.end = end;
+        }
+
+        /**
+         * Creates the tasks of the records.
+         *
+         * @param firstId The ID of the first task; the others get the IDs after it
+         * @return The chunk holding the tasks in place of the records
+         */
+        Chunk createTasks(long firstId) {
+            List<TaskItem> created = new ArrayList<>(records.size());
+            for (int i = 0; i < records.size(); i++) {
+                created.add(records.get(i).toTask(firstId + i));
+            }
+            return new Chunk(Collections.emptyList(), created, result, lines, end);
+        }
+    }
+
+    /**
+     * Splits text into records, parses them, and counts lines as it goes.
+     */
+    private final class RecordReader {
+        private final Consumer<TaskRecord> parsed;
+        private final ImportResult result;
+        private final QuoteTracker quotes = format.quotesSpanLines() ? new QuoteTracker() : null;
+        private final StringBuilder record = new StringBuilder();
+        private final boolean startOfFile;
+        private boolean firstRecord;
+        private boolean continuation;
+        private boolean overlong;
+        private long line = 1;
+        private long recordLine = 1;
+        private long charsRead;
+
+        /**
+         * Creates a reader.
+         *
+         * @param startOfFile Whether the text starts the file, so it may begin with a byte order mark and a header
+         * @param insideQuotes Whether the text starts inside a quoted field of a record that is skipped,
+         *                     because the reader of the text before it reads that record
+         * @param parsed Receives each valid record
+         * @param result Counts imported and rejected records
+         */
+        RecordReader(boolean startOfFile, boolean insideQuotes, Consumer<TaskRecord> parsed, ImportResult result) {
+            this.startOfFile = startOfFile;
+            this.firstRecord = startOfFile;
+            this.continuation = insideQuotes;
+            if (insideQuotes) {
+                quotes.enterQuotes();
+            }
+            this.parsed = parsed;
+            this.result = result;
+        }
+
+        /**
+         * Reads every record of a text.
+         *
+         * @param reader The text
+         * @param onInterval Called every PROGRESS_INTERVAL records, or null
+         * @return The number of line breaks read
+         * @throws IOException if the reader fails
+         */
+        long readAll(Reader reader, Runnable onInterval) throws IOException {
+            char[] buffer = new char[BUFFER_CHARS];
+            boolean afterCarriageReturn = false;
+            long records = 0;
+            int length;
+            while ((length = reader.read(buffer)) != -1) {
+                int start = startOfFile && charsRead == 0 && buffer[0] == BYTE_ORDER_MARK ? 1 : 0;
+                charsRead += length;
+                for (int i = start; i < length; i++) {
+                    char c = buffer[i];
+                    boolean lineBreak = c == '\n' || c == '\r';
+                    if (c == '\n' && afterCarriageReturn) {
+                        afterCarriageReturn = false;
+                        continue;
+                    }
+                    afterCarriageReturn = c == '\r';
+                    if (lineBreak) {
+                        line++;
+                    }
+                    boolean endOfRecord = quotes != null ? quotes.endsRecord(c) : lineBreak;
+                    if (endOfRecord) {
+                        if (record.length() > 0 || overlong) {
+                            accept();
+                            if (++records % PROGRESS_INTERVAL == 0 && onInterval != null) {
+                                onInterval.run();
+                            }
+                        }
+                        record.setLength(0);
+                        overlong = false;
+                        recordLine = line;
+                        continue;
+                    }
+                    if (record.length() < MAX_RECORD_CHARS) {
+                        record.append(lineBreak ? '\n' : c);
+                    } else {
+                        overlong = true;
+                    }
+                }
+            }
+            if (record.length() > 0 || overlong) {
+                accept();
+            }
+            return line - 1;
+        }
+
+        /**
+         * Parses or rejects the current record.
+         */
+        private void accept() {
+            if (continuation) {
+                continuation = false;
+                return;
+            }
+            if (overlong) {
+                firstRecord = false;
+                result.rejected(recordLine, record, "Row is longer than " + MAX_RECORD_CHARS + " characters");
+                return;
+            }
+            if (isBlank(record)) {
+                return;
+            }
+            boolean header = firstRecord && format.isHeader(record);
+            firstRecord = false;
+            if (header) {
+                return;
+            }
+            if (record.indexOf("\uFFFD") >= 0) {
+                result.rejected(recordLine, record, "Row is not valid UTF-8");
+                return;
+            }
+            TaskRecord task;
+            try {
+                task = format.parse(record);
+            } catch (IllegalArgumentException e) {
+                result.rejected(recordLine, record, e.getMessage());
+                return;
+            }
+            parsed.accept(task);
+            result.imported();
+        }
+    }
+
+    /**
+     * Follows the quoting of CSV text as RFC 4180 describes it: a double
+     * quote opens a quoted field only as the first character of a field,
+     * and inside one, a double quote ends the field unless another one
+     * follows it. A stray quote in an unquoted field is left for the parser
+     * to reject, so it cannot swallow the rows after it.
+     */
+    private static final class QuoteTracker {
+        private boolean inQuotes;
+        private boolean quotePending;
+        private boolean fieldStart = true;
+
+        /**
+         * Starts inside a quoted field, as after a line break within one.
+         */
+        void enterQuotes() {
+            inQuotes = true;
+            fieldStart = false;
+        }
+
+        /**
+         * Follows one more character of the text.
+         *
+         * @param c The character, or a byte of UTF-8 text
+         * @return true if c is a line break that ends the record
+         */
+        boolean endsRecord(int c) {
+            if (inQuotes) {
+                if (!quotePending) {
+                    quotePending = c == '"';
+                    return false;
+                }
+                quotePending = false;
+                if (c == '"') {
+                    return false;
+                }
+                inQuotes = false;
+            }
+            if (c == '\n' || c == '\r') {
+                fieldStart = true;
+                return true;
+            }
+            if (c == '"' && fieldStart) {
+                inQuotes = true;
+                fieldStart = false;
+                return false;
+            }
+            fieldStart = c == ',';
+            return false;
+        }
+
+        /**
+         * Gets whether the text so far ends inside a quoted field, after a line break.
+         *
+         * @return true if the next line continues a quoted field
+         */
+        boolean inQuotes() {
+            return inQuotes && !quotePending;
+        }
+    }
+
+    private static boolean isBlank(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts the bytes read from a stream, for progress in bytes.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
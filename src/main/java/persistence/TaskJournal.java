@@ -0,0 +1,523 @@
+package persistence;
+
+import model.TaskItem;
+import service.TaskService;
+import service.TaskServiceListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Makes the changes to a TaskService durable with a write-ahead log.
+ * Every task added, removed, renamed, rescheduled, toggled or cleared is
+ * appended to the log as a small binary entry holding the task's new state,
+ * so applying an entry twice has the same effect as applying it once.
+ * <p>
+ * The directory holds numbered generations: snapshot-N holds every task at
+ * the moment log-N was started, and log-N the changes made since. After a
+ * configurable number of entries the journal starts the next generation:
+ * it switches to a new log and copies the fields of the current tasks on the
+ * thread that made the change, then encodes and writes that copy in the
+ * background and deletes the older generation once the snapshot is on disk. Opening
+ * the journal loads the newest complete snapshot and replays every log
+ * from that generation on, so a crash at any point loses at most the
+ * entries that had not yet been synced.
+ */
+public final class TaskJournal implements TaskServiceListener, Closeable {
+    private static final byte ADD = 1;
+    private static final byte REMOVE = 2;
+    private static final byte TEXT = 3;
+    private static final byte DUE_DATE = 4;
+    private static final byte STATUS = 5;
+    private static final byte CLEAR = 6;
+
+    private static final String LOG_PREFIX = "log-";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final TaskService service;
+    private final Settings settings;
+    private final ExecutorService snapshotWriter;
+    private WriteAheadLog log;
+    private int generation;
+    private long entriesSinceSnapshot;
+    private Future<?> pendingSnapshot;
+    private boolean closed;
+
+    /**
+     * How often the journal syncs and takes snapshots.
+     */
+    public static final class Settings {
+        /**
+         * Syncs every 256 entries or 10 ms, without making writers wait,
+         * and starts a new snapshot every 100000 entries.
+         */
+        public static final Settings DEFAULTS = new Settings(256, 10, false, 100_000);
+
+        private final int syncBatchSize;
+        private final long syncIntervalMillis;
+        private final boolean waitForSync;
+        private final long snapshotAfterEntries;
+
+        /**
+         * Creates journal settings.
+         *
+         * @param syncBatchSize The number of waiting entries that triggers a sync
+         * @param syncIntervalMillis The longest an entry waits before being synced; 0 syncs as soon as possible
+         * @param waitForSync Whether each change waits until its entry is on disk
+         * @param snapshotAfterEntries The number of entries after which a new snapshot is taken
+         * @throws IllegalArgumentException if a count is not positive or the interval is negative
+         */
+        public Settings(int syncBatchSize, long syncIntervalMillis, boolean waitForSync, long snapshotAfterEntries) {
+            if (syncBatchSize <= 0) {
+                throw new IllegalArgumentException("Sync batch size must be positive");
+            }
+            if (syncIntervalMillis < 0) {
+                throw new IllegalArgumentException("Sync interval cannot be negative");
+            }
+            if (snapshotAfterEntries <= 0) {
+                throw new IllegalArgumentException("Snapshot interval must be positive");
+            }
+            this.syncBatchSize = syncBatchSize;
+            this.syncIntervalMillis = syncIntervalMillis;
+            this.waitForSync = waitForSync;
+            this.snapshotAfterEntries = snapshotAfterEntries;
+        }
+    }
+
+    private TaskJournal(Path directory, TaskService service, Settings settings) {
+        this.directory = directory;
+        this.service = service;
+        this.settings = settings;
+        this.snapshotWriter = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-journal-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens the journal with the default settings.
+     *
+     * @param directory The directory holding the snapshots and logs
+     * @param service An empty service to restore the saved tasks into
+     * @return The opened journal, recording every later change to the service
+     * @throws IOException if the journal files cannot be read or written
+     * @throws IllegalArgumentException if the service is not empty
+     */
+    public static TaskJournal open(Path directory, TaskService service) throws IOException {
+        return open(directory, service, Settings.DEFAULTS);
+    }
+
+    /**
+     * Restores the saved tasks into a service and starts recording its changes.
+     *
+     * @param directory The directory holding the snapshots and logs
+     * @param service An empty service to restore the saved tasks into
+     * @param settings How often to sync and take snapshots
+     * @return The opened journal, recording every later change to the service
+     * @throws IOException if the journal files cannot be read or written
+     * @throws IllegalArgumentException if the service is not empty or an argument is null
+     */
+    public static TaskJournal open(Path directory, TaskService service, Settings settings) throws IOException {
+        if (directory == null || service == null || settings == null) {
+            throw new IllegalArgumentException("Directory, service and settings cannot be null");
+        }
+        if (!service.isEmpty()) {
+            throw new IllegalArgumentException("Task service must be empty");
+        }
+        Files.createDirectories(directory);
+        TaskJournal journal = new TaskJournal(directory, service, settings);
+        journal.recover();
+        service.addListener(journal);
+        return journal;
+    }
+
+    private void recover() throws IOException {
+        TreeSet<Integer> snapshots = new TreeSet<>();
+        TreeSet<Integer> logs = new TreeSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    Files.delete(file);
+                } else if (name.startsWith(SNAPSHOT_PREFIX)) {
+                    snapshots.add(generationOf(name, SNAPSHOT_PREFIX));
+                } else if (name.startsWith(LOG_PREFIX)) {
+                    logs.add(generationOf(name, LOG_PREFIX));
+                }
+            }
+        }
+        int base = snapshots.isEmpty() ? 0 : snapshots.last();
+        if (!snapshots.isEmpty()) {
+            WriteAheadLog.read(snapshotFile(base), this::apply);
+        }
+        for (int logGeneration : logs.tailSet(base)) {
+            entriesSinceSnapshot += WriteAheadLog.read(logFile(logGeneration), this::apply);
+        }
+        generation = logs.isEmpty() ? base : Math.max(base, logs.last());
+        deleteGenerationsBefore(base);
+        log = WriteAheadLog.open(logFile(generation), settings.syncBatchSize, settings.syncIntervalMillis);
+    }
+
+    private static int generationOf(String name, String prefix) throws IOException {
+        try {
+            return Integer.parseInt(name.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            throw new IOException("Unexpected file in task journal: " + name, e);
+        }
+    }
+
+    /**
+     * Applies one entry to the service. Entries carry absolute values, so
+     * replaying an entry whose change is already in a snapshot is harmless.
+     */
+    private void apply(ByteBuffer entry) {
+        byte type = entry.get();
+        if (type == CLEAR) {
+            service.clearAllTasks();
+            return;
+        }
+        long id = entry.getLong();
+        Optional<TaskItem> existing = service.getById(id);
+        switch (type) {
+            case ADD:
+                int epochDay = entry.getInt();
+                boolean completed = entry.get() != 0;
+                String text = readText(entry);
+                if (existing.isPresent()) {
+                    TaskItem task = existing.get();
+                    task.setTask(text);
+                    task.setDueDate(LocalDate.ofEpochDay(epochDay));
+                    setCompleted(task, completed);
+                } else {
+                    service.addTask(new TaskItem(id, text, LocalDate.ofEpochDay(epochDay), completed));
+                }
+                break;
+            case REMOVE:
+                service.removeById(id);
+                break;
+            case TEXT:
+                String newText = readText(entry);
+                existing.ifPresent(task -> task.setTask(newText));
+                break;
+            case DUE_DATE:
+                LocalDate dueDate = LocalDate.ofEpochDay(entry.getInt());
+                existing.ifPresent(task -> task.setDueDate(dueDate));
+                break;
+            case STATUS:
+                boolean isCompleted = entry.get() != 0;
+                existing.ifPresent(task -> setCompleted(task, isCompleted));
+                break;
+            default:
+                throw new IllegalStateException("Unknown task journal entry type: " + type);
+        }
+    }
+
+    private static void setCompleted(TaskItem task, boolean completed) {
+        if (completed) {
+            task.markAsCompleted();
+        } else {
+            task.markAsNotCompleted();
+        }
+    }
+
+    private static String readText(ByteBuffer entry) {
+        byte[] bytes = new byte[entry.getInt()];
+        entry.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void taskAdded(TaskItem task) {
+        record(encodeAdd(task, null));
+    }
+
+    @Override
+    public void taskRemoved(TaskItem task) {
+        record(header(REMOVE, task.getId(), 0).flip());
+    }
+
+    @Override
+    public void tasksCleared() {
+        record(ByteBuffer.allocate(1).put(CLEAR).flip());
+    }
+
+    @Override
+    public void textChanged(TaskItem item, String previousTask) {
+        byte[] text = item.getTask().getBytes(StandardCharsets.UTF_8);
+        record(header(TEXT, item.getId(), Integer.BYTES + text.length).putInt(text.length).put(text).flip());
+    }
+
+    @Override
+    public void dueDateChanged(TaskItem item, LocalDate previousDueDate) {
+        record(header(DUE_DATE, item.getId(), Integer.BYTES)
+            .putInt(Math.toIntExact(item.getDueDate().toEpochDay())).flip());
+    }
+
+    @Override
+    public void completionChanged(TaskItem item) {
+        record(header(STATUS, item.getId(), 1).put(item.isCompleted() ? (byte) 1 : 0).flip());
+    }
+
+    private static ByteBuffer header(byte type, long id, int payload) {
+        return ByteBuffer.allocate(1 + Long.BYTES + payload).put(type).putLong(id);
+    }
+
+    /**
+     * Encodes a task as an ADD entry, into the given buffer if it has room.
+     */
+    private static ByteBuffer encodeAdd(TaskItem task, ByteBuffer into) {
+        return encodeAdd(task.getId(), task.getTask(), Math.toIntExact(task.getDueDate().toEpochDay()),
+            task.isCompleted(), into);
+    }
+
+    private static ByteBuffer encodeAdd(long id, String task, int epochDay, boolean completed, ByteBuffer into) {
+        byte[] text = task.getBytes(StandardCharsets.UTF_8);
+        int size = 1 + Long.BYTES + Integer.BYTES + 1 + Integer.BYTES + text.length;
+        ByteBuffer entry = into != null && into.capacity() >= size ? into.clear() : ByteBuffer.allocate(size);
+        entry.put(ADD).putLong(id)
+            .putInt(epochDay)
+            .put(completed ? (byte) 1 : 0)
+            .putInt(text.length).put(text);
+        return entry.flip();
+    }
+
+    private void record(ByteBuffer entry) {
+        WriteAheadLog target;
+        long sequence;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            target = log;
+            sequence = log.append(entry);
+            if (++entriesSinceSnapshot >= settings.snapshotAfterEntries) {
+                startSnapshot();
+            }
+        }
+        if (settings.waitForSync) {
+            try {
+                target.awaitDurable(sequence);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot sync task journal", e);
+            }
+        }
+    }
+
+    /**
+     * Starts a new generation now instead of waiting for the entry count.
+     *
+     * @throws IOException if the new log cannot be opened
+     */
+    public void snapshot() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Task journal is closed");
+            }
+            startSnapshotOrThrow();
+        }
+    }
+
+    /**
+     * Waits until every change recorded so far is on disk, including any
+     * snapshot still being written.
+     *
+     * @throws IOException if the log or snapshot cannot be written
+     */
+    public void sync() throws IOException {
+        WriteAheadLog current;
+        Future<?> snapshot;
+        synchronized (this) {
+            current = log;
+            snapshot = pendingSnapshot;
+        }
+        current.sync();
+        awaitSnapshot(snapshot);
+    }
+
+    private void startSnapshot() {
+        try {
+            startSnapshotOrThrow();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot start a new task journal generation", e);
+        }
+    }
+
+    /**
+     * Switches to the next log and captures the tasks as they are at the
+     * switch. Called with the journal lock held, so no change can be recorded
+     * in between. Only each task's fields are copied here, which pauses the
+     * changing thread for one pass over the tasks; the snapshot thread
+     * encodes and writes the copy.
+     */
+    private void startSnapshotOrThrow() throws IOException {
+        int next = generation + 1;
+        WriteAheadLog nextLog = WriteAheadLog.open(logFile(next), settings.syncBatchSize, settings.syncIntervalMillis);
+        WriteAheadLog previousLog = log;
+        log = nextLog;
+        generation = next;
+        entriesSinceSnapshot = 0;
+        SnapshotView view = new SnapshotView(service.getAllTasks());
+        pendingSnapshot = snapshotWriter.submit(() -> {
+            previousLog.close();
+            writeSnapshot(next, view.encode());
+            deleteGenerationsBefore(next);
+            return null;
+        });
+    }
+
+    private void writeSnapshot(int snapshotGeneration, byte[] snapshot) throws IOException {
+        Path target = snapshotFile(snapshotGeneration);
+        Path temp = directory.resolve(target.getFileName() + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(snapshot);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void deleteGenerationsBefore(int keep) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                boolean snapshot = name.startsWith(SNAPSHOT_PREFIX) && !name.endsWith(TEMP_SUFFIX);
+                boolean oldLog = name.startsWith(LOG_PREFIX);
+                if ((snapshot && generationOf(name, SNAPSHOT_PREFIX) < keep)
+                        || (oldLog && generationOf(name, LOG_PREFIX) < keep)) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private static void awaitSnapshot(Future<?> snapshot) throws IOException {
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            snapshot.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing task snapshot");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Cannot write task snapshot", cause);
+        }
+    }
+
+    private Path logFile(int logGeneration) {
+        return directory.resolve(LOG_PREFIX + logGeneration);
+    }
+
+    private Path snapshotFile(int snapshotGeneration) {
+        return directory.resolve(SNAPSHOT_PREFIX + snapshotGeneration);
+    }
+
+    /**
+     * The state of every task at a generation switch, copied into arrays so
+     * that later changes to the tasks do not reach the snapshot.
+     */
+    private static final class SnapshotView {
+        private final long[] ids;
+        private final String[] texts;
+        private final int[] dueDates;
+        private final boolean[] completed;
+
+        SnapshotView(List<TaskItem> tasks) {
+            int count = tasks.size();
+            ids = new long[count];
+            texts = new String[count];
+            dueDates = new int[count];
+            completed = new boolean[count];
+            for (int i = 0; i < count; i++) {
+                TaskItem task = tasks.get(i);
+                ids[i] = task.getId();
+                texts[i] = task.getTask();
+                dueDates[i] = Math.toIntExact(task.getDueDate().toEpochDay());
+                completed[i] = task.isCompleted();
+            }
+        }
+
+        /**
+         * Encodes every task as framed ADD entries, the same format as a log file.
+         */
+        byte[] encode() {
+            ByteBuffer out = ByteBuffer.allocate(Math.max(1024, ids.length * 48));
+            ByteBuffer entry = ByteBuffer.allocate(256);
+            CRC32 crc = new CRC32();
+            for (int i = 0; i < ids.length; i++) {
+                entry = encodeAdd(ids[i], texts[i], dueDates[i], completed[i], entry);
+                int length = entry.remaining();
+                if (out.remaining() < 8 + length) {
+                    ByteBuffer grown = ByteBuffer.allocate(Math.max(out.capacity() * 2, out.position() + 8 + length));
+                    out.flip();
+                    out = grown.put(out);
+                }
+                crc.reset();
+                crc.update(entry.duplicate());
+                out.putInt(length).putInt((int) crc.getValue()).put(entry);
+            }
+            byte[] bytes = new byte[out.position()];
+            out.flip().get(bytes);
+            return bytes;
+        }
+    }
+
+    /**
+     * Stops recording, then syncs the log and finishes any snapshot being written.
+     *
+     * @throws IOException if the log or snapshot cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        Future<?> snapshot;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            snapshot = pendingSnapshot;
+        }
+        service.removeListener(this);
+        try {
+            log.close();
+            awaitSnapshot(snapshot);
+        } finally {
+            snapshotWriter.shutdown();
+            try {
+                snapshotWriter.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
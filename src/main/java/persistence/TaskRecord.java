@@ -0,0 +1,57 @@
+package persistence;
+
+import model.TaskDates;
+import model.TaskItem;
+
+import java.time.LocalDate;
+
+/**
+ * A parsed and validated record of a task file. Records are only turned
+ * into tasks once their IDs are known, so tasks parsed on several threads
+ * still get their IDs in file order.
+ */
+final class TaskRecord {
+    private final String task;
+    private final LocalDate dueDate;
+    private final boolean completed;
+
+    /**
+     * Validates the fields of a record in the order TaskItem checks them.
+     *
+     * @param task The task description
+     * @param dueDate The due date in format dd-MM-yyyy
+     * @param completed Whether the task is completed
+     * @throws IllegalArgumentException if task is null/empty or date format is invalid
+     */
+    TaskRecord(String task, String dueDate, boolean completed) {
+        if (task == null || task.trim().isEmpty()) {
+            throw new IllegalArgumentException("Task cannot be null or empty");
+        }
+        this.task = task;
+        this.dueDate = TaskDates.parse(dueDate);
+        this.completed = completed;
+    }
+
+    /**
+     * Creates a new task from the record.
+     *
+     * @return The task, with a new ID
+     */
+    TaskItem toTask() {
+        TaskItem item = TaskItem.withDueDate(task, dueDate);
+        if (completed) {
+            item.markAsCompleted();
+        }
+        return item;
+    }
+
+    /**
+     * Creates a task from the record with an ID allocated for it.
+     *
+     * @param id An ID from TaskItem.allocateIds
+     * @return The task
+     */
+    TaskItem toTask(long id) {
+        return new TaskItem(id, task, dueDate, completed);
+    }
+}
@@ -0,0 +1,539 @@
+package persistence;
+
+import model.TaskItem;
+import service.TaskService;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Stores tasks in a relational database table.
+ * Every operation borrows a connection from the pool for its duration and
+ * runs a prepared statement cached on that connection, so values are always
+ * bound as parameters and connections are never left open.
+ * Bulk writes send rows in JDBC batches of a configurable size and commit
+ * each batch as its own transaction; bulk reads page through the table in
+ * ID order, one batch of rows per query, so only one page is ever in memory.
+ */
+public class TaskRepository {
+    static final String CREATE_TABLE =
+        "CREATE TABLE IF NOT EXISTS tasks ("
+            + "id BIGINT PRIMARY KEY, "
+            + "task VARCHAR(1000) NOT NULL, "
+            + "due_date DATE NOT NULL, "
+            + "completed BOOLEAN NOT NULL DEFAULT FALSE)";
+    static final String INSERT = "INSERT INTO tasks (id, task, due_date, completed) VALUES (?, ?, ?, ?)";
+    static final String UPDATE = "UPDATE tasks SET task = ?, due_date = ?, completed = ? WHERE id = ?";
+    static final String DELETE = "DELETE FROM tasks WHERE id = ?";
+    static final String DELETE_ALL = "DELETE FROM tasks";
+    static final String EXISTS = "SELECT 1 FROM tasks WHERE id = ?";
+    static final String FIND_BY_ID = "SELECT id, task, due_date, completed FROM tasks WHERE id = ?";
+    static final String COUNT = "SELECT COUNT(*) FROM tasks";
+    static final int DEFAULT_BATCH_SIZE = 1_000;
+
+    private final ConnectionPool pool;
+    private final int batchSize;
+    private volatile SqlDialect dialect;
+
+    /**
+     * Creates a repository that reads and writes in batches of DEFAULT_BATCH_SIZE rows.
+     *
+     * @param pool Supplies the connections
+     * @throws IllegalArgumentException if pool is null
+     */
+    public TaskRepository(ConnectionPool pool) {
+        this(pool, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a repository.
+     *
+     * @param pool Supplies the connections
+     * @param batchSize The number of rows sent and committed together by bulk writes,
+     *                  and read together by bulk reads
+     * @throws IllegalArgumentException if pool is null or batchSize is not positive
+     */
+    public TaskRepository(ConnectionPool pool, int batchSize) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Connection pool cannot be null");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.pool = pool;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Creates the tasks table if it does not exist yet.
+     *
+     * @throws SQLException if the table cannot be created
+     */
+    public void createTable() throws SQLException {
+        try (PooledConnection connection = pool.borrow();
+             Statement statement = connection.connection().createStatement()) {
+            statement.execute(CREATE_TABLE);
+        }
+    }
+
+    /**
+     * Inserts a task under its ID.
+     *
+     * @param item The task to insert
+     * @throws IllegalArgumentException if item is null
+     * @throws SQLException if the insert fails, including when the ID is already stored
+     */
+    public void insert(TaskItem item) throws SQLException {
+        requireTask(item);
+        try (PooledConnection connection = pool.borrow()) {
+            try {
+                PreparedStatement statement = connection.prepare(INSERT);
+                statement.setLong(1, item.getId());
+                statement.setString(2, item.getTask());
+                statement.setObject(3, item.getDueDate());
+                statement.setBoolean(4, item.isCompleted());
+                statement.executeUpdate();
+            } catch (SQLException e) {
+                connection.checkError(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Overwrites the stored text, due date and status of a task.
+     *
+     * @param item The task to update, matched by ID
+     * @return true if the task was stored, false otherwise
+     * @throws IllegalArgumentException if item is null
+     * @throws SQLException if the update fails
+     */
+    public boolean update(TaskItem item) throws SQLException {
+        requireTask(item);
+        try (PooledConnection connection = pool.borrow()) {
+            try {
+                PreparedStatement statement = connection.prepare(UPDATE);
+                statement.setString(1, item.getTask());
+                statement.setObject(2, item.getDueDate());
+                statement.setBoolean(3, item.isCompleted());
+                statement.setLong(4, item.getId());
+                return statement.executeUpdate() > 0;
+            } catch (SQLException e) {
+                connection.checkError(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Deletes a task.
+     *
+     * @param id The task ID
+     * @return true if the task was stored, false otherwise
+     * @throws SQLException if the delete fails
+     */
+    public boolean delete(long id) throws SQLException {
+        try (PooledConnection connection = pool.borrow()) {
+            try {
+                PreparedStatement statement = connection.prepare(DELETE);
+                statement.setLong(1, id);
+                return statement.executeUpdate() > 0;
+            } catch (SQLException e) {
+                connection.checkError(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Checks whether a task is stored.
+     *
+     * @param id The task ID
+     * @return true if a task with that ID is stored, false otherwise
+     * @throws SQLException if the query fails
+     */
+    public boolean exists(long id) throws SQLException {
+        try (PooledConnection connection = pool.borrow()) {
+            try {
+                PreparedStatement statement = connection.prepare(EXISTS);
+                statement.setLong(1, id);
+                try (ResultSet rows = statement.executeQuery()) {
+                    return rows.next();
+                }
+            } catch (SQLException e) {
+                connection.checkError(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Loads a task.
+     *
+     * @param id The task ID
+     * @return The stored task, or empty if there is none with that ID
+     * @throws SQLException if the query fails
+     */
+    public Optional<TaskItem> findById(long id) throws SQLException {
+        try (PooledConnection connection = pool.borrow()) {
+            try {
+                PreparedStatement statement = connection.prepare(FIND_BY_ID);
+                statement.setLong(1, id);
+                try (ResultSet rows = statement.executeQuery()) {
+                    return rows.next() ? Optional.of(toTask(rows)) : Optional.empty();
+                }
+            } catch (SQLException e) {
+                connection.checkError(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Counts the stored tasks.
+     *
+     * @return The number of rows in the tasks table
+     * @throws SQLException if the query fails
+     */
+    public long count() throws SQLException {
+        try (PooledConnection connection = pool.borrow()) {
+            try (ResultSet rows = connection.prepare(COUNT).executeQuery()) {
+                rows.next();
+                return rows.getLong(1);
+            } catch (SQLException e) {
+                connection.checkError(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Inserts many tasks.
+     * Tasks are sent in batches, each committed as one transaction. If a batch
+     * fails it is rolled back, while the batches before it stay committed.
+     *
+     * @param items The tasks to insert
+     * @return The number of tasks inserted
+     * @throws IllegalArgumentException if items is null or holds a null task
+     * @throws SQLException if a batch fails, including when an ID is already stored
+     */
+    public long insertAll(Collection<? extends TaskItem> items) throws SQLException {
+        requireTasks(items);
+        return writeAll(items.iterator(), INSERT, TaskRepository::bindTask);
+    }
+
+    /**
+     * Inserts many tasks, reading the stream as the batches are sent.
+     * Batching and failure handling are the same as for the collection form.
+     *
+     * @param items The tasks to insert
+     * @return The number of tasks inserted
+     * @throws IllegalArgumentException if items is null or holds a null task
+     * @throws SQLException if a batch fails, including when an ID is already stored
+     */
+    public long insertAll(Stream<? extends TaskItem> items) throws SQLException {
+        requireTasks(items);
+        return writeAll(items.iterator(), INSERT, TaskRepository::bindTask);
+    }
+
+    /**
+     * Inserts many tasks, overwriting the stored tasks that have the same IDs.
+     * Batching and failure handling are the same as for insertAll.
+     *
+     * @param items The tasks to save
+     * @return The number of tasks saved
+     * @throws IllegalArgumentException if items is null or holds a null task
+     * @throws SQLException if a batch fails
+     */
+    public long upsertAll(Collection<? extends TaskItem> items) throws SQLException {
+        requireTasks(items);
+        return writeAll(items.iterator(), null, TaskRepository::bindTask);
+    }
+
+    /**
+     * Inserts many tasks, overwriting the stored tasks that have the same IDs,
+     * reading the stream as the batches are sent.
+     *
+     * @param items The tasks to save
+     * @return The number of tasks saved
+     * @throws IllegalArgumentException if items is null or holds a null task
+     * @throws SQLException if a batch fails
+     */
+    public long upsertAll(Stream<? extends TaskItem> items) throws SQLException {
+        requireTasks(items);
+        return writeAll(items.iterator(), null, TaskRepository::bindTask);
+    }
+
+    /**
+     * Deletes many tasks, in batches committed like those of insertAll.
+     *
+     * @param ids The IDs of the tasks to delete
+     * @return The number of IDs processed, whether or not they were stored
+     * @throws IllegalArgumentException if ids is null or holds a null ID
+     * @throws SQLException if a batch fails
+     */
+    public long deleteAll(Collection<Long> ids) throws SQLException {
+        if (ids == null) {
+            throw new IllegalArgumentException("IDs cannot be null");
+        }
+        return writeAll(ids.iterator(), DELETE, (statement, id) -> {
+            if (id == null) {
+                throw new IllegalArgumentException("ID cannot be null");
+            }
+            statement.setLong(1, id);
+        });
+    }
+
+    /**
+     * Deletes every stored task.
+     *
+     * @return The number of tasks deleted
+     * @throws SQLException if the delete fails
+     */
+    public long deleteAll() throws SQLException {
+        try (PooledConnection connection = pool.borrow()) {
+            try {
+                return connection.prepare(DELETE_ALL).executeUpdate();
+            } catch (SQLException e) {
+                connection.checkError(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Sets the parameters of one row of a batched statement.
+     */
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(PreparedStatement statement, T item) throws SQLException;
+    }
+
+    private static void bindTask(PreparedStatement statement, TaskItem item) throws SQLException {
+        requireTask(item);
+        statement.setLong(1, item.getId());
+        statement.setString(2, item.getTask());
+        statement.setObject(3, item.getDueDate());
+        statement.setBoolean(4, item.isCompleted());
+    }
+
+    /**
+     * Runs a statement once per item in committed batches.
+     *
+     * @param sql The statement to batch, or null for the database's upsert
+     */
+    private <T> long writeAll(Iterator<? extends T> items, String sql, RowBinder<T> binder) throws SQLException {
+        long written = 0;
+        try (PooledConnection connection = pool.borrow()) {
+            try {
+                PreparedStatement statement = connection.prepare(sql != null ? sql : dialect(connection).upsert());
+                connection.connection().setAutoCommit(false);
+                Exception failure = null;
+                try {
+                    while (items.hasNext()) {
+                        int pending = 0;
+                        try {
+                            while (pending < batchSize && items.hasNext()) {
+                                binder.bind(statement, items.next());
+                                statement.addBatch();
+                                pending++;
+                            }
+                            statement.executeBatch();
+                            connection.connection().commit();
+                        } catch (SQLException | RuntimeException e) {
+                            try {
+                                statement.clearBatch();
+                                connection.connection().rollback();
+                            } catch (SQLException rollbackFailure) {
+                                e.addSuppressed(rollbackFailure);
+                                connection.invalidate();
+                            }
+                            throw e;
+                        }
+                        written += pending;
+                    }
+                } catch (SQLException | RuntimeException e) {
+                    failure = e;
+                    throw e;
+                } finally {
+                    restoreAutoCommit(connection, failure);
+                }
+            } catch (SQLException e) {
+                connection.checkError(e);
+                throw e;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Switches a connection back to auto-commit after a bulk write. If that
+     * fails, the connection is dropped instead of being reused, and the
+     * error is attached to the write's own failure rather than replacing it.
+     * The batches committed before are kept either way.
+     */
+    private static void restoreAutoCommit(PooledConnection connection, Exception failure) {
+        try {
+            connection.connection().setAutoCommit(true);
+        } catch (SQLException e) {
+            connection.invalidate();
+            if (failure != null) {
+                failure.addSuppressed(e);
+            }
+        }
+    }
+
+    /**
+     * Passes every stored task to an action, in ID order.
+     * Tasks are read one page at a time and no connection is held while the
+     * action runs, so the action may use this repository itself.
+     *
+     * @param action Receives each task
+     * @return The number of tasks read
+     * @throws IllegalArgumentException if action is null
+     * @throws SQLException if a page cannot be read
+     */
+    public long forEach(Consumer<? super TaskItem> action) throws SQLException {
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        long count = 0;
+        List<TaskItem> page = new ArrayList<>();
+        long lastId = 0;
+        do {
+            readPage(lastId, page);
+            for (TaskItem item : page) {
+                action.accept(item);
+            }
+            count += page.size();
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == batchSize);
+        return count;
+    }
+
+    /**
+     * Adds every stored task to a service, in ID order.
+     * The service's ID counter is moved past the loaded IDs.
+     *
+     * @param taskService The service to fill
+     * @return The number of tasks loaded
+     * @throws IllegalArgumentException if taskService is null or already holds a loaded task
+     * @throws SQLException if a page cannot be read
+     */
+    public long loadInto(TaskService taskService) throws SQLException {
+        if (taskService == null) {
+            throw new IllegalArgumentException("Task service cannot be null");
+        }
+        return forEach(taskService::addTask);
+    }
+
+    /**
+     * Streams the stored tasks in ID order.
+     * Each page is queried when the stream reaches it, so the stream sees
+     * rows committed while it is being read if they sort after its position.
+     * Errors reading a page are thrown as IllegalStateException with the
+     * SQLException as the cause.
+     *
+     * @return A lazy stream of the stored tasks
+     */
+    public Stream<TaskItem> streamAll() {
+        Spliterator<TaskItem> pages = new Spliterators.AbstractSpliterator<>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL) {
+            private final List<TaskItem> page = new ArrayList<>();
+            private int next;
+            private long lastId;
+            private boolean lastPage;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super TaskItem> action) {
+                if (next == page.size()) {
+                    if (lastPage) {
+                        return false;
+                    }
+                    try {
+                        readPage(lastId, page);
+                    } catch (SQLException e) {
+                        throw new IllegalStateException("Could not read tasks after ID " + lastId, e);
+                    }
+                    next = 0;
+                    lastPage = page.size() < batchSize;
+                    if (page.isEmpty()) {
+                        return false;
+                    }
+                    lastId = page.get(page.size() - 1).getId();
+                }
+                action.accept(page.get(next++));
+                return true;
+            }
+        };
+        return StreamSupport.stream(pages, false);
+    }
+
+    /**
+     * Replaces the contents of page with up to batchSize tasks whose IDs follow lastId.
+     */
+    private void readPage(long lastId, List<TaskItem> page) throws SQLException {
+        page.clear();
+        try (PooledConnection connection = pool.borrow()) {
+            try {
+                PreparedStatement statement = connection.prepare(dialect(connection).pageQuery());
+                statement.setFetchSize(batchSize);
+                statement.setLong(1, lastId);
+                statement.setInt(2, batchSize);
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        page.add(toTask(rows));
+                    }
+                }
+            } catch (SQLException e) {
+                connection.checkError(e);
+                throw e;
+            }
+        }
+    }
+
+    private SqlDialect dialect(PooledConnection connection) throws SQLException {
+        SqlDialect known = dialect;
+        if (known == null) {
+            known = SqlDialect.forProductName(connection.connection().getMetaData().getDatabaseProductName());
+            dialect = known;
+        }
+        return known;
+    }
+
+    static TaskItem toTask(ResultSet row) throws SQLException {
+        return new TaskItem(
+            row.getLong(1),
+            row.getString(2),
+            row.getObject(3, LocalDate.class),
+            row.getBoolean(4)
+        );
+    }
+
+    static void requireTask(TaskItem item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Task cannot be null");
+        }
+    }
+
+    private static void requireTasks(Object items) {
+        if (items == null) {
+            throw new IllegalArgumentException("Tasks cannot be null");
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package persistence;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The layout of a task snapshot file, shared by TaskSnapshotWriter and
+ * TaskSnapshotReader.
+ * <p>
+ * A snapshot starts with the magic bytes "TSNP", a version byte and a
+ * flags byte. Blocks of records follow. Each block starts with a header:
+ * the varint length of its records, the varint length stored on disk, and
+ * the CRC32C of the stored bytes. A stored length equal to the record
+ * length means the block is stored as is; a shorter one means it was
+ * compressed with Lz4Block. The last block has a record length of 0 and
+ * is followed only by the varint number of tasks in the snapshot.
+ * <p>
+ * A record is a task's ID as a zig-zag varint difference from the
+ * previous ID, its due date as a zig-zag varint epoch day, a flags byte,
+ * and its text as a varint length followed by UTF-8 bytes. Records never
+ * span blocks.
+ */
+final class TaskSnapshotFormat {
+    static final byte[] MAGIC = {'T', 'S', 'N', 'P'};
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = MAGIC.length + 2;
+
+    static final int FLAG_COMPRESSED = 1;
+
+    static final int RECORD_COMPLETED = 1;
+
+    /**
+     * The record length a block is written at once it reaches it.
+     */
+    static final int BLOCK_BYTES = 64 * 1024;
+
+    /**
+     * The longest block, and so the longest record, a snapshot may hold.
+     */
+    static final int MAX_BLOCK_BYTES = 64 * 1024 * 1024;
+
+    static final int MAX_VARINT_BYTES = 10;
+
+    /**
+     * The most bytes a record needs besides its text.
+     */
+    static final int MAX_RECORD_OVERHEAD = 2 * MAX_VARINT_BYTES + 1 + 5;
+
+    /**
+     * The most bytes a block header needs.
+     */
+    static final int MAX_BLOCK_HEADER_BYTES = 2 * 5 + 4;
+
+    private TaskSnapshotFormat() {
+    }
+
+    static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint is longer than 10 bytes");
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
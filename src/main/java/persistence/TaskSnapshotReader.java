@@ -0,0 +1,234 @@
+package persistence;
+
+import model.TaskItem;
+import service.TaskService;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+import static persistence.TaskSnapshotFormat.BLOCK_BYTES;
+import static persistence.TaskSnapshotFormat.MAX_BLOCK_BYTES;
+import static persistence.TaskSnapshotFormat.getVarLong;
+import static persistence.TaskSnapshotFormat.unZigZag;
+
+/**
+ * Reads tasks back from a snapshot written by TaskSnapshotWriter, with
+ * their original IDs, so tasks created afterwards get greater ones. The
+ * channel is read a block at a time into reusable buffers, and each
+ * block's checksum is verified before any of its tasks are returned.
+ * <p>
+ * A reader is not safe for use by several threads at once.
+ */
+public final class TaskSnapshotReader implements Closeable {
+    private final ReadableByteChannel channel;
+    private final boolean compressed;
+    private final CRC32C checksum = new CRC32C();
+    private ByteBuffer in = ByteBuffer.allocate(2 * BLOCK_BYTES);
+    private ByteBuffer block = ByteBuffer.allocate(BLOCK_BYTES + 1024).limit(0);
+    private long previousId;
+    private long taskCount;
+    private boolean ended;
+
+    /**
+     * Creates a reader and reads the snapshot header.
+     *
+     * @param channel The channel to read from; closed when the reader is closed
+     * @throws IOException if the header cannot be read or is not that of a supported snapshot
+     * @throws IllegalArgumentException if channel is null
+     */
+    public TaskSnapshotReader(ReadableByteChannel channel) throws IOException {
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel cannot be null");
+        }
+        this.channel = channel;
+        in.limit(0);
+        require(TaskSnapshotFormat.HEADER_BYTES);
+        byte[] magic = new byte[TaskSnapshotFormat.MAGIC.length];
+        in.get(magic);
+        if (!Arrays.equals(magic, TaskSnapshotFormat.MAGIC)) {
+            throw new IOException("Not a task snapshot");
+        }
+        int version = in.get() & 0xFF;
+        if (version != TaskSnapshotFormat.VERSION) {
+            throw new IOException("Unsupported task snapshot version: " + version);
+        }
+        int flags = in.get() & 0xFF;
+        if ((flags & ~TaskSnapshotFormat.FLAG_COMPRESSED) != 0) {
+            throw new IOException("Unsupported task snapshot flags: " + flags);
+        }
+        this.compressed = (flags & TaskSnapshotFormat.FLAG_COMPRESSED) != 0;
+    }
+
+    /**
+     * Reads every task of a snapshot file into a service.
+     *
+     * @param file The snapshot file
+     * @param taskService The service to add the tasks to
+     * @return The number of tasks read
+     * @throws IOException if the file cannot be read or is not a complete snapshot
+     */
+    public static long load(Path file, TaskService taskService) throws IOException {
+        try (TaskSnapshotReader reader = new TaskSnapshotReader(FileChannel.open(file, StandardOpenOption.READ))) {
+            return reader.forEach(taskService::addTask);
+        }
+    }
+
+    /**
+     * Reads the next task.
+     *
+     * @return The task, or null after the last one
+     * @throws IOException if the channel fails or the snapshot is truncated or corrupt
+     */
+    public TaskItem next() throws IOException {
+        if (!block.hasRemaining() && !readBlock()) {
+            return null;
+        }
+        try {
+            long id = previousId + unZigZag(getVarLong(block));
+            LocalDate dueDate = LocalDate.ofEpochDay(unZigZag(getVarLong(block)));
+            boolean completed = (block.get() & TaskSnapshotFormat.RECORD_COMPLETED) != 0;
+            int length = Math.toIntExact(getVarLong(block));
+            if (length > block.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            String text = new String(block.array(), block.position(), length, StandardCharsets.UTF_8);
+            block.position(block.position() + length);
+            previousId = id;
+            taskCount++;
+            return new TaskItem(id, text, dueDate, completed);
+        } catch (BufferUnderflowException | ArithmeticException | DateTimeException | IllegalArgumentException e) {
+            throw new IOException("Corrupt task record in task snapshot", e);
+        }
+    }
+
+    /**
+     * Reads every remaining task.
+     *
+     * @param action Called with each task, in snapshot order
+     * @return The number of tasks read
+     * @throws IOException if the channel fails or the snapshot is truncated or corrupt
+     */
+    public long forEach(Consumer<? super TaskItem> action) throws IOException {
+        long read = 0;
+        for (TaskItem task = next(); task != null; task = next()) {
+            action.accept(task);
+            read++;
+        }
+        return read;
+    }
+
+    /**
+     * Gets whether the blocks are compressed.
+     *
+     * @return true if the snapshot is compressed
+     */
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    /**
+     * Closes the channel.
+     *
+     * @throws IOException if the channel cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads, verifies and if needed decompresses the next block.
+     *
+     * @return false at the end of the snapshot
+     */
+    private boolean readBlock() throws IOException {
+        if (ended) {
+            return false;
+        }
+        long rawLength = readVarLong();
+        if (rawLength == 0) {
+            if (readVarLong() != taskCount) {
+                throw new IOException("Task snapshot does not hold the number of tasks it records");
+            }
+            ended = true;
+            return false;
+        }
+        long storedLength = readVarLong();
+        if (rawLength > MAX_BLOCK_BYTES || storedLength > rawLength || storedLength == 0) {
+            throw corrupt();
+        }
+        int raw = (int) rawLength;
+        int stored = (int) storedLength;
+        require(Integer.BYTES + stored);
+        int expected = in.getInt();
+        checksum.reset();
+        checksum.update(in.array(), in.position(), stored);
+        if ((int) checksum.getValue() != expected) {
+            throw new IOException("Checksum mismatch in task snapshot");
+        }
+        if (raw > block.capacity()) {
+            block = ByteBuffer.allocate(raw);
+        }
+        if (stored == raw) {
+            System.arraycopy(in.array(), in.position(), block.array(), 0, raw);
+        } else if (compressed) {
+            Lz4Block.decompress(in.array(), in.position(), stored, block.array(), raw);
+        } else {
+            throw corrupt();
+        }
+        in.position(in.position() + stored);
+        block.position(0).limit(raw);
+        return true;
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            require(1);
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw corrupt();
+    }
+
+    /**
+     * Makes sure the input buffer holds at least the given number of unread bytes.
+     */
+    private void require(int bytes) throws IOException {
+        if (in.remaining() >= bytes) {
+            return;
+        }
+        if (bytes > in.capacity()) {
+            ByteBuffer larger = ByteBuffer.allocate(bytes);
+            larger.put(in);
+            in = larger;
+        } else {
+            in.compact();
+        }
+        while (in.position() < bytes) {
+            if (channel.read(in) < 0) {
+                throw new IOException("Task snapshot is truncated");
+            }
+        }
+        in.flip();
+    }
+
+    private static IOException corrupt() {
+        return new IOException("Corrupt block header in task snapshot");
+    }
+}
@@ -0,0 +1,228 @@
+package persistence;
+
+import model.TaskItem;
+import service.TaskService;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+import static persistence.TaskSnapshotFormat.BLOCK_BYTES;
+import static persistence.TaskSnapshotFormat.MAX_BLOCK_BYTES;
+import static persistence.TaskSnapshotFormat.MAX_BLOCK_HEADER_BYTES;
+import static persistence.TaskSnapshotFormat.MAX_RECORD_OVERHEAD;
+import static persistence.TaskSnapshotFormat.putVarLong;
+import static persistence.TaskSnapshotFormat.zigZag;
+
+/**
+ * Writes tasks to a channel in the compact binary snapshot format described
+ * by TaskSnapshotFormat, keeping every task's ID, text, due date and
+ * completion status. Records are encoded into one reusable block buffer,
+ * optionally compressed, and written out a block at a time, so memory use
+ * does not grow with the number of tasks.
+ * <p>
+ * Call finish() after the last task; a snapshot that was closed without
+ * it is rejected by TaskSnapshotReader as truncated. A writer is not safe
+ * for use by several threads at once.
+ */
+public final class TaskSnapshotWriter implements Closeable {
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final WritableByteChannel channel;
+    private final boolean compressed;
+    private final Lz4Block compressor;
+    private final CRC32C checksum = new CRC32C();
+    private ByteBuffer block = ByteBuffer.allocate(BLOCK_BYTES + 1024);
+    private ByteBuffer out;
+    private byte[] compressedBytes;
+    private long previousId;
+    private long taskCount;
+    private boolean finished;
+
+    /**
+     * Creates a writer and writes the snapshot header.
+     *
+     * @param channel The channel to write to; closed when the writer is closed
+     * @param compressed Whether to compress the blocks
+     * @throws IOException if the header cannot be written
+     * @throws IllegalArgumentException if channel is null
+     */
+    public TaskSnapshotWriter(WritableByteChannel channel, boolean compressed) throws IOException {
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel cannot be null");
+        }
+        this.channel = channel;
+        this.compressed = compressed;
+        this.compressor = compressed ? new Lz4Block() : null;
+        this.out = ByteBuffer.allocate(MAX_BLOCK_HEADER_BYTES + Lz4Block.maxCompressedLength(block.capacity()));
+        this.compressedBytes = compressed ? new byte[Lz4Block.maxCompressedLength(block.capacity())] : null;
+        out.put(TaskSnapshotFormat.MAGIC)
+            .put((byte) TaskSnapshotFormat.VERSION)
+            .put((byte) (compressed ? TaskSnapshotFormat.FLAG_COMPRESSED : 0));
+        writeOut();
+    }
+
+    /**
+     * Writes every task of a service to a file, replacing the file if it exists.
+     * The snapshot is written to a temporary file first and moved into place
+     * once it is on disk, so the file always holds a complete snapshot.
+     *
+     * @param taskService The service holding the tasks
+     * @param file The file to write
+     * @param compressed Whether to compress the snapshot
+     * @return The number of tasks written
+     * @throws IOException if the file cannot be written
+     */
+    public static long save(TaskService taskService, Path file, boolean compressed) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+        long written;
+        try {
+            try (FileChannel channel = FileChannel.open(temp,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 TaskSnapshotWriter writer = new TaskSnapshotWriter(channel, compressed)) {
+                for (TaskItem task : taskService.getAllTasks()) {
+                    writer.write(task);
+                }
+                writer.finish();
+                written = writer.getTaskCount();
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return written;
+    }
+
+    /**
+     * Writes a task.
+     *
+     * @param task The task to write
+     * @throws IOException if a full block cannot be written
+     * @throws IllegalArgumentException if task is null or its text is too long for a snapshot
+     * @throws IllegalStateException if finish() has been called
+     */
+    public void write(TaskItem task) throws IOException {
+        if (task == null) {
+            throw new IllegalArgumentException("Task cannot be null");
+        }
+        if (finished) {
+            throw new IllegalStateException("Snapshot is already finished");
+        }
+        byte[] text = task.getTask().getBytes(StandardCharsets.UTF_8);
+        int recordBytes = MAX_RECORD_OVERHEAD + text.length;
+        if (recordBytes > block.remaining()) {
+            if (recordBytes > MAX_BLOCK_BYTES) {
+                throw new IllegalArgumentException("Task text is too long for a snapshot");
+            }
+            writeBlock();
+            if (recordBytes > block.capacity()) {
+                growBuffers(recordBytes);
+            }
+        }
+        long id = task.getId();
+        putVarLong(block, zigZag(id - previousId));
+        putVarLong(block, zigZag(task.getDueDate().toEpochDay()));
+        block.put((byte) (task.isCompleted() ? TaskSnapshotFormat.RECORD_COMPLETED : 0));
+        putVarLong(block, text.length);
+        block.put(text);
+        previousId = id;
+        taskCount++;
+        if (block.position() >= BLOCK_BYTES) {
+            writeBlock();
+        }
+    }
+
+    /**
+     * Writes the last block and the end of the snapshot.
+     * Calling it again has no effect.
+     *
+     * @throws IOException if the channel fails
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        writeBlock();
+        putVarLong(out, 0);
+        putVarLong(out, taskCount);
+        writeOut();
+        finished = true;
+    }
+
+    /**
+     * Gets the number of tasks written so far.
+     *
+     * @return The task count
+     */
+    public long getTaskCount() {
+        return taskCount;
+    }
+
+    /**
+     * Gets whether the blocks are compressed.
+     *
+     * @return true if the snapshot is compressed
+     */
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    /**
+     * Closes the channel, without finishing the snapshot.
+     *
+     * @throws IOException if the channel cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void writeBlock() throws IOException {
+        int rawLength = block.position();
+        if (rawLength == 0) {
+            return;
+        }
+        byte[] stored = block.array();
+        int storedLength = rawLength;
+        if (compressed) {
+            int compressedLength = compressor.compress(block.array(), rawLength, compressedBytes);
+            if (compressedLength < rawLength) {
+                stored = compressedBytes;
+                storedLength = compressedLength;
+            }
+        }
+        checksum.reset();
+        checksum.update(stored, 0, storedLength);
+        putVarLong(out, rawLength);
+        putVarLong(out, storedLength);
+        out.putInt((int) checksum.getValue());
+        out.put(stored, 0, storedLength);
+        writeOut();
+        block.clear();
+    }
+
+    private void writeOut() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    private void growBuffers(int recordBytes) {
+        block = ByteBuffer.allocate(recordBytes);
+        out = ByteBuffer.allocate(MAX_BLOCK_HEADER_BYTES + Lz4Block.maxCompressedLength(recordBytes));
+        if (compressed) {
+            compressedBytes = new byte[Lz4Block.maxCompressedLength(recordBytes)];
+        }
+    }
+}
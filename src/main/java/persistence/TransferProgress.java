@@ -0,0 +1,24 @@
+package persistence;
+
+/**
+ * Receives progress reports from a running import or export.
+ * Reports are made on the thread doing the transfer, every few thousand
+ * records and once at the end.
+ */
+@FunctionalInterface
+public interface TransferProgress {
+
+    /**
+     * Ignores all progress reports.
+     */
+    TransferProgress NONE = (done, total) -> {
+    };
+
+    /**
+     * Reports how far a transfer has come.
+     *
+     * @param done The amount transferred so far
+     * @param total The amount to transfer, or -1 if it is not known
+     */
+    void update(long done, long total);
+}
@@ -0,0 +1,330 @@
+package persistence;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log file of binary entries with group commit.
+ * Each entry is framed by its length and a CRC32 of its bytes. append()
+ * only copies the entry into a memory buffer and returns; a background
+ * thread writes the buffer out and forces it to disk once enough entries
+ * are waiting or the oldest has waited long enough, so one fsync covers
+ * every entry appended since the last one. Callers that need an entry to
+ * be durable before going on wait for it with awaitDurable() or sync().
+ * <p>
+ * A crash can leave a partly written entry at the end of the file. read()
+ * stops at the first entry that is incomplete or fails its checksum and
+ * cuts the file back to the last good entry.
+ */
+public final class WriteAheadLog implements Closeable {
+    private static final int FRAME_HEADER = 8;
+    private static final int MAX_ENTRY_SIZE = 64 * 1024 * 1024;
+    private static final int INITIAL_BUFFER = 64 * 1024;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final int syncBatchSize;
+    private final long syncIntervalNanos;
+    private final Thread flusher;
+    private final CRC32 crc = new CRC32();
+
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER);
+    private ByteBuffer spare = ByteBuffer.allocate(INITIAL_BUFFER);
+    private long appended;
+    private long taken;
+    private long durable;
+    private long firstPendingNanos;
+    private boolean syncRequested;
+    private boolean closed;
+    private IOException failure;
+
+    /**
+     * Opens a log file for appending, creating it if needed.
+     *
+     * @param file The log file
+     * @param syncBatchSize The number of waiting entries that triggers a sync
+     * @param syncIntervalMillis The longest an entry waits before being synced; 0 syncs as soon as possible
+     * @return The opened log
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalArgumentException if syncBatchSize is not positive or syncIntervalMillis is negative
+     */
+    public static WriteAheadLog open(Path file, int syncBatchSize, long syncIntervalMillis) throws IOException {
+        if (syncBatchSize <= 0) {
+            throw new IllegalArgumentException("Sync batch size must be positive");
+        }
+        if (syncIntervalMillis < 0) {
+            throw new IllegalArgumentException("Sync interval cannot be negative");
+        }
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return new WriteAheadLog(file, channel, syncBatchSize, syncIntervalMillis);
+    }
+
+    private WriteAheadLog(Path file, FileChannel channel, int syncBatchSize, long syncIntervalMillis) {
+        this.file = file;
+        this.channel = channel;
+        this.syncBatchSize = syncBatchSize;
+        this.syncIntervalNanos = syncIntervalMillis * 1_000_000L;
+        this.flusher = new Thread(this::flushLoop, "wal-flusher-" + file.getFileName());
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Reads every complete entry of a log file in order.
+     * A torn or corrupt tail is cut off so later appends follow the last good entry.
+     *
+     * @param file The log file; a missing file has no entries
+     * @param consumer Receives each entry, positioned at its first byte
+     * @return The number of entries read
+     * @throws IOException if the file cannot be read
+     */
+    public static long read(Path file, Consumer<ByteBuffer> consumer) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        long entries = 0;
+        long goodLength = 0;
+        CRC32 checksum = new CRC32();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), INITIAL_BUFFER);
+             DataInputStream data = new DataInputStream(in)) {
+            byte[] bytes = new byte[256];
+            while (true) {
+                int length;
+                int expectedCrc;
+                try {
+                    length = data.readInt();
+                    expectedCrc = data.readInt();
+                    if (length < 0 || length > MAX_ENTRY_SIZE) {
+                        break;
+                    }
+                    if (bytes.length < length) {
+                        bytes = new byte[Math.max(length, bytes.length * 2)];
+                    }
+                    data.readFully(bytes, 0, length);
+                } catch (EOFException e) {
+                    break;
+                }
+                checksum.reset();
+                checksum.update(bytes, 0, length);
+                if ((int) checksum.getValue() != expectedCrc) {
+                    break;
+                }
+                consumer.accept(ByteBuffer.wrap(bytes, 0, length).asReadOnlyBuffer());
+                goodLength += FRAME_HEADER + length;
+                entries++;
+            }
+        }
+        if (Files.size(file) > goodLength) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(goodLength);
+                channel.force(true);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Appends an entry without waiting for it to reach the disk.
+     *
+     * @param entry The entry bytes from its position to its limit
+     * @return The sequence number of the entry, to pass to awaitDurable()
+     * @throws IllegalStateException if the log is closed
+     * @throws UncheckedIOException if an earlier write to the file failed
+     */
+    public long append(ByteBuffer entry) {
+        int length = entry.remaining();
+        if (length > MAX_ENTRY_SIZE) {
+            throw new IllegalArgumentException("Log entry is too large: " + length + " bytes");
+        }
+        synchronized (this) {
+            checkOpen();
+            ensureCapacity(FRAME_HEADER + length);
+            crc.reset();
+            crc.update(entry.duplicate());
+            pending.putInt(length);
+            pending.putInt((int) crc.getValue());
+            pending.put(entry);
+            if (appended == taken) {
+                firstPendingNanos = System.nanoTime();
+            }
+            appended++;
+            if (appended - taken >= syncBatchSize || syncIntervalNanos == 0) {
+                notifyAll();
+            }
+            return appended;
+        }
+    }
+
+    /**
+     * Waits until an entry and every entry before it are on disk.
+     *
+     * @param sequence The sequence number returned by append()
+     * @throws IOException if writing the log failed
+     * @throws InterruptedIOException if the thread is interrupted while waiting
+     */
+    public synchronized void awaitDurable(long sequence) throws IOException {
+        if (durable < sequence) {
+            syncRequested = true;
+            notifyAll();
+        }
+        while (durable < sequence) {
+            if (failure != null) {
+                throw failure;
+            }
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the log to sync");
+            }
+        }
+    }
+
+    /**
+     * Waits until every entry appended so far is on disk.
+     *
+     * @throws IOException if writing the log failed
+     */
+    public void sync() throws IOException {
+        long sequence;
+        synchronized (this) {
+            sequence = appended;
+        }
+        awaitDurable(sequence);
+    }
+
+    /**
+     * Gets the number of entries appended since the log was opened.
+     *
+     * @return The sequence number of the last appended entry
+     */
+    public synchronized long appendedCount() {
+        return appended;
+    }
+
+    /**
+     * Syncs every appended entry and closes the file.
+     *
+     * @throws IOException if the last entries cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        boolean interrupted = false;
+        while (flusher.isAlive()) {
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Log is closed: " + file);
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Log cannot be written: " + file, failure);
+        }
+    }
+
+    private void ensureCapacity(int needed) {
+        if (pending.remaining() < needed) {
+            int capacity = Math.max(pending.position() + needed, pending.capacity() * 2);
+            ByteBuffer grown = ByteBuffer.allocate(capacity);
+            pending.flip();
+            grown.put(pending);
+            pending = grown;
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            ByteBuffer batch;
+            long sequence;
+            boolean last;
+            synchronized (this) {
+                try {
+                    while (!closed && !syncDue()) {
+                        if (appended == taken) {
+                            wait();
+                        } else {
+                            long remaining = firstPendingNanos + syncIntervalNanos - System.nanoTime();
+                            wait(Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining)));
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    closed = true;
+                }
+                last = closed;
+                sequence = appended;
+                taken = appended;
+                batch = pending;
+                pending = spare;
+                pending.clear();
+                spare = batch;
+                syncRequested = false;
+            }
+            batch.flip();
+            try {
+                while (batch.hasRemaining()) {
+                    channel.write(batch);
+                }
+                if (sequence > durable) {
+                    channel.force(false);
+                }
+            } catch (IOException e) {
+                synchronized (this) {
+                    failure = e;
+                    notifyAll();
+                }
+                return;
+            }
+            synchronized (this) {
+                durable = sequence;
+                notifyAll();
+            }
+            if (last) {
+                return;
+            }
+        }
+    }
+
+    private boolean syncDue() {
+        long waiting = appended - taken;
+        return waiting > 0 && (syncRequested || waiting >= syncBatchSize
+            || System.nanoTime() - firstPendingNanos >= syncIntervalNanos);
+    }
+}
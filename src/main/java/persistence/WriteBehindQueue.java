@@ -0,0 +1,438 @@
+package persistence;
+
+import model.TaskItem;
+import service.TaskService;
+import service.TaskServiceListener;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves the changes made to a TaskService to a TaskRepository in the background.
+ * Each change only records the task's new state in memory, so the thread
+ * that made it, usually the Swing event thread, never waits for the
+ * database. Changes to the same task are coalesced: the queue keeps the
+ * latest state of each changed task, or the fact that it was removed.
+ * <p>
+ * A background thread writes the queued changes as batched upserts and
+ * deletes once the oldest has waited maxDelayMillis or maxBatchSize tasks
+ * are waiting. When capacity tasks are waiting or being written, further
+ * changes to other tasks wait for a write to finish, which bounds the
+ * memory used while the database is slow or unreachable. A failed write keeps its
+ * changes queued, unless newer ones replaced them, and is retried after
+ * the delay.
+ */
+public final class WriteBehindQueue implements TaskServiceListener, AutoCloseable {
+    private final TaskRepository repository;
+    private final TaskService service;
+    private final Settings settings;
+    private final Thread writer;
+    private Map<Long, TaskItem> saved = new LinkedHashMap<>();
+    private Set<Long> removed = new LinkedHashSet<>();
+    private boolean clearRequested;
+    private long firstPendingNanos;
+    private long queued;
+    private long taken;
+    private long written;
+    private int inFlight;
+    private long failures;
+    private SQLException failure;
+    private boolean flushRequested;
+    private boolean closed;
+
+    /**
+     * When the queue writes and how much it may hold.
+     */
+    public static final class Settings {
+        /**
+         * Writes after 200 ms or 500 waiting tasks, and holds at most 10000.
+         */
+        public static final Settings DEFAULTS = new Settings(200, 500, 10_000);
+
+        private final long maxDelayMillis;
+        private final int maxBatchSize;
+        private final int capacity;
+
+        /**
+         * Creates queue settings.
+         *
+         * @param maxDelayMillis The longest a change waits before being written; 0 writes as soon as possible
+         * @param maxBatchSize The number of waiting tasks that triggers a write
+         * @param capacity The number of waiting tasks at which further changes block
+         * @throws IllegalArgumentException if the delay is negative, a size is not positive,
+         *                                  or capacity is smaller than maxBatchSize
+         */
+        public Settings(long maxDelayMillis, int maxBatchSize, int capacity) {
+            if (maxDelayMillis < 0) {
+                throw new IllegalArgumentException("Delay cannot be negative");
+            }
+            if (maxBatchSize <= 0) {
+                throw new IllegalArgumentException("Batch size must be positive");
+            }
+            if (capacity < maxBatchSize) {
+                throw new IllegalArgumentException("Capacity cannot be smaller than the batch size");
+            }
+            this.maxDelayMillis = maxDelayMillis;
+            this.maxBatchSize = maxBatchSize;
+            this.capacity = capacity;
+        }
+    }
+
+    private WriteBehindQueue(TaskRepository repository, TaskService service, Settings settings) {
+        this.repository = repository;
+        this.service = service;
+        this.settings = settings;
+        this.writer = new Thread(this::writeLoop, "task-write-behind");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Starts saving a service's changes with the default settings.
+     *
+     * @param repository Where the changes are written
+     * @param service The service whose changes are saved
+     * @return The started queue
+     * @throws IllegalArgumentException if an argument is null
+     */
+    public static WriteBehindQueue start(TaskRepository repository, TaskService service) {
+        return start(repository, service, Settings.DEFAULTS);
+    }
+
+    /**
+     * Starts saving a service's changes.
+     * Tasks already in the service are not written; load them from the
+     * repository first, for example with TaskRepository.loadInto().
+     *
+     * @param repository Where the changes are written
+     * @param service The service whose changes are saved
+     * @param settings When to write and how much to hold
+     * @return The started queue
+     * @throws IllegalArgumentException if an argument is null
+     */
+    public static WriteBehindQueue start(TaskRepository repository, TaskService service, Settings settings) {
+        if (repository == null || service == null || settings == null) {
+            throw new IllegalArgumentException("Repository, service and settings cannot be null");
+        }
+        WriteBehindQueue queue = new WriteBehindQueue(repository, service, settings);
+        queue.writer.start();
+        service.addListener(queue);
+        return queue;
+    }
+
+    @Override
+    public void taskAdded(TaskItem task) {
+        save(task);
+    }
+
+    @Override
+    public void taskRemoved(TaskItem task) {
+        long id = task.getId();
+        synchronized (this) {
+            if (!reserve(id)) {
+                return;
+            }
+            saved.remove(id);
+            removed.add(id);
+            enqueued();
+        }
+    }
+
+    @Override
+    public synchronized void tasksCleared() {
+        if (closed) {
+            return;
+        }
+        saved.clear();
+        removed.clear();
+        clearRequested = true;
+        enqueued();
+    }
+
+    @Override
+    public void completionChanged(TaskItem task) {
+        save(task);
+    }
+
+    @Override
+    public void dueDateChanged(TaskItem task, LocalDate previousDueDate) {
+        save(task);
+    }
+
+    @Override
+    public void textChanged(TaskItem task, String previousTask) {
+        save(task);
+    }
+
+    /**
+     * Queues the current state of a task, replacing any state queued before.
+     */
+    private void save(TaskItem task) {
+        TaskItem state = new TaskItem(task.getId(), task.getTask(), task.getDueDate(), task.isCompleted());
+        synchronized (this) {
+            if (!reserve(state.getId())) {
+                return;
+            }
+            removed.remove(state.getId());
+            saved.put(state.getId(), state);
+            enqueued();
+        }
+    }
+
+    /**
+     * Waits until a change to a task can be queued without exceeding the capacity.
+     *
+     * @return false if the queue was closed instead
+     */
+    private boolean reserve(long id) {
+        boolean interrupted = false;
+        try {
+            while (!closed && pendingCount() + inFlight >= settings.capacity
+                    && !saved.containsKey(id) && !removed.contains(id)) {
+                flushRequested = true;
+                notifyAll();
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return !closed;
+    }
+
+    private void enqueued() {
+        boolean first = queued == taken;
+        if (first) {
+            firstPendingNanos = System.nanoTime();
+        }
+        queued++;
+        if (first || pendingCount() >= settings.maxBatchSize) {
+            notifyAll();
+        }
+    }
+
+    private int pendingCount() {
+        return saved.size() + removed.size();
+    }
+
+    /**
+     * Gets the number of tasks whose changes are waiting to be written.
+     *
+     * @return The number of waiting tasks
+     */
+    public synchronized int getPendingCount() {
+        return pendingCount();
+    }
+
+    /**
+     * Writes every change queued so far and waits until it is in the database.
+     *
+     * @throws SQLException if the write fails
+     * @throws IllegalStateException if the queue is closed
+     */
+    public synchronized void flush() throws SQLException {
+        if (closed) {
+            throw new IllegalStateException("Write-behind queue is closed");
+        }
+        long target = queued;
+        long failuresBefore = failures;
+        flushRequested = true;
+        notifyAll();
+        boolean interrupted = false;
+        try {
+            while (written < target) {
+                if (failures != failuresBefore) {
+                    throw failure;
+                }
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Stops recording changes, writes the ones already queued and stops the background thread.
+     *
+     * @throws SQLException if the queued changes could not be written
+     */
+    @Override
+    public void close() throws SQLException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        service.removeListener(this);
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            if (written < queued) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Closes the queue when the JVM shuts down, so that queued changes are
+     * written before the application exits.
+     *
+     * @return The registered hook thread
+     */
+    public Thread closeOnShutdown() {
+        Thread hook = new Thread(() -> {
+            try {
+                close();
+            } catch (SQLException e) {
+                System.err.println("Could not save the last task changes: " + e.getMessage());
+            }
+        }, "task-write-behind-close");
+        Runtime.getRuntime().addShutdownHook(hook);
+        return hook;
+    }
+
+    private void writeLoop() {
+        boolean retrying = false;
+        while (true) {
+            Map<Long, TaskItem> batchSaved;
+            Set<Long> batchRemoved;
+            boolean batchClear;
+            long sequence;
+            boolean last;
+            synchronized (this) {
+                try {
+                    while (!closed && !writeDue(retrying)) {
+                        if (queued == taken) {
+                            wait();
+                        } else {
+                            long remaining = firstPendingNanos
+                                + TimeUnit.MILLISECONDS.toNanos(settings.maxDelayMillis) - System.nanoTime();
+                            wait(Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining)));
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    closed = true;
+                }
+                last = closed;
+                if (queued == taken) {
+                    return;
+                }
+                sequence = queued;
+                taken = queued;
+                inFlight = pendingCount();
+                batchSaved = saved;
+                batchRemoved = removed;
+                batchClear = clearRequested;
+                saved = new LinkedHashMap<>();
+                removed = new LinkedHashSet<>();
+                clearRequested = false;
+                flushRequested = false;
+                notifyAll();
+            }
+            try {
+                write(batchSaved, batchRemoved, batchClear);
+            } catch (SQLException | RuntimeException e) {
+                synchronized (this) {
+                    requeue(batchSaved, batchRemoved, batchClear);
+                    inFlight = 0;
+                    failure = e instanceof SQLException
+                        ? (SQLException) e : new SQLException("Could not write task changes", e);
+                    failures++;
+                    taken = written;
+                    firstPendingNanos = System.nanoTime();
+                    notifyAll();
+                }
+                if (last) {
+                    return;
+                }
+                retrying = true;
+                continue;
+            }
+            retrying = false;
+            synchronized (this) {
+                written = sequence;
+                inFlight = 0;
+                notifyAll();
+            }
+            if (last) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the waiting changes should be written now. After a
+     * failure only the delay triggers a write, so an unreachable database
+     * is retried at most once per delay.
+     */
+    private boolean writeDue(boolean retrying) {
+        if (queued == taken) {
+            return false;
+        }
+        boolean delayPassed = System.nanoTime() - firstPendingNanos
+            >= TimeUnit.MILLISECONDS.toNanos(settings.maxDelayMillis);
+        if (retrying) {
+            return delayPassed;
+        }
+        return flushRequested || delayPassed || pendingCount() >= settings.maxBatchSize;
+    }
+
+    private void write(Map<Long, TaskItem> batchSaved, Set<Long> batchRemoved, boolean batchClear)
+            throws SQLException {
+        if (batchClear) {
+            repository.deleteAll();
+        }
+        if (!batchSaved.isEmpty()) {
+            repository.upsertAll(batchSaved.values());
+        }
+        if (!batchRemoved.isEmpty()) {
+            repository.deleteAll(batchRemoved);
+        }
+    }
+
+    /**
+     * Puts the changes of a failed write back in the queue, behind any newer change to the same tasks.
+     */
+    private void requeue(Map<Long, TaskItem> batchSaved, Set<Long> batchRemoved, boolean batchClear) {
+        if (clearRequested) {
+            return;
+        }
+        for (Map.Entry<Long, TaskItem> entry : batchSaved.entrySet()) {
+            if (!saved.containsKey(entry.getKey()) && !removed.contains(entry.getKey())) {
+                saved.put(entry.getKey(), entry.getValue());
+            }
+        }
+        for (Long id : batchRemoved) {
+            if (!saved.containsKey(id) && !removed.contains(id)) {
+                removed.add(id);
+            }
+        }
+        clearRequested = batchClear;
+    }
+}
@@ -0,0 +1,232 @@
+package service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Heap TaskStore laid out by column instead of by object.
+ * IDs and due dates live in primitive arrays, completion and removal in
+ * bit sets, and all descriptions share one UTF-8 byte arena. A task costs
+ * about 20 bytes plus its text, against well over 100 bytes for a TaskItem
+ * with its String and LocalDate, and the heap holds a handful of large
+ * arrays instead of millions of small objects for the GC to trace.
+ */
+public class ColumnarTaskStore implements TaskStore {
+    private static final int INITIAL_ROWS = 64;
+    private static final int INITIAL_ARENA = 1024;
+    private static final int MAX_ARENA = Integer.MAX_VALUE - 8;
+
+    private long[] ids = new long[INITIAL_ROWS];
+    private int[] epochDays = new int[INITIAL_ROWS];
+    private int[] textOffsets = new int[INITIAL_ROWS];
+    private int[] textLengths = new int[INITIAL_ROWS];
+    private final BitSet completed = new BitSet();
+    private final BitSet removed = new BitSet();
+    private byte[] arena = new byte[INITIAL_ARENA];
+    private int arenaEnd;
+    private int unusedTextBytes;
+    private int rows;
+    private int removedRows;
+
+    @Override
+    public int size() {
+        return rows - removedRows;
+    }
+
+    @Override
+    public int rowCount() {
+        return rows;
+    }
+
+    @Override
+    public boolean isRemoved(int row) {
+        return removed.get(row);
+    }
+
+    @Override
+    public int findRow(long id) {
+        int row = Arrays.binarySearch(ids, 0, rows, id);
+        return row >= 0 && !removed.get(row) ? row : -1;
+    }
+
+    @Override
+    public long id(int row) {
+        return ids[row];
+    }
+
+    @Override
+    public String text(int row) {
+        return new String(arena, textOffsets[row], textLengths[row], StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int epochDay(int row) {
+        return epochDays[row];
+    }
+
+    @Override
+    public boolean isCompleted(int row) {
+        return completed.get(row);
+    }
+
+    @Override
+    public void add(long id, String text, int epochDay, boolean isCompleted) {
+        int row = rows;
+        if (rows > 0 && id <= ids[rows - 1]) {
+            int found = Arrays.binarySearch(ids, 0, rows, id);
+            if (found >= 0) {
+                if (!removed.get(found)) {
+                    throw new IllegalArgumentException("Task is already in this store");
+                }
+                // Revive the removed row that still holds this ID.
+                removed.clear(found);
+                removedRows--;
+                unusedTextBytes -= textLengths[found];
+                setText(found, text);
+                setEpochDay(found, epochDay);
+                setCompleted(found, isCompleted);
+                return;
+            }
+            row = -found - 1;
+        }
+        // Append the text first: it may compact the arena, which walks the current rows.
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        int textOffset = appendText(bytes);
+        ensureRowCapacity(rows + 1);
+        if (row < rows) {
+            shiftRowsUp(row);
+        }
+        ids[row] = id;
+        epochDays[row] = epochDay;
+        textOffsets[row] = textOffset;
+        textLengths[row] = bytes.length;
+        completed.set(row, isCompleted);
+        removed.clear(row);
+        rows++;
+    }
+
+    @Override
+    public void setText(int row, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        unusedTextBytes += textLengths[row];
+        textLengths[row] = 0;
+        textOffsets[row] = appendText(bytes);
+        textLengths[row] = bytes.length;
+    }
+
+    @Override
+    public void setEpochDay(int row, int epochDay) {
+        epochDays[row] = epochDay;
+    }
+
+    @Override
+    public void setCompleted(int row, boolean isCompleted) {
+        completed.set(row, isCompleted);
+    }
+
+    @Override
+    public void remove(int row) {
+        if (!removed.get(row)) {
+            removed.set(row);
+            removedRows++;
+            unusedTextBytes += textLengths[row];
+        }
+    }
+
+    @Override
+    public void compact() {
+        int live = 0;
+        for (int row = 0; row < rows; row++) {
+            if (!removed.get(row)) {
+                ids[live] = ids[row];
+                epochDays[live] = epochDays[row];
+                textOffsets[live] = textOffsets[row];
+                textLengths[live] = textLengths[row];
+                completed.set(live, completed.get(row));
+                live++;
+            }
+        }
+        completed.clear(live, rows);
+        removed.clear();
+        rows = live;
+        removedRows = 0;
+        compactText();
+    }
+
+    @Override
+    public void clear() {
+        ids = new long[INITIAL_ROWS];
+        epochDays = new int[INITIAL_ROWS];
+        textOffsets = new int[INITIAL_ROWS];
+        textLengths = new int[INITIAL_ROWS];
+        completed.clear();
+        removed.clear();
+        arena = new byte[INITIAL_ARENA];
+        arenaEnd = 0;
+        unusedTextBytes = 0;
+        rows = 0;
+        removedRows = 0;
+    }
+
+    private void ensureRowCapacity(int needed) {
+        if (needed > ids.length) {
+            int capacity = Math.max(needed, ids.length * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            textOffsets = Arrays.copyOf(textOffsets, capacity);
+            textLengths = Arrays.copyOf(textLengths, capacity);
+        }
+    }
+
+    private void shiftRowsUp(int from) {
+        int count = rows - from;
+        System.arraycopy(ids, from, ids, from + 1, count);
+        System.arraycopy(epochDays, from, epochDays, from + 1, count);
+        System.arraycopy(textOffsets, from, textOffsets, from + 1, count);
+        System.arraycopy(textLengths, from, textLengths, from + 1, count);
+        for (int row = rows - 1; row >= from; row--) {
+            completed.set(row + 1, completed.get(row));
+            removed.set(row + 1, removed.get(row));
+        }
+    }
+
+    private int appendText(byte[] bytes) {
+        if (arenaEnd + bytes.length > arena.length) {
+            if (unusedTextBytes > arenaEnd / 2) {
+                compactText();
+            }
+            if (arenaEnd + bytes.length > arena.length) {
+                long needed = (long) arenaEnd + bytes.length;
+                if (needed > MAX_ARENA) {
+                    throw new IllegalStateException("Task text storage is full");
+                }
+                arena = Arrays.copyOf(arena, (int) Math.min(MAX_ARENA, Math.max(needed, arena.length * 2L)));
+            }
+        }
+        int offset = arenaEnd;
+        System.arraycopy(bytes, 0, arena, offset, bytes.length);
+        arenaEnd += bytes.length;
+        return offset;
+    }
+
+    /**
+     * Rewrites the arena so it only holds the text of live rows.
+     */
+    private void compactText() {
+        byte[] compacted = new byte[Math.max(INITIAL_ARENA, arenaEnd - unusedTextBytes)];
+        int end = 0;
+        for (int row = 0; row < rows; row++) {
+            if (!removed.get(row)) {
+                System.arraycopy(arena, textOffsets[row], compacted, end, textLengths[row]);
+                textOffsets[row] = end;
+                end += textLengths[row];
+            } else {
+                textLengths[row] = 0;
+            }
+        }
+        arena = compacted;
+        arenaEnd = end;
+        unusedTextBytes = 0;
+    }
+}
@@ -0,0 +1,441 @@
+package service;
+
+import model.TaskClock;
+import model.TaskItem;
+import model.TaskItemListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread-safe TaskService that can be shared between the Swing EDT,
+ * background importers and reporting threads.
+ * Tasks are hashed by their stable ID for O(1) lookup and kept in ID order
+ * in lock-free skip lists, so reads never block. Writers touching the same
+ * task serialize on one of a fixed set of lock stripes chosen by task ID;
+ * writers on different tasks rarely contend.
+ * Query results are weakly consistent snapshots, and positional methods walk
+ * the tasks in ID order, so prefer ID-based access when tasks change concurrently.
+ * Text searches use a concurrent inverted index, so searches never block
+ * either, and writers only contend when they index the same words.
+ * Service listeners are called while the changed task's stripe lock is held,
+ * so the events for any one task arrive in the order the changes were made.
+ */
+public class ConcurrentTaskService implements TaskService {
+    private final ConcurrentHashMap<Long, Entry> tasksById;
+    private final ConcurrentSkipListMap<Long, Entry> tasks;
+    private final ConcurrentSkipListMap<Long, TaskItem> completedTasks;
+    private final ConcurrentSkipListMap<Long, TaskItem> pendingTasks;
+    private final ConcurrentSkipListMap<DueKey, TaskItem> pendingByDueDate;
+    private final ConcurrentSkipListMap<DueKey, TaskItem> allByDueDate;
+    private final ConcurrentTextIndex textIndex;
+    private final AtomicInteger taskCount;
+    private final Object[] stripes;
+    private final TaskItemListener indexUpdater;
+    private final TaskServiceListeners listeners;
+    private final TaskClock clock;
+
+    public ConcurrentTaskService() {
+        this(Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /**
+     * Creates a service with at least the given number of lock stripes.
+     *
+     * @param concurrencyLevel The expected number of concurrent writers
+     * @throws IllegalArgumentException if concurrencyLevel is not positive
+     */
+    public ConcurrentTaskService(int concurrencyLevel) {
+        this(concurrencyLevel, TaskClock.getDefault());
+    }
+
+    /**
+     * Creates a service with at least the given number of lock stripes that
+     * decides which tasks are overdue using the given clock.
+     *
+     * @param concurrencyLevel The expected number of concurrent writers
+     * @param clock The clock supplying today's date
+     * @throws IllegalArgumentException if concurrencyLevel is not positive or clock is null
+     */
+    public ConcurrentTaskService(int concurrencyLevel, TaskClock clock) {
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("Concurrency level must be positive");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.clock = clock;
+        this.tasksById = new ConcurrentHashMap<>();
+        this.tasks = new ConcurrentSkipListMap<>();
+        this.completedTasks = new ConcurrentSkipListMap<>();
+        this.pendingTasks = new ConcurrentSkipListMap<>();
+        this.pendingByDueDate = new ConcurrentSkipListMap<>();
+        this.allByDueDate = new ConcurrentSkipListMap<>();
+        this.textIndex = new ConcurrentTextIndex();
+        this.taskCount = new AtomicInteger();
+        int stripeCount = 16;
+        while (stripeCount < concurrencyLevel) {
+            stripeCount <<= 1;
+        }
+        this.stripes = new Object[stripeCount];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Object();
+        }
+        this.indexUpdater = new IndexUpdater();
+        this.listeners = new TaskServiceListeners();
+    }
+
+    @Override
+    public void addTask(TaskItem task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task cannot be null");
+        }
+        synchronized (stripeFor(task.getId())) {
+            if (tasksById.containsKey(task.getId())) {
+                throw new IllegalArgumentException("Task is already in this service");
+            }
+            task.addListener(indexUpdater);
+            Entry entry = new Entry(task);
+            index(entry);
+            indexText(entry);
+            tasksById.put(task.getId(), entry);
+            tasks.put(task.getId(), entry);
+            taskCount.incrementAndGet();
+            listeners.taskAdded(task);
+        }
+    }
+
+    @Override
+    public void removeTask(int index) {
+        remove(getTask(index).getId());
+    }
+
+    @Override
+    public TaskItem getTask(int index) {
+        if (index >= 0) {
+            Iterator<Entry> entries = tasks.values().iterator();
+            for (int i = 0; entries.hasNext(); i++) {
+                Entry entry = entries.next();
+                if (i == index) {
+                    return entry.item;
+                }
+            }
+        }
+        throw new IndexOutOfBoundsException("Invalid task index: " + index);
+    }
+
+    /**
+     * Gets the position of a task by counting the tasks with smaller IDs,
+     * which walks them like getTask().
+     *
+     * @param id The task ID
+     * @return The task's index, or -1 if no task with that ID is in this service
+     */
+    @Override
+    public int indexOf(long id) {
+        return tasks.containsKey(id) ? tasks.headMap(id).size() : -1;
+    }
+
+    @Override
+    public Optional<TaskItem> getById(long id) {
+        Entry entry = tasksById.get(id);
+        return entry == null ? Optional.empty() : Optional.of(entry.item);
+    }
+
+    @Override
+    public boolean removeById(long id) {
+        return remove(id);
+    }
+
+    @Override
+    public boolean updateById(long id, String task, String dueDateStr) {
+        Entry entry = tasksById.get(id);
+        if (entry == null) {
+            return false;
+        }
+        entry.item.update(task, dueDateStr);
+        return true;
+    }
+
+    @Override
+    public List<TaskItem> getAllTasks() {
+        List<TaskItem> snapshot = new ArrayList<>(taskCount.get());
+        for (Entry entry : tasks.values()) {
+            snapshot.add(entry.item);
+        }
+        return Collections.unmodifiableList(snapshot);
+    }
+
+    @Override
+    public List<TaskItem> getCompletedTasks() {
+        return new ArrayList<>(completedTasks.values());
+    }
+
+    @Override
+    public List<TaskItem> getPendingTasks() {
+        return new ArrayList<>(pendingTasks.values());
+    }
+
+    @Override
+    public List<TaskItem> getOverdueTasks() {
+        return new ArrayList<>(pendingByDueDate.headMap(DueKey.first(clock.today())).values());
+    }
+
+    @Override
+    public List<TaskItem> getTasksDueBetween(LocalDate from, LocalDate to) {
+        TaskQueries.checkRange(from, to);
+        return new ArrayList<>(dueBetween(allByDueDate, from, to).values());
+    }
+
+    @Override
+    public List<TaskItem> getTasksDueOn(LocalDate date) {
+        TaskQueries.checkDate(date);
+        return new ArrayList<>(dueBetween(allByDueDate, date, date).values());
+    }
+
+    @Override
+    public List<TaskItem> nextDue(int count) {
+        TaskQueries.checkCount(count);
+        List<TaskItem> result = new ArrayList<>(Math.min(count, 16));
+        Collection<TaskItem> upcoming = pendingByDueDate.tailMap(DueKey.first(clock.today())).values();
+        for (TaskItem task : upcoming) {
+            if (result.size() == count) {
+                break;
+            }
+            result.add(task);
+        }
+        return result;
+    }
+
+    @Override
+    public List<TaskItem> search(String query) {
+        TaskQueries.checkQuery(query);
+        long[] ids = textIndex.search(query);
+        if (ids == null) {
+            return new ArrayList<>(getAllTasks());
+        }
+        List<TaskItem> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            Entry entry = tasksById.get(id);
+            if (entry != null) {
+                result.add(entry.item);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int getTaskCount() {
+        return taskCount.get();
+    }
+
+    /**
+     * Removes every task present when the call starts.
+     * Tasks added concurrently with the clear may survive it, so listeners
+     * are told about each removal rather than sent tasksCleared.
+     */
+    @Override
+    public void clearAllTasks() {
+        for (Long id : tasks.keySet()) {
+            remove(id);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return tasks.isEmpty();
+    }
+
+    @Override
+    public void addListener(TaskServiceListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(TaskServiceListener listener) {
+        listeners.remove(listener);
+    }
+
+    private boolean remove(long id) {
+        synchronized (stripeFor(id)) {
+            Entry entry = tasksById.remove(id);
+            if (entry == null) {
+                return false;
+            }
+            tasks.remove(id);
+            entry.item.removeListener(indexUpdater);
+            unindex(entry);
+            unindexText(entry);
+            taskCount.decrementAndGet();
+            listeners.taskRemoved(entry.item);
+            return true;
+        }
+    }
+
+    private Object stripeFor(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (hash >>> 32) & (stripes.length - 1)];
+    }
+
+    private void index(Entry entry) {
+        TaskItem task = entry.item;
+        entry.dueKey = new DueKey(task.getDueDate(), task.getId());
+        entry.completed = task.isCompleted();
+        allByDueDate.put(entry.dueKey, task);
+        if (entry.completed) {
+            completedTasks.put(task.getId(), task);
+        } else {
+            pendingTasks.put(task.getId(), task);
+            pendingByDueDate.put(entry.dueKey, task);
+        }
+    }
+
+    private void unindex(Entry entry) {
+        long id = entry.item.getId();
+        allByDueDate.remove(entry.dueKey);
+        if (entry.completed) {
+            completedTasks.remove(id);
+        } else {
+            pendingTasks.remove(id);
+            pendingByDueDate.remove(entry.dueKey);
+        }
+    }
+
+    /**
+     * Indexes a task's current description. Callers hold its stripe lock.
+     */
+    private void indexText(Entry entry) {
+        entry.text = entry.item.getTask();
+        textIndex.add(entry.item.getId(), entry.text);
+    }
+
+    private void reindexText(Entry entry) {
+        String previous = entry.text;
+        entry.text = entry.item.getTask();
+        textIndex.update(entry.item.getId(), previous, entry.text);
+    }
+
+    private void unindexText(Entry entry) {
+        textIndex.remove(entry.item.getId(), entry.text);
+    }
+
+    private static ConcurrentNavigableMap<DueKey, TaskItem> dueBetween(
+            ConcurrentSkipListMap<DueKey, TaskItem> index, LocalDate from, LocalDate to) {
+        return index.subMap(DueKey.first(from), true, DueKey.last(to), true);
+    }
+
+    /**
+     * A task together with the state it is currently indexed under.
+     * Only read or written while holding the task's stripe lock.
+     */
+    private static final class Entry {
+        final TaskItem item;
+        DueKey dueKey;
+        boolean completed;
+        String text;
+
+        Entry(TaskItem item) {
+            this.item = item;
+        }
+    }
+
+    /**
+     * Orders tasks by due date, then by ID.
+     */
+    private static final class DueKey implements Comparable<DueKey> {
+        final LocalDate dueDate;
+        final long id;
+
+        DueKey(LocalDate dueDate, long id) {
+            this.dueDate = dueDate;
+            this.id = id;
+        }
+
+        static DueKey first(LocalDate dueDate) {
+            return new DueKey(dueDate, Long.MIN_VALUE);
+        }
+
+        static DueKey last(LocalDate dueDate) {
+            return new DueKey(dueDate, Long.MAX_VALUE);
+        }
+
+        @Override
+        public int compareTo(DueKey other) {
+            int byDate = dueDate.compareTo(other.dueDate);
+            return byDate != 0 ? byDate : Long.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof DueKey)) return false;
+            DueKey other = (DueKey) o;
+            return id == other.id && dueDate.equals(other.dueDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * dueDate.hashCode() + Long.hashCode(id);
+        }
+    }
+
+    /**
+     * Re-indexes a task from its current state whenever it changes, and
+     * passes the change on to the service listeners under the same lock.
+     * Reading the current state under the stripe lock, rather than trusting
+     * the event payload, keeps the indexes right when changes race.
+     */
+    private class IndexUpdater implements TaskItemListener {
+
+        @Override
+        public void completionChanged(TaskItem item) {
+            synchronized (stripeFor(item.getId())) {
+                if (reindex(item)) {
+                    listeners.completionChanged(item);
+                }
+            }
+        }
+
+        @Override
+        public void dueDateChanged(TaskItem item, LocalDate previousDueDate) {
+            synchronized (stripeFor(item.getId())) {
+                if (reindex(item)) {
+                    listeners.dueDateChanged(item, previousDueDate);
+                }
+            }
+        }
+
+        @Override
+        public void textChanged(TaskItem item, String previousTask) {
+            synchronized (stripeFor(item.getId())) {
+                Entry entry = tasksById.get(item.getId());
+                if (entry != null && entry.item == item) {
+                    reindexText(entry);
+                    listeners.textChanged(item, previousTask);
+                }
+            }
+        }
+
+        /**
+         * Re-indexes a task if it is still in the service. Callers hold its stripe lock.
+         */
+        private boolean reindex(TaskItem item) {
+            Entry entry = tasksById.get(item.getId());
+            if (entry == null || entry.item != item) {
+                return false;
+            }
+            unindex(entry);
+            index(entry);
+            return true;
+        }
+    }
+}
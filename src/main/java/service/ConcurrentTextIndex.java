@@ -0,0 +1,155 @@
+package service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Thread-safe inverted index over task descriptions, with the same terms
+ * and query rules as TextIndex.
+ * Terms are kept in a concurrent skip list map, so all terms starting with
+ * a prefix are still found by one range lookup, and each term maps to a
+ * sorted array of the IDs of the tasks containing it, replaced rather than
+ * changed once searches can see it. Searches take no locks and read each
+ * term's IDs as they were at one moment; PostingSearch answers them the
+ * same way as for TextIndex. Writers lock one of a fixed set of stripes
+ * chosen by term, so each term has one writer at a time and a term whose
+ * last task goes away can be dropped without losing a task added to it at
+ * the same time; writers on different terms do not contend.
+ */
+final class ConcurrentTextIndex {
+    private static final int STRIPES = 64;
+
+    private final ConcurrentSkipListMap<String, Postings> terms = new ConcurrentSkipListMap<>();
+    private final Object[] stripes = new Object[STRIPES];
+
+    ConcurrentTextIndex() {
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    void add(long id, String text) {
+        for (String term : TextIndex.terms(text)) {
+            addPosting(term, id);
+        }
+    }
+
+    void remove(long id, String text) {
+        for (String term : TextIndex.terms(text)) {
+            removePosting(term, id);
+        }
+    }
+
+    /**
+     * Moves a task from the terms of its old description to those of its new one.
+     * Terms both descriptions share are left alone.
+     *
+     * @param id The task ID
+     * @param oldText The description the task was indexed under
+     * @param newText The task's current description
+     */
+    void update(long id, String oldText, String newText) {
+        List<String> oldTerms = TextIndex.terms(oldText);
+        List<String> newTerms = TextIndex.terms(newText);
+        for (String term : oldTerms) {
+            if (!newTerms.contains(term)) {
+                removePosting(term, id);
+            }
+        }
+        for (String term : newTerms) {
+            if (!oldTerms.contains(term)) {
+                addPosting(term, id);
+            }
+        }
+    }
+
+    /**
+     * Finds the tasks whose descriptions contain a term starting with every
+     * term of the query, as PostingSearch plans it.
+     *
+     * @param query The search text
+     * @return The matching task IDs in ascending order, or null if the query has no terms
+     */
+    long[] search(String query) {
+        return PostingSearch.search(terms, query);
+    }
+
+    private Object stripeFor(String term) {
+        return stripes[(term.hashCode() * 0x9E3779B9 >>> 26) & (STRIPES - 1)];
+    }
+
+    private void addPosting(String term, long id) {
+        synchronized (stripeFor(term)) {
+            terms.computeIfAbsent(term, t -> new Postings()).add(id);
+        }
+    }
+
+    private void removePosting(String term, long id) {
+        synchronized (stripeFor(term)) {
+            Postings postings = terms.get(term);
+            if (postings != null && postings.remove(id) && postings.size() == 0) {
+                terms.remove(term);
+            }
+        }
+    }
+
+    /**
+     * The sorted IDs of the tasks containing one term, published as a slice
+     * that is never changed once searches can see it. Only the term's stripe
+     * lock holder writes. An ID greater than the others is written into the
+     * array past the published slice and then published, so adds in ID
+     * order cost amortized O(1); an ID added out of order or removed copies
+     * the array, as TextIndex shifts its own.
+     */
+    private static final class Postings implements PostingSearch.Source {
+        private volatile PostingSearch.Slice current = PostingSearch.Slice.EMPTY;
+
+        @Override
+        public PostingSearch.Slice slice() {
+            return current;
+        }
+
+        int size() {
+            return current.size;
+        }
+
+        void add(long id) {
+            PostingSearch.Slice slice = current;
+            long[] ids = slice.ids;
+            int size = slice.size;
+            if (size == 0 || ids[size - 1] < id) {
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, Math.max(2, size * 2));
+                }
+                ids[size] = id;
+            } else {
+                int at = Arrays.binarySearch(ids, 0, size, id);
+                if (at >= 0) {
+                    return;
+                }
+                int insertAt = -at - 1;
+                long[] copy = new long[size == ids.length ? size * 2 : ids.length];
+                System.arraycopy(ids, 0, copy, 0, insertAt);
+                copy[insertAt] = id;
+                System.arraycopy(ids, insertAt, copy, insertAt + 1, size - insertAt);
+                ids = copy;
+            }
+            current = new PostingSearch.Slice(ids, size + 1);
+        }
+
+        boolean remove(long id) {
+            PostingSearch.Slice slice = current;
+            int at = Arrays.binarySearch(slice.ids, 0, slice.size, id);
+            if (at < 0) {
+                return false;
+            }
+            int size = slice.size - 1;
+            long[] copy = new long[size <= slice.ids.length / 4 ? slice.ids.length / 2 : slice.ids.length];
+            System.arraycopy(slice.ids, 0, copy, 0, at);
+            System.arraycopy(slice.ids, at + 1, copy, at, size - at);
+            current = size == 0 ? PostingSearch.Slice.EMPTY : new PostingSearch.Slice(copy, size);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package service;
+
+import model.TaskItem;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Index of tasks ordered by due date.
+ * Tasks sharing a due date are kept in a bucket sorted by task ID, so
+ * equal but distinct task instances are tracked separately and tasks due
+ * on the same day are listed in ID order, as the other services list them.
+ */
+final class DueDateIndex {
+    private final NavigableMap<LocalDate, Map<Long, TaskItem>> buckets = new TreeMap<>();
+
+    void add(TaskItem task) {
+        add(task.getDueDate(), task);
+    }
+
+    void add(LocalDate dueDate, TaskItem task) {
+        buckets.computeIfAbsent(dueDate, date -> new TreeMap<>()).put(task.getId(), task);
+    }
+
+    void remove(LocalDate dueDate, TaskItem task) {
+        Map<Long, TaskItem> bucket = buckets.get(dueDate);
+        if (bucket != null && bucket.remove(task.getId()) != null && bucket.isEmpty()) {
+            buckets.remove(dueDate);
+        }
+    }
+
+    /**
+     * Gets all indexed tasks due strictly before the given date, earliest first.
+     *
+     * @param date The exclusive upper bound
+     * @return List of matching tasks
+     */
+    List<TaskItem> before(LocalDate date) {
+        return collect(buckets.headMap(date, false));
+    }
+
+    /**
+     * Gets all indexed tasks due between two dates, both inclusive, earliest first.
+     *
+     * @param from The first due date to include
+     * @param to The last due date to include
+     * @return List of matching tasks
+     */
+    List<TaskItem> between(LocalDate from, LocalDate to) {
+        return collect(buckets.subMap(from, true, to, true));
+    }
+
+    /**
+     * Gets all indexed tasks due on the given date.
+     *
+     * @param date The due date
+     * @return List of matching tasks
+     */
+    List<TaskItem> on(LocalDate date) {
+        Map<Long, TaskItem> bucket = buckets.get(date);
+        return bucket == null ? new ArrayList<>() : new ArrayList<>(bucket.values());
+    }
+
+    /**
+     * Gets up to limit indexed tasks due on or after the given date, earliest first.
+     *
+     * @param from The first due date to include
+     * @param limit The maximum number of tasks to return
+     * @return List of matching tasks
+     */
+    List<TaskItem> first(LocalDate from, int limit) {
+        List<TaskItem> result = new ArrayList<>(Math.min(limit, 16));
+        for (Map<Long, TaskItem> bucket : buckets.tailMap(from, true).values()) {
+            for (TaskItem task : bucket.values()) {
+                if (result.size() == limit) {
+                    return result;
+                }
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    void clear() {
+        buckets.clear();
+    }
+
+    private static List<TaskItem> collect(Map<LocalDate, Map<Long, TaskItem>> range) {
+        List<TaskItem> result = new ArrayList<>();
+        for (Map<Long, TaskItem> bucket : range.values()) {
+            result.addAll(bucket.values());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,340 @@
+package service;
+
+import model.TaskClock;
+import model.TaskItem;
+import model.TaskItemListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * In-memory TaskService for single-threaded use.
+ * Implements business logic for task operations following SOLID principles.
+ * Tasks are stored in insertion order and hashed by ID, so ID-based access
+ * is O(1) and positional access is O(log n). Status and due date queries are
+ * served from indexes that are kept in sync with every add, remove and task
+ * status or due date change, and text searches from an inverted index kept
+ * in sync with every description change.
+ */
+public class InMemoryTaskService implements TaskService {
+    private final TaskSlots tasks;
+    private final Map<Long, TaskItem> completedTasks;
+    private final Map<Long, TaskItem> pendingTasks;
+    private final DueDateIndex pendingByDueDate;
+    private final DueDateIndex allByDueDate;
+    private final TextIndex textIndex;
+    private final TaskItemListener indexUpdater;
+    private final TaskServiceListeners listeners;
+    private final TaskClock clock;
+
+    public InMemoryTaskService() {
+        this(TaskClock.getDefault());
+    }
+
+    /**
+     * Creates a service that decides which tasks are overdue using the given clock.
+     *
+     * @param clock The clock supplying today's date
+     * @throws IllegalArgumentException if clock is null
+     */
+    public InMemoryTaskService(TaskClock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.clock = clock;
+        this.tasks = new TaskSlots();
+        this.completedTasks = new TreeMap<>();
+        this.pendingTasks = new TreeMap<>();
+        this.pendingByDueDate = new DueDateIndex();
+        this.allByDueDate = new DueDateIndex();
+        this.textIndex = new TextIndex();
+        this.indexUpdater = new IndexUpdater();
+        this.listeners = new TaskServiceListeners();
+    }
+
+    /**
+     * Adds a new task to the list.
+     * 
+     * @param task The task to add
+     * @throws IllegalArgumentException if task is null or already in this service
+     */
+    @Override
+    public void addTask(TaskItem task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task cannot be null");
+        }
+        if (tasks.contains(task.getId())) {
+            throw new IllegalArgumentException("Task is already in this service");
+        }
+        tasks.add(task);
+        index(task);
+        textIndex.add(task.getId(), task.getTask());
+        task.addListener(indexUpdater);
+        listeners.taskAdded(task);
+    }
+
+    /**
+     * Removes a task at the specified index.
+     * 
+     * @param index The index of the task to remove
+     * @throws IndexOutOfBoundsException if index is invalid
+     */
+    @Override
+    public void removeTask(int index) {
+        if (index < 0 || index >= tasks.size()) {
+            throw new IndexOutOfBoundsException("Invalid task index: " + index);
+        }
+        removeById(tasks.get(index).getId());
+    }
+
+    /**
+     * Gets a task at the specified index.
+     * 
+     * @param index The index of the task
+     * @return The task at the specified index
+     * @throws IndexOutOfBoundsException if index is invalid
+     */
+    @Override
+    public TaskItem getTask(int index) {
+        if (index < 0 || index >= tasks.size()) {
+            throw new IndexOutOfBoundsException("Invalid task index: " + index);
+        }
+        return tasks.get(index);
+    }
+
+    /**
+     * Gets all tasks.
+     * 
+     * @return An unmodifiable list of all tasks
+     */
+    @Override
+    public List<TaskItem> getAllTasks() {
+        return tasks.asList();
+    }
+
+    @Override
+    public Optional<TaskItem> getById(long id) {
+        return Optional.ofNullable(tasks.byId(id));
+    }
+
+    @Override
+    public int indexOf(long id) {
+        return tasks.indexOf(id);
+    }
+
+    @Override
+    public boolean removeById(long id) {
+        TaskItem removed = tasks.removeById(id);
+        if (removed == null) {
+            return false;
+        }
+        removed.removeListener(indexUpdater);
+        unindex(removed);
+        textIndex.remove(removed.getId(), removed.getTask());
+        listeners.taskRemoved(removed);
+        return true;
+    }
+
+    @Override
+    public boolean updateById(long id, String task, String dueDateStr) {
+        TaskItem item = tasks.byId(id);
+        if (item == null) {
+            return false;
+        }
+        item.update(task, dueDateStr);
+        return true;
+    }
+
+    /**
+     * Gets all completed tasks.
+     * 
+     * @return List of completed tasks in ID order
+     */
+    @Override
+    public List<TaskItem> getCompletedTasks() {
+        return new ArrayList<>(completedTasks.values());
+    }
+
+    /**
+     * Gets all pending tasks.
+     * 
+     * @return List of pending tasks in ID order
+     */
+    @Override
+    public List<TaskItem> getPendingTasks() {
+        return new ArrayList<>(pendingTasks.values());
+    }
+
+    /**
+     * Gets all overdue tasks, earliest due date first.
+     * 
+     * @return List of overdue tasks
+     */
+    @Override
+    public List<TaskItem> getOverdueTasks() {
+        return pendingByDueDate.before(clock.today());
+    }
+
+    /**
+     * Gets all tasks due between two dates, both inclusive, earliest first.
+     *
+     * @param from The first due date to include
+     * @param to The last due date to include
+     * @return List of tasks due in the range
+     * @throws IllegalArgumentException if a date is null or from is after to
+     */
+    @Override
+    public List<TaskItem> getTasksDueBetween(LocalDate from, LocalDate to) {
+        TaskQueries.checkRange(from, to);
+        return allByDueDate.between(from, to);
+    }
+
+    /**
+     * Gets all tasks due on the given date.
+     *
+     * @param date The due date
+     * @return List of tasks due on that date
+     * @throws IllegalArgumentException if date is null
+     */
+    @Override
+    public List<TaskItem> getTasksDueOn(LocalDate date) {
+        TaskQueries.checkDate(date);
+        return allByDueDate.on(date);
+    }
+
+    /**
+     * Gets the next pending tasks due today or later, earliest first.
+     *
+     * @param count The maximum number of tasks to return
+     * @return List of at most count upcoming tasks
+     * @throws IllegalArgumentException if count is negative
+     */
+    @Override
+    public List<TaskItem> nextDue(int count) {
+        TaskQueries.checkCount(count);
+        return pendingByDueDate.first(clock.today(), count);
+    }
+
+    /**
+     * Finds tasks by the words in their descriptions.
+     *
+     * @param query The words to search for
+     * @return List of matching tasks in ID order, or all tasks if the query has no words
+     * @throws IllegalArgumentException if query is null
+     */
+    @Override
+    public List<TaskItem> search(String query) {
+        TaskQueries.checkQuery(query);
+        long[] ids = textIndex.search(query);
+        if (ids == null) {
+            List<TaskItem> all = new ArrayList<>(tasks.asList());
+            all.sort(Comparator.comparingLong(TaskItem::getId));
+            return all;
+        }
+        List<TaskItem> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            result.add(tasks.byId(id));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the total number of tasks.
+     * 
+     * @return The total number of tasks
+     */
+    @Override
+    public int getTaskCount() {
+        return tasks.size();
+    }
+
+    /**
+     * Clears all tasks.
+     */
+    @Override
+    public void clearAllTasks() {
+        for (TaskItem task : tasks.asList()) {
+            task.removeListener(indexUpdater);
+        }
+        tasks.clear();
+        completedTasks.clear();
+        pendingTasks.clear();
+        pendingByDueDate.clear();
+        allByDueDate.clear();
+        textIndex.clear();
+        listeners.tasksCleared();
+    }
+
+    /**
+     * Checks if the task list is empty.
+     * 
+     * @return true if there are no tasks
+     */
+    @Override
+    public boolean isEmpty() {
+        return tasks.size() == 0;
+    }
+
+    @Override
+    public void addListener(TaskServiceListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(TaskServiceListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void index(TaskItem task) {
+        allByDueDate.add(task);
+        if (task.isCompleted()) {
+            completedTasks.put(task.getId(), task);
+        } else {
+            pendingTasks.put(task.getId(), task);
+            pendingByDueDate.add(task);
+        }
+    }
+
+    private void unindex(TaskItem task) {
+        completedTasks.remove(task.getId());
+        pendingTasks.remove(task.getId());
+        pendingByDueDate.remove(task.getDueDate(), task);
+        allByDueDate.remove(task.getDueDate(), task);
+    }
+
+    /**
+     * Moves tasks between indexes when their status, due date or description changes,
+     * then passes the change on to the service listeners.
+     */
+    private class IndexUpdater implements TaskItemListener {
+
+        @Override
+        public void completionChanged(TaskItem item) {
+            unindex(item);
+            index(item);
+            listeners.completionChanged(item);
+        }
+
+        @Override
+        public void dueDateChanged(TaskItem item, LocalDate previousDueDate) {
+            allByDueDate.remove(previousDueDate, item);
+            allByDueDate.add(item);
+            if (!item.isCompleted()) {
+                pendingByDueDate.remove(previousDueDate, item);
+                pendingByDueDate.add(item);
+            }
+            listeners.dueDateChanged(item, previousDueDate);
+        }
+
+        @Override
+        public void textChanged(TaskItem item, String previousTask) {
+            textIndex.update(item.getId(), previousTask, item.getTask());
+            listeners.textChanged(item, previousTask);
+        }
+    }
+}
@@ -0,0 +1,459 @@
+package service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * TaskStore kept in memory-mapped files so tasks survive restarts.
+ * The store directory holds tasks.dat, a 32-byte header followed by one
+ * 24-byte record per row (ID, due date as epoch day, flags, text offset and
+ * length), and an append-only text segment holding UTF-8 descriptions.
+ * Opening a store maps both files and reads the header, so it takes the
+ * same time whatever the number of tasks; records are read straight from
+ * the mapping when asked for and never loaded into the heap as a whole.
+ * <p>
+ * Writes go to the page cache and reach the disk when the operating system
+ * writes them back, on flush() or on close(). Each change updates the text,
+ * then the record, then the header, so a crash between changes loses at
+ * most the changes since the last flush, but a crash during compact() can
+ * leave the store inconsistent. Like the other stores, this class is meant
+ * for single-threaded use.
+ */
+public class MappedTaskStore implements TaskStore, Closeable {
+    private static final int MAGIC = 0x5453_4B53;
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 32;
+    private static final int ROWS_OFFSET = 8;
+    private static final int REMOVED_ROWS_OFFSET = 12;
+    private static final int TEXT_GENERATION_OFFSET = 16;
+    private static final int TEXT_END_OFFSET = 20;
+    private static final int UNUSED_TEXT_OFFSET = 24;
+
+    private static final int RECORD_SIZE = 24;
+    private static final int ID_FIELD = 0;
+    private static final int EPOCH_DAY_FIELD = 8;
+    private static final int FLAGS_FIELD = 12;
+    private static final int TEXT_OFFSET_FIELD = 16;
+    private static final int TEXT_LENGTH_FIELD = 20;
+
+    private static final int COMPLETED = 1;
+    private static final int REMOVED = 2;
+
+    private static final int INITIAL_ROWS = 1024;
+    private static final int INITIAL_TEXT = 64 * 1024;
+    private static final int MAX_MAPPING = Integer.MAX_VALUE - 8;
+
+    private static final String RECORDS_FILE = "tasks.dat";
+    private static final String TEXT_FILE_GLOB = "text-*.dat";
+
+    private final Path directory;
+    private final FileChannel recordChannel;
+    private MappedByteBuffer records;
+    private FileChannel textChannel;
+    private MappedByteBuffer textSegment;
+    private int rowCapacity;
+    private int rows;
+    private int removedRows;
+    private int textGeneration;
+    private int textEnd;
+    private int unusedTextBytes;
+    private boolean closed;
+
+    private MappedTaskStore(Path directory, FileChannel recordChannel) {
+        this.directory = directory;
+        this.recordChannel = recordChannel;
+    }
+
+    /**
+     * Opens the store in a directory, creating the directory and an empty store if needed.
+     *
+     * @param directory The directory holding the store files
+     * @return The opened store
+     * @throws IOException if the files cannot be opened or are not a task store
+     */
+    public static MappedTaskStore open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        FileChannel channel = FileChannel.open(directory.resolve(RECORDS_FILE),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedTaskStore store = new MappedTaskStore(directory, channel);
+        try {
+            if (channel.size() == 0) {
+                store.initialize();
+            } else {
+                store.load();
+            }
+            store.deleteStaleTextFiles();
+        } catch (IOException | RuntimeException e) {
+            store.closeChannels();
+            throw e;
+        }
+        return store;
+    }
+
+    private void initialize() throws IOException {
+        mapRecords(INITIAL_ROWS);
+        records.putInt(0, MAGIC);
+        records.putInt(4, VERSION);
+        writeHeader();
+        mapText(INITIAL_TEXT);
+    }
+
+    private void load() throws IOException {
+        long size = recordChannel.size();
+        if (size < HEADER_SIZE) {
+            throw new IOException("Not a task store: " + directory);
+        }
+        mapRecords((int) Math.min((size - HEADER_SIZE) / RECORD_SIZE, (MAX_MAPPING - HEADER_SIZE) / RECORD_SIZE));
+        if (records.getInt(0) != MAGIC) {
+            throw new IOException("Not a task store: " + directory);
+        }
+        if (records.getInt(4) != VERSION) {
+            throw new IOException("Unsupported task store version " + records.getInt(4) + ": " + directory);
+        }
+        rows = records.getInt(ROWS_OFFSET);
+        removedRows = records.getInt(REMOVED_ROWS_OFFSET);
+        textGeneration = records.getInt(TEXT_GENERATION_OFFSET);
+        textEnd = records.getInt(TEXT_END_OFFSET);
+        unusedTextBytes = records.getInt(UNUSED_TEXT_OFFSET);
+        if (rows < 0 || rows > rowCapacity || removedRows < 0 || removedRows > rows || textEnd < 0) {
+            throw new IOException("Corrupt task store header: " + directory);
+        }
+        mapText(textEnd);
+    }
+
+    @Override
+    public int size() {
+        return rows - removedRows;
+    }
+
+    @Override
+    public int rowCount() {
+        return rows;
+    }
+
+    @Override
+    public boolean isRemoved(int row) {
+        return (flags(row) & REMOVED) != 0;
+    }
+
+    @Override
+    public int findRow(long id) {
+        int row = search(id);
+        return row >= 0 && !isRemoved(row) ? row : -1;
+    }
+
+    @Override
+    public long id(int row) {
+        return records.getLong(record(row) + ID_FIELD);
+    }
+
+    @Override
+    public String text(int row) {
+        int position = record(row);
+        byte[] bytes = new byte[records.getInt(position + TEXT_LENGTH_FIELD)];
+        textSegment.get(records.getInt(position + TEXT_OFFSET_FIELD), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int epochDay(int row) {
+        return records.getInt(record(row) + EPOCH_DAY_FIELD);
+    }
+
+    @Override
+    public boolean isCompleted(int row) {
+        return (flags(row) & COMPLETED) != 0;
+    }
+
+    @Override
+    public void add(long id, String text, int epochDay, boolean completed) {
+        int row = rows;
+        if (rows > 0 && id <= id(rows - 1)) {
+            int found = search(id);
+            if (found >= 0) {
+                if (!isRemoved(found)) {
+                    throw new IllegalArgumentException("Task is already in this store");
+                }
+                // Revive the removed row that still holds this ID.
+                unusedTextBytes -= records.getInt(record(found) + TEXT_LENGTH_FIELD);
+                removedRows--;
+                setText(found, text);
+                records.putInt(record(found) + EPOCH_DAY_FIELD, epochDay);
+                records.putInt(record(found) + FLAGS_FIELD, completed ? COMPLETED : 0);
+                writeHeader();
+                return;
+            }
+            row = -found - 1;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        int textOffset = appendText(bytes);
+        ensureRowCapacity(rows + 1);
+        for (int from = rows - 1; from >= row; from--) {
+            copyRecord(from, from + 1);
+        }
+        int position = record(row);
+        records.putLong(position + ID_FIELD, id);
+        records.putInt(position + EPOCH_DAY_FIELD, epochDay);
+        records.putInt(position + FLAGS_FIELD, completed ? COMPLETED : 0);
+        records.putInt(position + TEXT_OFFSET_FIELD, textOffset);
+        records.putInt(position + TEXT_LENGTH_FIELD, bytes.length);
+        rows++;
+        writeHeader();
+    }
+
+    @Override
+    public void setText(int row, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        int offset = appendText(bytes);
+        int position = record(row);
+        unusedTextBytes += records.getInt(position + TEXT_LENGTH_FIELD);
+        records.putInt(position + TEXT_OFFSET_FIELD, offset);
+        records.putInt(position + TEXT_LENGTH_FIELD, bytes.length);
+        writeHeader();
+    }
+
+    @Override
+    public void setEpochDay(int row, int epochDay) {
+        records.putInt(record(row) + EPOCH_DAY_FIELD, epochDay);
+    }
+
+    @Override
+    public void setCompleted(int row, boolean completed) {
+        int flags = flags(row);
+        records.putInt(record(row) + FLAGS_FIELD, completed ? flags | COMPLETED : flags & ~COMPLETED);
+    }
+
+    @Override
+    public void remove(int row) {
+        int flags = flags(row);
+        if ((flags & REMOVED) == 0) {
+            records.putInt(record(row) + FLAGS_FIELD, flags | REMOVED);
+            removedRows++;
+            unusedTextBytes += records.getInt(record(row) + TEXT_LENGTH_FIELD);
+            writeHeader();
+        }
+    }
+
+    /**
+     * Drops removed rows, renumbering the rest. The text segment is only
+     * rewritten once more than half of it belongs to removed or replaced text.
+     */
+    @Override
+    public void compact() {
+        int live = 0;
+        for (int row = 0; row < rows; row++) {
+            if (!isRemoved(row)) {
+                if (live != row) {
+                    copyRecord(row, live);
+                }
+                live++;
+            }
+        }
+        rows = live;
+        removedRows = 0;
+        writeHeader();
+        if (unusedTextBytes > textEnd / 2) {
+            compactText();
+        }
+    }
+
+    @Override
+    public void clear() {
+        rows = 0;
+        removedRows = 0;
+        textEnd = 0;
+        unusedTextBytes = 0;
+        writeHeader();
+    }
+
+    /**
+     * Forces all changes to the store files onto the storage device.
+     */
+    public void flush() {
+        records.force();
+        textSegment.force();
+    }
+
+    /**
+     * Flushes and closes the store. Using it afterwards is not allowed.
+     *
+     * @throws IOException if the files cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            flush();
+            closeChannels();
+        }
+    }
+
+    private void closeChannels() throws IOException {
+        try {
+            if (textChannel != null) {
+                textChannel.close();
+            }
+        } finally {
+            recordChannel.close();
+        }
+    }
+
+    private int search(long id) {
+        int low = 0;
+        int high = rows - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = id(mid);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private int flags(int row) {
+        return records.getInt(record(row) + FLAGS_FIELD);
+    }
+
+    private static int record(int row) {
+        return HEADER_SIZE + row * RECORD_SIZE;
+    }
+
+    private void copyRecord(int from, int to) {
+        int source = record(from);
+        int target = record(to);
+        for (int i = 0; i < RECORD_SIZE; i += Long.BYTES) {
+            records.putLong(target + i, records.getLong(source + i));
+        }
+    }
+
+    private void writeHeader() {
+        records.putInt(ROWS_OFFSET, rows);
+        records.putInt(REMOVED_ROWS_OFFSET, removedRows);
+        records.putInt(TEXT_GENERATION_OFFSET, textGeneration);
+        records.putInt(TEXT_END_OFFSET, textEnd);
+        records.putInt(UNUSED_TEXT_OFFSET, unusedTextBytes);
+    }
+
+    private void ensureRowCapacity(int needed) {
+        if (needed > rowCapacity) {
+            long capacity = Math.max(needed, rowCapacity * 2L);
+            long maxRows = (MAX_MAPPING - HEADER_SIZE) / RECORD_SIZE;
+            if (needed > maxRows) {
+                throw new IllegalStateException("Task store is full");
+            }
+            remap(() -> mapRecords((int) Math.min(capacity, maxRows)));
+        }
+    }
+
+    private int appendText(byte[] bytes) {
+        long needed = (long) textEnd + bytes.length;
+        if (needed > textSegment.capacity()) {
+            if (needed > MAX_MAPPING) {
+                throw new IllegalStateException("Task text storage is full");
+            }
+            long capacity = Math.min(MAX_MAPPING, Math.max(needed, textSegment.capacity() * 2L));
+            remap(() -> mapText((int) capacity));
+        }
+        int offset = textEnd;
+        textSegment.put(offset, bytes);
+        textEnd += bytes.length;
+        return offset;
+    }
+
+    /**
+     * Writes the text of live rows to a new text file and switches to it.
+     */
+    private void compactText() {
+        remap(() -> {
+            int liveBytes = textEnd - unusedTextBytes;
+            Path previous = textFile(textGeneration);
+            FileChannel channel = FileChannel.open(textFile(textGeneration + 1),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer compacted;
+            try {
+                compacted = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(INITIAL_TEXT, liveBytes));
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            int end = 0;
+            for (int row = 0; row < rows; row++) {
+                int position = record(row);
+                int length = records.getInt(position + TEXT_LENGTH_FIELD);
+                compacted.put(end, textSegment, records.getInt(position + TEXT_OFFSET_FIELD), length);
+                records.putInt(position + TEXT_OFFSET_FIELD, end);
+                end += length;
+            }
+            compacted.force();
+            textChannel.close();
+            textChannel = channel;
+            textSegment = compacted;
+            textGeneration++;
+            textEnd = end;
+            unusedTextBytes = 0;
+            writeHeader();
+            records.force();
+            Files.deleteIfExists(previous);
+        });
+    }
+
+    private void mapRecords(int capacity) throws IOException {
+        records = recordChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+        rowCapacity = capacity;
+    }
+
+    private void mapText(int minimumCapacity) throws IOException {
+        if (textChannel == null) {
+            textChannel = FileChannel.open(textFile(textGeneration),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        long capacity = Math.max(minimumCapacity, Math.min(textChannel.size(), MAX_MAPPING));
+        textSegment = textChannel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(capacity, INITIAL_TEXT));
+    }
+
+    private Path textFile(int generation) {
+        return directory.resolve("text-" + generation + ".dat");
+    }
+
+    /**
+     * Removes text files left behind by a compaction that did not finish.
+     */
+    private void deleteStaleTextFiles() throws IOException {
+        Path current = textFile(textGeneration);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, TEXT_FILE_GLOB)) {
+            for (Path file : files) {
+                if (!file.equals(current)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private void remap(IOAction action) {
+        try {
+            action.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot resize task store in " + directory, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IOAction {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,170 @@
+package service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * Answers text queries over the postings of an inverted index, for both
+ * TextIndex and ConcurrentTextIndex, so the two cannot match differently.
+ * An index keeps its terms in a sorted map, so all terms starting with a
+ * prefix are found by one range lookup, and hands each term's task IDs
+ * over as a Slice: a sorted array whose first size entries are the IDs.
+ */
+final class PostingSearch {
+
+    private PostingSearch() {
+    }
+
+    /**
+     * The task IDs of one term, as an index keeps them.
+     */
+    interface Source {
+
+        /**
+         * Gets the IDs as they are now. The slice must not change while a
+         * search reads it.
+         *
+         * @return The term's IDs
+         */
+        Slice slice();
+    }
+
+    /**
+     * A sorted array of task IDs, of which the first size entries are used.
+     */
+    static final class Slice {
+        static final Slice EMPTY = new Slice(new long[0], 0);
+
+        final long[] ids;
+        final int size;
+
+        Slice(long[] ids, int size) {
+            this.ids = ids;
+            this.size = size;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+
+    /**
+     * Finds the tasks whose descriptions contain a term starting with every
+     * term of the query. The most selective query term is read first; the
+     * others only filter its matches.
+     *
+     * @param terms The index's terms, in order
+     * @param query The search text
+     * @return The matching task IDs in ascending order, or null if the query has no terms
+     */
+    static long[] search(NavigableMap<String, ? extends Source> terms, String query) {
+        List<String> queryTerms = TextIndex.terms(query);
+        if (queryTerms.isEmpty()) {
+            return null;
+        }
+        List<List<Slice>> matches = new ArrayList<>(queryTerms.size());
+        for (String prefix : queryTerms) {
+            List<Slice> slices = withPrefix(terms, prefix);
+            if (slices.isEmpty()) {
+                return new long[0];
+            }
+            matches.add(slices);
+        }
+        matches.sort(Comparator.comparingLong(PostingSearch::totalSize));
+        long[] result = union(matches.get(0));
+        for (int i = 1; i < matches.size() && result.length > 0; i++) {
+            result = retain(result, matches.get(i));
+        }
+        return result;
+    }
+
+    private static List<Slice> withPrefix(NavigableMap<String, ? extends Source> terms, String prefix) {
+        List<Slice> result = new ArrayList<>();
+        for (Map.Entry<String, ? extends Source> entry : terms.tailMap(prefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                break;
+            }
+            Slice slice = entry.getValue().slice();
+            if (slice.size > 0) {
+                result.add(slice);
+            }
+        }
+        return result;
+    }
+
+    private static long totalSize(List<Slice> slices) {
+        long total = 0;
+        for (Slice slice : slices) {
+            total += slice.size;
+        }
+        return total;
+    }
+
+    /**
+     * Merges the IDs of several terms into one sorted array without duplicates.
+     */
+    private static long[] union(List<Slice> slices) {
+        if (slices.size() == 1) {
+            Slice only = slices.get(0);
+            return Arrays.copyOf(only.ids, only.size);
+        }
+        long[] all = new long[Math.toIntExact(totalSize(slices))];
+        int length = 0;
+        for (Slice slice : slices) {
+            System.arraycopy(slice.ids, 0, all, length, slice.size);
+            length += slice.size;
+        }
+        Arrays.sort(all);
+        return distinct(all, length);
+    }
+
+    /**
+     * Keeps the candidates found in any of the slices. A few candidates are
+     * looked up by binary search; many are merged with the union of the slices.
+     */
+    private static long[] retain(long[] candidates, List<Slice> slices) {
+        long total = totalSize(slices);
+        long probeCost = (long) candidates.length * slices.size()
+            * (64 - Long.numberOfLeadingZeros(Math.max(1, total / slices.size())));
+        long[] result = new long[candidates.length];
+        int length = 0;
+        if (probeCost < total) {
+            for (long id : candidates) {
+                for (Slice slice : slices) {
+                    if (slice.contains(id)) {
+                        result[length++] = id;
+                        break;
+                    }
+                }
+            }
+        } else {
+            long[] other = union(slices);
+            for (int i = 0, j = 0; i < candidates.length && j < other.length; ) {
+                if (candidates[i] < other[j]) {
+                    i++;
+                } else if (candidates[i] > other[j]) {
+                    j++;
+                } else {
+                    result[length++] = candidates[i];
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return Arrays.copyOf(result, length);
+    }
+
+    private static long[] distinct(long[] sorted, int length) {
+        int unique = 0;
+        for (int i = 0; i < length; i++) {
+            if (unique == 0 || sorted[unique - 1] != sorted[i]) {
+                sorted[unique++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, unique);
+    }
+}
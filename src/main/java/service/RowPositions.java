@@ -0,0 +1,106 @@
+package service;
+
+/**
+ * Translates list positions to the rows of a TaskStore that holds removed
+ * rows, with a Fenwick tree over the live rows, in O(log n). Finding a row
+ * only reads the tree, so it never compacts or otherwise changes the store.
+ * The tree follows rows appended and removed after it is built; it has to
+ * be built again once the store renumbers its rows.
+ */
+final class RowPositions {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final TaskStore store;
+    private int[] tree;
+    private int rows;
+
+    /**
+     * Builds the tree over the current rows of a store.
+     *
+     * @param store The store whose rows are counted
+     */
+    RowPositions(TaskStore store) {
+        this.store = store;
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < store.rowCount()) {
+            capacity *= 2;
+        }
+        rebuild(capacity);
+    }
+
+    /**
+     * Counts a row just appended to the store.
+     */
+    void added() {
+        if (rows == tree.length - 1) {
+            rebuild(rows * 2);
+        } else {
+            update(rows, 1);
+            rows++;
+        }
+    }
+
+    /**
+     * Stops counting a row the store has just marked as removed.
+     *
+     * @param row The removed row
+     */
+    void removed(int row) {
+        update(row, -1);
+    }
+
+    /**
+     * Finds the row holding the task at the given position by descending
+     * the Fenwick tree.
+     *
+     * @param index A position below the store's size
+     * @return The row
+     */
+    int rowAt(int index) {
+        int capacity = tree.length - 1;
+        int position = 0;
+        int remaining = index + 1;
+        for (int step = Integer.highestOneBit(capacity); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= capacity && tree[next] < remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Counts the live rows before a row, which is the position of the task in it.
+     *
+     * @param row A live row
+     * @return The task's position
+     */
+    int indexOf(int row) {
+        int index = 0;
+        for (int i = row; i > 0; i -= i & -i) {
+            index += tree[i];
+        }
+        return index;
+    }
+
+    private void update(int row, int delta) {
+        for (int i = row + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private void rebuild(int capacity) {
+        rows = store.rowCount();
+        tree = new int[capacity + 1];
+        for (int i = 1; i <= capacity; i++) {
+            if (i <= rows && !store.isRemoved(i - 1)) {
+                tree[i] += 1;
+            }
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,488 @@
+package service;
+
+import model.TaskClock;
+import model.TaskItem;
+import model.TaskItemListener;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.RandomAccess;
+
+/**
+ * TaskService that keeps its tasks in a TaskStore instead of as objects.
+ * Tasks are held in ID order, which is also their insertion order since IDs
+ * increase. The store only holds primitive columns; a TaskItem is created
+ * each time a task is read and is not cached. Changes made to a returned
+ * TaskItem, or to one passed to addTask, are written through to the store,
+ * but two reads of the same task return different objects.
+ * Status and due date queries scan the columns directly rather than
+ * maintaining object indexes, so they allocate only for the tasks they return.
+ * Text searches use an inverted index that is built on the first search,
+ * so opening a large store does not pay for it, and kept up to date after.
+ * Reading by position never changes the store: while it holds removed
+ * rows, positions are translated to rows with a Fenwick tree, and removed
+ * rows are only compacted away by removals, once they outnumber the
+ * live ones.
+ * Like InMemoryTaskService, this class is meant for single-threaded use.
+ */
+public class StoreBackedTaskService implements TaskService {
+    private final TaskStore store;
+    private final TaskClock clock;
+    private final TaskItemListener writeThrough;
+    private final TaskServiceListeners listeners;
+    private final List<TaskItem> allTasksView;
+    private TextIndex textIndex;
+    private RowPositions positions;
+
+    /**
+     * Creates a service backed by a new ColumnarTaskStore.
+     */
+    public StoreBackedTaskService() {
+        this(new ColumnarTaskStore(), TaskClock.getDefault());
+    }
+
+    /**
+     * Creates a service backed by the given store, which may already hold tasks.
+     * Tasks created afterwards get IDs greater than any task in the store.
+     *
+     * @param store The store holding the tasks
+     * @param clock The clock supplying today's date
+     * @throws IllegalArgumentException if store or clock is null
+     */
+    public StoreBackedTaskService(TaskStore store, TaskClock clock) {
+        if (store == null) {
+            throw new IllegalArgumentException("Store cannot be null");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.store = store;
+        this.clock = clock;
+        this.writeThrough = new WriteThrough();
+        this.listeners = new TaskServiceListeners();
+        this.allTasksView = new AllTasks();
+        if (store.rowCount() > 0) {
+            TaskItem.reserveIds(store.id(store.rowCount() - 1));
+        }
+    }
+
+    /**
+     * Adds a new task to the list.
+     *
+     * @param task The task to add
+     * @throws IllegalArgumentException if task is null or already in this service
+     */
+    @Override
+    public void addTask(TaskItem task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task cannot be null");
+        }
+        if (store.findRow(task.getId()) >= 0) {
+            throw new IllegalArgumentException("Task is already in this service");
+        }
+        int rows = store.rowCount();
+        boolean appended = rows == 0 || store.id(rows - 1) < task.getId();
+        store.add(task.getId(), task.getTask(), toEpochDay(task.getDueDate()), task.isCompleted());
+        if (positions != null) {
+            if (appended) {
+                positions.added();
+            } else {
+                positions = null;
+            }
+        }
+        if (textIndex != null) {
+            textIndex.add(task.getId(), task.getTask());
+        }
+        // A view or a task removed earlier may still carry the listener.
+        task.removeListener(writeThrough);
+        task.addListener(writeThrough);
+        listeners.taskAdded(task);
+    }
+
+    /**
+     * Removes a task at the specified index.
+     *
+     * @param index The index of the task to remove
+     * @throws IndexOutOfBoundsException if index is invalid
+     */
+    @Override
+    public void removeTask(int index) {
+        removeRow(rowAt(index));
+    }
+
+    /**
+     * Gets a task at the specified index.
+     *
+     * @param index The index of the task
+     * @return A new view of the task at the specified index
+     * @throws IndexOutOfBoundsException if index is invalid
+     */
+    @Override
+    public TaskItem getTask(int index) {
+        return view(rowAt(index));
+    }
+
+    @Override
+    public Optional<TaskItem> getById(long id) {
+        int row = store.findRow(id);
+        return row < 0 ? Optional.empty() : Optional.of(view(row));
+    }
+
+    @Override
+    public int indexOf(long id) {
+        int row = store.findRow(id);
+        if (row < 0 || store.rowCount() == store.size()) {
+            return row;
+        }
+        if (positions == null) {
+            positions = new RowPositions(store);
+        }
+        return positions.indexOf(row);
+    }
+
+    @Override
+    public boolean removeById(long id) {
+        int row = store.findRow(id);
+        if (row < 0) {
+            return false;
+        }
+        removeRow(row);
+        return true;
+    }
+
+    @Override
+    public boolean updateById(long id, String task, String dueDateStr) {
+        int row = store.findRow(id);
+        if (row < 0) {
+            return false;
+        }
+        view(row).update(task, dueDateStr);
+        return true;
+    }
+
+    /**
+     * Gets all tasks.
+     *
+     * @return An unmodifiable list that creates a view of each task as it is read
+     */
+    @Override
+    public List<TaskItem> getAllTasks() {
+        return allTasksView;
+    }
+
+    /**
+     * Gets all completed tasks.
+     *
+     * @return List of completed tasks
+     */
+    @Override
+    public List<TaskItem> getCompletedTasks() {
+        List<TaskItem> result = new ArrayList<>();
+        for (int row = 0; row < store.rowCount(); row++) {
+            if (!store.isRemoved(row) && store.isCompleted(row)) {
+                result.add(view(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets all pending tasks.
+     *
+     * @return List of pending tasks
+     */
+    @Override
+    public List<TaskItem> getPendingTasks() {
+        List<TaskItem> result = new ArrayList<>();
+        for (int row = 0; row < store.rowCount(); row++) {
+            if (!store.isRemoved(row) && !store.isCompleted(row)) {
+                result.add(view(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets all overdue tasks, earliest due date first.
+     *
+     * @return List of overdue tasks
+     */
+    @Override
+    public List<TaskItem> getOverdueTasks() {
+        return byDueDate(true, Integer.MIN_VALUE, toEpochDay(clock.today()) - 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets all tasks due between two dates, both inclusive, earliest first.
+     *
+     * @param from The first due date to include
+     * @param to The last due date to include
+     * @return List of tasks due in the range
+     * @throws IllegalArgumentException if a date is null or from is after to
+     */
+    @Override
+    public List<TaskItem> getTasksDueBetween(LocalDate from, LocalDate to) {
+        TaskQueries.checkRange(from, to);
+        return byDueDate(false, clampToEpochDay(from), clampToEpochDay(to), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets all tasks due on the given date.
+     *
+     * @param date The due date
+     * @return List of tasks due on that date
+     * @throws IllegalArgumentException if date is null
+     */
+    @Override
+    public List<TaskItem> getTasksDueOn(LocalDate date) {
+        TaskQueries.checkDate(date);
+        long day = date.toEpochDay();
+        List<TaskItem> result = new ArrayList<>();
+        for (int row = 0; row < store.rowCount(); row++) {
+            if (!store.isRemoved(row) && store.epochDay(row) == day) {
+                result.add(view(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the next pending tasks due today or later, earliest first.
+     *
+     * @param count The maximum number of tasks to return
+     * @return List of at most count upcoming tasks
+     * @throws IllegalArgumentException if count is negative
+     */
+    @Override
+    public List<TaskItem> nextDue(int count) {
+        TaskQueries.checkCount(count);
+        return byDueDate(true, toEpochDay(clock.today()), Integer.MAX_VALUE, count);
+    }
+
+    /**
+     * Finds tasks by the words in their descriptions.
+     * The first search indexes every stored description.
+     *
+     * @param query The words to search for
+     * @return List of matching tasks in ID order, or all tasks if the query has no words
+     * @throws IllegalArgumentException if query is null
+     */
+    @Override
+    public List<TaskItem> search(String query) {
+        TaskQueries.checkQuery(query);
+        if (textIndex == null) {
+            textIndex = new TextIndex();
+            for (int row = 0; row < store.rowCount(); row++) {
+                if (!store.isRemoved(row)) {
+                    textIndex.add(store.id(row), store.text(row));
+                }
+            }
+        }
+        long[] ids = textIndex.search(query);
+        if (ids == null) {
+            return new ArrayList<>(allTasksView);
+        }
+        List<TaskItem> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            result.add(view(store.findRow(id)));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the total number of tasks.
+     *
+     * @return The total number of tasks
+     */
+    @Override
+    public int getTaskCount() {
+        return store.size();
+    }
+
+    /**
+     * Clears all tasks.
+     */
+    @Override
+    public void clearAllTasks() {
+        store.clear();
+        positions = null;
+        if (textIndex != null) {
+            textIndex.clear();
+        }
+        listeners.tasksCleared();
+    }
+
+    /**
+     * Checks if the task list is empty.
+     *
+     * @return true if there are no tasks
+     */
+    @Override
+    public boolean isEmpty() {
+        return store.size() == 0;
+    }
+
+    @Override
+    public void addListener(TaskServiceListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(TaskServiceListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Finds the row holding the task at a position, skipping removed rows.
+     */
+    private int rowAt(int index) {
+        if (index < 0 || index >= store.size()) {
+            throw new IndexOutOfBoundsException("Invalid task index: " + index);
+        }
+        if (store.rowCount() == store.size()) {
+            return index;
+        }
+        if (positions == null) {
+            positions = new RowPositions(store);
+        }
+        return positions.rowAt(index);
+    }
+
+    private void removeRow(int row) {
+        TaskItem removed = view(row);
+        store.remove(row);
+        if (positions != null) {
+            positions.removed(row);
+        }
+        if (textIndex != null) {
+            textIndex.remove(removed.getId(), removed.getTask());
+        }
+        removed.removeListener(writeThrough);
+        int removedRows = store.rowCount() - store.size();
+        if (removedRows > store.size()) {
+            store.compact();
+            positions = null;
+        }
+        listeners.taskRemoved(removed);
+    }
+
+    private TaskItem view(int row) {
+        TaskItem item = new TaskItem(
+            store.id(row),
+            store.text(row),
+            LocalDate.ofEpochDay(store.epochDay(row)),
+            store.isCompleted(row)
+        );
+        item.addListener(writeThrough);
+        return item;
+    }
+
+    /**
+     * Collects tasks due in a range of epoch days, earliest first and in ID
+     * order within a day. Matching rows are sorted as packed longs holding
+     * the day in the high half and the row in the low half, so only the
+     * returned tasks are turned into objects.
+     */
+    private List<TaskItem> byDueDate(boolean pendingOnly, int fromDay, int toDay, int limit) {
+        long[] keys = new long[16];
+        int matches = 0;
+        for (int row = 0; row < store.rowCount(); row++) {
+            if (store.isRemoved(row) || (pendingOnly && store.isCompleted(row))) {
+                continue;
+            }
+            int day = store.epochDay(row);
+            if (day >= fromDay && day <= toDay) {
+                if (matches == keys.length) {
+                    keys = Arrays.copyOf(keys, matches * 2);
+                }
+                keys[matches++] = ((long) day << 32) | row;
+            }
+        }
+        Arrays.sort(keys, 0, matches);
+        int size = Math.min(matches, limit);
+        List<TaskItem> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(view((int) keys[i]));
+        }
+        return result;
+    }
+
+    private static int toEpochDay(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+
+    /**
+     * Converts a query bound to an epoch day; no stored date lies outside the int range.
+     */
+    private static int clampToEpochDay(LocalDate date) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, date.toEpochDay()));
+    }
+
+    /**
+     * Copies changes made to task objects into the store and passes them on
+     * to the service listeners. Views are handed out without being tracked,
+     * so removing or clearing tasks cannot detach it from every object that
+     * carries it; instead it detaches itself from a task that has since been
+     * removed the first time that task changes.
+     */
+    private class WriteThrough implements TaskItemListener {
+
+        @Override
+        public void completionChanged(TaskItem item) {
+            int row = rowOf(item);
+            if (row >= 0) {
+                store.setCompleted(row, item.isCompleted());
+                listeners.completionChanged(item);
+            }
+        }
+
+        @Override
+        public void dueDateChanged(TaskItem item, LocalDate previousDueDate) {
+            int row = rowOf(item);
+            if (row >= 0) {
+                store.setEpochDay(row, toEpochDay(item.getDueDate()));
+                listeners.dueDateChanged(item, previousDueDate);
+            }
+        }
+
+        @Override
+        public void textChanged(TaskItem item, String previousTask) {
+            int row = rowOf(item);
+            if (row >= 0) {
+                if (textIndex != null) {
+                    textIndex.update(item.getId(), store.text(row), item.getTask());
+                }
+                store.setText(row, item.getTask());
+                listeners.textChanged(item, previousTask);
+            }
+        }
+
+        private int rowOf(TaskItem item) {
+            int row = store.findRow(item.getId());
+            if (row < 0) {
+                item.removeListener(this);
+            }
+            return row;
+        }
+    }
+
+    /**
+     * Read-only list view over the live tasks in position order.
+     */
+    private class AllTasks extends AbstractList<TaskItem> implements RandomAccess {
+
+        @Override
+        public TaskItem get(int index) {
+            return getTask(index);
+        }
+
+        @Override
+        public int size() {
+            return store.size();
+        }
+    }
+}
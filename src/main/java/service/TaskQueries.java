@@ -0,0 +1,39 @@
+package service;
+
+import java.time.LocalDate;
+
+/**
+ * Argument checks shared by the TaskService query methods.
+ */
+final class TaskQueries {
+
+    private TaskQueries() {
+    }
+
+    static void checkRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+    }
+
+    static void checkDate(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+    }
+
+    static void checkCount(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative");
+        }
+    }
+
+    static void checkQuery(String query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+    }
+}
@@ -2,126 +2,180 @@ package service;
 
 import model.TaskItem;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 /**
- * Service class for managing tasks.
- * Implements business logic for task operations following SOLID principles.
+ * Service for managing tasks.
+ * Implementations decide how tasks are stored and indexed; positional
+ * methods refer to the order in which the implementation lists its tasks.
+ * Task IDs stay stable while positions shift, so prefer the ID-based
+ * methods when the task list may change between lookup and action.
  */
-public class TaskService {
-    private final List<TaskItem> tasks;
-
-    public TaskService() {
-        this.tasks = new ArrayList<>();
-    }
+public interface TaskService {
 
     /**
-     * Adds a new task to the list.
-     * 
+     * Adds a new task.
+     *
      * @param task The task to add
-     * @throws IllegalArgumentException if task is null
+     * @throws IllegalArgumentException if task is null or already in this service
      */
-    public void addTask(TaskItem task) {
-        if (task == null) {
-            throw new IllegalArgumentException("Task cannot be null");
-        }
-        tasks.add(task);
-    }
+    void addTask(TaskItem task);
 
     /**
      * Removes a task at the specified index.
-     * 
+     *
      * @param index The index of the task to remove
      * @throws IndexOutOfBoundsException if index is invalid
      */
-    public void removeTask(int index) {
-        if (index < 0 || index >= tasks.size()) {
-            throw new IndexOutOfBoundsException("Invalid task index: " + index);
-        }
-        tasks.remove(index);
-    }
+    void removeTask(int index);
 
     /**
      * Gets a task at the specified index.
-     * 
+     *
      * @param index The index of the task
      * @return The task at the specified index
      * @throws IndexOutOfBoundsException if index is invalid
      */
-    public TaskItem getTask(int index) {
-        if (index < 0 || index >= tasks.size()) {
-            throw new IndexOutOfBoundsException("Invalid task index: " + index);
-        }
-        return tasks.get(index);
-    }
+    TaskItem getTask(int index);
+
+    /**
+     * Gets a task by its ID.
+     *
+     * @param id The task ID
+     * @return The task, or empty if no task with that ID is in this service
+     */
+    Optional<TaskItem> getById(long id);
+
+    /**
+     * Gets the position of a task in the order getTask() uses.
+     *
+     * @param id The task ID
+     * @return The task's index, or -1 if no task with that ID is in this service
+     */
+    int indexOf(long id);
+
+    /**
+     * Removes a task by its ID.
+     *
+     * @param id The task ID
+     * @return true if a task was removed
+     */
+    boolean removeById(long id);
+
+    /**
+     * Updates the description and due date of a task by its ID.
+     * Neither value is changed if either one is invalid.
+     *
+     * @param id The task ID
+     * @param task The new task description
+     * @param dueDateStr The new due date in format dd-MM-yyyy
+     * @return true if a task with that ID was found and updated
+     * @throws IllegalArgumentException if task is null/empty or date format is invalid
+     */
+    boolean updateById(long id, String task, String dueDateStr);
 
     /**
      * Gets all tasks.
-     * 
+     *
      * @return An unmodifiable list of all tasks
      */
-    public List<TaskItem> getAllTasks() {
-        return Collections.unmodifiableList(tasks);
-    }
+    List<TaskItem> getAllTasks();
 
     /**
      * Gets all completed tasks.
-     * 
+     *
      * @return List of completed tasks
      */
-    public List<TaskItem> getCompletedTasks() {
-        return tasks.stream()
-                .filter(TaskItem::isCompleted)
-                .collect(Collectors.toList());
-    }
+    List<TaskItem> getCompletedTasks();
 
     /**
      * Gets all pending tasks.
-     * 
+     *
      * @return List of pending tasks
      */
-    public List<TaskItem> getPendingTasks() {
-        return tasks.stream()
-                .filter(task -> !task.isCompleted())
-                .collect(Collectors.toList());
-    }
+    List<TaskItem> getPendingTasks();
 
     /**
-     * Gets all overdue tasks.
-     * 
+     * Gets all overdue tasks, earliest due date first.
+     *
      * @return List of overdue tasks
      */
-    public List<TaskItem> getOverdueTasks() {
-        return tasks.stream()
-                .filter(TaskItem::isOverdue)
-                .collect(Collectors.toList());
-    }
+    List<TaskItem> getOverdueTasks();
+
+    /**
+     * Gets all tasks due between two dates, both inclusive, earliest first.
+     *
+     * @param from The first due date to include
+     * @param to The last due date to include
+     * @return List of tasks due in the range
+     * @throws IllegalArgumentException if a date is null or from is after to
+     */
+    List<TaskItem> getTasksDueBetween(LocalDate from, LocalDate to);
+
+    /**
+     * Gets all tasks due on the given date.
+     *
+     * @param date The due date
+     * @return List of tasks due on that date
+     * @throws IllegalArgumentException if date is null
+     */
+    List<TaskItem> getTasksDueOn(LocalDate date);
+
+    /**
+     * Gets the next pending tasks due today or later, earliest first.
+     *
+     * @param count The maximum number of tasks to return
+     * @return List of at most count upcoming tasks
+     * @throws IllegalArgumentException if count is negative
+     */
+    List<TaskItem> nextDue(int count);
+
+    /**
+     * Finds tasks by the words in their descriptions.
+     * The query and descriptions are split into words of letters and digits,
+     * ignoring case and accents. A task matches if, for every query word,
+     * its description has a word starting with it, so "buy mil" finds
+     * "Buy milk".
+     *
+     * @param query The words to search for
+     * @return List of matching tasks in ID order, or all tasks if the query has no words
+     * @throws IllegalArgumentException if query is null
+     */
+    List<TaskItem> search(String query);
 
     /**
      * Gets the total number of tasks.
-     * 
+     *
      * @return The total number of tasks
      */
-    public int getTaskCount() {
-        return tasks.size();
-    }
+    int getTaskCount();
 
     /**
      * Clears all tasks.
      */
-    public void clearAllTasks() {
-        tasks.clear();
-    }
+    void clearAllTasks();
 
     /**
      * Checks if the task list is empty.
-     * 
+     *
      * @return true if there are no tasks
      */
-    public boolean isEmpty() {
-        return tasks.isEmpty();
-    }
+    boolean isEmpty();
+
+    /**
+     * Registers a listener to be notified when tasks are added, removed or changed.
+     *
+     * @param listener The listener to add
+     * @throws IllegalArgumentException if listener is null
+     */
+    void addListener(TaskServiceListener listener);
+
+    /**
+     * Unregisters a previously added listener.
+     *
+     * @param listener The listener to remove
+     */
+    void removeListener(TaskServiceListener listener);
 }
@@ -0,0 +1,36 @@
+package service;
+
+import model.TaskItem;
+import model.TaskItemListener;
+
+/**
+ * Listener notified when the tasks held by a TaskService change.
+ * Besides tasks being added and removed, it receives the TaskItemListener
+ * events of every task while the task is in the service, so one listener
+ * sees each change whichever object it was made through.
+ * Listeners are called on the thread that made the change, possibly while
+ * the service holds internal locks, so they should return quickly and must
+ * not modify the service.
+ */
+public interface TaskServiceListener extends TaskItemListener {
+
+    /**
+     * Called after a task has been added.
+     *
+     * @param task The added task
+     */
+    void taskAdded(TaskItem task);
+
+    /**
+     * Called after a task has been removed.
+     *
+     * @param task The removed task
+     */
+    void taskRemoved(TaskItem task);
+
+    /**
+     * Called after clearAllTasks has removed every task at once.
+     * Services that remove tasks one by one report taskRemoved for each instead.
+     */
+    void tasksCleared();
+}
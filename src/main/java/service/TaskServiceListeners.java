@@ -0,0 +1,78 @@
+package service;
+
+import model.TaskItem;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Copy-on-write list of TaskServiceListeners that forwards each event to all of them.
+ */
+final class TaskServiceListeners implements TaskServiceListener {
+    private static final TaskServiceListener[] NO_LISTENERS = new TaskServiceListener[0];
+
+    private volatile TaskServiceListener[] listeners = NO_LISTENERS;
+
+    synchronized void add(TaskServiceListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        TaskServiceListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    synchronized void remove(TaskServiceListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                TaskServiceListener[] updated = new TaskServiceListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, updated, 0, i);
+                System.arraycopy(listeners, i + 1, updated, i, updated.length - i);
+                listeners = updated.length == 0 ? NO_LISTENERS : updated;
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void taskAdded(TaskItem task) {
+        for (TaskServiceListener listener : listeners) {
+            listener.taskAdded(task);
+        }
+    }
+
+    @Override
+    public void taskRemoved(TaskItem task) {
+        for (TaskServiceListener listener : listeners) {
+            listener.taskRemoved(task);
+        }
+    }
+
+    @Override
+    public void tasksCleared() {
+        for (TaskServiceListener listener : listeners) {
+            listener.tasksCleared();
+        }
+    }
+
+    @Override
+    public void completionChanged(TaskItem item) {
+        for (TaskServiceListener listener : listeners) {
+            listener.completionChanged(item);
+        }
+    }
+
+    @Override
+    public void dueDateChanged(TaskItem item, LocalDate previousDueDate) {
+        for (TaskServiceListener listener : listeners) {
+            listener.dueDateChanged(item, previousDueDate);
+        }
+    }
+
+    @Override
+    public void textChanged(TaskItem item, String previousTask) {
+        for (TaskServiceListener listener : listeners) {
+            listener.textChanged(item, previousTask);
+        }
+    }
+}
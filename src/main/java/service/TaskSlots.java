@@ -0,0 +1,172 @@
+package service;
+
+import model.TaskItem;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Insertion-ordered task storage with O(1) lookup and removal by task ID.
+ * Removed tasks leave a hole in the slot array, and a Fenwick tree over
+ * the occupied slots translates list positions to slots in O(log n).
+ * Holes are compacted away once they outnumber the live tasks.
+ */
+final class TaskSlots {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private TaskItem[] slots = new TaskItem[INITIAL_CAPACITY];
+    private int[] tree = new int[INITIAL_CAPACITY + 1];
+    private int end;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(long id) {
+        return slotById.containsKey(id);
+    }
+
+    TaskItem byId(long id) {
+        Integer slot = slotById.get(id);
+        return slot == null ? null : slots[slot];
+    }
+
+    void add(TaskItem task) {
+        if (end == slots.length) {
+            if (size < end / 2) {
+                compact();
+            } else {
+                slots = Arrays.copyOf(slots, slots.length * 2);
+                rebuildTree();
+            }
+        }
+        slots[end] = task;
+        slotById.put(task.getId(), end);
+        update(end, 1);
+        end++;
+        size++;
+    }
+
+    TaskItem removeById(long id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) {
+            return null;
+        }
+        TaskItem removed = slots[slot];
+        slots[slot] = null;
+        update(slot, -1);
+        size--;
+        if (end > INITIAL_CAPACITY && size < (end - size)) {
+            compact();
+        }
+        return removed;
+    }
+
+    TaskItem get(int index) {
+        return slots[slotAt(index)];
+    }
+
+    /**
+     * Counts the tasks in the slots before a task's slot.
+     *
+     * @param id The task ID
+     * @return The task's position, or -1 if it is not stored
+     */
+    int indexOf(long id) {
+        Integer slot = slotById.get(id);
+        if (slot == null) {
+            return -1;
+        }
+        int index = 0;
+        for (int i = slot; i > 0; i -= i & -i) {
+            index += tree[i];
+        }
+        return index;
+    }
+
+    void clear() {
+        slotById.clear();
+        slots = new TaskItem[INITIAL_CAPACITY];
+        tree = new int[INITIAL_CAPACITY + 1];
+        end = 0;
+        size = 0;
+    }
+
+    /**
+     * Gets a read-only, live view of the tasks in insertion order.
+     *
+     * @return List view backed by this storage
+     */
+    List<TaskItem> asList() {
+        return new AbstractList<>() {
+            @Override
+            public TaskItem get(int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException("Invalid task index: " + index);
+                }
+                return TaskSlots.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Finds the slot holding the task at the given position by descending
+     * the Fenwick tree.
+     */
+    private int slotAt(int index) {
+        int position = 0;
+        int remaining = index + 1;
+        for (int step = Integer.highestOneBit(slots.length); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= slots.length && tree[next] < remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        return position;
+    }
+
+    private void update(int slot, int delta) {
+        for (int i = slot + 1; i <= slots.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private void compact() {
+        int live = 0;
+        for (int slot = 0; slot < end; slot++) {
+            TaskItem task = slots[slot];
+            if (task != null) {
+                slots[live] = task;
+                slotById.put(task.getId(), live);
+                live++;
+            }
+        }
+        Arrays.fill(slots, live, end, null);
+        end = live;
+        rebuildTree();
+    }
+
+    private void rebuildTree() {
+        tree = new int[slots.length + 1];
+        for (int i = 1; i <= slots.length; i++) {
+            if (slots[i - 1] != null) {
+                tree[i] += 1;
+            }
+            int parent = i + (i & -i);
+            if (parent <= slots.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+}
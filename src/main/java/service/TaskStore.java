@@ -0,0 +1,90 @@
+package service;
+
+/**
+ * Storage engine holding task fields in primitive form, addressed by row.
+ * Rows are kept in ascending task ID order so they can be found by binary
+ * search. Removing a row only marks it as removed; removed rows keep their
+ * place until compact() is called, which renumbers the remaining rows.
+ * Row numbers are therefore only stable between compactions, and callers
+ * should look rows up by task ID before each access.
+ */
+public interface TaskStore {
+
+    /**
+     * Gets the number of tasks, not counting removed rows.
+     *
+     * @return The number of live tasks
+     */
+    int size();
+
+    /**
+     * Gets the number of rows, including removed ones.
+     *
+     * @return The number of physical rows
+     */
+    int rowCount();
+
+    /**
+     * Checks if a row has been removed.
+     *
+     * @param row The row number
+     * @return true if the row is removed
+     */
+    boolean isRemoved(int row);
+
+    /**
+     * Finds the row of a task.
+     *
+     * @param id The task ID
+     * @return The row number, or -1 if no live row has that ID
+     */
+    int findRow(long id);
+
+    long id(int row);
+
+    String text(int row);
+
+    /**
+     * Gets the due date of a row as days since 1970-01-01.
+     *
+     * @param row The row number
+     * @return The due date as an epoch day
+     */
+    int epochDay(int row);
+
+    boolean isCompleted(int row);
+
+    /**
+     * Adds a task, keeping rows in ID order.
+     * Adding IDs in increasing order is O(1); older IDs are inserted in place.
+     *
+     * @param id The task ID, not already present
+     * @param text The task description
+     * @param epochDay The due date as an epoch day
+     * @param completed Whether the task is completed
+     */
+    void add(long id, String text, int epochDay, boolean completed);
+
+    void setText(int row, String text);
+
+    void setEpochDay(int row, int epochDay);
+
+    void setCompleted(int row, boolean completed);
+
+    /**
+     * Marks a row as removed.
+     *
+     * @param row The row number
+     */
+    void remove(int row);
+
+    /**
+     * Drops removed rows, renumbering the rest, and may reclaim unused text space.
+     */
+    void compact();
+
+    /**
+     * Removes all rows.
+     */
+    void clear();
+}
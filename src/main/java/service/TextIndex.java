@@ -0,0 +1,162 @@
+package service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Inverted index over task descriptions.
+ * Each description is split into terms, runs of letters and digits that
+ * are lower-cased and stripped of accents, and every term maps to the
+ * sorted IDs of the tasks containing it. Terms are kept in order, so all
+ * terms starting with a prefix are found by one range lookup.
+ */
+final class TextIndex {
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+
+    /**
+     * Splits text into distinct search terms, in the order they first appear.
+     *
+     * @param text The text to split
+     * @return List of lower-case terms without accents
+     */
+    static List<String> terms(String text) {
+        String folded = fold(text);
+        Set<String> result = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i < folded.length(); ) {
+            int codePoint = folded.codePointAt(i);
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                result.add(folded.substring(start, i));
+                start = -1;
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (start >= 0) {
+            result.add(folded.substring(start));
+        }
+        return new ArrayList<>(result);
+    }
+
+    void add(long id, String text) {
+        for (String term : terms(text)) {
+            terms.computeIfAbsent(term, t -> new Postings()).add(id);
+        }
+    }
+
+    void remove(long id, String text) {
+        for (String term : terms(text)) {
+            removePosting(term, id);
+        }
+    }
+
+    /**
+     * Moves a task from the terms of its old description to those of its new one.
+     * Terms both descriptions share are left alone, so renaming a task does
+     * not rewrite the long posting lists of common words.
+     *
+     * @param id The task ID
+     * @param oldText The description the task was indexed under
+     * @param newText The task's current description
+     */
+    void update(long id, String oldText, String newText) {
+        List<String> oldTerms = terms(oldText);
+        List<String> newTerms = terms(newText);
+        for (String term : oldTerms) {
+            if (!newTerms.contains(term)) {
+                removePosting(term, id);
+            }
+        }
+        for (String term : newTerms) {
+            if (!oldTerms.contains(term)) {
+                terms.computeIfAbsent(term, t -> new Postings()).add(id);
+            }
+        }
+    }
+
+    void clear() {
+        terms.clear();
+    }
+
+    /**
+     * Finds the tasks whose descriptions contain a term starting with every
+     * term of the query, as PostingSearch plans it.
+     *
+     * @param query The search text
+     * @return The matching task IDs in ascending order, or null if the query has no terms
+     */
+    long[] search(String query) {
+        return PostingSearch.search(terms, query);
+    }
+
+    private void removePosting(String term, long id) {
+        Postings postings = terms.get(term);
+        if (postings != null && postings.remove(id) && postings.size == 0) {
+            terms.remove(term);
+        }
+    }
+
+    /**
+     * Lower-cases text and removes accents, so "Café" and "cafe" give the same term.
+     */
+    private static String fold(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+                return decomposed.replaceAll("\\p{M}+", "").toLowerCase(Locale.ROOT);
+            }
+        }
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The sorted IDs of the tasks containing one term. Task IDs grow, so
+     * new tasks are usually appended at the end.
+     */
+    private static final class Postings implements PostingSearch.Source {
+        private long[] ids = new long[2];
+        private int size;
+
+        void add(long id) {
+            int at = size == 0 || ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0 && at < size) {
+                return;
+            }
+            int insertAt = at < 0 ? -at - 1 : at;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+            if (size > 0 && size <= ids.length / 4) {
+                ids = Arrays.copyOf(ids, ids.length / 2);
+            }
+            return true;
+        }
+
+        @Override
+        public PostingSearch.Slice slice() {
+            return new PostingSearch.Slice(ids, size);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package service;
+
+import java.util.List;
+
+/**
+ * A parsed text search, matching descriptions the way TaskService.search does.
+ * Lets callers filter tasks they already hold, for example a previous
+ * search result or a snapshot taken for a background thread, without going
+ * back to the service.
+ */
+public final class TextQuery {
+    private final String text;
+    private final List<String> terms;
+
+    private TextQuery(String text, List<String> terms) {
+        this.text = text;
+        this.terms = terms;
+    }
+
+    /**
+     * Parses a search query.
+     *
+     * @param query The words to search for
+     * @return The parsed query
+     * @throws IllegalArgumentException if query is null
+     */
+    public static TextQuery parse(String query) {
+        TaskQueries.checkQuery(query);
+        return new TextQuery(query, TextIndex.terms(query));
+    }
+
+    /**
+     * Checks whether the query has no words and so matches every task.
+     *
+     * @return true if the query has no words
+     */
+    public boolean isEmpty() {
+        return terms.isEmpty();
+    }
+
+    /**
+     * Checks whether a description has a word starting with every query word.
+     *
+     * @param description The task description
+     * @return true if the description matches
+     */
+    public boolean matches(String description) {
+        if (terms.isEmpty()) {
+            return true;
+        }
+        List<String> words = TextIndex.terms(description);
+        for (String term : terms) {
+            if (!hasWordStartingWith(words, term)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether every description matching this query also matches another,
+     * as when a word is typed further or a word is added. The tasks matching
+     * this query can then be found among those matching the other.
+     *
+     * @param broader The query to compare with
+     * @return true if this query matches no description the other one does not
+     */
+    public boolean narrows(TextQuery broader) {
+        for (String term : broader.terms) {
+            if (!hasWordStartingWith(terms, term)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasWordStartingWith(List<String> words, String prefix) {
+        for (String word : words) {
+            if (word.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -1,46 +1,114 @@
 package ui;
 
+import model.TaskClock;
 import model.TaskItem;
 
 import javax.swing.*;
 import java.awt.*;
+import java.time.LocalDate;
 
 /**
  * Custom list renderer for displaying task items with visual indicators.
  * Provides better UI/UX for the to-do list.
+ * <p>
+ * Painting a cell allocates nothing once the task's label is cached: the
+ * text and overdue flag of recently painted tasks are kept by task ID and
+ * reused while the task's description, due date, status and today's date
+ * are unchanged, and the italic font for completed tasks is derived once.
  */
 public class CustomListRenderer extends DefaultListCellRenderer {
     private static final Color COMPLETED_COLOR = new Color(200, 255, 200);
     private static final Color OVERDUE_COLOR = new Color(255, 200, 200);
     private static final Color NORMAL_COLOR = Color.WHITE;
+    /**
+     * Number of cached labels; a power of two well above the rows a list shows at once.
+     */
+    private static final int CACHE_SIZE = 512;
+
+    private final CachedLabel[] labels = new CachedLabel[CACHE_SIZE];
+    private Font baseFont;
+    private Font italicFont;
 
     @Override
-    public Component getListCellRendererComponent(JList<?> list, Object value, 
-                                                  int index, boolean isSelected, 
+    public Component getListCellRendererComponent(JList<?> list, Object value,
+                                                  int index, boolean isSelected,
                                                   boolean cellHasFocus) {
-        JLabel label = (JLabel) super.getListCellRendererComponent(
-            list, value, index, isSelected, cellHasFocus
-        );
-        
-        if (value instanceof TaskItem) {
-            TaskItem task = (TaskItem) value;
-            
-            if (!isSelected) {
-                if (task.isCompleted()) {
-                    label.setBackground(COMPLETED_COLOR);
-                } else if (task.isOverdue()) {
-                    label.setBackground(OVERDUE_COLOR);
-                } else {
-                    label.setBackground(NORMAL_COLOR);
-                }
-            }
-            
-            // Strike through completed tasks
-            if (task.isCompleted()) {
-                label.setFont(label.getFont().deriveFont(Font.ITALIC));
+        if (!(value instanceof TaskItem)) {
+            return super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+        }
+        TaskItem task = (TaskItem) value;
+        CachedLabel label = labelFor(task);
+        super.getListCellRendererComponent(list, label.text, index, isSelected, cellHasFocus);
+
+        if (!isSelected) {
+            if (label.completed) {
+                setBackground(COMPLETED_COLOR);
+            } else if (label.overdue) {
+                setBackground(OVERDUE_COLOR);
+            } else {
+                setBackground(NORMAL_COLOR);
             }
         }
-        
+
+        // Italicize completed tasks
+        if (label.completed) {
+            setFont(italic(getFont()));
+        }
+
+        return this;
+    }
+
+    /**
+     * Gets the cached label for a task, creating it if the task changed since it was cached.
+     */
+    private CachedLabel labelFor(TaskItem task) {
+        LocalDate today = TaskClock.getDefault().today();
+        long id = task.getId();
+        int slot = (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & (CACHE_SIZE - 1);
+        CachedLabel label = labels[slot];
+        if (label == null || !label.matches(id, task, today)) {
+            label = new CachedLabel(task, today);
+            labels[slot] = label;
+        }
         return label;
     }
+
+    private Font italic(Font font) {
+        if (font != baseFont) {
+            baseFont = font;
+            italicFont = font.deriveFont(Font.ITALIC);
+        }
+        return italicFont;
+    }
+
+    /**
+     * The display text of a task and the values it was built from.
+     */
+    private static final class CachedLabel {
+        final long id;
+        final String task;
+        final LocalDate dueDate;
+        final boolean completed;
+        final LocalDate today;
+        final boolean overdue;
+        final String text;
+
+        CachedLabel(TaskItem item, LocalDate today) {
+            this.id = item.getId();
+            this.task = item.getTask();
+            this.dueDate = item.getDueDate();
+            this.completed = item.isCompleted();
+            this.today = today;
+            this.overdue = item.isOverdue(today);
+            this.text = item.toString();
+        }
+
+        boolean matches(long id, TaskItem item, LocalDate today) {
+            return this.id == id
+                && completed == item.isCompleted()
+                && task.equals(item.getTask())
+                && dueDate.equals(item.getDueDate())
+                && this.today.equals(today);
+        }
+    }
 }
@@ -0,0 +1,264 @@
+package ui;
+
+import model.TaskItem;
+import service.ConcurrentTaskService;
+import service.TaskService;
+import service.TaskServiceListener;
+import service.TextQuery;
+
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Narrows the task list to the tasks matching a filter text as it is typed.
+ * A search starts once typing has paused for DEBOUNCE_MILLIS and asks the
+ * service's text index, so its cost follows the number of matches rather
+ * than the number of tasks. A thread-safe ConcurrentTaskService is searched
+ * in a SwingWorker; the other services may only be used on the event
+ * dispatch thread, so they are searched there. When a character is typed
+ * onto the end of the previous query, just the previous matches are
+ * filtered again, in a SwingWorker. Starting a search cancels the previous
+ * one, and a result that arrives after tasks were added, removed or renamed
+ * is dropped. A filter without words passes on the service's task list
+ * right away.
+ * <p>
+ * All methods must be called on the event dispatch thread.
+ */
+final class TaskFilter {
+    static final int DEBOUNCE_MILLIS = 150;
+    private static final int CANCEL_CHECK_INTERVAL = 1024;
+
+    private final TaskService taskService;
+    private final boolean searchInBackground;
+    private final Consumer<List<TaskItem>> resultHandler;
+    private final Timer debounce;
+    private String query = "";
+    private Matches lastMatches;
+    private TextQuery lastQuery;
+    private long generation;
+    private SearchWorker current;
+    private int lastSearchedCount;
+
+    /**
+     * Creates a filter over a service's tasks.
+     *
+     * @param taskService The service whose tasks are filtered
+     * @param resultHandler Receives the matching tasks in ID order on the event dispatch thread
+     */
+    TaskFilter(TaskService taskService, Consumer<List<TaskItem>> resultHandler) {
+        this.taskService = taskService;
+        this.searchInBackground = taskService instanceof ConcurrentTaskService;
+        this.resultHandler = resultHandler;
+        this.debounce = new Timer(DEBOUNCE_MILLIS, e -> search());
+        this.debounce.setRepeats(false);
+        taskService.addListener(new MatchInvalidator());
+    }
+
+    /**
+     * Sets the filter text and searches once it has not changed for DEBOUNCE_MILLIS.
+     *
+     * @param text The filter text
+     */
+    void setQuery(String text) {
+        query = text;
+        debounce.restart();
+    }
+
+    /**
+     * Searches for the current filter text right away, for example after the tasks changed.
+     */
+    void refresh() {
+        debounce.stop();
+        search();
+    }
+
+    /**
+     * Checks whether the filter text has words, so that not every task is shown.
+     *
+     * @return true if the filter narrows the task list
+     */
+    boolean isActive() {
+        return !TextQuery.parse(query).isEmpty();
+    }
+
+    /**
+     * Gets how many tasks the last search looked at, which is fewer than all
+     * tasks when it narrowed the previous result.
+     *
+     * @return The number of tasks searched
+     */
+    int getLastSearchedCount() {
+        return lastSearchedCount;
+    }
+
+    private void search() {
+        if (current != null) {
+            current.cancel(false);
+            current = null;
+        }
+        TextQuery parsed = TextQuery.parse(query);
+        if (parsed.isEmpty()) {
+            lastMatches = null;
+            lastQuery = null;
+            resultHandler.accept(taskService.getAllTasks());
+            return;
+        }
+        if (lastMatches != null && extendsLastQuery(parsed)) {
+            current = new SearchWorker(lastMatches, parsed, generation);
+            current.execute();
+        } else if (searchInBackground) {
+            current = new SearchWorker(null, parsed, generation);
+            current.execute();
+        } else {
+            finished(parsed, indexSearch(parsed), taskService.getTaskCount());
+        }
+    }
+
+    /**
+     * Checks whether the query is the previous one with one more character
+     * typed at the end, so that its matches are among the previous ones.
+     */
+    private boolean extendsLastQuery(TextQuery parsed) {
+        String previous = lastQuery.toString();
+        String text = parsed.toString();
+        return text.length() == previous.length() + 1 && text.startsWith(previous) && parsed.narrows(lastQuery);
+    }
+
+    /**
+     * Looks the query up in the service's text index and keeps the
+     * descriptions of the matches for narrowing them later.
+     */
+    private Matches indexSearch(TextQuery parsed) {
+        List<TaskItem> found = taskService.search(parsed.toString());
+        TaskItem[] items = found.toArray(new TaskItem[0]);
+        String[] texts = new String[items.length];
+        for (int i = 0; i < items.length; i++) {
+            texts[i] = items[i].getTask();
+        }
+        return new Matches(items, texts, items.length);
+    }
+
+    private void finished(SearchWorker worker, Matches matches) {
+        if (worker.generation != generation) {
+            search();
+            return;
+        }
+        finished(worker.query, matches, worker.source == null ? taskService.getTaskCount() : worker.source.size);
+    }
+
+    private void finished(TextQuery parsed, Matches matches, int searched) {
+        lastMatches = matches;
+        lastQuery = parsed;
+        lastSearchedCount = searched;
+        resultHandler.accept(Arrays.asList(matches.items).subList(0, matches.size));
+    }
+
+    /**
+     * Matching tasks and the descriptions they had when they were found, in ID order.
+     */
+    private static final class Matches {
+        final TaskItem[] items;
+        final String[] texts;
+        final int size;
+
+        Matches(TaskItem[] items, String[] texts, int size) {
+            this.items = items;
+            this.texts = texts;
+            this.size = size;
+        }
+    }
+
+    private final class SearchWorker extends SwingWorker<Matches, Void> {
+        private final Matches source;
+        private final TextQuery query;
+        private final long generation;
+
+        SearchWorker(Matches source, TextQuery query, long generation) {
+            this.source = source;
+            this.query = query;
+            this.generation = generation;
+        }
+
+        @Override
+        protected Matches doInBackground() {
+            if (source == null) {
+                return indexSearch(query);
+            }
+            TaskItem[] items = new TaskItem[source.size];
+            String[] texts = new String[source.size];
+            int size = 0;
+            for (int i = 0; i < source.size; i++) {
+                if (i % CANCEL_CHECK_INTERVAL == 0 && isCancelled()) {
+                    return null;
+                }
+                if (query.matches(source.texts[i])) {
+                    items[size] = source.items[i];
+                    texts[size] = source.texts[i];
+                    size++;
+                }
+            }
+            return new Matches(items, texts, size);
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled() || current != this) {
+                return;
+            }
+            current = null;
+            try {
+                finished(this, get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Task search failed", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Drops the previous result when tasks are added, removed or renamed.
+     * Completion and due date changes do not affect which tasks match.
+     */
+    private final class MatchInvalidator implements TaskServiceListener {
+
+        @Override
+        public void taskAdded(TaskItem task) {
+            invalidate();
+        }
+
+        @Override
+        public void taskRemoved(TaskItem task) {
+            invalidate();
+        }
+
+        @Override
+        public void tasksCleared() {
+            invalidate();
+        }
+
+        @Override
+        public void completionChanged(TaskItem item) {
+        }
+
+        @Override
+        public void dueDateChanged(TaskItem item, LocalDate previousDueDate) {
+        }
+
+        @Override
+        public void textChanged(TaskItem item, String previousTask) {
+            invalidate();
+        }
+
+        private void invalidate() {
+            lastMatches = null;
+            lastQuery = null;
+            generation++;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package ui;
+
+import model.TaskItem;
+import service.TaskService;
+import service.TaskServiceListener;
+
+import javax.swing.AbstractListModel;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ListModel that reads the tasks straight from a TaskService instead of
+ * copying them, so a JList with fixed cell sizes only ever reads the rows
+ * it paints. Changes to the service are reported as list events: tasks
+ * added at the end and tasks removed through remove() as single-row
+ * intervals, a changed task as a change to its row, and other changes as
+ * changes to the rows still present.
+ * <p>
+ * The model can instead show a fixed list of tasks, such as the result of
+ * a filter. Tasks removed from the service then disappear from that list,
+ * while added tasks only appear once a new list is shown.
+ * <p>
+ * The service must only be changed on the event dispatch thread.
+ * Positional access is as fast as the service's getTask(), so services that
+ * walk their tasks to find a position are not suited to large lists.
+ */
+final class TaskListModel extends AbstractListModel<TaskItem> {
+    private final TaskService taskService;
+    private List<TaskItem> shown;
+    private int size;
+    private long removingId;
+    private int removingIndex = -1;
+
+    /**
+     * Creates a model showing every task in a service.
+     *
+     * @param taskService The service holding the tasks
+     */
+    TaskListModel(TaskService taskService) {
+        this.taskService = taskService;
+        this.size = taskService.getTaskCount();
+        taskService.addListener(new ServiceEvents());
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public TaskItem getElementAt(int index) {
+        return shown != null ? shown.get(index) : taskService.getTask(index);
+    }
+
+    /**
+     * Shows only the given tasks, in the given order.
+     *
+     * @param tasks The tasks to show
+     */
+    void showOnly(List<TaskItem> tasks) {
+        int previousSize = size;
+        shown = new ArrayList<>(tasks);
+        resized(previousSize, shown.size());
+    }
+
+    /**
+     * Shows every task in the service again.
+     */
+    void showAll() {
+        if (shown == null) {
+            return;
+        }
+        int previousSize = size;
+        shown = null;
+        resized(previousSize, taskService.getTaskCount());
+    }
+
+    /**
+     * Checks whether the model shows a fixed list rather than every task.
+     *
+     * @return true if showOnly() was called since the last showAll()
+     */
+    boolean isShowingSubset() {
+        return shown != null;
+    }
+
+    /**
+     * Removes the task in a row from the service.
+     *
+     * @param index The row of the task
+     * @return true if the task was still in the service and was removed
+     * @throws IndexOutOfBoundsException if index is invalid
+     */
+    boolean remove(int index) {
+        TaskItem task = getElementAt(index);
+        removingId = task.getId();
+        removingIndex = index;
+        try {
+            return taskService.removeById(task.getId());
+        } finally {
+            removingIndex = -1;
+        }
+    }
+
+    /**
+     * Replaces the task shown in a row after it was changed through another
+     * object for the same task, and repaints the row.
+     *
+     * @param index The row of the task
+     * @param task The current object for the task
+     * @throws IndexOutOfBoundsException if index is invalid
+     */
+    void set(int index, TaskItem task) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Invalid task index: " + index);
+        }
+        if (shown != null) {
+            shown.set(index, task);
+        }
+        fireContentsChanged(this, index, index);
+    }
+
+    /**
+     * Reports a change of size, with the rows both sizes share as changed.
+     */
+    private void resized(int previousSize, int newSize) {
+        size = newSize;
+        if (newSize < previousSize) {
+            fireIntervalRemoved(this, newSize, previousSize - 1);
+        } else if (newSize > previousSize) {
+            fireIntervalAdded(this, previousSize, newSize - 1);
+        }
+        if (Math.min(previousSize, newSize) > 0) {
+            fireContentsChanged(this, 0, Math.min(previousSize, newSize) - 1);
+        }
+    }
+
+    private int indexInShown(long id) {
+        for (int i = 0; i < shown.size(); i++) {
+            if (shown.get(i).getId() == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Turns service events into list events.
+     */
+    private final class ServiceEvents implements TaskServiceListener {
+
+        @Override
+        public void taskAdded(TaskItem task) {
+            if (shown != null) {
+                return;
+            }
+            int last = taskService.getTaskCount() - 1;
+            if (last > 0 && taskService.getTask(last).getId() != task.getId()) {
+                fireContentsChanged(TaskListModel.this, 0, last - 1);
+            }
+            size = last + 1;
+            fireIntervalAdded(TaskListModel.this, last, last);
+        }
+
+        @Override
+        public void taskRemoved(TaskItem task) {
+            if (shown != null) {
+                int index = indexInShown(task.getId());
+                if (index >= 0) {
+                    shown.remove(index);
+                    size--;
+                    fireIntervalRemoved(TaskListModel.this, index, index);
+                }
+                return;
+            }
+            if (removingIndex >= 0 && removingId == task.getId()) {
+                size--;
+                fireIntervalRemoved(TaskListModel.this, removingIndex, removingIndex);
+            } else {
+                resized(size, taskService.getTaskCount());
+            }
+        }
+
+        @Override
+        public void tasksCleared() {
+            if (shown != null) {
+                shown.clear();
+            }
+            resized(size, 0);
+        }
+
+        @Override
+        public void completionChanged(TaskItem item) {
+            changed(item);
+        }
+
+        @Override
+        public void dueDateChanged(TaskItem item, LocalDate previousDueDate) {
+            changed(item);
+        }
+
+        @Override
+        public void textChanged(TaskItem item, String previousTask) {
+            changed(item);
+        }
+
+        /**
+         * Repaints the row showing a changed task. A task left out of a shown
+         * subset needs no repaint; if the service cannot place the task,
+         * every row is repainted, and with fixed cell sizes only the visible
+         * ones are read again.
+         */
+        private void changed(TaskItem item) {
+            if (shown != null) {
+                int row = indexInShown(item.getId());
+                if (row >= 0) {
+                    fireContentsChanged(TaskListModel.this, row, row);
+                }
+                return;
+            }
+            int row = taskService.indexOf(item.getId());
+            if (row >= 0 && row < size) {
+                fireContentsChanged(TaskListModel.this, row, row);
+            } else if (size > 0) {
+                fireContentsChanged(TaskListModel.this, 0, size - 1);
+            }
+        }
+    }
+}
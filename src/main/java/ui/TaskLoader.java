@@ -0,0 +1,96 @@
+package ui;
+
+import model.TaskItem;
+import service.TaskService;
+
+import javax.swing.SwingWorker;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads tasks from a TaskSource on a background thread and adds them to a
+ * TaskService on the event dispatch thread. Read tasks are published and
+ * added in batches, as many as have arrived since the event dispatch
+ * thread last had time to add them. At most MAX_PENDING tasks wait to be
+ * added, so a fast source cannot fill the heap while the event dispatch
+ * thread is busy. Progress runs from 0 to 100 if the source can count its
+ * tasks; otherwise it stays at 0 until the load is done.
+ */
+final class TaskLoader extends SwingWorker<Long, TaskItem> {
+    static final int MAX_PENDING = 10_000;
+
+    private final TaskSource source;
+    private final TaskService target;
+    private final Semaphore pending = new Semaphore(MAX_PENDING);
+    private int batches;
+
+    /**
+     * Creates a loader.
+     *
+     * @param source Where the tasks are read
+     * @param target The service the tasks are added to
+     */
+    TaskLoader(TaskSource source, TaskService target) {
+        this.source = source;
+        this.target = target;
+    }
+
+    @Override
+    protected Long doInBackground() throws Exception {
+        long total = source.count();
+        long[] read = new long[1];
+        long count;
+        try {
+            count = source.forEach(task -> {
+                awaitRoom(1);
+                publish(task);
+                read[0]++;
+                if (total > 0) {
+                    setProgress((int) Math.min(100, read[0] * 100 / total));
+                }
+            });
+        } finally {
+            // SwingWorker may call done() before the last process(), so wait until every read task is added
+            awaitRoom(MAX_PENDING);
+        }
+        setProgress(100);
+        return count;
+    }
+
+    /**
+     * Waits until the event dispatch thread has added enough tasks to free
+     * the given number of places, stopping if the load was cancelled.
+     */
+    private void awaitRoom(int places) {
+        try {
+            while (!pending.tryAcquire(places, 100, TimeUnit.MILLISECONDS)) {
+                if (isCancelled()) {
+                    throw new CancellationException("Task loading was cancelled");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Task loading was interrupted");
+        }
+    }
+
+    @Override
+    protected void process(List<TaskItem> chunk) {
+        batches++;
+        for (TaskItem task : chunk) {
+            target.addTask(task);
+        }
+        pending.release(chunk.size());
+    }
+
+    /**
+     * Gets the number of batches added so far.
+     *
+     * @return The batch count
+     */
+    int getBatchCount() {
+        return batches;
+    }
+}
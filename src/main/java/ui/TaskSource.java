@@ -0,0 +1,32 @@
+package ui;
+
+import model.TaskItem;
+
+import java.util.function.Consumer;
+
+/**
+ * Supplies the tasks to show when the application starts.
+ * Both methods are called on a background thread, so they may block on
+ * files or a database.
+ */
+public interface TaskSource {
+
+    /**
+     * Passes every task to an action, in the order they should be listed.
+     *
+     * @param action Receives each task
+     * @return The number of tasks passed on
+     * @throws Exception if the tasks cannot be read
+     */
+    long forEach(Consumer<? super TaskItem> action) throws Exception;
+
+    /**
+     * Counts the tasks forEach() will pass on, for showing progress.
+     *
+     * @return The number of tasks, or -1 if it is not known in advance
+     * @throws Exception if the tasks cannot be counted
+     */
+    default long count() throws Exception {
+        return -1;
+    }
+}
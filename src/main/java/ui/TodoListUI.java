@@ -4,7 +4,13 @@ import model.TaskItem;
 import service.TaskService;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 /**
  * Main UI class for the To-Do List application.
@@ -12,10 +18,14 @@ import java.awt.*;
  */
 public class TodoListUI {
     private final TaskService taskService;
-    private DefaultListModel<TaskItem> listModel;
+    private TaskListModel listModel;
     private JList<TaskItem> taskList;
     private JTextField taskField;
     private JTextField dateField;
+    private JTextField filterField;
+    private TaskFilter filter;
+    private JProgressBar progressBar;
+    private final List<JComponent> editControls = new ArrayList<>();
     private JFrame frame;
 
     public TodoListUI(TaskService taskService) {
@@ -39,12 +49,23 @@ public class TodoListUI {
         mainPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
         // Task list
-        listModel = new DefaultListModel<>();
+        listModel = new TaskListModel(taskService);
         taskList = new JList<>(listModel);
-        taskList.setCellRenderer(new CustomListRenderer());
+        CustomListRenderer renderer = new CustomListRenderer();
+        taskList.setCellRenderer(renderer);
         taskList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
-        JScrollPane scrollPane = new JScrollPane(taskList);
-        mainPanel.add(scrollPane, BorderLayout.CENTER);
+        // Fixed cell sizes let the list lay out many tasks without rendering each one
+        taskList.setFixedCellHeight(
+            renderer.getListCellRendererComponent(taskList, "Task", 0, false, false).getPreferredSize().height);
+        taskList.setFixedCellWidth(1);
+        JPanel listPanel = new JPanel(new BorderLayout(5, 5));
+        listPanel.add(createFilterPanel(), BorderLayout.NORTH);
+        listPanel.add(new JScrollPane(taskList), BorderLayout.CENTER);
+        progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+        progressBar.setVisible(false);
+        listPanel.add(progressBar, BorderLayout.SOUTH);
+        mainPanel.add(listPanel, BorderLayout.CENTER);
 
         // Input panel
         JPanel inputPanel = createInputPanel();
@@ -77,6 +98,60 @@ public class TodoListUI {
         return panel;
     }
 
+    /**
+     * Creates the filter panel that narrows the task list as the user types.
+     *
+     * @return The configured filter panel
+     */
+    private JPanel createFilterPanel() {
+        JPanel panel = new JPanel(new BorderLayout(10, 0));
+        panel.add(new JLabel("Filter:"), BorderLayout.WEST);
+        filterField = new JTextField();
+        panel.add(filterField, BorderLayout.CENTER);
+
+        filter = new TaskFilter(taskService, this::showTasks);
+        filterField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                filter.setQuery(filterField.getText());
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                filter.setQuery(filterField.getText());
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                filter.setQuery(filterField.getText());
+            }
+        });
+        return panel;
+    }
+
+    /**
+     * Shows the tasks matching the filter, or every task when the filter is empty.
+     * The selected task stays selected if it matches the filter.
+     *
+     * @param tasks The tasks to show
+     */
+    private void showTasks(List<TaskItem> tasks) {
+        if (!filter.isActive()) {
+            listModel.showAll();
+            return;
+        }
+        TaskItem selected = taskList.getSelectedValue();
+        listModel.showOnly(tasks);
+        if (selected != null) {
+            for (int i = 0; i < tasks.size(); i++) {
+                if (tasks.get(i).getId() == selected.getId()) {
+                    taskList.setSelectedIndex(i);
+                    break;
+                }
+            }
+        }
+    }
+
     /**
      * Creates the button panel with action buttons.
      * 
@@ -103,6 +178,11 @@ public class TodoListUI {
         panel.add(toggleButton);
         panel.add(clearButton);
 
+        editControls.add(addButton);
+        editControls.add(removeButton);
+        editControls.add(editButton);
+        editControls.add(toggleButton);
+        editControls.add(clearButton);
         return panel;
     }
 
@@ -121,7 +201,9 @@ public class TodoListUI {
         try {
             TaskItem newTask = new TaskItem(taskText, dueDateText);
             taskService.addTask(newTask);
-            listModel.addElement(newTask);
+            if (filter.isActive()) {
+                filter.refresh();
+            }
             taskField.setText("");
             dateField.setText("");
             showInfo("Task added successfully!");
@@ -140,12 +222,10 @@ public class TodoListUI {
             return;
         }
 
-        try {
-            taskService.removeTask(selectedIndex);
-            listModel.remove(selectedIndex);
+        if (listModel.remove(selectedIndex)) {
             showInfo("Task removed successfully!");
-        } catch (IndexOutOfBoundsException e) {
-            showError("Error removing task: " + e.getMessage());
+        } else {
+            showError("Error removing task: it no longer exists");
         }
     }
 
@@ -159,8 +239,8 @@ public class TodoListUI {
             return;
         }
 
+        TaskItem item = listModel.getElementAt(selectedIndex);
         try {
-            TaskItem item = taskService.getTask(selectedIndex);
             String newTaskText = JOptionPane.showInputDialog(
                 frame, "Enter new task:", item.getTask()
             );
@@ -169,12 +249,17 @@ public class TodoListUI {
             );
 
             if (newTaskText != null && newDueDateText != null) {
-                item.setTask(newTaskText);
-                item.setDueDate(newDueDateText);
-                taskList.repaint();
-                showInfo("Task updated successfully!");
+                if (taskService.updateById(item.getId(), newTaskText, newDueDateText)) {
+                    taskService.getById(item.getId()).ifPresent(updated -> listModel.set(selectedIndex, updated));
+                    if (filter.isActive()) {
+                        filter.refresh();
+                    }
+                    showInfo("Task updated successfully!");
+                } else {
+                    showError("Error editing task: it no longer exists");
+                }
             }
-        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+        } catch (IllegalArgumentException e) {
             showError("Error editing task: " + e.getMessage());
         }
     }
@@ -189,13 +274,14 @@ public class TodoListUI {
             return;
         }
 
-        try {
-            TaskItem item = taskService.getTask(selectedIndex);
-            item.toggleCompleted();
-            taskList.repaint();
-        } catch (IndexOutOfBoundsException e) {
-            showError("Error toggling task: " + e.getMessage());
-        }
+        long id = listModel.getElementAt(selectedIndex).getId();
+        taskService.getById(id).ifPresentOrElse(
+            item -> {
+                item.toggleCompleted();
+                listModel.set(selectedIndex, item);
+            },
+            () -> showError("Error toggling task: it no longer exists")
+        );
     }
 
     /**
@@ -216,7 +302,6 @@ public class TodoListUI {
 
         if (confirm == JOptionPane.YES_OPTION) {
             taskService.clearAllTasks();
-            listModel.clear();
             showInfo("All tasks cleared!");
         }
     }
@@ -239,6 +324,73 @@ public class TodoListUI {
         JOptionPane.showMessageDialog(frame, message, "Info", JOptionPane.INFORMATION_MESSAGE);
     }
 
+    /**
+     * Loads tasks into the service in the background while the window is shown.
+     * Tasks appear in the list as they arrive, with the progress shown below
+     * it. Tasks cannot be changed until loading has finished, so no change is
+     * made to a task list that is still incomplete.
+     * Must be called on the event dispatch thread.
+     *
+     * @param source Where the tasks are read
+     * @param onLoaded Run on the event dispatch thread once every task is loaded; not run if loading fails
+     */
+    public void load(TaskSource source, Runnable onLoaded) {
+        load(source, onLoaded, this::showLoadError);
+    }
+
+    /**
+     * Loads tasks like load(TaskSource, Runnable), handing a failure to the
+     * caller instead of reporting it.
+     *
+     * @param source Where the tasks are read
+     * @param onLoaded Run on the event dispatch thread once every task is loaded; not run if loading fails
+     * @param onFailed Run on the event dispatch thread with the cause if loading fails
+     */
+    public void load(TaskSource source, Runnable onLoaded, Consumer<Throwable> onFailed) {
+        TaskLoader loader = new TaskLoader(source, taskService);
+        setEditable(false);
+        progressBar.setValue(0);
+        progressBar.setString("Loading tasks...");
+        progressBar.setVisible(true);
+        loader.addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName())) {
+                progressBar.setValue((Integer) e.getNewValue());
+                progressBar.setString("Loading tasks... " + e.getNewValue() + "%");
+            } else if (e.getNewValue() == SwingWorker.StateValue.DONE) {
+                loaded(loader, onLoaded, onFailed);
+            }
+        });
+        loader.execute();
+    }
+
+    private void loaded(TaskLoader loader, Runnable onLoaded, Consumer<Throwable> onFailed) {
+        progressBar.setVisible(false);
+        setEditable(true);
+        try {
+            loader.get();
+            onLoaded.run();
+        } catch (ExecutionException e) {
+            onFailed.accept(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Tells the user that loading failed and that changes will not be saved.
+     *
+     * @param cause Why the tasks could not be loaded
+     */
+    public void showLoadError(Throwable cause) {
+        showError("Could not load all tasks, changes will not be saved: " + cause.getMessage());
+    }
+
+    private void setEditable(boolean editable) {
+        for (JComponent control : editControls) {
+            control.setEnabled(editable);
+        }
+    }
+
     /**
      * Makes the UI visible.
      */
@@ -246,6 +398,13 @@ public class TodoListUI {
         frame.setVisible(true);
     }
 
+    /**
+     * Closes the window without exiting, for example to replace it.
+     */
+    public void close() {
+        frame.dispose();
+    }
+
     /**
      * Gets the frame for testing purposes.
      * 
@@ -0,0 +1,494 @@
+package util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads, writes and copies files without blocking the calling thread, so
+ * large exports and backups can be started from the Swing event thread.
+ * Every method returns at once with a CompletableFuture that completes on
+ * one of the manager's I/O threads; use SwingUtilities.invokeLater to get
+ * back to the event thread.
+ * <p>
+ * The I/O is done through AsynchronousFileChannel a buffer at a time on a
+ * pool of maxConcurrent daemon threads, and at most maxConcurrent
+ * operations run at once: the rest wait in a queue, in the order they
+ * were started, without holding a thread. Cancelling a future stops its
+ * operation, or drops it from the queue if it has not started yet. A
+ * cancelled or failed write or copy leaves its target partly written.
+ */
+public final class AsyncFileManager implements Closeable {
+
+    /**
+     * The number of operations run at once by the no-argument constructor.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT = 4;
+
+    /**
+     * Size of the buffer a copy moves its bytes through.
+     */
+    private static final int COPY_BUFFER_BYTES = 256 * 1024;
+
+    private static final int MAX_ARRAY_BYTES = Integer.MAX_VALUE - 8;
+
+    private final int maxConcurrent;
+    private final ExecutorService executor;
+    private final Deque<Operation<?>> queued = new ArrayDeque<>();
+    private final Set<Operation<?>> running = new HashSet<>();
+    private boolean closed;
+
+    /**
+     * Creates a manager that runs DEFAULT_MAX_CONCURRENT operations at once.
+     */
+    public AsyncFileManager() {
+        this(DEFAULT_MAX_CONCURRENT);
+    }
+
+    /**
+     * Creates a manager.
+     *
+     * @param maxConcurrent The number of operations, and of I/O threads, run at once
+     * @throws IllegalArgumentException if maxConcurrent is not positive
+     */
+    public AsyncFileManager(int maxConcurrent) {
+        this(maxConcurrent, newIoPool(maxConcurrent));
+    }
+
+    /**
+     * Creates a manager that does its I/O on the given executor, which it shuts down when closed.
+     */
+    AsyncFileManager(int maxConcurrent, ExecutorService executor) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("Max concurrent operations must be positive");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.executor = executor;
+    }
+
+    private static ExecutorService newIoPool(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Max concurrent operations must be positive");
+        }
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "async-file-io-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Reads a whole file.
+     *
+     * @param file The file to read
+     * @return A future completing with the file's bytes
+     * @throws IllegalArgumentException if file is null
+     * @throws IllegalStateException if the manager is closed
+     */
+    public CompletableFuture<byte[]> readBytes(Path file) {
+        return submit(new ReadOperation<>(requireFile(file), bytes -> bytes));
+    }
+
+    /**
+     * Reads a whole text file in UTF-8. The future fails with an IOException
+     * if the file is not valid UTF-8, as FileManager.readText() does.
+     *
+     * @param file The file to read
+     * @return A future completing with the file's text, unchanged
+     * @throws IllegalArgumentException if file is null
+     * @throws IllegalStateException if the manager is closed
+     */
+    public CompletableFuture<String> readText(Path file) {
+        return submit(new ReadOperation<>(requireFile(file), bytes -> {
+            try {
+                return StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(bytes)).toString();
+            } catch (CharacterCodingException e) {
+                throw new IOException("File is not valid UTF-8: " + file, e);
+            }
+        }));
+    }
+
+    /**
+     * Writes bytes to a file, replacing the file if it exists.
+     * The array must not be changed until the future completes.
+     *
+     * @param file The file to write
+     * @param bytes The bytes to write
+     * @return A future completing with the number of bytes written
+     * @throws IllegalArgumentException if file or bytes is null
+     * @throws IllegalStateException if the manager is closed
+     */
+    public CompletableFuture<Long> write(Path file, byte[] bytes) {
+        if (bytes == null) {
+            throw new IllegalArgumentException("Bytes cannot be null");
+        }
+        return submit(new WriteOperation(requireFile(file), () -> ByteBuffer.wrap(bytes)));
+    }
+
+    /**
+     * Writes text to a file in UTF-8, replacing the file if it exists.
+     * The text is encoded on an I/O thread, so it must not be changed
+     * until the future completes.
+     *
+     * @param file The file to write
+     * @param text The text to write
+     * @return A future completing with the number of bytes written
+     * @throws IllegalArgumentException if file or text is null
+     * @throws IllegalStateException if the manager is closed
+     */
+    public CompletableFuture<Long> writeText(Path file, CharSequence text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Text cannot be null");
+        }
+        return submit(new WriteOperation(requireFile(file),
+            () -> StandardCharsets.UTF_8.newEncoder().encode(CharBuffer.wrap(text))));
+    }
+
+    /**
+     * Copies a file, replacing the target if it exists.
+     *
+     * @param source The file to copy
+     * @param target The file to write
+     * @return A future completing with the number of bytes copied
+     * @throws IllegalArgumentException if source or target is null
+     * @throws IllegalStateException if the manager is closed
+     */
+    public CompletableFuture<Long> copy(Path source, Path target) {
+        return submit(new CopyOperation(requireFile(source), requireFile(target)));
+    }
+
+    /**
+     * Gets the number of operations running.
+     *
+     * @return The running count, at most maxConcurrent
+     */
+    public synchronized int getRunningCount() {
+        return running.size();
+    }
+
+    /**
+     * Gets the number of operations waiting for a running one to finish.
+     *
+     * @return The queued count
+     */
+    public synchronized int getQueuedCount() {
+        return queued.size();
+    }
+
+    /**
+     * Cancels every running and queued operation and stops the I/O threads.
+     * Calling it again has no effect.
+     */
+    @Override
+    public void close() {
+        List<Operation<?>> cancelled;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            cancelled = new ArrayList<>(running);
+            cancelled.addAll(queued);
+        }
+        for (Operation<?> operation : cancelled) {
+            operation.future.cancel(false);
+        }
+        executor.shutdown();
+    }
+
+    private static Path requireFile(Path file) {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null");
+        }
+        return file;
+    }
+
+    private <T> CompletableFuture<T> submit(Operation<T> operation) {
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("File manager is closed");
+            }
+            queued.add(operation);
+        }
+        operation.future.whenComplete((result, error) -> finished(operation));
+        startQueued();
+        return operation.future;
+    }
+
+    private void finished(Operation<?> operation) {
+        operation.closeChannels();
+        synchronized (this) {
+            if (!running.remove(operation)) {
+                queued.remove(operation);
+            }
+        }
+        startQueued();
+    }
+
+    /**
+     * Starts queued operations while fewer than maxConcurrent are running.
+     */
+    private void startQueued() {
+        List<Operation<?>> starting = new ArrayList<>();
+        synchronized (this) {
+            while (running.size() < maxConcurrent && !queued.isEmpty() && !closed) {
+                Operation<?> operation = queued.poll();
+                if (!operation.future.isDone()) {
+                    running.add(operation);
+                    starting.add(operation);
+                }
+            }
+        }
+        for (Operation<?> operation : starting) {
+            try {
+                executor.execute(operation::start);
+            } catch (RejectedExecutionException e) {
+                operation.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface IoFunction<T, R> {
+        R apply(T value) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface IoSupplier<T> {
+        T get() throws IOException;
+    }
+
+    /**
+     * A read, write or copy that opens its channels on an I/O thread and
+     * then issues one asynchronous call after another until it is done.
+     * Its channels are closed as soon as its future completes, which makes
+     * a call still in progress after a cancellation fail and go no further.
+     */
+    private abstract class Operation<T> implements CompletionHandler<Integer, Void> {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        private final List<AsynchronousFileChannel> channels = new ArrayList<>(2);
+
+        final void start() {
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                open();
+                if (!future.isDone()) {
+                    next();
+                }
+            } catch (IOException | RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Opens the channels; called once, on an I/O thread.
+         */
+        abstract void open() throws IOException;
+
+        /**
+         * Issues the next asynchronous call, or completes the future.
+         */
+        abstract void next() throws IOException;
+
+        /**
+         * Handles the result of the last asynchronous call.
+         */
+        abstract void transferred(int bytes) throws IOException;
+
+        AsynchronousFileChannel openChannel(Path file, StandardOpenOption... options) throws IOException {
+            Set<StandardOpenOption> optionSet = EnumSet.noneOf(StandardOpenOption.class);
+            optionSet.addAll(Arrays.asList(options));
+            AsynchronousFileChannel channel = AsynchronousFileChannel.open(file, optionSet, executor);
+            synchronized (channels) {
+                channels.add(channel);
+            }
+            if (future.isDone()) {
+                channel.close();
+                throw new CancellationException();
+            }
+            return channel;
+        }
+
+        void closeChannels() {
+            synchronized (channels) {
+                for (AsynchronousFileChannel channel : channels) {
+                    try {
+                        channel.close();
+                    } catch (IOException e) {
+                        // The operation is over; there is nothing left to report the failure to
+                    }
+                }
+            }
+        }
+
+        @Override
+        public final void completed(Integer bytes, Void attachment) {
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                transferred(bytes);
+                if (!future.isDone()) {
+                    next();
+                }
+            } catch (IOException | RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public final void failed(Throwable error, Void attachment) {
+            future.completeExceptionally(error);
+        }
+    }
+
+    private final class ReadOperation<T> extends Operation<T> {
+        private final Path file;
+        private final IoFunction<byte[], T> decoder;
+        private AsynchronousFileChannel channel;
+        private ByteBuffer buffer;
+
+        ReadOperation(Path file, IoFunction<byte[], T> decoder) {
+            this.file = file;
+            this.decoder = decoder;
+        }
+
+        @Override
+        void open() throws IOException {
+            channel = openChannel(file, StandardOpenOption.READ);
+            long size = channel.size();
+            if (size > MAX_ARRAY_BYTES) {
+                throw new IOException("File is too large to read into memory: " + file);
+            }
+            buffer = ByteBuffer.allocate((int) size);
+        }
+
+        @Override
+        void next() throws IOException {
+            if (buffer.hasRemaining()) {
+                channel.read(buffer, buffer.position(), null, this);
+            } else {
+                future.complete(decoder.apply(buffer.array()));
+            }
+        }
+
+        @Override
+        void transferred(int bytes) throws IOException {
+            if (bytes < 0) {
+                future.complete(decoder.apply(Arrays.copyOf(buffer.array(), buffer.position())));
+            }
+        }
+    }
+
+    private final class WriteOperation extends Operation<Long> {
+        private final Path file;
+        private final IoSupplier<ByteBuffer> content;
+        private AsynchronousFileChannel channel;
+        private ByteBuffer buffer;
+        private long position;
+
+        WriteOperation(Path file, IoSupplier<ByteBuffer> content) {
+            this.file = file;
+            this.content = content;
+        }
+
+        @Override
+        void open() throws IOException {
+            buffer = content.get();
+            channel = openChannel(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        }
+
+        @Override
+        void next() {
+            if (buffer.hasRemaining()) {
+                channel.write(buffer, position, null, this);
+            } else {
+                future.complete(position);
+            }
+        }
+
+        @Override
+        void transferred(int bytes) {
+            position += bytes;
+        }
+    }
+
+    /**
+     * Copies through one buffer, alternating a read from the source with
+     * writes to the target until the buffer is drained.
+     */
+    private final class CopyOperation extends Operation<Long> {
+        private final Path source;
+        private final Path target;
+        private AsynchronousFileChannel in;
+        private AsynchronousFileChannel out;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(COPY_BUFFER_BYTES);
+        private long readPosition;
+        private long writePosition;
+        private boolean writing;
+        private boolean endOfSource;
+
+        CopyOperation(Path source, Path target) {
+            this.source = source;
+            this.target = target;
+        }
+
+        @Override
+        void open() throws IOException {
+            in = openChannel(source, StandardOpenOption.READ);
+            out = openChannel(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        }
+
+        @Override
+        void next() {
+            if (writing && buffer.hasRemaining()) {
+                out.write(buffer, writePosition, null, this);
+            } else if (endOfSource) {
+                future.complete(writePosition);
+            } else {
+                writing = false;
+                buffer.clear();
+                in.read(buffer, readPosition, null, this);
+            }
+        }
+
+        @Override
+        void transferred(int bytes) {
+            if (writing) {
+                writePosition += bytes;
+            } else if (bytes < 0) {
+                endOfSource = true;
+            } else {
+                readPosition += bytes;
+                buffer.flip();
+                writing = true;
+            }
+        }
+    }
+}
@@ -5,7 +5,11 @@ import java.sql.*;
 /**
  * INTENTIONAL RELIABILITY AND SECURITY ISSUES FOR DEMO
  * Multiple database-related vulnerabilities and poor practices.
+ *
+ * @deprecated Use {@link persistence.TaskRepository}, which pools connections
+ *             and binds values through prepared statements.
  */
+@Deprecated
 public class DatabaseHelper {
     
     // SECURITY ISSUE: Hardcoded credentials
@@ -1,8 +1,19 @@
 package util;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
 /**
  * INTENTIONAL RELIABILITY AND SECURITY ISSUES FOR DEMO PURPOSES
@@ -10,33 +21,143 @@ import java.nio.file.Paths;
  * - Resource leaks
  * - Path traversal vulnerabilities
  * - Exception handling issues
+ * <p>
+ * Reading and copying are done by the static NIO methods, which close
+ * everything they open and are meant for large files such as task exports:
+ * copies are made by the operating system with FileChannel.transferTo, text
+ * is read as UTF-8 through a large buffer, and files of at least
+ * MAPPED_READ_THRESHOLD bytes are read through a memory mapping.
  */
 public class FileManager {
-    
+
+    /**
+     * Size in bytes from which readFile() reads through a memory mapping.
+     */
+    public static final long MAPPED_READ_THRESHOLD = 16L * 1024 * 1024;
+
+    /**
+     * Size of the buffers used by readText() and readMapped().
+     */
+    private static final int READ_BUFFER_CHARS = 64 * 1024;
+
     /**
-     * RELIABILITY ISSUE: Resource leak - FileInputStream not closed
+     * Reads a text file in UTF-8, returning each of its lines followed by a newline.
+     * Files of at least MAPPED_READ_THRESHOLD bytes are read through a memory mapping.
      * SECURITY ISSUE: Path traversal vulnerability
+     *
+     * @param filename The file to read
+     * @return The file's lines, or null if it cannot be read
      */
     public String readFile(String filename) {
         try {
             // SECURITY ISSUE: No path validation, allows path traversal
-            FileInputStream fis = new FileInputStream(filename);
-            BufferedReader br = new BufferedReader(new InputStreamReader(fis));
-            
-            StringBuilder content = new StringBuilder();
-            String line;
-            while ((line = br.readLine()) != null) {
-                content.append(line).append("\n");
-            }
-            
-            // RELIABILITY ISSUE: Resources not closed (no try-with-resources)
-            return content.toString();
+            Path file = Paths.get(filename);
+            String text = Files.size(file) >= MAPPED_READ_THRESHOLD ? readMapped(file) : readText(file);
+            return toLines(text);
         } catch (IOException e) {
             e.printStackTrace();
             return null;
         }
     }
-    
+
+    /**
+     * Reads a whole text file in UTF-8 through a large buffer.
+     *
+     * @param file The file to read
+     * @return The file's text, unchanged
+     * @throws IOException if the file cannot be read or is not valid UTF-8
+     */
+    public static String readText(Path file) throws IOException {
+        long size = Files.size(file);
+        StringBuilder content = new StringBuilder((int) Math.min(size, Integer.MAX_VALUE - 8));
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8.newDecoder()),
+                READ_BUFFER_CHARS)) {
+            char[] buffer = new char[READ_BUFFER_CHARS];
+            int length;
+            while ((length = reader.read(buffer)) != -1) {
+                content.append(buffer, 0, length);
+            }
+        }
+        return content.toString();
+    }
+
+    /**
+     * Reads a whole text file in UTF-8 by decoding a memory mapping of it,
+     * which spares the read system calls and the copies they make.
+     * The mapping is decoded a buffer at a time, so apart from the result
+     * only two small buffers are allocated.
+     *
+     * @param file The file to read
+     * @return The file's text, unchanged
+     * @throws IOException if the file cannot be read, is larger than 2 GB or is not valid UTF-8
+     */
+    public static String readMapped(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE - 8) {
+                throw new IOException("File is too large to read as text: " + file);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+            ByteBuffer bytes = ByteBuffer.allocate(READ_BUFFER_CHARS);
+            CharBuffer chars = CharBuffer.allocate(READ_BUFFER_CHARS);
+            StringBuilder content = new StringBuilder((int) size);
+            boolean endOfInput = false;
+            while (!endOfInput) {
+                int length = Math.min(bytes.remaining(), mapped.remaining());
+                bytes.put(bytes.position(), mapped, mapped.position(), length);
+                bytes.position(bytes.position() + length);
+                mapped.position(mapped.position() + length);
+                endOfInput = !mapped.hasRemaining();
+                bytes.flip();
+                CoderResult result = decoder.decode(bytes, chars, endOfInput);
+                if (result.isError()) {
+                    result.throwException();
+                }
+                chars.flip();
+                content.append(chars);
+                chars.clear();
+                bytes.compact();
+            }
+            CoderResult result = decoder.flush(chars);
+            if (result.isError()) {
+                result.throwException();
+            }
+            return content.append(chars.flip()).toString();
+        } catch (CharacterCodingException e) {
+            throw new IOException("File is not valid UTF-8: " + file, e);
+        }
+    }
+
+    /**
+     * Rewrites line terminators to \n and ends the last line with one, as
+     * reading line by line and appending \n to each line would.
+     */
+    private static String toLines(String text) {
+        if (text.indexOf('\r') < 0 && (text.isEmpty() || text.charAt(text.length() - 1) == '\n')) {
+            return text;
+        }
+        StringBuilder lines = new StringBuilder(text.length() + 1);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\r') {
+                lines.append('\n');
+                if (i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+                    i++;
+                }
+            } else {
+                lines.append(c);
+            }
+        }
+        if (lines.length() > 0 && lines.charAt(lines.length() - 1) != '\n') {
+            lines.append('\n');
+        }
+        return lines.toString();
+    }
+
     /**
      * SECURITY ISSUE: Path traversal vulnerability
      * RELIABILITY ISSUE: Poor exception handling
@@ -52,7 +173,7 @@ public class FileManager {
             System.out.println("Error: " + e.getMessage());
         }
     }
-    
+
     /**
      * SECURITY ISSUE: Command injection vulnerability
      * RELIABILITY ISSUE: Process not properly managed
@@ -65,29 +186,50 @@ public class FileManager {
             e.printStackTrace();
         }
     }
-    
+
     /**
-     * RELIABILITY ISSUE: Multiple resource leaks
+     * Copies a file, replacing the destination if it exists.
+     * SECURITY ISSUE: Path traversal vulnerability
+     *
+     * @param source The file to copy
+     * @param dest The file to write
      */
     public void copyFile(String source, String dest) {
-        FileInputStream in = null;
-        FileOutputStream out = null;
-        
         try {
-            in = new FileInputStream(source);
-            out = new FileOutputStream(dest);
-            
-            byte[] buffer = new byte[1024];
-            int length;
-            while ((length = in.read(buffer)) > 0) {
-                out.write(buffer, 0, length);
-            }
-            // RELIABILITY ISSUE: Streams not closed in finally block
+            // SECURITY ISSUE: No path validation, allows path traversal
+            copy(Paths.get(source), Paths.get(dest));
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
-    
+
+    /**
+     * Copies a file with FileChannel.transferTo, so the operating system
+     * moves the bytes without copying them through the Java heap.
+     * The destination is replaced if it exists.
+     *
+     * @param source The file to copy
+     * @param target The file to write
+     * @return The number of bytes copied
+     * @throws IOException if either file cannot be opened or the copy fails
+     */
+    public static long copy(Path source, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                 StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                long copied = in.transferTo(position, size - position, out);
+                if (copied <= 0 && in.size() <= position) {
+                    break;
+                }
+                position += copied;
+            }
+            return position;
+        }
+    }
+
     /**
      * SECURITY ISSUE: Deserialization vulnerability
      */
@@ -0,0 +1,107 @@
+package model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for TaskClock class.
+ * Uses a hand-driven clock to check day boundaries and overdue behavior.
+ */
+@DisplayName("TaskClock Tests")
+public class TaskClockTest {
+
+    @AfterEach
+    public void tearDown() {
+        TaskClock.resetDefault();
+    }
+
+    @Test
+    @DisplayName("Should report the date of a fixed clock")
+    public void testFixed() {
+        assertEquals(LocalDate.of(2025, 6, 1), TaskClock.fixed(LocalDate.of(2025, 6, 1)).today());
+    }
+
+    @Test
+    @DisplayName("Should move to the next day at the zone's midnight")
+    public void testDayBoundary() {
+        ManualClock clock = new ManualClock(Instant.parse("2025-06-01T21:59:59Z"), ZoneOffset.ofHours(2));
+        TaskClock taskClock = new TaskClock(clock);
+        assertEquals(LocalDate.of(2025, 6, 1), taskClock.today());
+
+        clock.now = Instant.parse("2025-06-01T22:00:00Z");
+        assertEquals(LocalDate.of(2025, 6, 2), taskClock.today());
+
+        clock.now = Instant.parse("2025-05-31T12:00:00Z");
+        assertEquals(LocalDate.of(2025, 5, 31), taskClock.today());
+    }
+
+    @Test
+    @DisplayName("Should pick up a zone change on refresh")
+    public void testRefresh() {
+        ManualClock clock = new ManualClock(Instant.parse("2025-06-01T23:00:00Z"), ZoneOffset.UTC);
+        TaskClock taskClock = new TaskClock(clock);
+        assertEquals(LocalDate.of(2025, 6, 1), taskClock.today());
+
+        clock.zone = ZoneOffset.ofHours(3);
+        taskClock.refresh();
+        assertEquals(LocalDate.of(2025, 6, 2), taskClock.today());
+    }
+
+    @Test
+    @DisplayName("Should drive TaskItem overdue checks through the default clock")
+    public void testDefaultClockDrivesOverdue() {
+        TaskItem task = new TaskItem("Pay rent", "01-06-2025");
+
+        TaskClock.setDefault(TaskClock.fixed(LocalDate.of(2025, 6, 1)));
+        assertFalse(task.isOverdue());
+        assertFalse(task.toString().contains("[OVERDUE]"));
+
+        TaskClock.setDefault(TaskClock.fixed(LocalDate.of(2025, 6, 2)));
+        assertTrue(task.isOverdue());
+        assertTrue(task.toString().contains("[OVERDUE]"));
+    }
+
+    @Test
+    @DisplayName("Should reject a null clock")
+    public void testNullClock() {
+        assertThrows(IllegalArgumentException.class, () -> new TaskClock(null));
+        assertThrows(IllegalArgumentException.class, () -> TaskClock.setDefault(null));
+    }
+
+    /**
+     * Clock whose instant and zone are set directly by the test.
+     */
+    private static final class ManualClock extends Clock {
+        Instant now;
+        ZoneId zone;
+
+        ManualClock(Instant now, ZoneId zone) {
+            this.now = now;
+            this.zone = zone;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new ManualClock(now, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for TaskDates class.
+ * Checks the fast parser against DateTimeFormatter on valid, clamped and invalid input.
+ */
+@DisplayName("TaskDates Tests")
+public class TaskDatesTest {
+
+    @Test
+    @DisplayName("Should parse plain dates")
+    public void testParse() {
+        assertEquals(LocalDate.of(2025, 12, 15), TaskDates.parse("15-12-2025"));
+        assertEquals(LocalDate.of(2025, 12, 15), TaskDates.parse("  15-12-2025\t"));
+        assertEquals(LocalDate.of(2025, 12, 15), TaskDates.parse(new StringBuilder("15-12-2025")));
+    }
+
+    @Test
+    @DisplayName("Should clamp days past the end of the month like the formatter")
+    public void testParseClampsDay() {
+        assertEquals(LocalDate.of(2025, 2, 28), TaskDates.parse("31-02-2025"));
+        assertEquals(LocalDate.of(2024, 2, 29), TaskDates.parse("30-02-2024"));
+        assertEquals(LocalDate.of(2025, 4, 30), TaskDates.parse("31-04-2025"));
+    }
+
+    @Test
+    @DisplayName("Should reject null and blank dates")
+    public void testParseBlank() {
+        for (String blank : new String[] {null, "", "   "}) {
+            IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> TaskDates.parse(blank)
+            );
+            assertEquals("Due date cannot be null or empty", exception.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("Should accept and reject exactly what the formatter does")
+    public void testMatchesFormatter() {
+        String[] years = {"0000", "0001", "1999", "2023", "2024", "9999", "+20250", "20250", "999", "2O25"};
+        for (int day = 0; day <= 32; day++) {
+            for (int month = 0; month <= 13; month++) {
+                for (String year : years) {
+                    assertSameOutcome(String.format("%02d-%02d-%s", day, month, year));
+                }
+            }
+        }
+        String[] odd = {"1-01-2025", "01-1-2025", "01/01/2025", "01-01-2025x", "x01-01-2025",
+            "0a-01-2025", "01-01-٢٠٢٥", "-1-01-2025", "01--1-2025", "01-01- 2025"};
+        for (String text : odd) {
+            assertSameOutcome(text);
+        }
+    }
+
+    @Test
+    @DisplayName("Should append dates exactly as the formatter formats them")
+    public void testAppendTo() {
+        LocalDate[] dates = {
+            LocalDate.of(2025, 12, 15), LocalDate.of(2024, 2, 29), LocalDate.of(1, 1, 1),
+            LocalDate.of(999, 7, 4), LocalDate.of(9999, 12, 31), LocalDate.of(10000, 1, 1)
+        };
+        StringBuilder out = new StringBuilder("Due: ");
+        for (LocalDate date : dates) {
+            out.setLength(5);
+            TaskDates.appendTo(out, date);
+            assertEquals("Due: " + date.format(TaskDates.FORMATTER), out.toString());
+        }
+        assertThrows(IllegalArgumentException.class, () -> TaskDates.appendTo(out, null));
+    }
+
+    private static void assertSameOutcome(String text) {
+        LocalDate expected;
+        try {
+            expected = LocalDate.parse(text.trim(), TaskDates.FORMATTER);
+        } catch (DateTimeParseException e) {
+            IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> TaskDates.parse(text),
+                text
+            );
+            assertEquals("Invalid date format. Expected: dd-MM-yyyy", exception.getMessage());
+            return;
+        }
+        assertEquals(expected, TaskDates.parse(text), text);
+    }
+}
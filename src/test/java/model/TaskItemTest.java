@@ -1,10 +1,13 @@
 package model;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -19,9 +22,15 @@ public class TaskItemTest {
 
     @BeforeEach
     public void setUp() {
+        TaskClock.setDefault(TaskClock.fixed(LocalDate.of(2025, 6, 1)));
         taskItem = new TaskItem("Buy groceries", "15-12-2025");
     }
 
+    @AfterEach
+    public void tearDown() {
+        TaskClock.resetDefault();
+    }
+
     @Test
     @DisplayName("Should create task with valid data")
     public void testCreateTaskWithValidData() {
@@ -71,6 +80,22 @@ public class TaskItemTest {
         assertEquals("Due date cannot be null or empty", exception.getMessage());
     }
 
+    @Test
+    @DisplayName("Should create task with an already parsed due date")
+    public void testCreateTaskWithParsedDate() {
+        TaskItem parsed = TaskItem.withDueDate("  Buy groceries ", LocalDate.of(2025, 12, 15));
+        assertEquals("Buy groceries", parsed.getTask());
+        assertEquals("15-12-2025", parsed.getDueDateFormatted());
+        assertFalse(parsed.isCompleted());
+        assertTrue(parsed.getId() > taskItem.getId());
+
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> TaskItem.withDueDate("Buy groceries", null)
+        );
+        assertEquals("Due date cannot be null or empty", exception.getMessage());
+    }
+
     @Test
     @DisplayName("Should throw exception when due date is empty")
     public void testCreateTaskWithEmptyDueDate() {
@@ -248,4 +273,112 @@ public class TaskItemTest {
         assertEquals(12, dueDate.getMonthValue());
         assertEquals(2025, dueDate.getYear());
     }
+
+    @Test
+    @DisplayName("Should notify listeners of status and due date changes")
+    public void testListenerNotifications() {
+        List<String> events = new ArrayList<>();
+        TaskItemListener listener = new TaskItemListener() {
+            @Override
+            public void completionChanged(TaskItem item) {
+                events.add("completed=" + item.isCompleted());
+            }
+
+            @Override
+            public void dueDateChanged(TaskItem item, LocalDate previousDueDate) {
+                events.add("due " + previousDueDate + " -> " + item.getDueDate());
+            }
+        };
+        taskItem.addListener(listener);
+
+        taskItem.markAsCompleted();
+        taskItem.markAsCompleted();
+        taskItem.toggleCompleted();
+        taskItem.setDueDate("15-12-2025");
+        taskItem.setDueDate("20-12-2025");
+        taskItem.removeListener(listener);
+        taskItem.toggleCompleted();
+
+        assertEquals(List.of(
+            "completed=true",
+            "completed=false",
+            "due 2025-12-15 -> 2025-12-20"
+        ), events);
+    }
+
+    @Test
+    @DisplayName("Should assign unique increasing IDs")
+    public void testUniqueIds() {
+        TaskItem next = new TaskItem("Buy groceries", "15-12-2025");
+        assertTrue(next.getId() > taskItem.getId());
+        assertEquals(taskItem, next);
+    }
+
+    @Test
+    @DisplayName("Should update description and due date together")
+    public void testUpdate() {
+        taskItem.update("  Updated task ", "20-12-2025");
+        assertEquals("Updated task", taskItem.getTask());
+        assertEquals("20-12-2025", taskItem.getDueDateFormatted());
+
+        assertThrows(IllegalArgumentException.class, () -> taskItem.update("Other", "bad"));
+        assertThrows(IllegalArgumentException.class, () -> taskItem.update(" ", "21-12-2025"));
+        assertEquals("Updated task", taskItem.getTask());
+        assertEquals("20-12-2025", taskItem.getDueDateFormatted());
+    }
+
+    @Test
+    @DisplayName("Should restore a task with its ID and keep later IDs greater")
+    public void testRestoreConstructor() {
+        long restoredId = taskItem.getId() + 1_000;
+        TaskItem restored = new TaskItem(restoredId, " Restored ", LocalDate.of(2025, 12, 15), true);
+
+        assertEquals(restoredId, restored.getId());
+        assertEquals("Restored", restored.getTask());
+        assertTrue(restored.isCompleted());
+        assertTrue(new TaskItem("Next", "15-12-2025").getId() > restoredId);
+        assertThrows(IllegalArgumentException.class, () -> new TaskItem(0, "Task", LocalDate.now(), false));
+        assertThrows(IllegalArgumentException.class, () -> new TaskItem(1, " ", LocalDate.now(), false));
+        assertThrows(IllegalArgumentException.class, () -> new TaskItem(1, "Task", null, false));
+    }
+
+    @Test
+    @DisplayName("Should allocate blocks of IDs that later tasks never get")
+    public void testAllocateIds() {
+        long first = TaskItem.allocateIds(100);
+        TaskItem allocated = new TaskItem(first + 99, "Last of the block", LocalDate.of(2025, 12, 15), false);
+        TaskItem next = new TaskItem("Next", "15-12-2025");
+
+        assertTrue(first > taskItem.getId());
+        assertEquals(first + 99, allocated.getId());
+        assertEquals(first + 100, next.getId());
+        assertEquals(next.getId() + 1, TaskItem.allocateIds(0));
+        assertThrows(IllegalArgumentException.class, () -> TaskItem.allocateIds(-1));
+    }
+
+    @Test
+    @DisplayName("Should notify listeners of description changes")
+    public void testTextChangedNotification() {
+        List<String> events = new ArrayList<>();
+        taskItem.addListener(new TaskItemListener() {
+            @Override
+            public void completionChanged(TaskItem item) {
+            }
+
+            @Override
+            public void dueDateChanged(TaskItem item, LocalDate previousDueDate) {
+            }
+
+            @Override
+            public void textChanged(TaskItem item, String previousTask) {
+                events.add(previousTask + " -> " + item.getTask());
+            }
+        });
+
+        taskItem.setTask("Renamed");
+        taskItem.setTask("Renamed");
+        taskItem.update("Updated", "15-12-2025");
+
+        assertEquals(List.of("Buy groceries -> Renamed", "Renamed -> Updated"), events);
+    }
 }
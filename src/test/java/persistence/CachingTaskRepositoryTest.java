@@ -0,0 +1,183 @@
+package persistence;
+
+import model.TaskItem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for CachingTaskRepository class.
+ * Tests hits and misses, eviction by size and age, and invalidation by
+ * writes, against an in-memory H2 database.
+ */
+@DisplayName("CachingTaskRepository Tests")
+public class CachingTaskRepositoryTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private ConnectionPool pool;
+    private CachingTaskRepository repository;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        String url = "jdbc:h2:mem:cache-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1";
+        pool = new ConnectionPool(ConnectionFactory.of(url, "sa", ""), 2, 1_000);
+        repository = new CachingTaskRepository(pool, 100, 3, 1_000, now::get);
+        repository.createTable();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    /**
+     * Changes the table without going through the cache.
+     */
+    private void renameDirectly(TaskItem task, String text) throws SQLException {
+        try (PooledConnection connection = pool.borrow();
+             Statement statement = connection.connection().createStatement()) {
+            statement.executeUpdate("UPDATE tasks SET task = '" + text + "' WHERE id = " + task.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer repeated reads and existence checks from memory")
+    public void testHitsAndMisses() throws SQLException {
+        TaskItem task = new TaskItem("Task", "01-01-2026");
+        repository.insert(task);
+
+        assertEquals("Task", repository.findById(task.getId()).orElseThrow().getTask());
+        renameDirectly(task, "Changed elsewhere");
+        assertTrue(repository.exists(task.getId()));
+        assertEquals("Task", repository.findById(task.getId()).orElseThrow().getTask());
+
+        assertEquals(1, repository.getMissCount());
+        assertEquals(2, repository.getHitCount());
+    }
+
+    @Test
+    @DisplayName("Should remember IDs that are not stored")
+    public void testNegativeCaching() throws SQLException {
+        assertFalse(repository.exists(42));
+        assertTrue(repository.findById(42).isEmpty());
+        assertEquals(1, repository.getMissCount());
+        assertEquals(1, repository.getHitCount());
+    }
+
+    @Test
+    @DisplayName("Should return copies that do not change the cache")
+    public void testReturnsCopies() throws SQLException {
+        TaskItem task = new TaskItem("Task", "01-01-2026");
+        repository.insert(task);
+
+        TaskItem first = repository.findById(task.getId()).orElseThrow();
+        first.setTask("Changed copy");
+        TaskItem second = repository.findById(task.getId()).orElseThrow();
+        assertNotSame(first, second);
+        assertEquals("Task", second.getTask());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used ID when full")
+    public void testLruEviction() throws SQLException {
+        List<TaskItem> tasks = List.of(
+            new TaskItem("Task 1", "01-01-2026"),
+            new TaskItem("Task 2", "01-01-2026"),
+            new TaskItem("Task 3", "01-01-2026"),
+            new TaskItem("Task 4", "01-01-2026"));
+        repository.insertAll(tasks);
+
+        repository.findById(tasks.get(0).getId());
+        repository.findById(tasks.get(1).getId());
+        repository.findById(tasks.get(2).getId());
+        repository.findById(tasks.get(0).getId());
+        repository.findById(tasks.get(3).getId());
+
+        assertEquals(3, repository.getCachedCount());
+        assertEquals(1, repository.getEvictionCount());
+        repository.findById(tasks.get(0).getId());
+        assertEquals(2, repository.getHitCount());
+        repository.findById(tasks.get(1).getId());
+        assertEquals(5, repository.getMissCount());
+    }
+
+    @Test
+    @DisplayName("Should read the database again once an entry expires")
+    public void testTimeToLive() throws SQLException {
+        TaskItem task = new TaskItem("Task", "01-01-2026");
+        repository.insert(task);
+        repository.findById(task.getId());
+        renameDirectly(task, "Changed elsewhere");
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        assertEquals("Task", repository.findById(task.getId()).orElseThrow().getTask());
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals("Changed elsewhere", repository.findById(task.getId()).orElseThrow().getTask());
+        assertEquals(1, repository.getEvictionCount());
+        assertEquals(2, repository.getMissCount());
+    }
+
+    @Test
+    @DisplayName("Should invalidate entries written through the repository")
+    public void testInvalidation() throws SQLException {
+        TaskItem task = new TaskItem("Task", "01-01-2026");
+        assertFalse(repository.exists(task.getId()));
+        repository.insert(task);
+        assertTrue(repository.exists(task.getId()));
+
+        task.setTask("Updated");
+        repository.update(task);
+        assertEquals("Updated", repository.findById(task.getId()).orElseThrow().getTask());
+
+        task.setTask("Upserted");
+        repository.upsertAll(List.of(task));
+        assertEquals("Upserted", repository.findById(task.getId()).orElseThrow().getTask());
+
+        task.setTask("Streamed");
+        repository.upsertAll(List.of(task).stream());
+        assertEquals("Streamed", repository.findById(task.getId()).orElseThrow().getTask());
+
+        repository.delete(task.getId());
+        assertFalse(repository.exists(task.getId()));
+
+        repository.insert(task);
+        assertTrue(repository.exists(task.getId()));
+        repository.deleteAll(List.of(task.getId()));
+        assertFalse(repository.exists(task.getId()));
+
+        repository.insert(task);
+        assertTrue(repository.exists(task.getId()));
+        repository.deleteAll();
+        assertFalse(repository.exists(task.getId()));
+        assertEquals(0, repository.getEvictionCount());
+    }
+
+    @Test
+    @DisplayName("Should invalidate even when the write fails")
+    public void testInvalidationOnFailure() throws SQLException {
+        TaskItem task = new TaskItem("Task", "01-01-2026");
+        repository.insert(task);
+        repository.findById(task.getId());
+        renameDirectly(task, "Changed elsewhere");
+
+        assertThrows(SQLException.class, () -> repository.insert(task));
+        assertEquals("Changed elsewhere", repository.findById(task.getId()).orElseThrow().getTask());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid cache settings")
+    public void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingTaskRepository(pool, 0, 1_000));
+        assertThrows(IllegalArgumentException.class, () -> new CachingTaskRepository(pool, 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new CachingTaskRepository(null, 10, 1_000));
+    }
+}
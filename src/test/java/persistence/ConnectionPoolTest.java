@@ -0,0 +1,187 @@
+package persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for ConnectionPool class.
+ * Tests that connections are bounded, reused with their prepared statements,
+ * and dropped when broken or found dead while idle, against an in-memory H2
+ * database.
+ */
+@DisplayName("ConnectionPool Tests")
+public class ConnectionPoolTest {
+
+    private final AtomicInteger connects = new AtomicInteger();
+    private ConnectionPool pool;
+
+    @BeforeEach
+    public void setUp() {
+        String url = "jdbc:h2:mem:pool-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1";
+        pool = new ConnectionPool(() -> {
+            connects.incrementAndGet();
+            return DriverManager.getConnection(url);
+        }, 2, 100);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("Should reuse a returned connection and its prepared statements")
+    public void testReuse() throws SQLException {
+        Connection first;
+        PreparedStatement statement;
+        try (PooledConnection connection = pool.borrow()) {
+            first = connection.connection();
+            statement = connection.prepare("SELECT ?");
+            statement.setInt(1, 1);
+        }
+        try (PooledConnection connection = pool.borrow()) {
+            assertSame(first, connection.connection());
+            assertSame(statement, connection.prepare("SELECT ?"));
+        }
+        assertEquals(1, connects.get());
+        assertEquals(1, pool.getOpenCount());
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    @DisplayName("Should time out when every connection is borrowed")
+    public void testBoundedSize() throws SQLException {
+        try (PooledConnection first = pool.borrow(); PooledConnection second = pool.borrow()) {
+            assertNotSame(first.connection(), second.connection());
+            assertEquals(2, pool.getOpenCount());
+            assertThrows(SQLTransientConnectionException.class, () -> pool.borrow());
+        }
+        assertEquals(2, pool.getIdleCount());
+        pool.borrow().close();
+        assertEquals(2, connects.get());
+    }
+
+    @Test
+    @DisplayName("Should return a connection only once when closed twice")
+    public void testDoubleClose() throws SQLException {
+        PooledConnection connection = pool.borrow();
+        connection.close();
+        connection.close();
+        assertEquals(1, pool.getIdleCount());
+        try (PooledConnection first = pool.borrow(); PooledConnection second = pool.borrow()) {
+            assertNotSame(first.connection(), second.connection());
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop invalidated, closed and mid-transaction connections")
+    public void testBrokenConnectionsDropped() throws SQLException {
+        try (PooledConnection connection = pool.borrow()) {
+            connection.invalidate();
+        }
+        try (PooledConnection connection = pool.borrow()) {
+            connection.connection().close();
+        }
+        try (PooledConnection connection = pool.borrow()) {
+            connection.connection().setAutoCommit(false);
+        }
+        assertEquals(0, pool.getOpenCount());
+        assertEquals(3, connects.get());
+    }
+
+    @Test
+    @DisplayName("Should invalidate a connection only for connection errors")
+    public void testCheckError() throws SQLException {
+        try (PooledConnection connection = pool.borrow()) {
+            connection.checkError(new SQLException("Syntax", "42000"));
+        }
+        assertEquals(1, pool.getIdleCount());
+        try (PooledConnection connection = pool.borrow()) {
+            connection.checkError(new SQLException("Link failure", "08S01"));
+        }
+        assertEquals(0, pool.getOpenCount());
+    }
+
+    @Test
+    @DisplayName("Should replace idle connections that fail validation")
+    public void testIdleValidation() throws SQLException {
+        String url = "jdbc:h2:mem:pool-idle-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1";
+        AtomicInteger opened = new AtomicInteger();
+        ConnectionPool validating = new ConnectionPool(() -> {
+            opened.incrementAndGet();
+            return DriverManager.getConnection(url);
+        }, 2, 100, 0);
+        try {
+            Connection first;
+            try (PooledConnection connection = validating.borrow(); PooledConnection second = validating.borrow()) {
+                first = connection.connection();
+            }
+            try (PooledConnection connection = validating.borrow()) {
+                assertSame(first, connection.connection());
+            }
+            assertEquals(2, opened.get());
+
+            // The server drops every connection while they sit in the pool.
+            try (Connection admin = DriverManager.getConnection(url)) {
+                admin.createStatement().execute("SHUTDOWN");
+            }
+            try (PooledConnection connection = validating.borrow()) {
+                assertNotSame(first, connection.connection());
+                PreparedStatement statement = connection.prepare("SELECT 1");
+                assertTrue(statement.executeQuery().next());
+            }
+            assertEquals(3, opened.get());
+            assertEquals(1, validating.getOpenCount());
+            assertEquals(1, validating.getIdleCount());
+        } finally {
+            validating.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse to lend connections after closing")
+    public void testClose() throws SQLException {
+        PooledConnection borrowed = pool.borrow();
+        pool.borrow().close();
+        pool.close();
+
+        assertEquals(1, pool.getOpenCount());
+        SQLException exception = assertThrows(SQLException.class, () -> pool.borrow());
+        assertEquals("Connection pool is closed", exception.getMessage());
+        borrowed.close();
+        assertTrue(borrowed.connection().isClosed());
+        assertEquals(0, pool.getOpenCount());
+    }
+
+    @Test
+    @DisplayName("Should release the slot when a connection cannot be opened")
+    public void testConnectFailure() {
+        ConnectionPool failing = new ConnectionPool(() -> {
+            throw new SQLException("Unreachable", "08001");
+        }, 1, 10);
+        assertThrows(SQLException.class, failing::borrow);
+        SQLException exception = assertThrows(SQLException.class, failing::borrow);
+        assertEquals("Unreachable", exception.getMessage());
+        assertEquals(0, failing.getOpenCount());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid settings")
+    public void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionPool(null, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionPool(() -> null, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionPool(() -> null, 1, -1));
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionPool(() -> null, 1, 0, -1));
+    }
+}
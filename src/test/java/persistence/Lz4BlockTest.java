@@ -0,0 +1,93 @@
+package persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for Lz4Block class.
+ * Tests round trips of repetitive, random and tiny inputs, long literal
+ * and match lengths, and rejecting malformed blocks.
+ */
+@DisplayName("Lz4Block Tests")
+public class Lz4BlockTest {
+
+    private final Lz4Block compressor = new Lz4Block();
+
+    private int compress(byte[] src, byte[] dst) {
+        return compressor.compress(src, src.length, dst);
+    }
+
+    private byte[] roundTrip(byte[] src) throws IOException {
+        byte[] block = new byte[Lz4Block.maxCompressedLength(src.length)];
+        int length = compress(src, block);
+        byte[] restored = new byte[src.length];
+        Lz4Block.decompress(block, 0, length, restored, src.length);
+        return restored;
+    }
+
+    @Test
+    @DisplayName("Should shrink repetitive text and restore it exactly")
+    public void testRepetitive() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            text.append("Task number ").append(i).append('\n');
+        }
+        byte[] src = text.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] block = new byte[Lz4Block.maxCompressedLength(src.length)];
+
+        int length = compress(src, block);
+
+        assertTrue(length < src.length / 3, "compressed to " + length + " of " + src.length);
+        assertArrayEquals(src, roundTrip(src));
+    }
+
+    @Test
+    @DisplayName("Should restore random bytes, runs and tiny inputs")
+    public void testRoundTrips() throws IOException {
+        Random random = new Random(42);
+        for (int length : new int[] {0, 1, 5, 12, 13, 17, 300, 4096, 70_000, 200_000}) {
+            byte[] randomBytes = new byte[length];
+            random.nextBytes(randomBytes);
+            assertArrayEquals(randomBytes, roundTrip(randomBytes), "random " + length);
+
+            byte[] run = new byte[length];
+            Arrays.fill(run, (byte) 'a');
+            assertArrayEquals(run, roundTrip(run), "run " + length);
+        }
+    }
+
+    @Test
+    @DisplayName("Should never write more than maxCompressedLength bytes")
+    public void testIncompressible() {
+        byte[] src = new byte[100_000];
+        new Random(7).nextBytes(src);
+        byte[] block = new byte[Lz4Block.maxCompressedLength(src.length)];
+
+        assertTrue(compress(src, block) <= block.length);
+    }
+
+    @Test
+    @DisplayName("Should reject truncated, mislabeled and malformed blocks")
+    public void testCorrupt() {
+        byte[] src = "abcabcabcabcabcabcabcabcabcabc".getBytes(StandardCharsets.UTF_8);
+        byte[] block = new byte[Lz4Block.maxCompressedLength(src.length)];
+        int length = compress(src, block);
+        byte[] restored = new byte[src.length];
+
+        assertThrows(IOException.class, () -> Lz4Block.decompress(block, 0, length - 1, restored, src.length));
+        assertThrows(IOException.class, () -> Lz4Block.decompress(block, 0, length, restored, src.length - 1));
+        assertThrows(IOException.class, () -> Lz4Block.decompress(block, 0, length, new byte[64], 64));
+
+        byte[] offsetBeforeStart = {0x10, 'a', 0x05, 0x00, 0x00};
+        assertThrows(IOException.class, () -> Lz4Block.decompress(offsetBeforeStart, 0, 5, new byte[20], 20));
+        byte[] endlessLength = {(byte) 0xF0, (byte) 255, (byte) 255};
+        assertThrows(IOException.class, () -> Lz4Block.decompress(endlessLength, 0, 3, new byte[600], 600));
+    }
+}
@@ -0,0 +1,100 @@
+package persistence;
+
+import model.TaskItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import service.InMemoryTaskService;
+import service.StoreBackedTaskService;
+import service.TaskService;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for TaskExporter class.
+ * Tests the text written for each format, quoting and escaping, progress
+ * reports, and that exported files import back to the same tasks.
+ */
+@DisplayName("TaskExporter Tests")
+public class TaskExporterTest {
+
+    @TempDir
+    Path directory;
+
+    private TaskService taskService;
+
+    @BeforeEach
+    public void setUp() {
+        taskService = new InMemoryTaskService();
+        taskService.addTask(new TaskItem("Buy milk", "15-12-2025"));
+        TaskItem quoted = new TaskItem("Say \"hi\", then\nleave", "01-02-2030");
+        quoted.markAsCompleted();
+        taskService.addTask(quoted);
+    }
+
+    private static String export(TaskFileFormat format, TaskService service) throws IOException {
+        StringWriter writer = new StringWriter();
+        new TaskExporter(format).exportTo(service, writer);
+        return writer.toString();
+    }
+
+    @Test
+    @DisplayName("Should write CSV with a header and quoted fields")
+    public void testCsv() throws IOException {
+        assertEquals(
+            "task,due_date,completed\n"
+                + "Buy milk,15-12-2025,false\n"
+                + "\"Say \"\"hi\"\", then\nleave\",01-02-2030,true\n",
+            export(TaskFileFormat.CSV, taskService));
+    }
+
+    @Test
+    @DisplayName("Should write one escaped JSON object per line")
+    public void testJsonLines() throws IOException {
+        assertEquals(
+            "{\"task\":\"Buy milk\",\"dueDate\":\"15-12-2025\",\"completed\":false}\n"
+                + "{\"task\":\"Say \\\"hi\\\", then\\nleave\",\"dueDate\":\"01-02-2030\",\"completed\":true}\n",
+            export(TaskFileFormat.JSON_LINES, taskService));
+    }
+
+    @Test
+    @DisplayName("Should import exported files back to the same tasks")
+    public void testRoundTrip() throws IOException {
+        StoreBackedTaskService large = new StoreBackedTaskService();
+        for (int i = 0; i < 10_000; i++) {
+            TaskItem task = new TaskItem("Task " + i + (i % 7 == 0 ? ", with \"quotes\"" : "") + " ✓", "15-12-2025");
+            if (i % 3 == 0) {
+                task.markAsCompleted();
+            }
+            large.addTask(task);
+        }
+        for (TaskFileFormat format : TaskFileFormat.values()) {
+            Path file = directory.resolve("tasks-" + format);
+            List<Long> reports = new ArrayList<>();
+            long written = new TaskExporter(format, (done, total) -> {
+                assertEquals(10_000, total);
+                reports.add(done);
+            }).exportFile(large, file);
+            assertEquals(10_000, written);
+            assertEquals(List.of(4096L, 8192L, 10_000L), reports);
+
+            TaskService imported = new InMemoryTaskService();
+            ImportResult result = new TaskImporter(format).importInto(file, imported);
+            assertEquals(10_000, result.getImportedCount(), format.toString());
+            assertEquals(0, result.getRejectedCount());
+            for (int i = 0; i < 10_000; i++) {
+                assertEquals(large.getTask(i).toString(), imported.getTask(i).toString());
+            }
+        }
+        assertTrue(Files.readString(directory.resolve("tasks-CSV"), StandardCharsets.UTF_8).contains(" ✓"));
+    }
+}
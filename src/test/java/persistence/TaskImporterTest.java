@@ -0,0 +1,336 @@
+package persistence;
+
+import model.TaskItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for TaskImporter class.
+ * Tests parsing both formats, skipping and reporting bad rows, line
+ * numbers, progress, and reading more text than is ever held in memory.
+ */
+@DisplayName("TaskImporter Tests")
+public class TaskImporterTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<TaskItem> tasks = new ArrayList<>();
+
+    private ImportResult importText(TaskFileFormat format, String text) throws IOException {
+        return new TaskImporter(format).importFrom(new StringReader(text), tasks::add);
+    }
+
+    private List<String> describe() {
+        List<String> descriptions = new ArrayList<>();
+        for (TaskItem task : tasks) {
+            descriptions.add(task.getTask() + "|" + task.getDueDateFormatted() + "|" + task.isCompleted());
+        }
+        return descriptions;
+    }
+
+    @Test
+    @DisplayName("Should parse CSV with quoted fields, CRLF line breaks and an optional header")
+    public void testCsv() throws IOException {
+        ImportResult result = importText(TaskFileFormat.CSV,
+            "\uFEFFTask,Due_Date,Completed\r\n"
+                + "Buy milk,15-12-2025,false\r\n"
+                + "\r\n"
+                + "\"Say \"\"hi\"\", then\r\nleave\",01-02-2030,TRUE\r\n"
+                + "No status,02-02-2030,");
+
+        assertEquals(3, result.getImportedCount());
+        assertEquals(0, result.getRejectedCount());
+        assertEquals(List.of(
+            "Buy milk|15-12-2025|false",
+            "Say \"hi\", then\nleave|01-02-2030|true",
+            "No status|02-02-2030|false"), describe());
+
+        tasks.clear();
+        assertEquals(1, importText(TaskFileFormat.CSV, "Buy milk,15-12-2025,true").getImportedCount());
+        assertEquals(List.of("Buy milk|15-12-2025|true"), describe());
+    }
+
+    @Test
+    @DisplayName("Should parse JSON Lines with escapes and ignore unknown keys")
+    public void testJsonLines() throws IOException {
+        ImportResult result = importText(TaskFileFormat.JSON_LINES,
+            "{\"task\":\"Buy milk\",\"dueDate\":\"15-12-2025\",\"completed\":false}\n"
+                + "{ \"id\": 7, \"dueDate\" : \"01-02-2030\", \"task\": \"Tab\\there \\u00e9\\\"\", "
+                + "\"completed\": true, \"tags\": null }\n"
+                + "{\"task\":\"No status\",\"dueDate\":\"02-02-2030\"}\n");
+
+        assertEquals(3, result.getImportedCount());
+        assertEquals(List.of(
+            "Buy milk|15-12-2025|false",
+            "Tab\there é\"|01-02-2030|true",
+            "No status|02-02-2030|false"), describe());
+    }
+
+    @Test
+    @DisplayName("Should skip bad rows and report them with their line numbers")
+    public void testRejectedRows() throws IOException {
+        ImportResult result = importText(TaskFileFormat.CSV,
+            "task,due_date,completed\n"
+                + "Good,15-12-2025,false\n"
+                + "Bad date,31-13-2025,false\n"
+                + "\"Spans\nlines\",15-12-2025,maybe\n"
+                + "Too,many,fields,here\n"
+                + " ,15-12-2025,false\n"
+                + "Also good,16-12-2025,true\n");
+
+        assertEquals(2, result.getImportedCount());
+        assertEquals(4, result.getRejectedCount());
+        List<ImportResult.RejectedRow> rows = result.getRejectedRows();
+        assertEquals(List.of(3L, 4L, 6L, 7L), rows.stream().map(ImportResult.RejectedRow::getLineNumber).toList());
+        assertEquals("Bad date,31-13-2025,false", rows.get(0).getText());
+        assertEquals("Invalid date format. Expected: dd-MM-yyyy", rows.get(0).getReason());
+        assertEquals("Completed must be true or false", rows.get(1).getReason());
+        assertEquals("Expected 3 fields but found more", rows.get(2).getReason());
+        assertEquals("Task cannot be null or empty", rows.get(3).getReason());
+
+        ImportResult json = importText(TaskFileFormat.JSON_LINES,
+            "{\"task\":\"No date\"}\n{\"task\":\"x\",\"dueDate\":\"15-12-2025\"} trailing\nnot json\n");
+        assertEquals(0, json.getImportedCount());
+        assertEquals(List.of("Missing \"dueDate\"", "Unexpected text after the object", "Expected '{' at column 1"),
+            json.getRejectedRows().stream().map(ImportResult.RejectedRow::getReason).toList());
+    }
+
+    @Test
+    @DisplayName("Should reject a stray quote in an unquoted field without swallowing the rows after it")
+    public void testStrayQuote() throws IOException {
+        ImportResult result = importText(TaskFileFormat.CSV,
+            "12\" pizza,01-01-2025,false\n"
+                + "One,01-01-2025,false\n"
+                + "Two,02-01-2025,true\n"
+                + "Three \"inch\",03-01-2025,false\n"
+                + "\"Quoted \"\"twice\"\"\",04-01-2025,false\n"
+                + "Five,05-01-2025,false\n");
+
+        assertEquals(4, result.getImportedCount());
+        assertEquals(2, result.getRejectedCount());
+        assertEquals(List.of(1L, 4L),
+            result.getRejectedRows().stream().map(ImportResult.RejectedRow::getLineNumber).toList());
+        assertEquals("Quote inside an unquoted field", result.getRejectedRows().get(0).getReason());
+        assertEquals(List.of("One|01-01-2025|false", "Two|02-01-2025|true",
+            "Quoted \"twice\"|04-01-2025|false", "Five|05-01-2025|false"), describe());
+    }
+
+    @Test
+    @DisplayName("Should skip rows with invalid UTF-8 in files and report progress in bytes")
+    public void testFile() throws IOException {
+        Path file = directory.resolve("tasks.csv");
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            text.append("Task ").append(i).append(",15-12-2025,false\n");
+        }
+        byte[] valid = text.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] latin1 = "Café,15-12-2025,false\n".getBytes(StandardCharsets.ISO_8859_1);
+        byte[] bytes = Arrays.copyOf(valid, valid.length + latin1.length);
+        System.arraycopy(latin1, 0, bytes, valid.length, latin1.length);
+        Files.write(file, bytes);
+
+        List<long[]> reports = new ArrayList<>();
+        TaskImporter importer = new TaskImporter(TaskFileFormat.forFile(file),
+            (done, total) -> reports.add(new long[]{done, total}));
+        ImportResult result = importer.importFile(file, tasks::add);
+
+        assertEquals(5000, result.getImportedCount());
+        assertEquals(1, result.getRejectedCount());
+        assertEquals(5001, result.getRejectedRows().get(0).getLineNumber());
+        assertEquals("Row is not valid UTF-8", result.getRejectedRows().get(0).getReason());
+        assertEquals(2, reports.size());
+        assertArrayEquals(new long[]{bytes.length, bytes.length}, reports.get(1));
+    }
+
+    @Test
+    @DisplayName("Should stream rows without keeping them, skipping overlong and keeping only the first bad rows")
+    public void testConstantMemory() throws IOException {
+        long rows = 300_000;
+        Reader generated = new Reader() {
+            private long row;
+            private String pending = "";
+            private int offset;
+
+            @Override
+            public int read(char[] buffer, int off, int len) {
+                if (offset == pending.length()) {
+                    if (row == rows) {
+                        return -1;
+                    }
+                    pending = row == 0 ? "x".repeat(TaskImporter.MAX_RECORD_CHARS + 10) + "\n"
+                        : row % 2 == 0 ? "Task " + row + ",15-12-2025,false\n" : "Bad row " + row + "\n";
+                    offset = 0;
+                    row++;
+                }
+                int count = Math.min(len, pending.length() - offset);
+                pending.getChars(offset, offset + count, buffer, off);
+                offset += count;
+                return count;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        long[] imported = new long[1];
+        LocalDate due = LocalDate.of(2025, 12, 15);
+        ImportResult result = new TaskImporter(TaskFileFormat.CSV).importFrom(generated, task -> {
+            assertEquals(due, task.getDueDate());
+            imported[0]++;
+        });
+
+        assertEquals(rows / 2 - 1, result.getImportedCount());
+        assertEquals(imported[0], result.getImportedCount());
+        assertEquals(rows / 2 + 1, result.getRejectedCount());
+        assertEquals(ImportResult.MAX_REJECTED_ROWS, result.getRejectedRows().size());
+        ImportResult.RejectedRow overlong = result.getRejectedRows().get(0);
+        assertEquals("Row is longer than " + TaskImporter.MAX_RECORD_CHARS + " characters", overlong.getReason());
+        assertEquals(ImportResult.RejectedRow.MAX_TEXT_LENGTH + 3, overlong.getText().length());
+    }
+
+    /**
+     * Writes a file of several chunks with quoted line breaks, CRLF line ends and bad rows.
+     */
+    private Path writeLargeFile(TaskFileFormat format) throws IOException {
+        StringBuilder text = new StringBuilder(format == TaskFileFormat.CSV ? "task,due_date,completed\r\n" : "");
+        for (int i = 0; i < 60_000; i++) {
+            String task = i % 3 == 0 ? "Task " + i + "\nsecond line\nthird, \"quoted\"" : "Task " + i;
+            String due = i % 1000 == 999 ? "31-13-2025" : "15-12-2025";
+            if (format == TaskFileFormat.CSV) {
+                String field = i % 3 == 0 ? "\"" + task.replace("\"", "\"\"") + "\"" : task;
+                text.append(field).append(',').append(due).append(',').append(i % 2 == 0).append("\r\n");
+            } else {
+                text.append("{\"task\":\"").append(task.replace("\"", "\\\"").replace("\n", "\\n"))
+                    .append("\",\"dueDate\":\"").append(due).append("\",\"completed\":").append(i % 2 == 0)
+                    .append("}\n");
+            }
+        }
+        Path file = directory.resolve("large-" + format);
+        Files.writeString(file, text, StandardCharsets.UTF_8);
+        assertTrue(Files.size(file) > 8L * TaskImporter.MIN_CHUNK_BYTES);
+        return file;
+    }
+
+    @Test
+    @DisplayName("Should import in parallel exactly as in sequence, in file order")
+    public void testParallel() throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (TaskFileFormat format : TaskFileFormat.values()) {
+                Path file = writeLargeFile(format);
+                TaskImporter importer = new TaskImporter(format);
+                ImportResult sequential = importer.importFile(file, tasks::add);
+                List<String> expected = describe();
+                tasks.clear();
+
+                List<long[]> reports = new ArrayList<>();
+                ImportResult parallel = new TaskImporter(format, (done, total) -> reports.add(new long[]{done, total}))
+                    .importFileParallel(file, tasks::add, pool);
+
+                assertEquals(expected, describe(), format.toString());
+                assertEquals(sequential.getImportedCount(), parallel.getImportedCount());
+                assertEquals(60, parallel.getRejectedCount());
+                assertEquals(
+                    sequential.getRejectedRows().stream().map(ImportResult.RejectedRow::toString).toList(),
+                    parallel.getRejectedRows().stream().map(ImportResult.RejectedRow::toString).toList());
+                for (int i = 1; i < tasks.size(); i++) {
+                    assertTrue(tasks.get(i).getId() > tasks.get(i - 1).getId());
+                }
+                assertTrue(reports.size() > 1);
+                assertArrayEquals(new long[]{Files.size(file), Files.size(file)}, reports.get(reports.size() - 1));
+                tasks.clear();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should split on the same quotes as in sequence, past stray, long and unterminated quoted fields")
+    public void testParallelQuotes() throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (String lineEnd : List.of("\n", "\r")) {
+                String terminated = quotedRows(lineEnd);
+                String unterminated = terminated + "\"Open,15-12-2025,false" + lineEnd
+                    + ("Lost,15-12-2025,false" + lineEnd).repeat(200_000);
+                for (String text : List.of(terminated, unterminated)) {
+                    Path file = directory.resolve("quotes.csv");
+                    Files.writeString(file, text, StandardCharsets.UTF_8);
+                    TaskImporter importer = new TaskImporter(TaskFileFormat.CSV);
+                    ImportResult sequential = importer.importFile(file, tasks::add);
+                    List<String> expected = describe();
+                    tasks.clear();
+
+                    ImportResult parallel = importer.importFileParallel(file, tasks::add, pool);
+
+                    assertEquals(expected, describe());
+                    assertEquals(40_001, parallel.getImportedCount());
+                    assertEquals(sequential.getRejectedCount(), parallel.getRejectedCount());
+                    assertEquals(
+                        sequential.getRejectedRows().stream().map(ImportResult.RejectedRow::toString).toList(),
+                        parallel.getRejectedRows().stream().map(ImportResult.RejectedRow::toString).toList());
+                    tasks.clear();
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Builds CSV rows with a stray quote at the start and a quoted field of many lines in the middle.
+     */
+    private static String quotedRows(String lineEnd) {
+        StringBuilder rows = new StringBuilder("task,due_date,completed").append(lineEnd)
+            .append("12\" pizza,01-01-2025,false").append(lineEnd);
+        for (int i = 0; i < 20_000; i++) {
+            rows.append("Task ").append(i).append(",15-12-2025,false").append(lineEnd);
+        }
+        rows.append("\"Long").append((lineEnd + "quoted, \"\"line\"\"").repeat(30_000))
+            .append("\",15-12-2025,true").append(lineEnd);
+        for (int i = 0; i < 20_000; i++) {
+            rows.append("After ").append(i).append(",15-12-2025,true").append(lineEnd);
+        }
+        return rows.toString();
+    }
+
+    @Test
+    @DisplayName("Should import small and empty files in parallel")
+    public void testParallelSmallFiles() throws IOException {
+        Path file = directory.resolve("tasks.csv");
+        Files.writeString(file, "task,due_date,completed\nOnly,15-12-2025,true");
+        ImportResult result = new TaskImporter(TaskFileFormat.CSV).importFileParallel(file, tasks::add, ForkJoinPool.commonPool());
+        assertEquals(1, result.getImportedCount());
+        assertEquals(List.of("Only|15-12-2025|true"), describe());
+
+        Files.writeString(file, "");
+        assertEquals(0, new TaskImporter(TaskFileFormat.CSV).importFileParallel(file, tasks::add, ForkJoinPool.commonPool())
+            .getImportedCount());
+    }
+
+    @Test
+    @DisplayName("Should pick the format from the file extension")
+    public void testForFile() {
+        assertEquals(TaskFileFormat.CSV, TaskFileFormat.forFile(Path.of("a", "Tasks.CSV")));
+        assertEquals(TaskFileFormat.JSON_LINES, TaskFileFormat.forFile(Path.of("tasks.jsonl")));
+        assertEquals(TaskFileFormat.JSON_LINES, TaskFileFormat.forFile(Path.of("tasks.ndjson")));
+        assertThrows(IllegalArgumentException.class, () -> TaskFileFormat.forFile(Path.of("tasks.txt")));
+    }
+}
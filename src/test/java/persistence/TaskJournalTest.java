@@ -0,0 +1,222 @@
+package persistence;
+
+import model.TaskItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import service.ConcurrentTaskService;
+import service.InMemoryTaskService;
+import service.StoreBackedTaskService;
+import service.TaskService;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for TaskJournal class.
+ * Tests that every kind of change is replayed, that snapshots replace old
+ * generations, and that recovery copes with leftovers of an interrupted run.
+ */
+@DisplayName("TaskJournal Tests")
+public class TaskJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private static final TaskJournal.Settings FAST_SYNC = new TaskJournal.Settings(16, 0, false, 1_000_000);
+
+    private List<String> describe(TaskService service) {
+        List<String> descriptions = new ArrayList<>();
+        for (TaskItem task : service.getAllTasks()) {
+            descriptions.add(task.getId() + " " + task);
+        }
+        return descriptions;
+    }
+
+    private List<String> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    @Test
+    @DisplayName("Should replay every kind of change after reopening")
+    public void testReplay() throws IOException {
+        TaskService service = new InMemoryTaskService();
+        TaskItem kept = new TaskItem("Write report", "15-12-2025");
+        TaskItem removed = new TaskItem("Old task", "01-01-2020");
+        TaskItem cleared = new TaskItem("Cleared task", "01-01-2021");
+        try (TaskJournal journal = TaskJournal.open(directory, service, FAST_SYNC)) {
+            service.addTask(cleared);
+            service.clearAllTasks();
+            service.addTask(kept);
+            service.addTask(removed);
+            kept.setTask("Write final report");
+            kept.setDueDate("20-12-2025");
+            kept.toggleCompleted();
+            assertTrue(service.updateById(removed.getId(), "Renamed", "02-01-2020"));
+            service.removeById(removed.getId());
+        }
+        List<String> expected = describe(service);
+
+        TaskService restored = new InMemoryTaskService();
+        try (TaskJournal journal = TaskJournal.open(directory, restored, FAST_SYNC)) {
+            assertEquals(expected, describe(restored));
+            assertTrue(restored.getById(kept.getId()).orElseThrow().isCompleted());
+        }
+    }
+
+    @Test
+    @DisplayName("Should replace old generations with a snapshot")
+    public void testSnapshot() throws IOException {
+        TaskService service = new InMemoryTaskService();
+        TaskJournal.Settings settings = new TaskJournal.Settings(16, 0, false, 50);
+        try (TaskJournal journal = TaskJournal.open(directory, service, settings)) {
+            for (int i = 0; i < 120; i++) {
+                service.addTask(new TaskItem("Task " + i, "01-02-2026"));
+            }
+            service.getTask(0).toggleCompleted();
+            journal.sync();
+            assertEquals(List.of("log-2", "snapshot-2"), files());
+        }
+        List<String> expected = describe(service);
+
+        TaskService restored = new InMemoryTaskService();
+        try (TaskJournal journal = TaskJournal.open(directory, restored, settings)) {
+            assertEquals(expected, describe(restored));
+        }
+    }
+
+    @Test
+    @DisplayName("Should write the tasks as they were at the switch to a snapshot")
+    public void testSnapshotCapturesSwitch() throws IOException {
+        TaskService service = new InMemoryTaskService();
+        TaskItem task = new TaskItem("Before switch", "01-02-2026");
+        try (TaskJournal journal = TaskJournal.open(directory, service, FAST_SYNC)) {
+            service.addTask(task);
+            journal.snapshot();
+            task.setTask("After switch");
+            task.toggleCompleted();
+            service.addTask(new TaskItem("Added after switch", "02-02-2026"));
+            journal.sync();
+        }
+        // Without the newer log only the snapshot is loaded.
+        assertEquals(List.of("log-1", "snapshot-1"), files());
+        Files.delete(directory.resolve("log-1"));
+
+        TaskService restored = new InMemoryTaskService();
+        try (TaskJournal journal = TaskJournal.open(directory, restored, FAST_SYNC)) {
+            assertEquals(1, restored.getTaskCount());
+            TaskItem loaded = restored.getTask(0);
+            assertEquals(task.getId(), loaded.getId());
+            assertEquals("Before switch", loaded.getTask());
+            assertFalse(loaded.isCompleted());
+        }
+    }
+
+    @Test
+    @DisplayName("Should recover when a snapshot was not finished")
+    public void testUnfinishedSnapshot() throws IOException {
+        TaskService service = new InMemoryTaskService();
+        try (TaskJournal journal = TaskJournal.open(directory, service, FAST_SYNC)) {
+            service.addTask(new TaskItem("First", "01-02-2026"));
+            service.addTask(new TaskItem("Second", "02-02-2026"));
+        }
+        // A crash after switching logs but before the snapshot was renamed.
+        Files.write(directory.resolve("snapshot-1.tmp"), new byte[] {1, 2, 3});
+        try (WriteAheadLog log = WriteAheadLog.open(directory.resolve("log-1"), 1, 0)) {
+            ByteBuffer remove = ByteBuffer.allocate(9).put((byte) 2).putLong(service.getTask(0).getId());
+            log.append(remove.flip());
+        }
+
+        TaskService restored = new InMemoryTaskService();
+        try (TaskJournal journal = TaskJournal.open(directory, restored, FAST_SYNC)) {
+            assertEquals(List.of("Second"), restored.getAllTasks().stream().map(TaskItem::getTask).toList());
+            assertFalse(files().contains("snapshot-1.tmp"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should wait for each change to be synced when asked to")
+    public void testWaitForSync() throws IOException {
+        TaskService service = new StoreBackedTaskService();
+        TaskJournal.Settings settings = new TaskJournal.Settings(1_000, 60_000, true, 1_000_000);
+        TaskJournal journal = TaskJournal.open(directory, service, settings);
+        TaskItem task = new TaskItem("Synced", "01-02-2026");
+        service.addTask(task);
+        service.getById(task.getId()).orElseThrow().markAsCompleted();
+
+        // Copy the log while the journal is still open, as if the process had crashed.
+        Path copy = Files.createDirectories(directory.resolve("copy"));
+        Files.copy(directory.resolve("log-0"), copy.resolve("log-0"));
+        journal.close();
+
+        TaskService restored = new InMemoryTaskService();
+        List<TaskItem> replayed;
+        try (TaskJournal copyJournal = TaskJournal.open(copy, restored)) {
+            replayed = restored.getAllTasks();
+        }
+
+        assertEquals(1, replayed.size());
+        assertTrue(replayed.get(0).isCompleted());
+    }
+
+    @Test
+    @DisplayName("Should record concurrent changes from many threads")
+    public void testConcurrentWriters() throws Exception {
+        ConcurrentTaskService service = new ConcurrentTaskService();
+        TaskJournal.Settings settings = new TaskJournal.Settings(64, 1, false, 500);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (TaskJournal journal = TaskJournal.open(directory, service, settings)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        TaskItem task = new TaskItem("Task " + i, "01-02-2026");
+                        service.addTask(task);
+                        if (i % 2 == 0) {
+                            task.toggleCompleted();
+                        } else {
+                            service.removeById(task.getId());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        List<String> expected = describe(service);
+
+        TaskService restored = new ConcurrentTaskService();
+        try (TaskJournal journal = TaskJournal.open(directory, restored, settings)) {
+            assertEquals(1_000, restored.getTaskCount());
+            assertEquals(expected, describe(restored));
+            assertEquals(1_000, restored.getCompletedTasks().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Should only open for an empty service")
+    public void testRequiresEmptyService() {
+        TaskService service = new InMemoryTaskService();
+        service.addTask(new TaskItem("Existing", "01-02-2026"));
+        assertThrows(IllegalArgumentException.class, () -> TaskJournal.open(directory, service));
+        assertThrows(IllegalArgumentException.class, () -> new TaskJournal.Settings(0, 0, false, 1));
+        assertEquals(LocalDate.of(2026, 2, 1), service.getTask(0).getDueDate());
+    }
+}
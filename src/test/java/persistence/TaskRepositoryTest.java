@@ -0,0 +1,355 @@
+package persistence;
+
+import model.TaskItem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import service.InMemoryTaskService;
+import service.TaskService;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for TaskRepository class.
+ * Tests the task table operations, batched bulk writes and paged bulk
+ * reads against H2 databases.
+ */
+@DisplayName("TaskRepository Tests")
+public class TaskRepositoryTest {
+
+    private ConnectionPool pool;
+    private TaskRepository repository;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        String url = "jdbc:h2:mem:repository-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1";
+        pool = new ConnectionPool(ConnectionFactory.of(url, "sa", ""), 2, 1_000);
+        repository = new TaskRepository(pool);
+        repository.createTable();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("Should insert and load a task with all its fields")
+    public void testInsertAndFind() throws SQLException {
+        TaskItem task = new TaskItem("Buy milk", "15-12-2025");
+        task.markAsCompleted();
+        repository.insert(task);
+
+        TaskItem stored = repository.findById(task.getId()).orElseThrow();
+        assertEquals(task.getId(), stored.getId());
+        assertEquals("Buy milk", stored.getTask());
+        assertEquals(LocalDate.of(2025, 12, 15), stored.getDueDate());
+        assertTrue(stored.isCompleted());
+        assertTrue(repository.exists(task.getId()));
+        assertEquals(1, repository.count());
+        assertTrue(repository.findById(-1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject a second insert with the same ID")
+    public void testDuplicateInsert() throws SQLException {
+        TaskItem task = new TaskItem("Task", "01-01-2026");
+        repository.insert(task);
+        assertThrows(SQLException.class, () -> repository.insert(task));
+        assertEquals(1, repository.count());
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    @DisplayName("Should update and delete stored tasks only")
+    public void testUpdateAndDelete() throws SQLException {
+        TaskItem task = new TaskItem("Task", "01-01-2026");
+        assertFalse(repository.update(task));
+        repository.insert(task);
+
+        task.update("Renamed", "02-01-2026");
+        assertTrue(repository.update(task));
+        assertEquals("Renamed", repository.findById(task.getId()).orElseThrow().getTask());
+
+        assertTrue(repository.delete(task.getId()));
+        assertFalse(repository.delete(task.getId()));
+        assertFalse(repository.exists(task.getId()));
+    }
+
+    @Test
+    @DisplayName("Should store text as data rather than SQL")
+    public void testParametersBound() throws SQLException {
+        TaskItem task = new TaskItem("'); DROP TABLE tasks; --", "01-01-2026");
+        repository.insert(task);
+        assertEquals("'); DROP TABLE tasks; --", repository.findById(task.getId()).orElseThrow().getTask());
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should return every connection after many operations")
+    public void testConnectionsReturned() throws SQLException {
+        for (int i = 0; i < 100; i++) {
+            TaskItem task = new TaskItem("Task " + i, "01-01-2026");
+            repository.insert(task);
+            repository.exists(task.getId());
+        }
+        assertEquals(100, repository.count());
+        assertEquals(1, pool.getOpenCount());
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    @DisplayName("Should reject null tasks, pools and invalid batch sizes")
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new TaskRepository(null));
+        assertThrows(IllegalArgumentException.class, () -> new TaskRepository(pool, 0));
+        assertThrows(IllegalArgumentException.class, () -> repository.insert(null));
+        assertThrows(IllegalArgumentException.class, () -> repository.update(null));
+        assertThrows(IllegalArgumentException.class, () -> repository.insertAll((List<TaskItem>) null));
+    }
+
+    private static List<TaskItem> tasks(int count) {
+        List<TaskItem> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(new TaskItem("Task " + i, "01-01-2026"));
+        }
+        return tasks;
+    }
+
+    @Test
+    @DisplayName("Should insert a collection and a stream in batches")
+    public void testInsertAll() throws SQLException {
+        TaskRepository batched = new TaskRepository(pool, 3);
+        List<TaskItem> tasks = tasks(10);
+
+        assertEquals(10, batched.insertAll(tasks));
+        assertEquals(0, batched.insertAll(List.of()));
+        assertEquals(5, batched.insertAll(IntStream.range(0, 5).mapToObj(i -> new TaskItem("Streamed " + i, "02-01-2026"))));
+
+        assertEquals(15, repository.count());
+        assertEquals("Task 7", repository.findById(tasks.get(7).getId()).orElseThrow().getTask());
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    @DisplayName("Should overwrite stored tasks with the same ID and insert the rest")
+    public void testUpsertAll() throws SQLException {
+        TaskRepository batched = new TaskRepository(pool, 4);
+        List<TaskItem> tasks = tasks(6);
+        batched.insertAll(tasks.subList(0, 3));
+
+        tasks.get(0).markAsCompleted();
+        tasks.get(1).update("Renamed", "05-05-2026");
+        assertEquals(6, batched.upsertAll(tasks));
+        assertEquals(2, batched.upsertAll(tasks.subList(4, 6).stream()));
+
+        assertEquals(6, repository.count());
+        assertTrue(repository.findById(tasks.get(0).getId()).orElseThrow().isCompleted());
+        TaskItem renamed = repository.findById(tasks.get(1).getId()).orElseThrow();
+        assertEquals("Renamed", renamed.getTask());
+        assertEquals(LocalDate.of(2026, 5, 5), renamed.getDueDate());
+        assertTrue(repository.exists(tasks.get(5).getId()));
+    }
+
+    @Test
+    @DisplayName("Should roll back only the failing batch")
+    public void testFailedBatchRolledBack() throws SQLException {
+        TaskRepository batched = new TaskRepository(pool, 3);
+        List<TaskItem> tasks = tasks(7);
+        repository.insert(tasks.get(4));
+
+        assertThrows(SQLException.class, () -> batched.insertAll(tasks));
+        assertEquals(4, repository.count());
+        assertTrue(repository.exists(tasks.get(2).getId()));
+        assertFalse(repository.exists(tasks.get(3).getId()));
+        assertFalse(repository.exists(tasks.get(6).getId()));
+
+        List<TaskItem> withNull = new ArrayList<>(tasks(2));
+        withNull.add(null);
+        assertThrows(IllegalArgumentException.class, () -> batched.upsertAll(withNull));
+        assertEquals(4, repository.count());
+
+        assertTrue(repository.delete(tasks.get(4).getId()));
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    @DisplayName("Should keep the batch error when auto-commit cannot be restored")
+    public void testAutoCommitRestoreFailure() throws SQLException {
+        String url = "jdbc:h2:mem:restore-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1";
+        AtomicBoolean failRestore = new AtomicBoolean();
+        ConnectionPool failing = new ConnectionPool(() -> {
+            Connection connection = DriverManager.getConnection(url, "sa", "");
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    if (failRestore.get() && method.getName().equals("setAutoCommit") && (Boolean) args[0]) {
+                        throw new SQLException("Link failure", "08S01");
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        }, 1, 1_000);
+        try (failing) {
+            TaskRepository batched = new TaskRepository(failing, 2);
+            batched.createTable();
+            List<TaskItem> tasks = tasks(3);
+            batched.insert(tasks.get(1));
+            failRestore.set(true);
+
+            SQLException exception = assertThrows(SQLException.class, () -> batched.insertAll(tasks));
+            assertNotEquals("08S01", exception.getSQLState());
+            assertEquals(1, exception.getSuppressed().length);
+            assertEquals("Link failure", exception.getSuppressed()[0].getMessage());
+            assertEquals(0, failing.getOpenCount());
+
+            failRestore.set(false);
+            assertEquals(1, batched.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should pick the upsert dialect from the database name")
+    public void testDialects() {
+        assertEquals(SqlDialect.MYSQL, SqlDialect.forProductName("MySQL"));
+        assertEquals(SqlDialect.MYSQL, SqlDialect.forProductName("MariaDB"));
+        assertEquals(SqlDialect.POSTGRESQL, SqlDialect.forProductName("PostgreSQL"));
+        assertEquals(SqlDialect.H2, SqlDialect.forProductName("H2"));
+        assertEquals(SqlDialect.STANDARD, SqlDialect.forProductName("Apache Derby"));
+        assertEquals(SqlDialect.STANDARD, SqlDialect.forProductName(null));
+        assertTrue(Arrays.stream(SqlDialect.values()).allMatch(dialect -> dialect.upsert().contains("tasks")));
+    }
+
+    @Test
+    @DisplayName("Should upsert with the standard MERGE statement")
+    public void testStandardUpsert() throws SQLException {
+        TaskItem task = new TaskItem("Task", "01-01-2026");
+        repository.insert(task);
+        try (PooledConnection connection = pool.borrow()) {
+            PreparedStatement statement = connection.prepare(SqlDialect.STANDARD.upsert());
+            statement.setLong(1, task.getId());
+            statement.setString(2, "Merged");
+            statement.setObject(3, LocalDate.of(2026, 3, 3));
+            statement.setBoolean(4, true);
+            assertEquals(1, statement.executeUpdate());
+        }
+        TaskItem merged = repository.findById(task.getId()).orElseThrow();
+        assertEquals("Merged", merged.getTask());
+        assertTrue(merged.isCompleted());
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should read every task in ID order, one page at a time")
+    public void testForEachAndStream() throws SQLException {
+        TaskRepository paged = new TaskRepository(pool, 4);
+        List<TaskItem> tasks = tasks(10);
+        paged.insertAll(tasks);
+        List<Long> ids = tasks.stream().map(TaskItem::getId).toList();
+
+        List<Long> visited = new ArrayList<>();
+        assertEquals(10, paged.forEach(item -> visited.add(item.getId())));
+        assertEquals(ids, visited);
+        assertEquals(ids, paged.streamAll().map(TaskItem::getId).toList());
+        assertEquals(ids.subList(0, 3), paged.streamAll().limit(3).map(TaskItem::getId).toList());
+
+        TaskRepository exactPages = new TaskRepository(pool, 5);
+        assertEquals(10, exactPages.streamAll().count());
+        assertEquals("Task 9", exactPages.streamAll().reduce((first, second) -> second).orElseThrow().getTask());
+        assertThrows(IllegalArgumentException.class, () -> paged.forEach(null));
+    }
+
+    @Test
+    @DisplayName("Should let the action use the repository while loading")
+    public void testForEachReentrant() throws SQLException {
+        ConnectionPool single = new ConnectionPool(
+            ConnectionFactory.of("jdbc:h2:mem:single-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", ""), 1, 100);
+        try (single) {
+            TaskRepository paged = new TaskRepository(single, 2);
+            paged.createTable();
+            paged.insertAll(tasks(5));
+            List<Optional<TaskItem>> found = new ArrayList<>();
+            assertEquals(5, paged.forEach(item -> {
+                try {
+                    found.add(paged.findById(item.getId()));
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            assertTrue(found.stream().allMatch(Optional::isPresent));
+        }
+    }
+
+    @Test
+    @DisplayName("Should load stored tasks into a task service")
+    public void testLoadInto() throws SQLException {
+        List<TaskItem> tasks = tasks(3);
+        tasks.get(1).markAsCompleted();
+        repository.insertAll(tasks);
+        TaskService taskService = new InMemoryTaskService();
+
+        assertEquals(3, repository.loadInto(taskService));
+        assertEquals(tasks, taskService.getAllTasks());
+        assertTrue(taskService.getTask(1).isCompleted());
+        assertThrows(IllegalArgumentException.class, () -> repository.loadInto(taskService));
+        assertThrows(IllegalArgumentException.class, () -> repository.loadInto(null));
+    }
+
+    @Test
+    @DisplayName("Should stream millions of rows while heap use stays flat")
+    public void testStreamingMemoryStaysFlat() throws SQLException {
+        int rows = 2_000_000;
+        String url = "jdbc:h2:mem:stream-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1";
+        try (ConnectionPool memoryPool = new ConnectionPool(ConnectionFactory.of(url, "sa", ""), 1, 1_000)) {
+            TaskRepository paged = new TaskRepository(memoryPool, 1_000);
+            try (PooledConnection connection = memoryPool.borrow();
+                 Statement statement = connection.connection().createStatement()) {
+                statement.execute("CREATE TABLE tasks (id BIGINT PRIMARY KEY, task VARCHAR(1000) NOT NULL, "
+                    + "due_date DATE NOT NULL, completed BOOLEAN NOT NULL) AS SELECT X, 'Streamed task number ' || X, "
+                    + "DATEADD(DAY, MOD(X, 3650), DATE '2020-01-01'), MOD(X, 2) = 0 FROM SYSTEM_RANGE(1, " + rows + ")");
+            }
+            AtomicLong maxGrowth = new AtomicLong();
+            AtomicLong lastId = new AtomicLong();
+            long baseline = usedHeapAfterGc();
+            long count = paged.streamAll()
+                .peek(item -> {
+                    assertTrue(item.getId() > lastId.getAndSet(item.getId()));
+                    if (item.getId() % 250_000 == 0) {
+                        maxGrowth.accumulateAndGet(usedHeapAfterGc() - baseline, Math::max);
+                    }
+                })
+                .count();
+
+            assertEquals(rows, count);
+            assertEquals(rows, lastId.get());
+            // Two million TaskItems would need hundreds of megabytes; one page needs well under one.
+            assertTrue(maxGrowth.get() < 32L * 1024 * 1024,
+                "Heap grew by " + maxGrowth.get() / 1024 + " KB while streaming");
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
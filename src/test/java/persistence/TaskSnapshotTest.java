@@ -0,0 +1,197 @@
+package persistence;
+
+import model.TaskItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import service.InMemoryTaskService;
+import service.TaskService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for TaskSnapshotWriter and TaskSnapshotReader classes.
+ * Tests round trips with and without compression, multi-block and
+ * oversized records, saving to and loading from files, and rejecting
+ * foreign, truncated and corrupted snapshots.
+ */
+@DisplayName("TaskSnapshot Tests")
+public class TaskSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private static List<TaskItem> sampleTasks(int count) {
+        List<TaskItem> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(new TaskItem(1000 + i * 3L, "Task number " + i,
+                LocalDate.of(2020, 1, 1).plusDays(i % 900), i % 3 == 0));
+        }
+        return tasks;
+    }
+
+    private static byte[] write(List<TaskItem> tasks, boolean compressed) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (TaskSnapshotWriter writer = new TaskSnapshotWriter(Channels.newChannel(bytes), compressed)) {
+            for (TaskItem task : tasks) {
+                writer.write(task);
+            }
+            writer.finish();
+            assertEquals(tasks.size(), writer.getTaskCount());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<TaskItem> read(byte[] snapshot) throws IOException {
+        List<TaskItem> tasks = new ArrayList<>();
+        try (TaskSnapshotReader reader = new TaskSnapshotReader(
+                Channels.newChannel(new ByteArrayInputStream(snapshot)))) {
+            long count = reader.forEach(tasks::add);
+            assertEquals(tasks.size(), count);
+        }
+        return tasks;
+    }
+
+    private static void assertSameTasks(List<TaskItem> expected, List<TaskItem> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            TaskItem want = expected.get(i);
+            TaskItem got = actual.get(i);
+            assertEquals(want.getId(), got.getId());
+            assertEquals(want.getTask(), got.getTask());
+            assertEquals(want.getDueDate(), got.getDueDate());
+            assertEquals(want.isCompleted(), got.isCompleted());
+        }
+    }
+
+    @Test
+    @DisplayName("Should restore IDs, text, dates and status with and without compression")
+    public void testRoundTrip() throws IOException {
+        List<TaskItem> tasks = sampleTasks(50_000);
+        tasks.add(new TaskItem(5, "Ünïcödé ✓ 😀 task", LocalDate.of(1, 1, 1), true));
+        tasks.add(new TaskItem(40_000_000_000L, "Far future", LocalDate.of(9999, 12, 31), false));
+        tasks.add(new TaskItem(7, "Before the epoch", LocalDate.of(1960, 6, 15), false));
+
+        byte[] plain = write(tasks, false);
+        byte[] compressed = write(tasks, true);
+
+        assertSameTasks(tasks, read(plain));
+        assertSameTasks(tasks, read(compressed));
+        assertTrue(compressed.length < plain.length / 2,
+            "compressed " + compressed.length + " of " + plain.length);
+        assertTrue(plain.length < 50_000 * 24, "plain snapshot took " + plain.length + " bytes");
+    }
+
+    @Test
+    @DisplayName("Should hold empty snapshots and tasks longer than a block")
+    public void testEmptyAndOversized() throws IOException {
+        assertSameTasks(Collections.emptyList(), read(write(Collections.emptyList(), true)));
+
+        String longText = "x".repeat(TaskSnapshotFormat.BLOCK_BYTES * 3);
+        List<TaskItem> tasks = sampleTasks(3);
+        tasks.add(1, new TaskItem(2, longText, LocalDate.of(2030, 1, 1), false));
+
+        assertSameTasks(tasks, read(write(tasks, true)));
+        assertSameTasks(tasks, read(write(tasks, false)));
+    }
+
+    @Test
+    @DisplayName("Should return tasks one at a time and null after the last")
+    public void testNext() throws IOException {
+        List<TaskItem> tasks = sampleTasks(2);
+        try (TaskSnapshotReader reader = new TaskSnapshotReader(
+                Channels.newChannel(new ByteArrayInputStream(write(tasks, true))))) {
+            assertTrue(reader.isCompressed());
+            assertEquals("Task number 0", reader.next().getTask());
+            assertEquals("Task number 1", reader.next().getTask());
+            assertNull(reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("Should save a service to a file and load it into another")
+    public void testSaveAndLoad() throws IOException {
+        TaskService source = new InMemoryTaskService();
+        for (TaskItem task : sampleTasks(1000)) {
+            source.addTask(task);
+        }
+        Path file = directory.resolve("tasks.snapshot");
+        Files.writeString(file, "previous contents");
+
+        assertEquals(1000, TaskSnapshotWriter.save(source, file, true));
+        TaskService target = new InMemoryTaskService();
+        assertEquals(1000, TaskSnapshotReader.load(file, target));
+
+        assertSameTasks(source.getAllTasks(), target.getAllTasks());
+        assertTrue(TaskItem.withDueDate("Created later", LocalDate.now()).getId() > source.getTask(999).getId());
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject foreign, newer, unfinished and truncated snapshots")
+    public void testRejectIncomplete() throws IOException {
+        assertThrows(IOException.class, () -> read("not a snapshot".getBytes()));
+        assertThrows(IOException.class, () -> read(new byte[0]));
+
+        byte[] snapshot = write(sampleTasks(10_000), true);
+        byte[] newer = snapshot.clone();
+        newer[4] = 2;
+        IOException version = assertThrows(IOException.class, () -> read(newer));
+        assertEquals("Unsupported task snapshot version: 2", version.getMessage());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (TaskSnapshotWriter writer = new TaskSnapshotWriter(Channels.newChannel(bytes), false)) {
+            writer.write(sampleTasks(1).get(0));
+        }
+        assertThrows(IOException.class, () -> read(bytes.toByteArray()));
+
+        for (int length : new int[] {7, snapshot.length / 2, snapshot.length - 1}) {
+            byte[] truncated = Arrays.copyOf(snapshot, length);
+            assertThrows(IOException.class, () -> read(truncated), "truncated to " + length);
+        }
+    }
+
+    @Test
+    @DisplayName("Should detect a changed byte through the block checksum")
+    public void testRejectCorrupt() throws IOException {
+        for (boolean compressed : new boolean[] {false, true}) {
+            byte[] snapshot = write(sampleTasks(10_000), compressed);
+            byte[] corrupt = snapshot.clone();
+            corrupt[snapshot.length / 2] ^= 0x20;
+
+            IOException error = assertThrows(IOException.class, () -> read(corrupt));
+            assertEquals("Checksum mismatch in task snapshot", error.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject writing after finish and null arguments")
+    public void testWriterState() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> new TaskSnapshotWriter(null, true));
+        assertThrows(IllegalArgumentException.class, () -> new TaskSnapshotReader(null));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (TaskSnapshotWriter writer = new TaskSnapshotWriter(Channels.newChannel(bytes), true)) {
+            assertThrows(IllegalArgumentException.class, () -> writer.write(null));
+            writer.finish();
+            writer.finish();
+            assertThrows(IllegalStateException.class, () -> writer.write(sampleTasks(1).get(0)));
+        }
+        assertTrue(read(bytes.toByteArray()).isEmpty());
+    }
+}
@@ -0,0 +1,115 @@
+package persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for WriteAheadLog class.
+ * Tests appending and reading entries, syncing and recovery from a torn tail.
+ */
+@DisplayName("WriteAheadLog Tests")
+public class WriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    private static ByteBuffer entry(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> readAll(Path file) throws IOException {
+        List<String> entries = new ArrayList<>();
+        WriteAheadLog.read(file, buffer -> {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            entries.add(new String(bytes, StandardCharsets.UTF_8));
+        });
+        return entries;
+    }
+
+    @Test
+    @DisplayName("Should read back appended entries in order")
+    public void testAppendAndRead() throws IOException {
+        Path file = directory.resolve("log");
+        try (WriteAheadLog log = WriteAheadLog.open(file, 100, 1_000)) {
+            assertEquals(1, log.append(entry("first")));
+            assertEquals(2, log.append(entry("second")));
+            log.append(entry(""));
+        }
+        assertEquals(List.of("first", "second", ""), readAll(file));
+    }
+
+    @Test
+    @DisplayName("Should make entries durable on sync without closing")
+    public void testSync() throws IOException {
+        Path file = directory.resolve("log");
+        try (WriteAheadLog log = WriteAheadLog.open(file, 1_000, 60_000)) {
+            log.append(entry("one"));
+            long sequence = log.append(entry("two"));
+            log.awaitDurable(sequence);
+            assertEquals(List.of("one", "two"), readAll(file));
+
+            log.append(entry("three"));
+            log.sync();
+            assertEquals(List.of("one", "two", "three"), readAll(file));
+        }
+    }
+
+    @Test
+    @DisplayName("Should append after the entries of an existing file")
+    public void testReopen() throws IOException {
+        Path file = directory.resolve("log");
+        try (WriteAheadLog log = WriteAheadLog.open(file, 1, 0)) {
+            log.append(entry("before"));
+        }
+        try (WriteAheadLog log = WriteAheadLog.open(file, 1, 0)) {
+            log.append(entry("after"));
+        }
+        assertEquals(List.of("before", "after"), readAll(file));
+    }
+
+    @Test
+    @DisplayName("Should drop a torn or corrupt tail and keep appending after it")
+    public void testTornTail() throws IOException {
+        Path file = directory.resolve("log");
+        try (WriteAheadLog log = WriteAheadLog.open(file, 1, 0)) {
+            log.append(entry("kept"));
+            log.append(entry("damaged"));
+        }
+        long goodLength = 8 + "kept".length();
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 0x7F;
+        Files.write(file, bytes);
+        Files.write(file, new byte[] {0, 0, 0, 42, 1}, StandardOpenOption.APPEND);
+
+        assertEquals(List.of("kept"), readAll(file));
+        assertEquals(goodLength, Files.size(file));
+
+        try (WriteAheadLog log = WriteAheadLog.open(file, 1, 0)) {
+            log.append(entry("next"));
+        }
+        assertEquals(List.of("kept", "next"), readAll(file));
+    }
+
+    @Test
+    @DisplayName("Should reject appends after close and invalid settings")
+    public void testInvalidUse() throws IOException {
+        WriteAheadLog log = WriteAheadLog.open(directory.resolve("log"), 1, 0);
+        log.close();
+        assertThrows(IllegalStateException.class, () -> log.append(entry("late")));
+        assertThrows(IllegalArgumentException.class, () -> WriteAheadLog.open(directory.resolve("x"), 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> WriteAheadLog.open(directory.resolve("x"), 1, -1));
+    }
+}
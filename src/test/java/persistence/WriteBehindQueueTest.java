@@ -0,0 +1,192 @@
+package persistence;
+
+import model.TaskItem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import service.InMemoryTaskService;
+import service.TaskService;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for WriteBehindQueue class.
+ * Tests that changes are coalesced, written when the delay or batch size is
+ * reached, held back while writes fail, and flushed on close,
+ * against an in-memory H2 database.
+ */
+@DisplayName("WriteBehindQueue Tests")
+public class WriteBehindQueueTest {
+
+    private ConnectionPool pool;
+    private TaskRepository repository;
+    private TaskService taskService;
+    private WriteBehindQueue queue;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        String url = "jdbc:h2:mem:write-behind-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1";
+        pool = new ConnectionPool(ConnectionFactory.of(url, "sa", ""), 2, 1_000);
+        repository = new TaskRepository(pool);
+        repository.createTable();
+        taskService = new InMemoryTaskService();
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        repository.createTable();
+        if (queue != null) {
+            queue.close();
+        }
+        pool.close();
+    }
+
+    private void start(long maxDelayMillis, int maxBatchSize, int capacity) {
+        queue = WriteBehindQueue.start(repository, taskService,
+            new WriteBehindQueue.Settings(maxDelayMillis, maxBatchSize, capacity));
+    }
+
+    /**
+     * Makes every write fail until the table is created again.
+     */
+    private void dropTable() throws SQLException {
+        try (PooledConnection connection = pool.borrow();
+             Statement statement = connection.connection().createStatement()) {
+            statement.execute("DROP TABLE tasks");
+        }
+    }
+
+    private void awaitCount(long expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (repository.count() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should coalesce repeated changes to a task into its latest state")
+    public void testCoalescing() throws SQLException {
+        start(60_000, 1_000, 1_000);
+        TaskItem task = new TaskItem("Task", "01-01-2026");
+        taskService.addTask(task);
+        for (int i = 0; i < 11; i++) {
+            task.toggleCompleted();
+        }
+        task.update("Renamed", "02-01-2026");
+
+        assertEquals(1, queue.getPendingCount());
+        assertEquals(0, repository.count());
+        queue.flush();
+
+        assertEquals(0, queue.getPendingCount());
+        TaskItem stored = repository.findById(task.getId()).orElseThrow();
+        assertEquals("Renamed", stored.getTask());
+        assertEquals(LocalDate.of(2026, 1, 2), stored.getDueDate());
+        assertTrue(stored.isCompleted());
+    }
+
+    @Test
+    @DisplayName("Should write once the batch size is reached")
+    public void testBatchSizeTriggersWrite() throws Exception {
+        start(60_000, 3, 10);
+        taskService.addTask(new TaskItem("Task 1", "01-01-2026"));
+        taskService.addTask(new TaskItem("Task 2", "01-01-2026"));
+        Thread.sleep(50);
+        assertEquals(0, repository.count());
+
+        taskService.addTask(new TaskItem("Task 3", "01-01-2026"));
+        awaitCount(3);
+    }
+
+    @Test
+    @DisplayName("Should write once the oldest change has waited the delay")
+    public void testDelayTriggersWrite() throws Exception {
+        start(20, 1_000, 1_000);
+        taskService.addTask(new TaskItem("Task", "01-01-2026"));
+        awaitCount(1);
+    }
+
+    @Test
+    @DisplayName("Should delete removed tasks and clear the table")
+    public void testRemoveAndClear() throws SQLException {
+        start(60_000, 1_000, 1_000);
+        TaskItem task1 = new TaskItem("Task 1", "01-01-2026");
+        TaskItem task2 = new TaskItem("Task 2", "01-01-2026");
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+        queue.flush();
+
+        taskService.removeById(task1.getId());
+        queue.flush();
+        assertFalse(repository.exists(task1.getId()));
+        assertTrue(repository.exists(task2.getId()));
+
+        TaskItem added = new TaskItem("Task 3", "01-01-2026");
+        taskService.clearAllTasks();
+        taskService.addTask(added);
+        queue.flush();
+        assertEquals(1, repository.count());
+        assertTrue(repository.exists(added.getId()));
+    }
+
+    @Test
+    @DisplayName("Should keep failed changes queued and block new ones at capacity")
+    public void testBackpressureWhileDatabaseDown() throws Exception {
+        start(20, 2, 2);
+        dropTable();
+        taskService.addTask(new TaskItem("Task 1", "01-01-2026"));
+        taskService.addTask(new TaskItem("Task 2", "01-01-2026"));
+        assertThrows(SQLException.class, () -> queue.flush());
+
+        Thread blocked = new Thread(() -> taskService.addTask(new TaskItem("Task 3", "01-01-2026")));
+        blocked.start();
+        blocked.join(200);
+        assertTrue(blocked.isAlive());
+
+        repository.createTable();
+        blocked.join(5_000);
+        assertFalse(blocked.isAlive());
+        queue.flush();
+        assertEquals(3, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should write queued changes on close and ignore later ones")
+    public void testClose() throws SQLException {
+        start(60_000, 1_000, 1_000);
+        TaskItem task = new TaskItem("Task", "01-01-2026");
+        taskService.addTask(task);
+        queue.close();
+        queue.close();
+
+        assertTrue(repository.exists(task.getId()));
+        task.setTask("After close");
+        assertEquals("Task", repository.findById(task.getId()).orElseThrow().getTask());
+        assertThrows(IllegalStateException.class, () -> queue.flush());
+    }
+
+    @Test
+    @DisplayName("Should report changes that could not be written on close")
+    public void testCloseFailure() throws SQLException {
+        start(60_000, 1_000, 1_000);
+        taskService.addTask(new TaskItem("Task", "01-01-2026"));
+        dropTable();
+        assertThrows(SQLException.class, () -> queue.close());
+        queue = null;
+    }
+
+    @Test
+    @DisplayName("Should reject invalid settings and arguments")
+    public void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new WriteBehindQueue.Settings(-1, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new WriteBehindQueue.Settings(0, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new WriteBehindQueue.Settings(0, 2, 1));
+        assertThrows(IllegalArgumentException.class, () -> WriteBehindQueue.start(null, taskService));
+    }
+}
@@ -0,0 +1,132 @@
+package service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for ColumnarTaskStore class.
+ * Tests row ordering, removal and compaction, and the shared text arena.
+ */
+@DisplayName("ColumnarTaskStore Tests")
+public class ColumnarTaskStoreTest {
+
+    private ColumnarTaskStore store;
+
+    @BeforeEach
+    public void setUp() {
+        store = new ColumnarTaskStore();
+    }
+
+    @Test
+    @DisplayName("Should store columns and find rows by ID")
+    public void testAddAndRead() {
+        store.add(10, "First", 20000, false);
+        store.add(20, "Second", 20001, true);
+
+        assertEquals(2, store.size());
+        assertEquals(1, store.findRow(20));
+        assertEquals(-1, store.findRow(15));
+        assertEquals(10, store.id(0));
+        assertEquals("Second", store.text(1));
+        assertEquals(20001, store.epochDay(1));
+        assertFalse(store.isCompleted(0));
+        assertTrue(store.isCompleted(1));
+    }
+
+    @Test
+    @DisplayName("Should keep rows in ID order when older IDs are added")
+    public void testOutOfOrderAdd() {
+        store.add(30, "Thirty", 3, false);
+        store.add(10, "Ten", 1, true);
+        store.add(20, "Twenty", 2, false);
+
+        assertEquals(10, store.id(0));
+        assertEquals(20, store.id(1));
+        assertEquals(30, store.id(2));
+        assertEquals("Ten", store.text(0));
+        assertEquals("Twenty", store.text(1));
+        assertEquals("Thirty", store.text(2));
+        assertTrue(store.isCompleted(0));
+        assertFalse(store.isCompleted(1));
+        assertFalse(store.isCompleted(2));
+    }
+
+    @Test
+    @DisplayName("Should reject an ID that is already stored")
+    public void testDuplicateId() {
+        store.add(1, "Task", 0, false);
+        assertThrows(IllegalArgumentException.class, () -> store.add(1, "Again", 0, false));
+    }
+
+    @Test
+    @DisplayName("Should hide removed rows until they are compacted")
+    public void testRemoveAndCompact() {
+        store.add(1, "One", 1, false);
+        store.add(2, "Two", 2, true);
+        store.add(3, "Three", 3, false);
+
+        store.remove(1);
+        assertEquals(2, store.size());
+        assertEquals(3, store.rowCount());
+        assertTrue(store.isRemoved(1));
+        assertEquals(-1, store.findRow(2));
+
+        store.compact();
+        assertEquals(2, store.rowCount());
+        assertEquals(1, store.findRow(3));
+        assertEquals("Three", store.text(1));
+        assertFalse(store.isCompleted(1));
+    }
+
+    @Test
+    @DisplayName("Should reuse a removed row when its ID is added again")
+    public void testReviveRemovedRow() {
+        store.add(1, "One", 1, false);
+        store.add(2, "Two", 2, false);
+        store.remove(0);
+
+        store.add(1, "One again", 5, true);
+        assertEquals(2, store.size());
+        assertEquals(2, store.rowCount());
+        assertEquals("One again", store.text(0));
+        assertEquals(5, store.epochDay(0));
+        assertTrue(store.isCompleted(0));
+    }
+
+    @Test
+    @DisplayName("Should keep text intact while the arena grows and compacts")
+    public void testTextArena() {
+        for (int i = 0; i < 5_000; i++) {
+            store.add(i + 1, "Tâche ñ " + i, i, false);
+        }
+        for (int round = 0; round < 3; round++) {
+            for (int row = 0; row < store.rowCount(); row++) {
+                store.setText(row, "Renamed " + round + " " + row);
+            }
+        }
+        for (int row = 0; row < store.rowCount(); row += 2) {
+            store.remove(row);
+        }
+        store.add(100_000, "Last", 0, false);
+        store.compact();
+
+        assertEquals(2_501, store.size());
+        assertEquals("Renamed 2 1", store.text(0));
+        assertEquals("Renamed 2 4999", store.text(2_499));
+        assertEquals("Last", store.text(2_500));
+    }
+
+    @Test
+    @DisplayName("Should remove all rows on clear")
+    public void testClear() {
+        store.add(1, "One", 1, true);
+        store.clear();
+
+        assertEquals(0, store.size());
+        assertEquals(0, store.rowCount());
+        assertEquals(-1, store.findRow(1));
+    }
+}
@@ -0,0 +1,268 @@
+package service;
+
+import model.TaskItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for ConcurrentTaskService class.
+ * Tests single-threaded behavior, and index consistency under concurrent
+ * writers and readers. ConcurrentServiceBenchmark measures throughput.
+ */
+@DisplayName("ConcurrentTaskService Tests")
+public class ConcurrentTaskServiceTest {
+
+    private static final int TASKS_PER_THREAD = 20_000;
+
+    private ConcurrentTaskService taskService;
+    private TaskItem task1;
+    private TaskItem task2;
+    private TaskItem task3;
+
+    @BeforeEach
+    public void setUp() {
+        taskService = new ConcurrentTaskService();
+        task1 = new TaskItem("Task 1", "15-12-2030");
+        task2 = new TaskItem("Task 2", "20-12-2030");
+        task3 = new TaskItem("Overdue task", "01-01-2020");
+    }
+
+    @Test
+    @DisplayName("Should add, get and remove tasks in ID order")
+    public void testBasicOperations() {
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+        taskService.addTask(task3);
+
+        assertEquals(3, taskService.getTaskCount());
+        assertEquals(List.of(task1, task2, task3), taskService.getAllTasks());
+        assertSame(task2, taskService.getTask(1));
+
+        taskService.removeTask(1);
+        assertEquals(List.of(task1, task3), taskService.getAllTasks());
+        assertThrows(IndexOutOfBoundsException.class, () -> taskService.getTask(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> taskService.removeTask(-1));
+    }
+
+    @Test
+    @DisplayName("Should get, update and remove tasks by ID")
+    public void testIdOperations() {
+        taskService.addTask(task1);
+        taskService.addTask(task3);
+
+        assertSame(task3, taskService.getById(task3.getId()).orElseThrow());
+        assertTrue(taskService.updateById(task3.getId(), "Rescheduled", "01-01-2031"));
+        assertTrue(taskService.getOverdueTasks().isEmpty());
+        assertTrue(taskService.removeById(task1.getId()));
+        assertFalse(taskService.removeById(task1.getId()));
+        assertTrue(taskService.getById(task1.getId()).isEmpty());
+        assertEquals(List.of(task3), taskService.getPendingTasks());
+        assertEquals(0, taskService.indexOf(task3.getId()));
+        assertEquals(-1, taskService.indexOf(task1.getId()));
+    }
+
+    @Test
+    @DisplayName("Should reject null and duplicate tasks")
+    public void testRejectsInvalidTasks() {
+        taskService.addTask(task1);
+        assertThrows(IllegalArgumentException.class, () -> taskService.addTask(null));
+        assertThrows(IllegalArgumentException.class, () -> taskService.addTask(task1));
+        assertEquals(1, taskService.getTaskCount());
+    }
+
+    @Test
+    @DisplayName("Should keep status and due date indexes in sync")
+    public void testIndexesFollowChanges() {
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+        taskService.addTask(task3);
+
+        assertEquals(List.of(task3), taskService.getOverdueTasks());
+        assertEquals(List.of(task1, task2), taskService.nextDue(5));
+
+        task3.markAsCompleted();
+        task1.setDueDate("01-02-2020");
+        assertEquals(List.of(task1), taskService.getOverdueTasks());
+        assertEquals(List.of(task3), taskService.getCompletedTasks());
+        assertEquals(List.of(task1, task2), taskService.getPendingTasks());
+        assertEquals(List.of(task3, task1), taskService.getTasksDueBetween(
+            LocalDate.of(2020, 1, 1), LocalDate.of(2020, 2, 1)));
+        assertEquals(List.of(task2), taskService.getTasksDueOn(LocalDate.of(2030, 12, 20)));
+    }
+
+    @Test
+    @DisplayName("Should clear all tasks and stop tracking them")
+    public void testClearAllTasks() {
+        taskService.addTask(task1);
+        taskService.addTask(task3);
+        taskService.clearAllTasks();
+        task3.markAsCompleted();
+
+        assertTrue(taskService.isEmpty());
+        assertEquals(0, taskService.getTaskCount());
+        assertTrue(taskService.getCompletedTasks().isEmpty());
+        assertTrue(taskService.getOverdueTasks().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should stay consistent with concurrent writers and readers")
+    public void testConcurrentWritersAndReaders() throws Exception {
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(2);
+        List<Future<?>> readResults = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            readResults.add(readers.submit(() -> {
+                while (writing.get()) {
+                    taskService.getOverdueTasks();
+                    taskService.getPendingTasks();
+                    taskService.nextDue(10);
+                    taskService.getAllTasks();
+                }
+            }));
+        }
+
+        runWorkload(taskService, threads);
+        writing.set(false);
+        for (Future<?> result : readResults) {
+            result.get(10, TimeUnit.SECONDS);
+        }
+        readers.shutdown();
+
+        int expected = threads * (TASKS_PER_THREAD - TASKS_PER_THREAD / 4);
+        assertEquals(expected, taskService.getTaskCount());
+        assertEquals(expected, taskService.getAllTasks().size());
+        assertIndexesMatchScan(taskService);
+    }
+
+    @Test
+    @DisplayName("Should end with exact counts, indexes and search results after parallel writers")
+    public void testParallelWritersEndState() throws Exception {
+        int threads = 4;
+        runWorkload(taskService, threads);
+
+        int remaining = threads * (TASKS_PER_THREAD - TASKS_PER_THREAD / 4);
+        assertEquals(remaining, taskService.getTaskCount());
+        assertEquals(threads * TASKS_PER_THREAD / 4, taskService.getCompletedTasks().size());
+        assertEquals(threads * TASKS_PER_THREAD / 2, taskService.getPendingTasks().size());
+        assertIndexesMatchScan(taskService);
+        List<Long> ids = taskService.getAllTasks().stream().map(TaskItem::getId).toList();
+        assertEquals(ids, taskService.search("task").stream().map(TaskItem::getId).toList());
+        assertEquals(threads, taskService.search("task 19999").size());
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1) < ids.get(i));
+        }
+    }
+
+    /**
+     * Each thread adds its own tasks, toggles and reschedules them so that
+     * every write also moves entries between indexes, then removes a quarter.
+     */
+    private static void runWorkload(ConcurrentTaskService service, int threads) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                List<TaskItem> mine = new ArrayList<>(TASKS_PER_THREAD);
+                for (int i = 0; i < TASKS_PER_THREAD; i++) {
+                    TaskItem task = new TaskItem("Task " + i, dueDate(i, 1));
+                    service.addTask(task);
+                    mine.add(task);
+                }
+                for (int i = 0; i < mine.size(); i++) {
+                    mine.get(i).toggleCompleted();
+                    mine.get(i).setDueDate(dueDate(i, 6));
+                }
+                for (int i = 0; i < mine.size(); i += 2) {
+                    mine.get(i).toggleCompleted();
+                }
+                for (int i = 1; i < mine.size(); i += 4) {
+                    service.removeById(mine.get(i).getId());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+    }
+
+    private static String dueDate(int i, int month) {
+        return String.format("%02d-%02d-%d", i % 28 + 1, month, 2015 + i % 20);
+    }
+
+    private static void assertIndexesMatchScan(TaskService service) {
+        List<TaskItem> completed = new ArrayList<>();
+        List<TaskItem> pending = new ArrayList<>();
+        for (TaskItem task : service.getAllTasks()) {
+            (task.isCompleted() ? completed : pending).add(task);
+        }
+        assertEquals(completed.size(), service.getCompletedTasks().size());
+        assertEquals(pending.size(), service.getPendingTasks().size());
+        assertEquals(pending.stream().filter(TaskItem::isOverdue).count(),
+            service.getOverdueTasks().size());
+    }
+
+    @Test
+    @DisplayName("Should notify service listeners of additions, removals and task changes")
+    public void testServiceListener() {
+        RecordingListener listener = new RecordingListener();
+        taskService.addListener(listener);
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+        taskService.getById(task1.getId()).orElseThrow().toggleCompleted();
+        taskService.updateById(task1.getId(), "Renamed", "16-12-2030");
+        taskService.removeById(task2.getId());
+        task2.toggleCompleted();
+        taskService.removeListener(listener);
+        taskService.addTask(task3);
+
+        assertEquals(List.of(
+            "added Task 1",
+            "added Task 2",
+            "completed Task 1=true",
+            "text Task 1 -> Renamed",
+            "due Renamed 2030-12-15 -> 2030-12-16",
+            "removed Task 2"
+        ), listener.events);
+    }
+
+    @Test
+    @DisplayName("Should search descriptions and follow adds, removals and renames")
+    public void testSearch() {
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+        taskService.addTask(task3);
+
+        assertEquals(List.of(task1, task2, task3), taskService.search("task"));
+        assertEquals(List.of(task3), taskService.search("OVER ta"));
+        assertEquals(List.of(task2), taskService.search("ta 2"));
+        assertEquals(List.of(task1, task2, task3), taskService.search(" "));
+
+        task1.setTask("Buy milk");
+        taskService.removeById(task2.getId());
+        assertEquals(List.of(task3), taskService.search("task"));
+        assertEquals(List.of(task1), taskService.search("mil"));
+
+        taskService.clearAllTasks();
+        assertEquals(List.of(), taskService.search("mil"));
+        assertThrows(IllegalArgumentException.class, () -> taskService.search(null));
+    }
+}
@@ -0,0 +1,123 @@
+package service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for ConcurrentTextIndex class.
+ * Tests that queries match TextIndex, and that postings stay exact when
+ * writers share terms and searches run alongside them.
+ */
+@DisplayName("ConcurrentTextIndex Tests")
+public class ConcurrentTextIndexTest {
+
+    private ConcurrentTextIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new ConcurrentTextIndex();
+        index.add(1, "Buy milk and bread");
+        index.add(2, "Call the bank");
+        index.add(3, "Bake bread for the Café");
+    }
+
+    @Test
+    @DisplayName("Should match every query term by prefix, ignoring case and accents")
+    public void testSearch() {
+        assertArrayEquals(new long[] {1, 3}, index.search("bread"));
+        assertArrayEquals(new long[] {1, 2, 3}, index.search("B"));
+        assertArrayEquals(new long[] {3}, index.search("cafe"));
+        assertArrayEquals(new long[] {2, 3}, index.search("the b"));
+        assertArrayEquals(new long[0], index.search("milk bank"));
+        assertNull(index.search(" - "));
+    }
+
+    @Test
+    @DisplayName("Should update postings when tasks are removed or renamed")
+    public void testIncrementalUpdates() {
+        index.remove(1, "Buy milk and bread");
+        assertArrayEquals(new long[] {3}, index.search("bread"));
+        assertArrayEquals(new long[0], index.search("milk"));
+
+        index.update(2, "Call the bank", "Call the plumber");
+        assertArrayEquals(new long[0], index.search("bank"));
+        assertArrayEquals(new long[] {2}, index.search("plum"));
+
+        index.add(0, "Bread crumbs");
+        assertArrayEquals(new long[] {0, 3}, index.search("bread"));
+    }
+
+    @Test
+    @DisplayName("Should keep shared terms exact while writers add, rename and remove tasks alongside searches")
+    public void testConcurrentWriters() throws Exception {
+        int threads = 4;
+        int perThread = 5_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Future<?> searcher = pool.submit(() -> {
+            start.await();
+            while (writing.get()) {
+                long[] ids = index.search("shared");
+                for (int i = 1; i < ids.length; i++) {
+                    assertTrue(ids[i - 1] < ids[i]);
+                }
+            }
+            return null;
+        });
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long base = 100 + (long) t * perThread;
+            writers.add(pool.submit(() -> {
+                start.await();
+                for (long id = base; id < base + perThread; id++) {
+                    index.add(id, "Shared word " + (id % 7 == 0 ? "rare" : "common"));
+                }
+                for (long id = base; id < base + perThread; id += 2) {
+                    index.update(id, "Shared word " + (id % 7 == 0 ? "rare" : "common"), "Renamed word");
+                }
+                for (long id = base + 1; id < base + perThread; id += 4) {
+                    index.remove(id, "Shared word " + (id % 7 == 0 ? "rare" : "common"));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get(1, TimeUnit.MINUTES);
+        }
+        writing.set(false);
+        searcher.get(10, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        List<Long> expectedShared = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long base = 100 + (long) t * perThread;
+            for (long id = base + 1; id < base + perThread; id += 2) {
+                if ((id - base - 1) % 4 != 0) {
+                    expectedShared.add(id);
+                }
+            }
+        }
+        long[] shared = index.search("shared");
+        assertEquals(expectedShared, Arrays.stream(shared).boxed().toList());
+        assertEquals(threads * perThread / 2, index.search("renamed word").length);
+        assertEquals(shared.length + threads * perThread / 2, index.search("word").length);
+        for (long id : index.search("rare")) {
+            assertEquals(0, id % 7);
+        }
+    }
+}
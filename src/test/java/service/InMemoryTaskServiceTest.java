@@ -0,0 +1,532 @@
+package service;
+
+import model.TaskClock;
+import model.TaskItem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprehensive test suite for InMemoryTaskService class.
+ * Tests all service operations and business rules.
+ */
+@DisplayName("InMemoryTaskService Tests")
+public class InMemoryTaskServiceTest {
+
+    private TaskService taskService;
+    private TaskItem task1;
+    private TaskItem task2;
+    private TaskItem task3;
+
+    @BeforeEach
+    public void setUp() {
+        TaskClock.setDefault(TaskClock.fixed(LocalDate.of(2025, 6, 1)));
+        taskService = new InMemoryTaskService();
+        task1 = new TaskItem("Task 1", "15-12-2025");
+        task2 = new TaskItem("Task 2", "20-12-2025");
+        task3 = new TaskItem("Overdue task", "01-01-2020");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TaskClock.resetDefault();
+    }
+
+    @Test
+    @DisplayName("Should start with empty task list")
+    public void testInitialState() {
+        assertTrue(taskService.isEmpty());
+        assertEquals(0, taskService.getTaskCount());
+    }
+
+    @Test
+    @DisplayName("Should add task successfully")
+    public void testAddTask() {
+        taskService.addTask(task1);
+        assertEquals(1, taskService.getTaskCount());
+        assertFalse(taskService.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should add multiple tasks")
+    public void testAddMultipleTasks() {
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+        taskService.addTask(task3);
+        assertEquals(3, taskService.getTaskCount());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when adding null task")
+    public void testAddNullTask() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> taskService.addTask(null)
+        );
+        assertEquals("Task cannot be null", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should remove task at valid index")
+    public void testRemoveTask() {
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+        taskService.removeTask(0);
+        assertEquals(1, taskService.getTaskCount());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when removing task at invalid index")
+    public void testRemoveTaskInvalidIndex() {
+        taskService.addTask(task1);
+        assertThrows(IndexOutOfBoundsException.class, () -> taskService.removeTask(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> taskService.removeTask(-1));
+    }
+
+    @Test
+    @DisplayName("Should get task at valid index")
+    public void testGetTask() {
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+        TaskItem retrieved = taskService.getTask(1);
+        assertEquals(task2, retrieved);
+    }
+
+    @Test
+    @DisplayName("Should throw exception when getting task at invalid index")
+    public void testGetTaskInvalidIndex() {
+        taskService.addTask(task1);
+        assertThrows(IndexOutOfBoundsException.class, () -> taskService.getTask(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> taskService.getTask(-1));
+    }
+
+    @Test
+    @DisplayName("Should get all tasks")
+    public void testGetAllTasks() {
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+        List<TaskItem> allTasks = taskService.getAllTasks();
+        assertEquals(2, allTasks.size());
+        assertTrue(allTasks.contains(task1));
+        assertTrue(allTasks.contains(task2));
+    }
+
+    @Test
+    @DisplayName("Should return unmodifiable list")
+    public void testGetAllTasksUnmodifiable() {
+        taskService.addTask(task1);
+        List<TaskItem> allTasks = taskService.getAllTasks();
+        assertThrows(UnsupportedOperationException.class, () -> allTasks.add(task2));
+    }
+
+    @Test
+    @DisplayName("Should get completed tasks only")
+    public void testGetCompletedTasks() {
+        task1.markAsCompleted();
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+        
+        List<TaskItem> completedTasks = taskService.getCompletedTasks();
+        assertEquals(1, completedTasks.size());
+        assertTrue(completedTasks.contains(task1));
+    }
+
+    @Test
+    @DisplayName("Should get pending tasks only")
+    public void testGetPendingTasks() {
+        task1.markAsCompleted();
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+        taskService.addTask(task3);
+        
+        List<TaskItem> pendingTasks = taskService.getPendingTasks();
+        assertEquals(2, pendingTasks.size());
+        assertTrue(pendingTasks.contains(task2));
+        assertTrue(pendingTasks.contains(task3));
+    }
+
+    @Test
+    @DisplayName("Should get overdue tasks only")
+    public void testGetOverdueTasks() {
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+        taskService.addTask(task3);
+        
+        List<TaskItem> overdueTasks = taskService.getOverdueTasks();
+        assertEquals(1, overdueTasks.size());
+        assertTrue(overdueTasks.contains(task3));
+    }
+
+    @Test
+    @DisplayName("Should not include completed tasks in overdue list")
+    public void testOverdueExcludesCompleted() {
+        task3.markAsCompleted();
+        taskService.addTask(task3);
+        
+        List<TaskItem> overdueTasks = taskService.getOverdueTasks();
+        assertEquals(0, overdueTasks.size());
+    }
+
+    @Test
+    @DisplayName("Should clear all tasks")
+    public void testClearAllTasks() {
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+        taskService.clearAllTasks();
+        
+        assertTrue(taskService.isEmpty());
+        assertEquals(0, taskService.getTaskCount());
+    }
+
+    @Test
+    @DisplayName("Should handle clearing empty list")
+    public void testClearEmptyList() {
+        taskService.clearAllTasks();
+        assertTrue(taskService.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return correct task count")
+    public void testGetTaskCount() {
+        assertEquals(0, taskService.getTaskCount());
+        taskService.addTask(task1);
+        assertEquals(1, taskService.getTaskCount());
+        taskService.addTask(task2);
+        assertEquals(2, taskService.getTaskCount());
+        taskService.removeTask(0);
+        assertEquals(1, taskService.getTaskCount());
+    }
+
+    @Test
+    @DisplayName("Should correctly identify empty state")
+    public void testIsEmpty() {
+        assertTrue(taskService.isEmpty());
+        taskService.addTask(task1);
+        assertFalse(taskService.isEmpty());
+        taskService.removeTask(0);
+        assertTrue(taskService.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should move task between indexes when status changes")
+    public void testIndexesFollowStatusChanges() {
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+
+        task1.toggleCompleted();
+        assertEquals(List.of(task1), taskService.getCompletedTasks());
+        assertEquals(List.of(task2), taskService.getPendingTasks());
+
+        task1.markAsNotCompleted();
+        assertTrue(taskService.getCompletedTasks().isEmpty());
+        assertEquals(2, taskService.getPendingTasks().size());
+    }
+
+    @Test
+    @DisplayName("Should keep status lists in task order whatever order the status changes in")
+    public void testStatusListsKeepOrder() {
+        TaskItem a = new TaskItem("a", "15-12-2025");
+        TaskItem b = new TaskItem("b", "15-12-2025");
+        TaskItem c = new TaskItem("c", "15-12-2025");
+        taskService.addTask(a);
+        taskService.addTask(b);
+        taskService.addTask(c);
+
+        b.toggleCompleted();
+        a.toggleCompleted();
+        assertEquals("ab", names(taskService.getCompletedTasks()));
+
+        b.toggleCompleted();
+        c.toggleCompleted();
+        a.toggleCompleted();
+        assertEquals("c", names(taskService.getCompletedTasks()));
+        assertEquals("ab", names(taskService.getPendingTasks()));
+    }
+
+    private static String names(List<TaskItem> tasks) {
+        StringBuilder names = new StringBuilder();
+        for (TaskItem task : tasks) {
+            names.append(task.getTask());
+        }
+        return names.toString();
+    }
+
+    @Test
+    @DisplayName("Should update overdue index when due date changes")
+    public void testOverdueFollowsDueDateChanges() {
+        TaskItem future = new TaskItem("Future task", "31-12-2030");
+        taskService.addTask(future);
+        assertTrue(taskService.getOverdueTasks().isEmpty());
+
+        future.setDueDate("01-01-2020");
+        assertEquals(List.of(future), taskService.getOverdueTasks());
+
+        future.markAsCompleted();
+        assertTrue(taskService.getOverdueTasks().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should stop tracking removed and cleared tasks")
+    public void testRemovedTasksNoLongerIndexed() {
+        taskService.addTask(task3);
+        taskService.removeTask(0);
+        task3.toggleCompleted();
+        assertTrue(taskService.getCompletedTasks().isEmpty());
+        assertTrue(taskService.getOverdueTasks().isEmpty());
+
+        taskService.addTask(task2);
+        taskService.clearAllTasks();
+        task2.toggleCompleted();
+        assertTrue(taskService.getCompletedTasks().isEmpty());
+        assertTrue(taskService.getPendingTasks().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should track equal but distinct task instances separately")
+    public void testEqualTasksIndexedSeparately() {
+        TaskItem copy = new TaskItem("Overdue task", "01-01-2020");
+        taskService.addTask(task3);
+        taskService.addTask(copy);
+
+        assertEquals(2, taskService.getOverdueTasks().size());
+        copy.markAsCompleted();
+        assertEquals(1, taskService.getCompletedTasks().size());
+        assertSame(task3, taskService.getOverdueTasks().get(0));
+    }
+
+    @Test
+    @DisplayName("Should throw exception when adding the same task twice")
+    public void testAddSameTaskTwice() {
+        taskService.addTask(task1);
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> taskService.addTask(task1)
+        );
+        assertEquals("Task is already in this service", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should get tasks due in a date range ordered by due date")
+    public void testGetTasksDueBetween() {
+        taskService.addTask(task2);
+        taskService.addTask(task3);
+        taskService.addTask(task1);
+
+        assertEquals(List.of(task1, task2), taskService.getTasksDueBetween(
+            LocalDate.of(2025, 12, 15), LocalDate.of(2025, 12, 20)));
+        assertEquals(List.of(task3, task1), taskService.getTasksDueBetween(
+            LocalDate.of(2019, 1, 1), LocalDate.of(2025, 12, 19)));
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasksDueBetween(
+            LocalDate.of(2025, 12, 20), LocalDate.of(2025, 12, 15)));
+    }
+
+    @Test
+    @DisplayName("Should get tasks due on a given date")
+    public void testGetTasksDueOn() {
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+
+        assertEquals(List.of(task2), taskService.getTasksDueOn(LocalDate.of(2025, 12, 20)));
+        assertTrue(taskService.getTasksDueOn(LocalDate.of(2025, 12, 21)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reindex due date range when due date changes")
+    public void testDueDateIndexFollowsSetDueDate() {
+        taskService.addTask(task1);
+        task1.setDueDate("01-03-2026");
+
+        assertTrue(taskService.getTasksDueOn(LocalDate.of(2025, 12, 15)).isEmpty());
+        assertEquals(List.of(task1), taskService.getTasksDueOn(LocalDate.of(2026, 3, 1)));
+    }
+
+    @Test
+    @DisplayName("Should list tasks due on the same day in ID order")
+    public void testSameDayIdOrder() {
+        TaskItem first = new TaskItem("First", "01-01-2031");
+        TaskItem second = new TaskItem("Second", "02-01-2031");
+        TaskItem third = new TaskItem("Third", "01-01-2031");
+        taskService.addTask(third);
+        taskService.addTask(second);
+        taskService.addTask(first);
+        second.setDueDate("01-01-2031");
+
+        List<TaskItem> expected = List.of(first, second, third);
+        assertEquals(expected, taskService.getTasksDueOn(LocalDate.of(2031, 1, 1)));
+        assertEquals(expected, taskService.nextDue(3));
+        assertEquals(expected, taskService.getTasksDueBetween(LocalDate.of(2031, 1, 1), LocalDate.of(2031, 1, 2)));
+    }
+
+    @Test
+    @DisplayName("Should get next pending tasks due in order")
+    public void testNextDue() {
+        TaskItem later = new TaskItem("Later", "31-12-2031");
+        TaskItem sooner = new TaskItem("Sooner", "31-12-2030");
+        TaskItem done = new TaskItem("Done", "30-12-2030");
+        done.markAsCompleted();
+        taskService.addTask(later);
+        taskService.addTask(task3);
+        taskService.addTask(sooner);
+        taskService.addTask(done);
+
+        assertEquals(List.of(sooner, later), taskService.nextDue(5));
+        assertEquals(List.of(sooner), taskService.nextDue(1));
+        assertTrue(taskService.nextDue(0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> taskService.nextDue(-1));
+    }
+
+    @Test
+    @DisplayName("Should get task by ID")
+    public void testGetById() {
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+
+        assertEquals(Optional.of(task2), taskService.getById(task2.getId()));
+        assertEquals(Optional.empty(), taskService.getById(task3.getId()));
+    }
+
+    @Test
+    @DisplayName("Should remove task by ID and keep positions in order")
+    public void testRemoveById() {
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+        taskService.addTask(task3);
+
+        assertTrue(taskService.removeById(task2.getId()));
+        assertFalse(taskService.removeById(task2.getId()));
+        assertEquals(2, taskService.getTaskCount());
+        assertSame(task3, taskService.getTask(1));
+        assertEquals(List.of(task1, task3), taskService.getAllTasks());
+        assertFalse(taskService.getPendingTasks().contains(task2));
+        assertEquals(1, taskService.indexOf(task3.getId()));
+        assertEquals(-1, taskService.indexOf(task2.getId()));
+    }
+
+    @Test
+    @DisplayName("Should update task by ID")
+    public void testUpdateById() {
+        taskService.addTask(task1);
+
+        assertTrue(taskService.updateById(task1.getId(), "Renamed", "01-01-2020"));
+        assertEquals("Renamed", task1.getTask());
+        assertEquals(List.of(task1), taskService.getTasksDueOn(LocalDate.of(2020, 1, 1)));
+        assertFalse(taskService.updateById(task2.getId(), "Missing", "01-01-2020"));
+    }
+
+    @Test
+    @DisplayName("Should not change task when update is invalid")
+    public void testUpdateByIdInvalid() {
+        taskService.addTask(task1);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> taskService.updateById(task1.getId(), "Renamed", "bad-date"));
+        assertEquals("Task 1", task1.getTask());
+        assertEquals("15-12-2025", task1.getDueDateFormatted());
+    }
+
+    @Test
+    @DisplayName("Should keep positional access consistent through bulk removals")
+    public void testBulkRemoveById() {
+        List<TaskItem> added = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            TaskItem task = new TaskItem("Task " + i, "15-12-2025");
+            taskService.addTask(task);
+            added.add(task);
+        }
+        List<TaskItem> expected = new ArrayList<>();
+        for (int i = 0; i < added.size(); i++) {
+            if (i % 3 == 0) {
+                expected.add(added.get(i));
+            } else {
+                assertTrue(taskService.removeById(added.get(i).getId()));
+            }
+        }
+
+        assertEquals(expected.size(), taskService.getTaskCount());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), taskService.getTask(i));
+        }
+        assertEquals(expected, taskService.getAllTasks());
+        assertEquals(expected.size(), taskService.getTasksDueOn(LocalDate.of(2025, 12, 15)).size());
+
+        TaskItem extra = new TaskItem("Extra", "15-12-2025");
+        taskService.addTask(extra);
+        assertSame(extra, taskService.getTask(expected.size()));
+    }
+
+    @Test
+    @DisplayName("Should use the injected clock for overdue and upcoming tasks")
+    public void testInjectedClock() {
+        taskService = new InMemoryTaskService(TaskClock.fixed(LocalDate.of(2025, 12, 18)));
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+        taskService.addTask(task3);
+
+        assertEquals(List.of(task3, task1), taskService.getOverdueTasks());
+        assertEquals(List.of(task2), taskService.nextDue(5));
+    }
+
+    @Test
+    @DisplayName("Should notify service listeners of additions, removals and task changes")
+    public void testServiceListener() {
+        RecordingListener listener = new RecordingListener();
+        taskService.addListener(listener);
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+        taskService.getById(task1.getId()).orElseThrow().toggleCompleted();
+        taskService.updateById(task1.getId(), "Renamed", "16-12-2025");
+        taskService.removeById(task2.getId());
+        task2.toggleCompleted();
+        taskService.removeListener(listener);
+        taskService.addTask(task3);
+
+        assertEquals(List.of(
+            "added Task 1",
+            "added Task 2",
+            "completed Task 1=true",
+            "text Task 1 -> Renamed",
+            "due Renamed 2025-12-15 -> 2025-12-16",
+            "removed Task 2"
+        ), listener.events);
+    }
+
+    @Test
+    @DisplayName("Should notify service listeners when all tasks are cleared")
+    public void testServiceListenerClear() {
+        RecordingListener listener = new RecordingListener();
+        taskService.addTask(task1);
+        taskService.addListener(listener);
+        taskService.clearAllTasks();
+        assertEquals(List.of("cleared"), listener.events);
+    }
+
+    @Test
+    @DisplayName("Should search descriptions and follow adds, removals and renames")
+    public void testSearch() {
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+        taskService.addTask(task3);
+
+        assertEquals(List.of(task1, task2, task3), taskService.search("task"));
+        assertEquals(List.of(task3), taskService.search("OVER ta"));
+        assertEquals(List.of(task2), taskService.search("ta 2"));
+        assertEquals(List.of(task1, task2, task3), taskService.search(" "));
+
+        task1.setTask("Buy milk");
+        taskService.removeById(task2.getId());
+        assertEquals(List.of(task3), taskService.search("task"));
+        assertEquals(List.of(task1), taskService.search("mil"));
+
+        taskService.clearAllTasks();
+        assertEquals(List.of(), taskService.search("mil"));
+        assertThrows(IllegalArgumentException.class, () -> taskService.search(null));
+    }
+}
@@ -0,0 +1,150 @@
+package service;
+
+import model.TaskClock;
+import model.TaskItem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for MappedTaskStore class.
+ * Tests that tasks, removals and changes survive closing and reopening the
+ * store, and that the files grow and compact correctly.
+ */
+@DisplayName("MappedTaskStore Tests")
+public class MappedTaskStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private MappedTaskStore store;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        store = MappedTaskStore.open(directory);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        store.close();
+    }
+
+    private void reopen() throws IOException {
+        store.close();
+        store = MappedTaskStore.open(directory);
+    }
+
+    @Test
+    @DisplayName("Should keep tasks after the store is reopened")
+    public void testReopen() throws IOException {
+        store.add(1, "First", 20000, false);
+        store.add(3, "Third ✓", 20002, true);
+        store.add(2, "Second", 20001, false);
+
+        reopen();
+
+        assertEquals(3, store.size());
+        assertEquals(1, store.findRow(2));
+        assertEquals("Second", store.text(1));
+        assertEquals("Third ✓", store.text(2));
+        assertEquals(20002, store.epochDay(2));
+        assertTrue(store.isCompleted(2));
+        assertFalse(store.isCompleted(0));
+    }
+
+    @Test
+    @DisplayName("Should keep removals and changes after the store is reopened")
+    public void testReopenAfterChanges() throws IOException {
+        store.add(1, "One", 1, false);
+        store.add(2, "Two", 2, false);
+        store.remove(0);
+        store.setText(1, "Two renamed");
+        store.setEpochDay(1, 22);
+        store.setCompleted(1, true);
+
+        reopen();
+
+        assertEquals(1, store.size());
+        assertEquals(-1, store.findRow(1));
+        assertEquals("Two renamed", store.text(1));
+        assertEquals(22, store.epochDay(1));
+        assertTrue(store.isCompleted(1));
+    }
+
+    @Test
+    @DisplayName("Should grow past the initial file sizes")
+    public void testGrowth() throws IOException {
+        String padding = "x".repeat(100);
+        for (int i = 1; i <= 5_000; i++) {
+            store.add(i, padding + i, i, i % 2 == 0);
+        }
+
+        reopen();
+
+        assertEquals(5_000, store.size());
+        assertEquals(padding + 4_321, store.text(store.findRow(4_321)));
+        assertTrue(store.isCompleted(store.findRow(5_000)));
+    }
+
+    @Test
+    @DisplayName("Should rewrite the text segment when most of it is unused")
+    public void testCompactText() throws IOException {
+        for (int i = 1; i <= 1_000; i++) {
+            store.add(i, "Task " + i, i, false);
+        }
+        for (int row = 0; row < 900; row++) {
+            store.remove(row);
+        }
+        store.compact();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            List<String> names = files.map(file -> file.getFileName().toString()).sorted().toList();
+            assertEquals(List.of("tasks.dat", "text-1.dat"), names);
+        }
+
+        reopen();
+
+        assertEquals(100, store.rowCount());
+        assertEquals("Task 901", store.text(0));
+        assertEquals("Task 1000", store.text(99));
+    }
+
+    @Test
+    @DisplayName("Should reject files that are not a task store")
+    public void testRejectForeignFile() throws IOException {
+        store.close();
+        Files.write(directory.resolve("tasks.dat"), new byte[64]);
+
+        IOException exception = assertThrows(IOException.class, () -> MappedTaskStore.open(directory));
+        assertTrue(exception.getMessage().startsWith("Not a task store"));
+        store = MappedTaskStore.open(directory.resolve("other"));
+    }
+
+    @Test
+    @DisplayName("Should reopen as a task service that continues after the stored IDs")
+    public void testServiceReopen() throws IOException {
+        TaskClock clock = TaskClock.fixed(LocalDate.of(2025, 6, 1));
+        TaskService taskService = new StoreBackedTaskService(store, clock);
+        TaskItem task = new TaskItem(1_000_000, "Saved task", LocalDate.of(2025, 12, 15), false);
+        taskService.addTask(task);
+        task.markAsCompleted();
+
+        reopen();
+
+        taskService = new StoreBackedTaskService(store, clock);
+        assertEquals(List.of(task), taskService.getAllTasks());
+        assertTrue(taskService.getTask(0).isCompleted());
+        assertTrue(new TaskItem("New task", "15-12-2025").getId() > 1_000_000);
+    }
+}
@@ -0,0 +1,44 @@
+package service;
+
+import model.TaskItem;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TaskServiceListener that records each event as a short description.
+ */
+class RecordingListener implements TaskServiceListener {
+    final List<String> events = new ArrayList<>();
+
+    @Override
+    public void taskAdded(TaskItem task) {
+        events.add("added " + task.getTask());
+    }
+
+    @Override
+    public void taskRemoved(TaskItem task) {
+        events.add("removed " + task.getTask());
+    }
+
+    @Override
+    public void tasksCleared() {
+        events.add("cleared");
+    }
+
+    @Override
+    public void completionChanged(TaskItem item) {
+        events.add("completed " + item.getTask() + "=" + item.isCompleted());
+    }
+
+    @Override
+    public void dueDateChanged(TaskItem item, LocalDate previousDueDate) {
+        events.add("due " + item.getTask() + " " + previousDueDate + " -> " + item.getDueDate());
+    }
+
+    @Override
+    public void textChanged(TaskItem item, String previousTask) {
+        events.add("text " + previousTask + " -> " + item.getTask());
+    }
+}
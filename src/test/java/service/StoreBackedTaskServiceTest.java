@@ -0,0 +1,273 @@
+package service;
+
+import model.TaskClock;
+import model.TaskItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for StoreBackedTaskService class.
+ * Tests that tasks read back as equal views, that changes to task objects
+ * are written through to the store, and that the column scans answer
+ * queries like the indexed services.
+ */
+@DisplayName("StoreBackedTaskService Tests")
+public class StoreBackedTaskServiceTest {
+
+    private StoreBackedTaskService taskService;
+    private TaskItem task1;
+    private TaskItem task2;
+    private TaskItem task3;
+
+    @BeforeEach
+    public void setUp() {
+        taskService = new StoreBackedTaskService(new ColumnarTaskStore(), TaskClock.fixed(LocalDate.of(2025, 6, 1)));
+        task1 = new TaskItem("Task 1", "15-12-2025");
+        task2 = new TaskItem("Task 2", "20-12-2025");
+        task3 = new TaskItem("Overdue task", "01-01-2020");
+    }
+
+    @Test
+    @DisplayName("Should add, get and remove tasks in insertion order")
+    public void testBasicOperations() {
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+        taskService.addTask(task3);
+
+        assertEquals(3, taskService.getTaskCount());
+        assertEquals(List.of(task1, task2, task3), taskService.getAllTasks());
+        assertEquals(task2.getId(), taskService.getTask(1).getId());
+        assertEquals(2, taskService.indexOf(task3.getId()));
+
+        taskService.removeTask(1);
+        assertEquals(List.of(task1, task3), taskService.getAllTasks());
+        assertThrows(IndexOutOfBoundsException.class, () -> taskService.getTask(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> taskService.removeTask(-1));
+    }
+
+    @Test
+    @DisplayName("Should reject null and duplicate tasks")
+    public void testAddInvalid() {
+        taskService.addTask(task1);
+        assertThrows(IllegalArgumentException.class, () -> taskService.addTask(null));
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> taskService.addTask(task1)
+        );
+        assertEquals("Task is already in this service", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should write changes to the added task through to the store")
+    public void testWriteThroughFromAddedTask() {
+        taskService.addTask(task1);
+
+        task1.markAsCompleted();
+        task1.setTask("Renamed");
+        task1.setDueDate("01-02-2026");
+
+        TaskItem stored = taskService.getById(task1.getId()).orElseThrow();
+        assertTrue(stored.isCompleted());
+        assertEquals("Renamed", stored.getTask());
+        assertEquals(LocalDate.of(2026, 2, 1), stored.getDueDate());
+    }
+
+    @Test
+    @DisplayName("Should write changes to returned views through to the store")
+    public void testWriteThroughFromView() {
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+
+        taskService.getTask(1).toggleCompleted();
+        assertEquals(List.of(task2.getId()), taskService.getCompletedTasks().stream().map(TaskItem::getId).toList());
+
+        assertTrue(taskService.updateById(task1.getId(), "Updated", "05-06-2025"));
+        assertEquals("Updated", taskService.getTask(0).getTask());
+        assertFalse(taskService.updateById(-1, "Missing", "05-06-2025"));
+        assertThrows(IllegalArgumentException.class,
+            () -> taskService.updateById(task1.getId(), "Bad date", "2025-06-05"));
+        assertEquals("Updated", taskService.getTask(0).getTask());
+    }
+
+    @Test
+    @DisplayName("Should ignore changes to tasks that were removed")
+    public void testRemovedTaskNotWritten() {
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+        assertTrue(taskService.removeById(task1.getId()));
+        assertFalse(taskService.removeById(task1.getId()));
+
+        task1.setTask("Gone");
+        assertEquals(1, taskService.getTaskCount());
+        assertEquals(task2, taskService.getTask(0));
+    }
+
+    @Test
+    @DisplayName("Should answer status and due date queries from the columns")
+    public void testQueries() {
+        TaskItem early = new TaskItem("Early overdue", "01-01-2019");
+        TaskItem done = new TaskItem("Done", "01-01-2018");
+        done.markAsCompleted();
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+        taskService.addTask(task3);
+        taskService.addTask(early);
+        taskService.addTask(done);
+
+        assertEquals(List.of(early, task3), taskService.getOverdueTasks());
+        assertEquals(List.of(task1, task2, task3, early), taskService.getPendingTasks());
+        assertEquals(List.of(done), taskService.getCompletedTasks());
+        assertEquals(List.of(task1, task2), taskService.nextDue(5));
+        assertEquals(List.of(task1), taskService.nextDue(1));
+        assertEquals(List.of(done, early, task3),
+            taskService.getTasksDueBetween(LocalDate.MIN, LocalDate.of(2020, 1, 1)));
+        assertEquals(List.of(task2), taskService.getTasksDueOn(LocalDate.of(2025, 12, 20)));
+        assertThrows(IllegalArgumentException.class, () -> taskService.nextDue(-1));
+    }
+
+    @Test
+    @DisplayName("Should keep positions consistent across many removals")
+    public void testManyRemovals() {
+        for (int i = 0; i < 1_000; i++) {
+            taskService.addTask(new TaskItem("Task " + i, "01-01-2026"));
+        }
+        for (int i = 999; i >= 0; i -= 2) {
+            taskService.removeTask(i);
+        }
+        assertEquals(500, taskService.getTaskCount());
+        assertEquals("Task 0", taskService.getTask(0).getTask());
+        assertEquals("Task 998", taskService.getTask(499).getTask());
+    }
+
+    @Test
+    @DisplayName("Should read positions past removed rows without compacting the store")
+    public void testReadsDoNotCompact() {
+        int[] compactions = new int[1];
+        ColumnarTaskStore store = new ColumnarTaskStore() {
+            @Override
+            public void compact() {
+                compactions[0]++;
+                super.compact();
+            }
+        };
+        taskService = new StoreBackedTaskService(store, TaskClock.fixed(LocalDate.of(2025, 6, 1)));
+        for (int i = 0; i < 100; i++) {
+            taskService.addTask(new TaskItem("Task " + i, "01-01-2026"));
+        }
+        for (int i = 0; i < 100; i += 3) {
+            taskService.removeById(taskService.getTask(i - i / 3).getId());
+        }
+        taskService.addTask(new TaskItem("Added after removals", "01-01-2026"));
+        taskService.addTask(task3);
+
+        assertEquals(0, compactions[0]);
+        assertEquals(68, taskService.getTaskCount());
+        assertEquals(34, store.rowCount() - store.size());
+        assertEquals("Overdue task", taskService.getTask(0).getTask());
+        assertEquals("Task 1", taskService.getTask(1).getTask());
+        assertEquals("Task 4", taskService.getTask(3).getTask());
+        assertEquals("Task 98", taskService.getTask(66).getTask());
+        assertEquals(66, taskService.indexOf(taskService.getTask(66).getId()));
+        assertEquals(0, taskService.indexOf(task3.getId()));
+        assertEquals("Added after removals", taskService.getAllTasks().get(67).getTask());
+        assertEquals(0, compactions[0]);
+
+        taskService.removeTask(1);
+        assertEquals("Task 2", taskService.getTask(1).getTask());
+        assertEquals(0, compactions[0]);
+    }
+
+    @Test
+    @DisplayName("Should clear all tasks")
+    public void testClearAllTasks() {
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+        taskService.clearAllTasks();
+
+        assertTrue(taskService.isEmpty());
+        assertTrue(taskService.getAllTasks().isEmpty());
+        assertTrue(taskService.getById(task1.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should notify service listeners of additions, removals and task changes")
+    public void testServiceListener() {
+        RecordingListener listener = new RecordingListener();
+        taskService.addListener(listener);
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+        taskService.getById(task1.getId()).orElseThrow().toggleCompleted();
+        taskService.updateById(task1.getId(), "Renamed", "16-12-2025");
+        taskService.removeById(task2.getId());
+        task2.toggleCompleted();
+        taskService.removeListener(listener);
+        taskService.addTask(task3);
+
+        assertEquals(List.of(
+            "added Task 1",
+            "added Task 2",
+            "completed Task 1=true",
+            "text Task 1 -> Renamed",
+            "due Renamed 2025-12-15 -> 2025-12-16",
+            "removed Task 2"
+        ), listener.events);
+    }
+
+    @Test
+    @DisplayName("Should send one event per change to a task removed and added back")
+    public void testReaddedTaskNotifiesOnce() {
+        RecordingListener listener = new RecordingListener();
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+        TaskItem view = taskService.getById(task2.getId()).orElseThrow();
+        taskService.removeById(task1.getId());
+        taskService.removeById(task2.getId());
+        taskService.addTask(task1);
+        taskService.addTask(view);
+        taskService.clearAllTasks();
+        taskService.addTask(task1);
+        taskService.addListener(listener);
+
+        task1.toggleCompleted();
+        view.setTask("Gone");
+        assertEquals(List.of("completed Task 1=true"), listener.events);
+        assertTrue(taskService.getTask(0).isCompleted());
+    }
+
+    @Test
+    @DisplayName("Should notify service listeners when all tasks are cleared")
+    public void testServiceListenerClear() {
+        RecordingListener listener = new RecordingListener();
+        taskService.addTask(task1);
+        taskService.addListener(listener);
+        taskService.clearAllTasks();
+        assertEquals(List.of("cleared"), listener.events);
+    }
+
+    @Test
+    @DisplayName("Should search descriptions and follow adds, removals and renames")
+    public void testSearch() {
+        taskService.addTask(task1);
+        taskService.addTask(task2);
+
+        assertEquals(List.of(task1, task2), taskService.search("task"));
+        taskService.addTask(task3);
+        assertEquals(List.of(task3), taskService.search("OVER ta"));
+        assertEquals(List.of(task1, task2, task3), taskService.search(" "));
+
+        taskService.getById(task1.getId()).orElseThrow().setTask("Buy milk");
+        taskService.removeById(task2.getId());
+        assertEquals(List.of(task3), taskService.search("task"));
+        assertEquals("Buy milk", taskService.search("mil").get(0).getTask());
+
+        taskService.clearAllTasks();
+        assertEquals(List.of(), taskService.search("mil"));
+        assertThrows(IllegalArgumentException.class, () -> taskService.search(null));
+    }
+}
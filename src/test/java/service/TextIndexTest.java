@@ -0,0 +1,85 @@
+package service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for TextIndex class.
+ * Tests tokenizing, prefix and multi-term queries, and incremental updates.
+ */
+@DisplayName("TextIndex Tests")
+public class TextIndexTest {
+
+    private TextIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new TextIndex();
+        index.add(1, "Buy milk and bread");
+        index.add(2, "Call the bank");
+        index.add(3, "Bake bread for the Café");
+    }
+
+    @Test
+    @DisplayName("Should split text into distinct lower-case terms without accents")
+    public void testTerms() {
+        assertEquals(List.of("cafe", "au", "lait", "2x"), TextIndex.terms("Café au LAIT, café -- 2x!"));
+        assertEquals(List.of(), TextIndex.terms("  ... "));
+    }
+
+    @Test
+    @DisplayName("Should match terms by prefix, ignoring case and accents")
+    public void testPrefixSearch() {
+        assertArrayEquals(new long[] {1, 3}, index.search("bread"));
+        assertArrayEquals(new long[] {1, 2, 3}, index.search("B"));
+        assertArrayEquals(new long[] {3}, index.search("CAFÉ"));
+        assertArrayEquals(new long[] {3}, index.search("cafe"));
+        assertArrayEquals(new long[0], index.search("milky"));
+        assertNull(index.search(" - "));
+    }
+
+    @Test
+    @DisplayName("Should require every query term to match")
+    public void testAndSearch() {
+        assertArrayEquals(new long[] {2, 3}, index.search("the b"));
+        assertArrayEquals(new long[] {3}, index.search("bre the"));
+        assertArrayEquals(new long[0], index.search("milk bank"));
+    }
+
+    @Test
+    @DisplayName("Should update postings when tasks are removed or renamed")
+    public void testIncrementalUpdates() {
+        index.remove(1, "Buy milk and bread");
+        assertArrayEquals(new long[] {3}, index.search("bread"));
+        assertArrayEquals(new long[0], index.search("milk"));
+
+        index.update(2, "Call the bank", "Call the plumber");
+        assertArrayEquals(new long[0], index.search("bank"));
+        assertArrayEquals(new long[] {2}, index.search("plum"));
+
+        index.add(0, "Bread crumbs");
+        assertArrayEquals(new long[] {0, 3}, index.search("bread"));
+
+        index.clear();
+        assertArrayEquals(new long[0], index.search("bread"));
+    }
+
+    @Test
+    @DisplayName("Should answer intersections of large and small posting lists")
+    public void testLargePostings() {
+        TextIndex large = new TextIndex();
+        for (int id = 1; id <= 100_000; id++) {
+            large.add(id, "Task number " + id + (id % 10_000 == 0 ? " urgent" : ""));
+        }
+        assertArrayEquals(new long[] {10_000, 20_000, 30_000, 40_000, 50_000, 60_000, 70_000, 80_000,
+            90_000, 100_000}, large.search("task urg"));
+        assertEquals(100_000, large.search("num task").length);
+        assertArrayEquals(new long[] {99_999}, large.search("99999 task"));
+        assertEquals(11_111, large.search("9").length);
+    }
+}
@@ -0,0 +1,44 @@
+package service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for TextQuery class.
+ * Tests matching single descriptions and comparing queries.
+ */
+@DisplayName("TextQuery Tests")
+public class TextQueryTest {
+
+    @Test
+    @DisplayName("Should match descriptions having a word starting with every query word")
+    public void testMatches() {
+        TextQuery query = TextQuery.parse("BU mil");
+        assertTrue(query.matches("Buy milk"));
+        assertTrue(query.matches("Milk, then bus"));
+        assertFalse(query.matches("Buy bread"));
+        assertFalse(query.matches("rebuy milk"));
+        assertTrue(TextQuery.parse("cafe").matches("Café crème"));
+        assertTrue(TextQuery.parse("  ").matches("Anything"));
+        assertTrue(TextQuery.parse("  ").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should recognize queries that narrow another")
+    public void testNarrows() {
+        TextQuery broad = TextQuery.parse("bu");
+        assertTrue(TextQuery.parse("buy").narrows(broad));
+        assertTrue(TextQuery.parse("milk buy").narrows(broad));
+        assertTrue(TextQuery.parse("anything").narrows(TextQuery.parse("")));
+        assertFalse(TextQuery.parse("b").narrows(broad));
+        assertFalse(TextQuery.parse("milk").narrows(broad));
+    }
+
+    @Test
+    @DisplayName("Should reject a null query")
+    public void testNullQuery() {
+        assertThrows(IllegalArgumentException.class, () -> TextQuery.parse(null));
+    }
+}
@@ -0,0 +1,83 @@
+package ui;
+
+import model.TaskClock;
+import model.TaskItem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.JLabel;
+import javax.swing.JList;
+import java.awt.Font;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for CustomListRenderer class.
+ * Tests that cached labels follow changes to tasks and to today's date.
+ */
+@DisplayName("CustomListRenderer Tests")
+public class CustomListRendererTest {
+
+    private final CustomListRenderer renderer = new CustomListRenderer();
+    private final JList<TaskItem> list = new JList<>();
+
+    @BeforeEach
+    public void setUp() {
+        TaskClock.setDefault(TaskClock.fixed(LocalDate.of(2025, 6, 1)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TaskClock.resetDefault();
+    }
+
+    private JLabel render(TaskItem task) {
+        return (JLabel) renderer.getListCellRendererComponent(list, task, 0, false, false);
+    }
+
+    @Test
+    @DisplayName("Should show the task's current text after it changes")
+    public void testChangesInvalidateCache() {
+        TaskItem task = new TaskItem("Task", "01-07-2025");
+        assertEquals(task.toString(), render(task).getText());
+
+        task.setTask("Renamed");
+        assertEquals(task.toString(), render(task).getText());
+        task.setDueDate("01-01-2025");
+        assertEquals(task.toString(), render(task).getText());
+        assertTrue(render(task).getText().endsWith("[OVERDUE]"));
+
+        TaskItem copy = new TaskItem(task.getId(), task.getTask(), task.getDueDate(), true);
+        assertEquals(copy.toString(), render(copy).getText());
+        assertEquals(Font.ITALIC, render(copy).getFont().getStyle() & Font.ITALIC);
+        assertEquals(task.toString(), render(task).getText());
+    }
+
+    @Test
+    @DisplayName("Should mark tasks overdue once their due date has passed")
+    public void testDateChange() {
+        TaskItem task = new TaskItem("Task", "01-06-2025");
+        assertFalse(render(task).getText().contains("OVERDUE"));
+
+        TaskClock.setDefault(TaskClock.fixed(LocalDate.of(2025, 6, 2)));
+        assertTrue(render(task).getText().endsWith("[OVERDUE]"));
+    }
+
+    @Test
+    @DisplayName("Should reuse the text and italic font for unchanged tasks")
+    public void testReuse() {
+        TaskItem task = new TaskItem("Task", "01-07-2025");
+        task.markAsCompleted();
+        JLabel first = render(task);
+        String text = first.getText();
+        Font font = first.getFont();
+
+        JLabel second = render(task);
+        assertSame(text, second.getText());
+        assertSame(font, second.getFont());
+        assertEquals(list.getFont().getSize(), second.getFont().getSize());
+    }
+}
@@ -0,0 +1,165 @@
+package ui;
+
+import model.TaskItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import service.ConcurrentTaskService;
+import service.InMemoryTaskService;
+import service.TaskService;
+
+import javax.swing.SwingUtilities;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for TaskFilter class.
+ * Tests debouncing, index searches, narrowing of previous results and
+ * dropping results after tasks are added, removed or renamed. Runs headless, without showing any window.
+ */
+@DisplayName("TaskFilter Tests")
+public class TaskFilterTest {
+
+    private TaskService taskService;
+    private TaskFilter filter;
+    private BlockingQueue<List<TaskItem>> results;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        taskService = new InMemoryTaskService();
+        for (int i = 0; i < 1_000; i++) {
+            taskService.addTask(new TaskItem("Task number " + i, "01-01-2030"));
+        }
+        results = new LinkedBlockingQueue<>();
+        SwingUtilities.invokeAndWait(() -> filter = new TaskFilter(taskService, results::add));
+    }
+
+    private List<TaskItem> nextResult() throws InterruptedException {
+        List<TaskItem> result = results.poll(5, TimeUnit.SECONDS);
+        assertNotNull(result, "No search result arrived");
+        return result;
+    }
+
+    private int searchedCount() throws Exception {
+        int[] count = new int[1];
+        SwingUtilities.invokeAndWait(() -> count[0] = filter.getLastSearchedCount());
+        return count[0];
+    }
+
+    @Test
+    @DisplayName("Should search once typing pauses")
+    public void testDebounce() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            filter.setQuery("n");
+            filter.setQuery("nu");
+            filter.setQuery("num 99");
+        });
+
+        List<TaskItem> result = nextResult();
+        assertEquals(List.of("Task number 99", "Task number 990", "Task number 991", "Task number 992",
+            "Task number 993", "Task number 994", "Task number 995", "Task number 996", "Task number 997",
+            "Task number 998", "Task number 999"), result.stream().map(TaskItem::getTask).toList());
+        Thread.sleep(TaskFilter.DEBOUNCE_MILLIS * 2L);
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should only search the previous matches when the query narrows")
+    public void testNarrowing() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            filter.setQuery("task 1");
+            filter.refresh();
+        });
+        List<TaskItem> first = nextResult();
+        assertEquals(111, first.size());
+        assertEquals(1_000, searchedCount());
+
+        SwingUtilities.invokeAndWait(() -> {
+            filter.setQuery("task 12");
+            filter.refresh();
+        });
+        assertEquals(11, nextResult().size());
+        assertEquals(111, searchedCount());
+
+        SwingUtilities.invokeAndWait(() -> {
+            filter.setQuery("task 2");
+            filter.refresh();
+        });
+        assertEquals(111, nextResult().size());
+        assertEquals(1_000, searchedCount());
+    }
+
+    @Test
+    @DisplayName("Should search all tasks again after they change")
+    public void testChangesInvalidateResults() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            filter.setQuery("milk");
+            filter.refresh();
+        });
+        assertEquals(List.of(), nextResult());
+
+        SwingUtilities.invokeAndWait(() -> {
+            taskService.addTask(new TaskItem("Buy milk", "01-01-2030"));
+            taskService.getTask(0).setTask("Milk the cow");
+            filter.setQuery("milk");
+            filter.refresh();
+        });
+        assertEquals(List.of("Milk the cow", "Buy milk"), nextResult().stream().map(TaskItem::getTask).toList());
+        assertEquals(1_001, searchedCount());
+    }
+
+    @Test
+    @DisplayName("Should keep narrowing after a task is completed or rescheduled")
+    public void testStatusChangesKeepResults() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            filter.setQuery("task 1");
+            filter.refresh();
+        });
+        assertEquals(111, nextResult().size());
+
+        SwingUtilities.invokeAndWait(() -> {
+            taskService.getTask(10).toggleCompleted();
+            taskService.getTask(10).setDueDate("02-01-2030");
+            filter.setQuery("task 10");
+            filter.refresh();
+        });
+        List<TaskItem> result = nextResult();
+        assertEquals(11, result.size());
+        assertTrue(result.get(0).isCompleted());
+        assertEquals(111, searchedCount());
+    }
+
+    @Test
+    @DisplayName("Should search a thread-safe service in the background")
+    public void testConcurrentService() throws Exception {
+        ConcurrentTaskService concurrent = new ConcurrentTaskService();
+        for (int i = 0; i < 100; i++) {
+            concurrent.addTask(new TaskItem("Task number " + i, "01-01-2030"));
+        }
+        SwingUtilities.invokeAndWait(() -> {
+            filter = new TaskFilter(concurrent, results::add);
+            filter.setQuery("number 4");
+            filter.refresh();
+            assertTrue(results.isEmpty());
+        });
+        assertEquals(11, nextResult().size());
+        assertEquals(100, searchedCount());
+    }
+
+    @Test
+    @DisplayName("Should show every task when the filter has no words")
+    public void testEmptyFilter() throws Exception {
+        boolean[] active = new boolean[1];
+        SwingUtilities.invokeAndWait(() -> {
+            filter.setQuery(" ,");
+            active[0] = filter.isActive();
+            filter.refresh();
+        });
+        assertFalse(active[0]);
+        assertEquals(taskService.getAllTasks(), nextResult());
+    }
+}
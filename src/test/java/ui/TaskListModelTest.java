@@ -0,0 +1,163 @@
+package ui;
+
+import model.TaskItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import service.InMemoryTaskService;
+import service.StoreBackedTaskService;
+import service.TaskService;
+
+import javax.swing.JList;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for TaskListModel class.
+ * Tests the list events produced for service changes, showing a subset of
+ * the tasks, and that a JList reads only the rows it paints.
+ */
+@DisplayName("TaskListModel Tests")
+public class TaskListModelTest {
+
+    private TaskService taskService;
+    private TaskListModel model;
+    private List<String> events;
+    private TaskItem task1;
+    private TaskItem task2;
+    private TaskItem task3;
+
+    @BeforeEach
+    public void setUp() {
+        taskService = new InMemoryTaskService();
+        task1 = new TaskItem("Task 1", "01-01-2030");
+        task2 = new TaskItem("Task 2", "01-01-2030");
+        task3 = new TaskItem("Task 3", "01-01-2030");
+        taskService.addTask(task1);
+        model = new TaskListModel(taskService);
+        events = new ArrayList<>();
+        model.addListDataListener(new ListDataListener() {
+            @Override
+            public void intervalAdded(ListDataEvent e) {
+                events.add("added " + e.getIndex0() + "-" + e.getIndex1());
+            }
+
+            @Override
+            public void intervalRemoved(ListDataEvent e) {
+                events.add("removed " + e.getIndex0() + "-" + e.getIndex1());
+            }
+
+            @Override
+            public void contentsChanged(ListDataEvent e) {
+                events.add("changed " + e.getIndex0() + "-" + e.getIndex1());
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Should read tasks from the service and report single-row changes")
+    public void testServiceEvents() {
+        taskService.addTask(task2);
+        taskService.addTask(task3);
+        assertEquals(3, model.getSize());
+        assertSame(task2, model.getElementAt(1));
+
+        assertTrue(model.remove(1));
+        assertEquals(List.of(task1, task3), List.of(model.getElementAt(0), model.getElementAt(1)));
+        task3.toggleCompleted();
+        taskService.clearAllTasks();
+
+        assertEquals(0, model.getSize());
+        assertEquals(List.of("added 1-1", "added 2-2", "removed 1-1", "changed 1-1", "removed 0-1"), events);
+    }
+
+    @Test
+    @DisplayName("Should keep the list consistent when tasks are removed elsewhere")
+    public void testRemovedElsewhere() {
+        taskService.addTask(task2);
+        taskService.addTask(task3);
+        events.clear();
+
+        taskService.removeById(task1.getId());
+        assertEquals(2, model.getSize());
+        assertEquals(List.of("removed 2-2", "changed 0-1"), events);
+    }
+
+    @Test
+    @DisplayName("Should show a subset and drop removed tasks from it")
+    public void testSubset() {
+        taskService.addTask(task2);
+        taskService.addTask(task3);
+        events.clear();
+
+        model.showOnly(List.of(task3, task1));
+        assertTrue(model.isShowingSubset());
+        assertEquals(2, model.getSize());
+        assertSame(task3, model.getElementAt(0));
+        task1.setTask("Task 1 renamed");
+        task2.toggleCompleted();
+
+        taskService.addTask(new TaskItem("Task 4", "01-01-2030"));
+        assertEquals(2, model.getSize());
+        assertTrue(model.remove(0));
+        taskService.removeById(task1.getId());
+        assertEquals(0, model.getSize());
+
+        model.showAll();
+        assertFalse(model.isShowingSubset());
+        assertEquals(2, model.getSize());
+        assertEquals(List.of("removed 2-2", "changed 0-1", "changed 1-1", "removed 0-0", "removed 0-0", "added 0-1"), events);
+    }
+
+    @Test
+    @DisplayName("Should replace a row changed through another object for the task")
+    public void testSet() {
+        StoreBackedTaskService storeBacked = new StoreBackedTaskService();
+        storeBacked.addTask(task2);
+        TaskListModel storeModel = new TaskListModel(storeBacked);
+        storeModel.showOnly(List.of(storeModel.getElementAt(0)));
+
+        TaskItem current = storeBacked.getById(task2.getId()).orElseThrow();
+        current.toggleCompleted();
+        assertFalse(storeModel.getElementAt(0).isCompleted());
+        storeModel.set(0, current);
+        assertTrue(storeModel.getElementAt(0).isCompleted());
+        assertThrows(IndexOutOfBoundsException.class, () -> storeModel.set(1, current));
+    }
+
+    @Test
+    @DisplayName("Should only read the rows a JList paints")
+    public void testOnlyVisibleRowsRead() {
+        int[] reads = new int[1];
+        TaskService large = new InMemoryTaskService() {
+            @Override
+            public TaskItem getTask(int index) {
+                reads[0]++;
+                return super.getTask(index);
+            }
+        };
+        for (int i = 0; i < 200_000; i++) {
+            large.addTask(new TaskItem("Task number " + i, "01-01-2030"));
+        }
+        JList<TaskItem> list = new JList<>(new TaskListModel(large));
+        list.setCellRenderer(new CustomListRenderer());
+        list.setFixedCellHeight(20);
+        list.setFixedCellWidth(1);
+        list.setSize(400, 200);
+
+        assertEquals(4_000_000, list.getPreferredSize().height);
+        BufferedImage image = new BufferedImage(400, 200, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setClip(0, 0, 400, 200);
+        list.paint(graphics);
+        graphics.dispose();
+
+        assertTrue(reads[0] <= 20, "Read " + reads[0] + " rows");
+    }
+}
@@ -0,0 +1,95 @@
+package ui;
+
+import model.TaskItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import service.InMemoryTaskService;
+import service.TaskService;
+
+import javax.swing.SwingUtilities;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for TaskLoader class.
+ * Tests that tasks are added in batches and in order, that progress is
+ * reported and that read errors are passed on. Runs headless.
+ */
+@DisplayName("TaskLoader Tests")
+public class TaskLoaderTest {
+
+    private TaskService taskService;
+    private List<TaskItem> tasks;
+
+    @BeforeEach
+    public void setUp() {
+        taskService = new InMemoryTaskService();
+        tasks = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            tasks.add(new TaskItem("Task number " + i, "01-01-2030"));
+        }
+    }
+
+    private TaskSource counted(List<TaskItem> items) {
+        return new TaskSource() {
+            @Override
+            public long forEach(Consumer<? super TaskItem> action) {
+                items.forEach(action);
+                return items.size();
+            }
+
+            @Override
+            public long count() {
+                return items.size();
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Should add every task in order, in batches")
+    public void testLoad() throws Exception {
+        TaskLoader loader = new TaskLoader(counted(tasks), taskService);
+        loader.execute();
+
+        assertEquals(50_000L, loader.get());
+        assertEquals(tasks, taskService.getAllTasks());
+        assertTrue(loader.getBatchCount() < 50_000, loader.getBatchCount() + " batches");
+        assertEquals(100, loader.getProgress());
+    }
+
+    @Test
+    @DisplayName("Should finish loading a source that cannot count its tasks")
+    public void testUnknownCount() throws Exception {
+        TaskLoader loader = new TaskLoader(action -> {
+            tasks.subList(0, 10).forEach(action);
+            return 10;
+        }, taskService);
+        loader.execute();
+
+        assertEquals(10L, loader.get());
+        assertEquals(10, taskService.getTaskCount());
+        assertEquals(100, loader.getProgress());
+    }
+
+    @Test
+    @DisplayName("Should report a failure after adding the tasks read before it")
+    public void testFailure() throws Exception {
+        TaskLoader loader = new TaskLoader(action -> {
+            tasks.subList(0, 3).forEach(action);
+            throw new IOException("Disk gone");
+        }, taskService);
+        loader.execute();
+
+        ExecutionException e = assertThrows(ExecutionException.class, loader::get);
+        assertEquals("Disk gone", e.getCause().getMessage());
+        List<TaskItem> loaded = new ArrayList<>();
+        SwingUtilities.invokeAndWait(() -> loaded.addAll(taskService.getAllTasks()));
+        assertEquals(tasks.subList(0, 3), loaded);
+    }
+}
@@ -1,5 +1,6 @@
 package ui;
 
+import service.InMemoryTaskService;
 import service.TaskService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,7 +21,7 @@ public class TodoListUITest {
 
     @BeforeEach
     public void setUp() {
-        taskService = new TaskService();
+        taskService = new InMemoryTaskService();
     }
 
     @Test
@@ -0,0 +1,188 @@
+package util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for AsyncFileManager class.
+ * Tests reads, writes and copies, failures reported through the futures,
+ * the limit on running operations, cancellation and closing.
+ */
+@DisplayName("AsyncFileManager Tests")
+public class AsyncFileManagerTest {
+
+    @TempDir
+    Path directory;
+
+    private AsyncFileManager fileManager = new AsyncFileManager(2);
+
+    @AfterEach
+    public void tearDown() {
+        fileManager.close();
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        return future.get(10, TimeUnit.SECONDS);
+    }
+
+    private static Throwable failure(CompletableFuture<?> future) {
+        ExecutionException error = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        return error.getCause();
+    }
+
+    @Test
+    @DisplayName("Should write, read and copy files larger than the copy buffer")
+    public void testRoundTrip() throws Exception {
+        byte[] bytes = new byte[3 * 1024 * 1024 + 17];
+        new Random(42).nextBytes(bytes);
+        Path file = directory.resolve("data.bin");
+        Path copy = directory.resolve("copy.bin");
+        Files.writeString(copy, "previous contents that are longer than nothing");
+
+        assertEquals(bytes.length, await(fileManager.write(file, bytes)));
+        assertArrayEquals(bytes, await(fileManager.readBytes(file)));
+        assertEquals(bytes.length, await(fileManager.copy(file, copy)));
+        assertArrayEquals(bytes, Files.readAllBytes(copy));
+
+        Path empty = Files.createFile(directory.resolve("empty.bin"));
+        assertEquals(0, await(fileManager.readBytes(empty)).length);
+        assertEquals(0, await(fileManager.copy(empty, copy)));
+        assertEquals(0, Files.size(copy));
+    }
+
+    @Test
+    @DisplayName("Should write and read UTF-8 text unchanged")
+    public void testText() throws Exception {
+        String text = "Tâche numéro 1 ✓\r\nTask 😀\n".repeat(10_000);
+        Path file = directory.resolve("tasks.txt");
+
+        long written = await(fileManager.writeText(file, text));
+
+        assertEquals(text.getBytes(StandardCharsets.UTF_8).length, written);
+        assertEquals(text, await(fileManager.readText(file)));
+        assertEquals(text, FileManager.readText(file));
+    }
+
+    @Test
+    @DisplayName("Should fail the future when a file is missing or not valid UTF-8")
+    public void testFailures() throws IOException {
+        Path missing = directory.resolve("missing.txt");
+        assertInstanceOf(NoSuchFileException.class, failure(fileManager.readBytes(missing)));
+        assertInstanceOf(NoSuchFileException.class, failure(fileManager.copy(missing, directory.resolve("copy"))));
+        assertInstanceOf(NoSuchFileException.class,
+            failure(fileManager.write(directory.resolve("no/such/dir.txt"), new byte[1])));
+
+        Path latin1 = directory.resolve("latin1.txt");
+        Files.write(latin1, new byte[]{'c', 'a', 'f', (byte) 0xE9});
+        assertInstanceOf(IOException.class, failure(fileManager.readText(latin1)));
+
+        assertThrows(IllegalArgumentException.class, () -> fileManager.readText(null));
+        assertThrows(IllegalArgumentException.class, () -> fileManager.write(latin1, null));
+        assertThrows(IllegalArgumentException.class, () -> fileManager.writeText(latin1, null));
+        assertThrows(IllegalArgumentException.class, () -> new AsyncFileManager(0));
+    }
+
+    @Test
+    @DisplayName("Should queue operations beyond the limit and drop cancelled ones before they start")
+    public void testBoundedAndCancelled() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.execute(() -> {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        fileManager.close();
+        fileManager = new AsyncFileManager(1, executor);
+        Path first = directory.resolve("first.txt");
+        Path second = directory.resolve("second.txt");
+        Path third = directory.resolve("third.txt");
+
+        CompletableFuture<Long> firstWrite = fileManager.writeText(first, "first");
+        CompletableFuture<Long> secondWrite = fileManager.writeText(second, "second");
+        CompletableFuture<Long> thirdWrite = fileManager.writeText(third, "third");
+
+        assertEquals(1, fileManager.getRunningCount());
+        assertEquals(2, fileManager.getQueuedCount());
+        assertTrue(secondWrite.cancel(true));
+        assertEquals(1, fileManager.getQueuedCount());
+
+        gate.countDown();
+        assertEquals(5, await(firstWrite));
+        assertEquals(5, await(thirdWrite));
+        assertThrows(CancellationException.class, secondWrite::join);
+        assertFalse(Files.exists(second));
+        assertEquals(0, fileManager.getRunningCount());
+        assertEquals(0, fileManager.getQueuedCount());
+    }
+
+    @Test
+    @DisplayName("Should free the slot of a cancelled copy for the next operation")
+    public void testCancelRunning() throws Exception {
+        Path source = directory.resolve("large.bin");
+        byte[] chunk = new byte[1024 * 1024];
+        new Random(7).nextBytes(chunk);
+        try (OutputStream out = Files.newOutputStream(source)) {
+            for (int i = 0; i < 64; i++) {
+                out.write(chunk);
+            }
+        }
+        Path target = directory.resolve("target.bin");
+
+        CompletableFuture<Long> copy = fileManager.copy(source, target);
+        copy.cancel(true);
+
+        assertThrows(CancellationException.class, copy::join);
+        assertTrue(fileManager.getRunningCount() == 0 && fileManager.getQueuedCount() == 0);
+        assertEquals(chunk.length, await(fileManager.write(directory.resolve("after.bin"), chunk)));
+    }
+
+    @Test
+    @DisplayName("Should cancel outstanding operations and refuse new ones once closed")
+    public void testClose() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.execute(() -> {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        fileManager.close();
+        fileManager = new AsyncFileManager(1, executor);
+        CompletableFuture<Long> running = fileManager.writeText(directory.resolve("a.txt"), "a");
+        CompletableFuture<Long> queued = fileManager.writeText(directory.resolve("b.txt"), "b");
+
+        fileManager.close();
+        gate.countDown();
+
+        assertTrue(running.isCancelled());
+        assertTrue(queued.isCancelled());
+        assertThrows(IllegalStateException.class, () -> fileManager.readText(directory.resolve("a.txt")));
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertFalse(Files.exists(directory.resolve("a.txt")));
+        assertFalse(Files.exists(directory.resolve("b.txt")));
+    }
+}
@@ -0,0 +1,86 @@
+package util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for FileManager class.
+ * Tests the NIO reads and copies, and that readFile() and copyFile() keep
+ * their behavior on top of them.
+ */
+@DisplayName("FileManager Tests")
+public class FileManagerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should read UTF-8 text unchanged with both buffered and mapped reads")
+    public void testReadText() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            text.append("Tâche numéro ").append(i).append(" ✓\r\n");
+        }
+        Path file = directory.resolve("tasks.txt");
+        Files.writeString(file, text, StandardCharsets.UTF_8);
+
+        assertEquals(text.toString(), FileManager.readText(file));
+        assertEquals(text.toString(), FileManager.readMapped(file));
+
+        Path empty = Files.createFile(directory.resolve("empty.txt"));
+        assertEquals("", FileManager.readText(empty));
+        assertEquals("", FileManager.readMapped(empty));
+    }
+
+    @Test
+    @DisplayName("Should reject files that are not valid UTF-8")
+    public void testMalformedText() throws IOException {
+        Path file = directory.resolve("latin1.txt");
+        Files.write(file, new byte[]{'c', 'a', 'f', (byte) 0xE9});
+
+        assertThrows(IOException.class, () -> FileManager.readText(file));
+        assertThrows(IOException.class, () -> FileManager.readMapped(file));
+        assertNull(new FileManager().readFile(file.toString()));
+    }
+
+    @Test
+    @DisplayName("Should return each line of a file followed by a newline")
+    public void testReadFile() throws IOException {
+        Path file = directory.resolve("lines.txt");
+        FileManager fileManager = new FileManager();
+
+        Files.writeString(file, "first\r\nsecond\rthird");
+        assertEquals("first\nsecond\nthird\n", fileManager.readFile(file.toString()));
+        Files.writeString(file, "first\nsecond\n");
+        assertEquals("first\nsecond\n", fileManager.readFile(file.toString()));
+        assertNull(fileManager.readFile(directory.resolve("missing.txt").toString()));
+    }
+
+    @Test
+    @DisplayName("Should copy every byte and replace an existing destination")
+    public void testCopy() throws IOException {
+        byte[] content = new byte[3 * 1024 * 1024 + 17];
+        new Random(42).nextBytes(content);
+        Path source = directory.resolve("source.bin");
+        Path target = directory.resolve("target.bin");
+        Files.write(source, content);
+        Files.write(target, new byte[content.length * 2]);
+
+        assertEquals(content.length, FileManager.copy(source, target));
+        assertArrayEquals(content, Files.readAllBytes(target));
+
+        Path legacy = directory.resolve("legacy.bin");
+        new FileManager().copyFile(source.toString(), legacy.toString());
+        assertArrayEquals(content, Files.readAllBytes(legacy));
+        assertThrows(IOException.class, () -> FileManager.copy(directory.resolve("missing.bin"), target));
+    }
+}